@@ -0,0 +1,434 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Generador de programas aleatorios en español con la gramática del analizador: asignaciones
+// separadas por comas cuyas expresiones combinan operadores en forma prefija ("suma a con b"),
+// infija ("a mas b") y la raíz unaria, con números en dígitos o en palabras y referencias a las
+// variables ya asignadas. Las palabras de los operadores son las de AnalizadorLexico; las de los
+// números están escritas aquí (sin tildes) y deben estar en el léxico de ConvertirNumeroTextoADigito,
+// lo que comprueba GeneradorProgramasTest. Con la misma semilla y las mismas opciones produce
+// siempre la misma secuencia de programas.
+//
+// Cada instrucción puede llevar, con la tasa indicada, un error léxico (un símbolo que no
+// pertenece al lenguaje), sintáctico (un operador sin operandos o una asignación sin '=') o
+// semántico (una referencia a una variable nunca asignada). Con todas las tasas en cero los
+// programas son válidos en los tres análisis.
+public final class GeneradorProgramas {
+
+    private static final int RAIZ = 5;       // Índice de la raíz en los pesos de las opciones
+
+    // Palabras de cada operador, en el orden de los pesos de las opciones
+    private static final String[][] PALABRAS_OPERADOR = {
+        AnalizadorLexico.PALABRAS_SUMA, AnalizadorLexico.PALABRAS_RESTA, AnalizadorLexico.PALABRAS_MULTIPLICA,
+        AnalizadorLexico.PALABRAS_DIVIDE, AnalizadorLexico.PALABRAS_POTENCIA, AnalizadorLexico.PALABRAS_RAIZ
+    };
+
+    // Símbolos que el analizador léxico no reconoce
+    private static final String[] SIMBOLOS_INVALIDOS = {"@", "#", "$", "%", "&", "?", "!", "~"};
+
+    // Prefijos de los nombres de variable; ninguno es una palabra reservada ni un número
+    private static final String[] NOMBRES = {"x", "total", "valor", "dato", "res", "acum", "temp", "n"};
+
+    private static final String[] UNIDADES = {
+        "cero", "uno", "dos", "tres", "cuatro", "cinco", "seis", "siete", "ocho", "nueve",
+        "diez", "once", "doce", "trece", "catorce", "quince", "dieciseis", "diecisiete", "dieciocho",
+        "diecinueve", "veinte", "veintiuno", "veintidos", "veintitres", "veinticuatro", "veinticinco",
+        "veintiseis", "veintisiete", "veintiocho", "veintinueve"
+    };
+    private static final String[] DECENAS = {
+        "", "", "", "treinta", "cuarenta", "cincuenta", "sesenta", "setenta", "ochenta", "noventa"
+    };
+    private static final String[] CENTENAS = {
+        "", "ciento", "doscientos", "trescientos", "cuatrocientos", "quinientos", "seiscientos",
+        "setecientos", "ochocientos", "novecientos"
+    };
+
+    // Opciones del generador. Los campos se pueden cambiar directamente o con aceptar().
+    public static final class Opciones {
+
+        public int instrucciones = 8;           // Instrucciones por programa
+        public int profundidad = 3;             // Anidamiento máximo de las operaciones
+        // Peso relativo de cada operador: suma, resta, multiplica, divide, potencia y raíz
+        public int[] pesos = {4, 3, 3, 2, 1, 1};
+        public double infijas = 0.3;            // Fracción de operaciones binarias en forma infija
+        public double numerosEnPalabras = 0.5;  // Fracción de números escritos con palabras
+        public int maximoNumero = 99_999;       // Valor máximo de los números
+        public double referencias = 0.4;        // Fracción de operandos que son variables (si hay alguna)
+        public double tasaLexica = 0;           // Fracción de instrucciones con un error léxico
+        public double tasaSintactica = 0;       // Fracción de instrucciones con un error sintáctico
+        public double tasaSemantica = 0;        // Fracción de instrucciones con un error semántico
+
+        // Aplica una opción de línea de órdenes ("--instrucciones", "--pesos 4,3,3,2,1,1", ...).
+        // Devuelve false si la opción no es del generador.
+        public boolean aceptar(String opcion, String valor) {
+            switch (opcion) {
+                case "--instrucciones":
+                    instrucciones = Integer.parseInt(valor);
+                    break;
+                case "--profundidad":
+                    profundidad = Integer.parseInt(valor);
+                    break;
+                case "--pesos":
+                    String[] partes = valor.split(",");
+                    if (partes.length != pesos.length) {
+                        throw new IllegalArgumentException("Se esperaban " + pesos.length
+                                + " pesos (suma, resta, multiplica, divide, potencia, raiz): " + valor);
+                    }
+                    for (int i = 0; i < partes.length; i++) {
+                        pesos[i] = Integer.parseInt(partes[i].trim());
+                    }
+                    break;
+                case "--infijas":
+                    infijas = Double.parseDouble(valor);
+                    break;
+                case "--numeros-en-palabras":
+                    numerosEnPalabras = Double.parseDouble(valor);
+                    break;
+                case "--maximo-numero":
+                    maximoNumero = Integer.parseInt(valor);
+                    break;
+                case "--referencias":
+                    referencias = Double.parseDouble(valor);
+                    break;
+                case "--tasa-lexica":
+                    tasaLexica = Double.parseDouble(valor);
+                    break;
+                case "--tasa-sintactica":
+                    tasaSintactica = Double.parseDouble(valor);
+                    break;
+                case "--tasa-semantica":
+                    tasaSemantica = Double.parseDouble(valor);
+                    break;
+                default:
+                    return false;
+            }
+            return true;
+        }
+
+        // Descripción de las opciones, en el mismo formato que acepta aceptar()
+        public String describir() {
+            StringBuilder pesosTexto = new StringBuilder();
+            for (int peso : pesos) {
+                if (pesosTexto.length() > 0) {
+                    pesosTexto.append(',');
+                }
+                pesosTexto.append(peso);
+            }
+            return "--instrucciones " + instrucciones + " --profundidad " + profundidad + " --pesos " + pesosTexto
+                    + " --infijas " + infijas + " --numeros-en-palabras " + numerosEnPalabras
+                    + " --maximo-numero " + maximoNumero + " --referencias " + referencias
+                    + " --tasa-lexica " + tasaLexica + " --tasa-sintactica " + tasaSintactica
+                    + " --tasa-semantica " + tasaSemantica;
+        }
+
+        static String uso() {
+            return "[--instrucciones n] [--profundidad n] [--pesos suma,resta,multiplica,divide,potencia,raiz]"
+                    + " [--infijas f] [--numeros-en-palabras f] [--maximo-numero n] [--referencias f]"
+                    + " [--tasa-lexica f] [--tasa-sintactica f] [--tasa-semantica f]";
+        }
+    }
+
+    private final SplittableRandom aleatorio;
+    private final Opciones opciones;
+    private final int pesoTotal;
+    private final StringBuilder texto = new StringBuilder(1024);   // Reutilizado en cada programa
+    private final List<String> variables = new ArrayList<>();      // Variables asignadas en el programa actual
+
+    // Estado de la instrucción que se está generando
+    private boolean errorSemantico;     // La próxima referencia debe ser a una variable no asignada
+    private boolean terminaEnPalabras;  // El texto termina con un número escrito en palabras
+
+    private long programas;             // Programas generados, para que los nombres no se repitan entre programas
+
+    public GeneradorProgramas(long semilla, Opciones opciones) {
+        this.aleatorio = new SplittableRandom(semilla);
+        this.opciones = opciones;
+        int total = 0;
+        for (int peso : opciones.pesos) {
+            if (peso < 0) {
+                throw new IllegalArgumentException("Los pesos de los operadores no pueden ser negativos");
+            }
+            total += peso;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Al menos un operador debe tener peso positivo");
+        }
+        this.pesoTotal = total;
+    }
+
+    // Genera el siguiente programa
+    public String programa() {
+        texto.setLength(0);
+        variables.clear();
+        programas++;
+        for (int i = 0; i < opciones.instrucciones; i++) {
+            if (i > 0) {
+                texto.append(", ");
+            }
+            instruccion(i);
+        }
+        return texto.toString();
+    }
+
+    private void instruccion(int indice) {
+        String nombre = NOMBRES[aleatorio.nextInt(NOMBRES.length)] + indice;
+        boolean lexico = aleatorio.nextDouble() < opciones.tasaLexica;
+        boolean sintactico = aleatorio.nextDouble() < opciones.tasaSintactica;
+        errorSemantico = aleatorio.nextDouble() < opciones.tasaSemantica;
+
+        boolean sinIgual = sintactico && aleatorio.nextBoolean();
+        texto.append(nombre).append(sinIgual ? " " : " = ");
+        int inicioValor = texto.length();
+        // Sin '=' el valor empieza con un operando; con un operador, "x suma 1 con 2" sería válido
+        operacion(opciones.profundidad, -1, sinIgual);
+        if (sintactico && !sinIgual) {
+            // Operador colgando al final, sin operandos
+            texto.append(' ').append(palabra(operador()));
+        }
+        if (lexico) {
+            // Un símbolo inválido en un límite de palabra al azar del valor
+            int posicion = limiteDePalabra(inicioValor);
+            texto.insert(posicion, SIMBOLOS_INVALIDOS[aleatorio.nextInt(SIMBOLOS_INVALIDOS.length)] + " ");
+        }
+
+        // Las instrucciones con errores no definen su variable: el análisis semántico no la ve
+        // asignada y las referencias posteriores serían errores no pedidos
+        if (!lexico && !sintactico) {
+            variables.add(nombre);
+        }
+    }
+
+    // Escribe una operación con las reglas de AnalizadorSintactico.operacion(): un término seguido,
+    // opcionalmente, de un operador infijo y otra operación. El operador 'parada' (-1 si no hay)
+    // separa los operandos de un operador prefijo que la contiene, así que no puede usarse aquí
+    // como infijo. Si 'empezarConOperando' es verdadero, el término debe ser un número o una variable.
+    private void operacion(int profundidad, int parada, boolean empezarConOperando) {
+        termino(profundidad, parada, empezarConOperando);
+        if (profundidad > 0 && aleatorio.nextDouble() < opciones.infijas) {
+            int operador = operador();
+            if (operador != RAIZ && operador != parada) {
+                // "a mas b"; la operación de la derecha se agrupa con lo que sigue
+                texto.append(' ').append(palabra(operador)).append(' ');
+                operacion(profundidad - 1, parada, false);
+            }
+        }
+    }
+
+    // Número, variable u operador prefijo con sus operandos
+    private void termino(int profundidad, int parada, boolean empezarConOperando) {
+        if (empezarConOperando || profundidad == 0 || aleatorio.nextBoolean()) {
+            operando();
+            return;
+        }
+        int operador = operador();
+        texto.append(palabra(operador)).append(' ');
+        if (aleatorio.nextInt(4) == 0) {
+            texto.append(conector(false)).append(' ');
+        }
+        if (operador == RAIZ) {
+            // "raiz de a"
+            operacion(profundidad - 1, parada, false);
+            return;
+        }
+
+        // "suma a con b": el operando izquierdo termina donde aparece el mismo operador, que
+        // también puede separar los operandos ("multiplica a por b"). Sin él, el operando derecho
+        // tiene que empezar con un número o una variable; si no, su operador se tomaría como infijo.
+        operacion(profundidad - 1, operador, false);
+        int separador = aleatorio.nextInt(3);
+        if (separador != 1) {
+            texto.append(' ').append(conector(terminaEnPalabras));
+        }
+        if (separador != 0) {
+            texto.append(' ').append(palabra(operador));
+        }
+        texto.append(' ');
+        operacion(profundidad - 1, parada, separador == 0);
+    }
+
+    // Número o variable
+    private void operando() {
+        if (errorSemantico) {
+            errorSemantico = false;
+            texto.append("indefinida").append(programas);
+            terminaEnPalabras = false;
+        } else if (!variables.isEmpty() && aleatorio.nextDouble() < opciones.referencias) {
+            texto.append(variables.get(aleatorio.nextInt(variables.size())));
+            terminaEnPalabras = false;
+        } else {
+            long valor = aleatorio.nextInt(opciones.maximoNumero + 1);
+            if (aleatorio.nextDouble() < opciones.numerosEnPalabras) {
+                numeroEnPalabras(valor, texto);
+                terminaEnPalabras = true;
+            } else {
+                texto.append(valor);
+                terminaEnPalabras = false;
+            }
+        }
+    }
+
+    private int operador() {
+        int r = aleatorio.nextInt(pesoTotal);
+        int operador = 0;
+        while (r >= opciones.pesos[operador]) {
+            r -= opciones.pesos[operador];
+            operador++;
+        }
+        return operador;
+    }
+
+    private String palabra(int operador) {
+        String[] palabras = PALABRAS_OPERADOR[operador];
+        return palabras[aleatorio.nextInt(palabras.length)];
+    }
+
+    // Conector entre operandos. Después de un número en palabras no se usa "y": "treinta y cinco"
+    // se leería como un solo número.
+    private String conector(boolean despuesDePalabras) {
+        if (!despuesDePalabras && aleatorio.nextInt(3) == 0) {
+            return AnalizadorLexico.PALABRAS_CONECTOR_Y[aleatorio.nextInt(AnalizadorLexico.PALABRAS_CONECTOR_Y.length)];
+        }
+        return AnalizadorLexico.PALABRAS_CONECTOR_CON[aleatorio.nextInt(AnalizadorLexico.PALABRAS_CONECTOR_CON.length)];
+    }
+
+    // Posición al azar, desde 'inicio', justo antes de una palabra
+    private int limiteDePalabra(int inicio) {
+        int posiciones = 1;
+        for (int i = inicio; i < texto.length(); i++) {
+            if (texto.charAt(i) == ' ') {
+                posiciones++;
+            }
+        }
+        int elegida = aleatorio.nextInt(posiciones);
+        int i = inicio;
+        while (elegida > 0) {
+            if (texto.charAt(i++) == ' ') {
+                elegida--;
+            }
+        }
+        return i;
+    }
+
+    // Escribe en palabras un número entre 0 y 999.999.999.999 (sin tildes)
+    static void numeroEnPalabras(long valor, StringBuilder destino) {
+        if (valor < 0 || valor >= 1_000_000_000_000L) {
+            throw new IllegalArgumentException("Número fuera de rango: " + valor);
+        }
+        if (valor == 0) {
+            destino.append(UNIDADES[0]);
+            return;
+        }
+        int inicio = destino.length();
+        long millones = valor / 1_000_000;
+        int miles = (int) (valor / 1000 % 1000);
+        int resto = (int) (valor % 1000);
+        if (millones > 0) {
+            if (millones == 1) {
+                destino.append("un millon");
+            } else {
+                grupoEnPalabras((int) (millones / 1000), true, destino, inicio);
+                if (millones >= 1000) {
+                    separar(destino, inicio);
+                    destino.append("mil");
+                }
+                grupoEnPalabras((int) (millones % 1000), true, destino, inicio);
+                separar(destino, inicio);
+                destino.append("millones");
+            }
+        }
+        if (miles > 0) {
+            // "mil" solo, "veintiun mil", "doscientos mil"
+            if (miles > 1) {
+                grupoEnPalabras(miles, true, destino, inicio);
+            }
+            separar(destino, inicio);
+            destino.append("mil");
+        }
+        grupoEnPalabras(resto, false, destino, inicio);
+    }
+
+    // Escribe un grupo de 0 a 999 ('apocopado': "un"/"veintiun" delante de mil o millones)
+    private static void grupoEnPalabras(int grupo, boolean apocopado, StringBuilder destino, int inicio) {
+        if (grupo == 0) {
+            return;
+        }
+        separar(destino, inicio);
+        int centenas = grupo / 100;
+        int decenas = grupo % 100;
+        if (grupo == 100) {
+            destino.append("cien");
+            return;
+        }
+        if (centenas > 0) {
+            destino.append(CENTENAS[centenas]);
+            if (decenas == 0) {
+                return;
+            }
+            destino.append(' ');
+        }
+        if (decenas < 30) {
+            if (apocopado && decenas == 1) {
+                destino.append("un");
+            } else if (apocopado && decenas == 21) {
+                destino.append("veintiun");
+            } else {
+                destino.append(UNIDADES[decenas]);
+            }
+        } else {
+            destino.append(DECENAS[decenas / 10]);
+            int unidades = decenas % 10;
+            if (unidades > 0) {
+                destino.append(" y ").append(apocopado && unidades == 1 ? "un" : UNIDADES[unidades]);
+            }
+        }
+    }
+
+    private static void separar(StringBuilder destino, int inicio) {
+        if (destino.length() > inicio) {
+            destino.append(' ');
+        }
+    }
+
+    // Escribe un corpus de programas, uno por línea, en el formato de entrada de AnalizadorLotes
+    public static void main(String[] args) throws IOException {
+        Opciones opciones = new Opciones();
+        long semilla = 1;
+        long cantidad = 1000;
+        String archivoSalida = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--semilla") && i + 1 < args.length) {
+                semilla = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--programas") && i + 1 < args.length) {
+                cantidad = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--salida") && i + 1 < args.length) {
+                archivoSalida = args[++i];
+            } else if (!(i + 1 < args.length && opciones.aceptar(args[i], args[i + 1]))) {
+                System.err.println("Uso: GeneradorProgramas [--semilla n] [--programas n] [--salida archivo] "
+                        + Opciones.uso());
+                System.exit(2);
+            } else {
+                i++;
+            }
+        }
+
+        GeneradorProgramas generador = new GeneradorProgramas(semilla, opciones);
+        try (Writer salida = archivoSalida == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedWriter(Paths.get(archivoSalida), StandardCharsets.UTF_8)) {
+            for (long i = 0; i < cantidad; i++) {
+                salida.write(generador.programa());
+                salida.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+// Prueba de carga sostenida: varios hilos analizan programas de GeneradorProgramas con analizar()
+// y analizarSemantico() durante un tiempo fijo, después de un calentamiento, y se mide el
+// rendimiento (programas y bytes por segundo), la latencia de cada programa (p50, p99, p99,9) y
+// el comportamiento del recolector de basura (colecciones, tiempo en pausas y bytes asignados
+// por programa). El resultado se compara con una línea base guardada en un archivo de
+// propiedades y la prueba termina con código 1 si alguna medida empeoró más que la tolerancia.
+//
+// Cada hilo genera de antemano su propia muestra de programas, con una semilla distinta, y la
+// recorre en ciclo: así la generación no entra en la medición y el mismo programa no se repite
+// hasta haber pasado por toda la muestra (con --cache, las vueltas siguientes son aciertos).
+public final class PruebaCarga {
+
+    private static final double MARGEN_GC = 2.0;   // Puntos porcentuales que puede crecer el tiempo en pausas de GC
+
+    // Resultado de una medición
+    static final class Medicion {
+
+        final long programas;              // Programas analizados
+        final long bytes;                  // Bytes de entrada analizados
+        final long programasConErrores;    // Programas con algún error léxico, sintáctico o semántico
+        final double segundos;             // Duración de la medición
+        final ResumenLatencia latencia;    // Latencia de analizar + analizarSemantico por programa
+        final long colecciones;            // Colecciones de basura durante la medición
+        final long milisegundosGc;         // Tiempo acumulado de las colecciones
+        final long bytesAsignados;         // Bytes asignados por los hilos de la prueba (-1 si la JVM no lo mide)
+
+        Medicion(long programas, long bytes, long programasConErrores, double segundos, ResumenLatencia latencia,
+                long colecciones, long milisegundosGc, long bytesAsignados) {
+            this.programas = programas;
+            this.bytes = bytes;
+            this.programasConErrores = programasConErrores;
+            this.segundos = segundos;
+            this.latencia = latencia;
+            this.colecciones = colecciones;
+            this.milisegundosGc = milisegundosGc;
+            this.bytesAsignados = bytesAsignados;
+        }
+
+        double programasPorSegundo() {
+            return programas / segundos;
+        }
+
+        double megabytesPorSegundo() {
+            return bytes / segundos / (1 << 20);
+        }
+
+        // Porcentaje del tiempo de la medición que se pasó en colecciones
+        double porcentajeGc() {
+            return 100.0 * milisegundosGc / (segundos * 1000);
+        }
+
+        double bytesAsignadosPorPrograma() {
+            return bytesAsignados < 0 || programas == 0 ? -1 : (double) bytesAsignados / programas;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("programas=%d (%.0f/s) entrada=%.2f GB (%.1f MB/s) con errores=%.1f %%%n"
+                    + "latencia: %s%n"
+                    + "gc: colecciones=%d tiempo=%d ms (%.2f %%) asignado=%s",
+                    programas, programasPorSegundo(), bytes / (double) (1 << 30), megabytesPorSegundo(),
+                    programas == 0 ? 0 : 100.0 * programasConErrores / programas, latencia,
+                    colecciones, milisegundosGc, porcentajeGc(),
+                    bytesAsignados < 0 ? "no disponible" : String.format("%.0f B/programa", bytesAsignadosPorPrograma()));
+        }
+    }
+
+    // Hilo de la prueba: analiza su muestra en ciclo hasta 'fin' y mide solo a partir de 'inicioMedicion'
+    private static final class Trabajador extends Thread {
+
+        private final AnalizadorLenguajeNatural analizador;
+        private final String[] muestra;
+        private final HistogramaLatencia histograma;
+        private final long inicioMedicion;
+        private final long fin;
+
+        long programas;
+        long bytes;
+        long programasConErrores;
+        long bytesAsignados = -1;
+
+        Trabajador(int numero, AnalizadorLenguajeNatural analizador, String[] muestra, HistogramaLatencia histograma,
+                long inicioMedicion, long fin) {
+            super("prueba-carga-" + numero);
+            this.analizador = analizador;
+            this.muestra = muestra;
+            this.histograma = histograma;
+            this.inicioMedicion = inicioMedicion;
+            this.fin = fin;
+        }
+
+        @Override
+        public void run() {
+            ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+            com.sun.management.ThreadMXBean asignacion = hilos instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) hilos).isThreadAllocatedMemoryEnabled()
+                    ? (com.sun.management.ThreadMXBean) hilos : null;
+            long asignadoAlInicio = -1;
+
+            int i = 0;
+            long ahora = System.nanoTime();
+            while (ahora < fin) {
+                String programa = muestra[i];
+                i = i + 1 == muestra.length ? 0 : i + 1;
+
+                boolean midiendo = ahora >= inicioMedicion;
+                if (midiendo && asignadoAlInicio < 0 && asignacion != null) {
+                    asignadoAlInicio = asignacion.getCurrentThreadAllocatedBytes();
+                }
+
+                ResultadoAnalisis resultado = analizador.analizar(programa);
+                ResultadoSemantico semantico = analizador.analizarSemantico(resultado, new HashMap<>());
+                long despues = System.nanoTime();
+
+                if (midiendo) {
+                    histograma.registrar(despues - ahora);
+                    programas++;
+                    bytes += programa.length();     // Los programas generados son ASCII: un byte por carácter
+                    if (!semantico.esValido || !resultado.resultadoSintactico.esValido
+                            || !resultado.resultadoLexico.noReconocidos.isEmpty()) {
+                        programasConErrores++;
+                    }
+                }
+                ahora = despues;
+            }
+
+            if (asignadoAlInicio >= 0) {
+                bytesAsignados = asignacion.getCurrentThreadAllocatedBytes() - asignadoAlInicio;
+            }
+        }
+    }
+
+    private PruebaCarga() {
+    }
+
+    // Corre la prueba con 'hilos' hilos que comparten el analizador
+    static Medicion medir(AnalizadorLenguajeNatural analizador, GeneradorProgramas.Opciones opciones, long semilla,
+            int hilos, int muestras, double segundosCalentamiento, double segundosMedicion) throws InterruptedException {
+        List<String[]> muestrasPorHilo = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            GeneradorProgramas generador = new GeneradorProgramas(semilla + h, opciones);
+            String[] muestra = new String[muestras];
+            for (int i = 0; i < muestras; i++) {
+                muestra[i] = generador.programa();
+            }
+            muestrasPorHilo.add(muestra);
+        }
+
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        long inicioMedicion = System.nanoTime() + (long) (segundosCalentamiento * 1e9);
+        long fin = inicioMedicion + (long) (segundosMedicion * 1e9);
+        List<Trabajador> trabajadores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            Trabajador trabajador = new Trabajador(h, analizador, muestrasPorHilo.get(h), histograma, inicioMedicion, fin);
+            trabajadores.add(trabajador);
+            trabajador.start();
+        }
+
+        // Las colecciones se cuentan desde el fin del calentamiento
+        long espera = inicioMedicion - System.nanoTime();
+        if (espera > 0) {
+            Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+        }
+        long[] gcAlInicio = estadoGc();
+
+        long programas = 0;
+        long bytes = 0;
+        long programasConErrores = 0;
+        long bytesAsignados = 0;
+        for (Trabajador trabajador : trabajadores) {
+            trabajador.join();
+            programas += trabajador.programas;
+            bytes += trabajador.bytes;
+            programasConErrores += trabajador.programasConErrores;
+            bytesAsignados = trabajador.bytesAsignados < 0 || bytesAsignados < 0 ? -1
+                    : bytesAsignados + trabajador.bytesAsignados;
+        }
+        long[] gcAlFinal = estadoGc();
+
+        return new Medicion(programas, bytes, programasConErrores, segundosMedicion, histograma.resumen(),
+                gcAlFinal[0] - gcAlInicio[0], gcAlFinal[1] - gcAlInicio[1], bytesAsignados);
+    }
+
+    // Colecciones y milisegundos acumulados de todos los recolectores
+    private static long[] estadoGc() {
+        long colecciones = 0;
+        long milisegundos = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            colecciones += Math.max(0, recolector.getCollectionCount());
+            milisegundos += Math.max(0, recolector.getCollectionTime());
+        }
+        return new long[]{colecciones, milisegundos};
+    }
+
+    // Compara la medición con la línea base y devuelve las regresiones encontradas (vacía si no hay).
+    // El rendimiento y los bytes asignados usan la tolerancia relativa 'toleranciaRendimiento', las
+    // latencias 'toleranciaLatencia' (las colas son más ruidosas) y el tiempo en GC un margen absoluto.
+    static List<String> comparar(Medicion medicion, Properties base, double toleranciaRendimiento,
+            double toleranciaLatencia) {
+        List<String> regresiones = new ArrayList<>();
+        double programasPorSegundo = Double.parseDouble(base.getProperty("programasPorSegundo"));
+        if (medicion.programasPorSegundo() < programasPorSegundo * (1 - toleranciaRendimiento)) {
+            regresiones.add(String.format("rendimiento: %.0f programas/s, la línea base es %.0f",
+                    medicion.programasPorSegundo(), programasPorSegundo));
+        }
+        compararLatencia(regresiones, "p50", medicion.latencia.getP50(), base, toleranciaLatencia);
+        compararLatencia(regresiones, "p99", medicion.latencia.getP99(), base, toleranciaLatencia);
+        compararLatencia(regresiones, "p999", medicion.latencia.getP999(), base, toleranciaLatencia);
+
+        double porcentajeGc = Double.parseDouble(base.getProperty("porcentajeGc"));
+        if (medicion.porcentajeGc() > porcentajeGc + MARGEN_GC) {
+            regresiones.add(String.format("gc: %.2f %% del tiempo en colecciones, la línea base es %.2f %%",
+                    medicion.porcentajeGc(), porcentajeGc));
+        }
+        double bytesPorPrograma = Double.parseDouble(base.getProperty("bytesAsignadosPorPrograma", "-1"));
+        if (bytesPorPrograma > 0 && medicion.bytesAsignadosPorPrograma() > bytesPorPrograma * (1 + toleranciaRendimiento)) {
+            regresiones.add(String.format("asignación: %.0f B/programa, la línea base es %.0f B/programa",
+                    medicion.bytesAsignadosPorPrograma(), bytesPorPrograma));
+        }
+        return regresiones;
+    }
+
+    private static void compararLatencia(List<String> regresiones, String percentil, long nanos, Properties base,
+            double tolerancia) {
+        long enBase = Long.parseLong(base.getProperty(percentil + "Nanos"));
+        if (nanos > enBase * (1 + tolerancia)) {
+            regresiones.add(String.format("latencia %s: %.1f µs, la línea base es %.1f µs",
+                    percentil, nanos / 1e3, enBase / 1e3));
+        }
+    }
+
+    // Propiedades de la línea base para la medición
+    static Properties lineaBase(Medicion medicion, String configuracion) {
+        Properties base = new Properties();
+        base.setProperty("configuracion", configuracion);
+        base.setProperty("procesadores", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        base.setProperty("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        base.setProperty("programasPorSegundo", String.format(Locale.ROOT, "%.1f", medicion.programasPorSegundo()));
+        base.setProperty("megabytesPorSegundo", String.format(Locale.ROOT, "%.2f", medicion.megabytesPorSegundo()));
+        base.setProperty("p50Nanos", String.valueOf(medicion.latencia.getP50()));
+        base.setProperty("p99Nanos", String.valueOf(medicion.latencia.getP99()));
+        base.setProperty("p999Nanos", String.valueOf(medicion.latencia.getP999()));
+        base.setProperty("porcentajeGc", String.format(Locale.ROOT, "%.2f", medicion.porcentajeGc()));
+        base.setProperty("bytesAsignadosPorPrograma",
+                String.format(Locale.ROOT, "%.0f", medicion.bytesAsignadosPorPrograma()));
+        return base;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        double duracion = 60;
+        double calentamiento = 10;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        int muestras = 20_000;
+        long semilla = 1;
+        int capacidadCache = 0;
+        Path archivoLineaBase = null;
+        boolean guardarLineaBase = false;
+        double toleranciaRendimiento = 0.10;
+        double toleranciaLatencia = 0.5;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--duracion") && i + 1 < args.length) {
+                duracion = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--calentamiento") && i + 1 < args.length) {
+                calentamiento = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--hilos") && i + 1 < args.length) {
+                hilos = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--muestras") && i + 1 < args.length) {
+                muestras = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--semilla") && i + 1 < args.length) {
+                semilla = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--cache") && i + 1 < args.length) {
+                capacidadCache = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--linea-base") && i + 1 < args.length) {
+                archivoLineaBase = Paths.get(args[++i]);
+            } else if (args[i].equals("--guardar-linea-base")) {
+                guardarLineaBase = true;
+            } else if (args[i].equals("--tolerancia") && i + 1 < args.length) {
+                toleranciaRendimiento = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--tolerancia-latencia") && i + 1 < args.length) {
+                toleranciaLatencia = Double.parseDouble(args[++i]);
+            } else if (i + 1 < args.length && opciones.aceptar(args[i], args[i + 1])) {
+                i++;
+            } else {
+                System.err.println("Uso: PruebaCarga [--duracion s] [--calentamiento s] [--hilos n] [--muestras n]"
+                        + " [--semilla n] [--cache capacidad] [--linea-base archivo] [--guardar-linea-base]"
+                        + " [--tolerancia f] [--tolerancia-latencia f] " + GeneradorProgramas.Opciones.uso());
+                System.exit(2);
+            }
+        }
+        if (guardarLineaBase && archivoLineaBase == null) {
+            System.err.println("--guardar-linea-base necesita --linea-base archivo");
+            System.exit(2);
+        }
+
+        // Solo se comparan mediciones hechas con la misma carga
+        String configuracion = opciones.describir() + " --hilos " + hilos + " --muestras " + muestras
+                + " --semilla " + semilla + " --cache " + capacidadCache;
+        Properties base = null;
+        if (archivoLineaBase != null && !guardarLineaBase) {
+            base = new Properties();
+            try (Reader lector = Files.newBufferedReader(archivoLineaBase, StandardCharsets.UTF_8)) {
+                base.load(lector);
+            }
+            if (!configuracion.equals(base.getProperty("configuracion"))) {
+                System.err.println("La línea base se midió con otra configuración:\n  " + base.getProperty("configuracion")
+                        + "\ny esta prueba usa:\n  " + configuracion);
+                System.exit(2);
+            }
+            if (!String.valueOf(Runtime.getRuntime().availableProcessors()).equals(base.getProperty("procesadores"))) {
+                System.err.println("Aviso: la línea base se midió con " + base.getProperty("procesadores")
+                        + " procesadores y esta máquina tiene " + Runtime.getRuntime().availableProcessors());
+            }
+        }
+
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural(
+                capacidadCache > 0 ? new CacheAnalisis(capacidadCache) : null);
+        System.err.println("Prueba de carga: " + configuracion + " (calentamiento " + calentamiento
+                + " s, medición " + duracion + " s)");
+        Medicion medicion = medir(analizador, opciones, semilla, hilos, muestras, calentamiento, duracion);
+        System.out.println(medicion);
+
+        if (guardarLineaBase) {
+            try (Writer escritor = Files.newBufferedWriter(archivoLineaBase, StandardCharsets.UTF_8)) {
+                lineaBase(medicion, configuracion).store(escritor,
+                        "Línea base de PruebaCarga; se regenera con --guardar-linea-base");
+            }
+            System.out.println("Línea base guardada en " + archivoLineaBase);
+        } else if (base != null) {
+            List<String> regresiones = comparar(medicion, base, toleranciaRendimiento, toleranciaLatencia);
+            if (!regresiones.isEmpty()) {
+                System.out.println("Regresiones respecto de " + archivoLineaBase + ":");
+                for (String regresion : regresiones) {
+                    System.out.println("  " + regresion);
+                }
+                System.exit(1);
+            }
+            System.out.println("Sin regresiones respecto de " + archivoLineaBase);
+        }
+    }
+}
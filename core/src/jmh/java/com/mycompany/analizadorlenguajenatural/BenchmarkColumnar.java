@@ -0,0 +1,96 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Evaluación de un mismo programa sobre muchas filas de valores: por columnas (ProgramaColumnar)
+// contra fila por fila (ProgramaCompilado). Cada operación evalúa todas las filas.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkColumnar {
+
+    private static final String[] PROGRAMAS = {
+        "d = suma 5 con e",
+        "x = suma b con 3, y = multiplica x por x, z = divide y entre b, w = resta z con x"
+    };
+
+    @Param({"0", "1"})
+    public int programa;
+
+    @Param({"1000", "100000"})
+    public int filas;
+
+    private ProgramaColumnar columnar;
+    private ProgramaCompilado compilado;
+    private Map<String, Object> columnas;
+    private Map<String, double[]> salidas;
+    private double[][] entradasPorFila;   // Ranuras iniciales de cada fila, para ProgramaCompilado
+    private double[] ranuras;
+
+    @Setup
+    public void preparar() {
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+        AnalizadorLenguajeNatural.ResultadoAnalisis resultado = analizador.analizar(PROGRAMAS[programa]);
+        columnar = analizador.compilarColumnar(resultado);
+        compilado = analizador.compilar(resultado);
+
+        // Una columna long[] por variable leída, con valores entre 1 y 100
+        Random aleatorio = new Random(42);
+        columnas = new HashMap<>();
+        salidas = new LinkedHashMap<>();
+        for (String variable : columnar.getVariables()) {
+            long[] columna = new long[filas];
+            for (int i = 0; i < filas; i++) {
+                columna[i] = 1 + aleatorio.nextInt(100);
+            }
+            columnas.put(variable, columna);
+            salidas.put(variable, new double[filas]);
+        }
+
+        entradasPorFila = new double[filas][];
+        for (int i = 0; i < filas; i++) {
+            double[] fila = compilado.nuevasRanuras();
+            for (Map.Entry<String, Object> columna : columnas.entrySet()) {
+                fila[compilado.ranura(columna.getKey())] = ((long[]) columna.getValue())[i];
+            }
+            entradasPorFila[i] = fila;
+        }
+        ranuras = compilado.nuevasRanuras();
+    }
+
+    // Un ciclo por operación sobre bloques de filas, escribiendo en columnas de salida reutilizadas
+    @Benchmark
+    public Map<String, double[]> columnar() {
+        columnar.evaluar(columnas, salidas);
+        return salidas;
+    }
+
+    // Una ejecución del programa por fila, reutilizando el arreglo de ranuras
+    @Benchmark
+    public double filaPorFila() {
+        double total = 0;
+        for (int i = 0; i < filas; i++) {
+            System.arraycopy(entradasPorFila[i], 0, ranuras, 0, ranuras.length);
+            total += compilado.ejecutar(ranuras);
+        }
+        return total;
+    }
+}
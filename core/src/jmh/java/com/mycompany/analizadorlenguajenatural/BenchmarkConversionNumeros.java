@@ -0,0 +1,48 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Rendimiento de la conversión de números escritos con palabras a dígitos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkConversionNumeros {
+
+    // Índice del número de EntradasBenchmark.NUMEROS (de menor a mayor longitud)
+    @Param({"0", "2", "5", "7"})
+    public int numero;
+
+    private final ConvertirNumeroTextoADigito convertidor = new ConvertirNumeroTextoADigito();
+    private String texto;
+
+    @Setup
+    public void preparar() {
+        texto = EntradasBenchmark.NUMEROS[numero];
+    }
+
+    // Conversión con la API de texto (devuelve un String)
+    @Benchmark
+    public String convertirTexto() {
+        return convertidor.convertirNumeroTextoADigito(texto);
+    }
+
+    // Conversión directa sobre el texto, sin copias ni Strings intermedios
+    @Benchmark
+    public long convertirValor() {
+        return convertidor.convertir(texto, 0, texto.length());
+    }
+}
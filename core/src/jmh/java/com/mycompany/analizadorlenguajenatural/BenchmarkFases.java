@@ -0,0 +1,78 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Rendimiento de cada fase del análisis según el tipo y el tamaño de la entrada.
+// Para ver también la tasa de asignación de memoria: java -jar target/benchmarks.jar -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkFases {
+
+    @Param({"asignacion", "programa", "anidada", "numeros"})
+    public String tipo;
+
+    @Param({"1", "10", "100", "1000"})
+    public int tamano;
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+    private String entrada;
+    private ResultadoLexico resultadoLexico;   // Resultado léxico ya calculado para las fases siguientes
+    private ResultadoAnalisis resultado;       // Resultado léxico y sintáctico ya calculado
+
+    @Setup
+    public void preparar() {
+        entrada = EntradasBenchmark.generar(tipo, tamano);
+        resultadoLexico = analizador.analizarLexico(entrada);
+        resultado = new ResultadoAnalisis(resultadoLexico, analizador.analizarSintactico(resultadoLexico));
+    }
+
+    // Solo el análisis léxico
+    @Benchmark
+    public ResultadoLexico lexico() {
+        return analizador.analizarLexico(entrada);
+    }
+
+    // Solo el análisis sintáctico, sobre los tokens ya calculados
+    @Benchmark
+    public ResultadoSintactico sintactico() {
+        return analizador.analizarSintactico(resultadoLexico);
+    }
+
+    // Análisis léxico y sintáctico tal como lo hace analizar()
+    @Benchmark
+    public ResultadoAnalisis analizar() {
+        return analizador.analizar(entrada);
+    }
+
+    // Solo el análisis semántico, recorriendo los árboles ya calculados
+    @Benchmark
+    public ResultadoSemantico semantico() {
+        return analizador.analizarSemantico(resultado, new HashMap<>());
+    }
+
+    // Análisis semántico recorriendo los tokens (el que se usa cuando la sintaxis no es válida)
+    @Benchmark
+    public ResultadoSemantico semanticoTokens() {
+        return analizador.analizarSemantico(resultadoLexico.buffer, new HashMap<>());
+    }
+}
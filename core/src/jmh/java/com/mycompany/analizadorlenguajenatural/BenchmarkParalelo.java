@@ -0,0 +1,58 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Ejecución de un programa largo de GeneradorProgramas en orden (ProgramaCompilado) contra por
+// ondas del grafo de dependencias en el pool fork-join común (ProgramaParalelo). La ganancia
+// depende de los núcleos disponibles y del costo de cada instrucción (la profundidad).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkParalelo {
+
+    @Param({"3", "12"})
+    public int profundidad;
+
+    private ProgramaCompilado compilado;
+    private ProgramaParalelo paralelo;
+    private double[] ranurasCompilado;
+    private double[] ranurasParalelo;
+
+    @Setup
+    public void preparar() {
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        opciones.instrucciones = 2000;
+        opciones.profundidad = profundidad;
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+        AnalizadorLenguajeNatural.ResultadoAnalisis resultado =
+                analizador.analizar(new GeneradorProgramas(42, opciones).programa());
+        compilado = analizador.compilar(resultado);
+        paralelo = analizador.compilarParalelo(resultado);
+        ranurasCompilado = compilado.nuevasRanuras();
+        ranurasParalelo = paralelo.nuevasRanuras();
+    }
+
+    @Benchmark
+    public double enOrden() {
+        return compilado.ejecutar(ranurasCompilado);
+    }
+
+    @Benchmark
+    public double porOndas() {
+        return paralelo.ejecutar(ranurasParalelo);
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Análisis y evaluación de una cadena de operadores de largo variable: la máquina de pila de
+// ProgramaPostfijo contra las clausuras anidadas de ProgramaCompilado.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkPostfijo {
+
+    @Param({"10", "1000"})
+    public int operadores;
+
+    private AnalizadorLenguajeNatural analizador;
+    private String expresion;
+    private ProgramaPostfijo postfijo;
+    private ProgramaCompilado compilado;
+    private double[] ranurasPostfijo;
+    private double[] pila;
+    private double[] ranurasCompilado;
+
+    @Setup
+    public void preparar() {
+        // "x = b mas uno por b menos uno ...", sin constantes que el optimizador pueda plegar
+        String[] operaciones = {" mas ", " por ", " menos "};
+        StringBuilder texto = new StringBuilder("x = b");
+        for (int i = 0; i < operadores; i++) {
+            texto.append(operaciones[i % operaciones.length]).append(i % 2 == 0 ? "uno" : "b");
+        }
+        expresion = texto.toString();
+
+        analizador = new AnalizadorLenguajeNatural();
+        AnalizadorLenguajeNatural.ResultadoAnalisis resultado = analizador.analizar(expresion);
+        postfijo = analizador.compilarPostfijo(resultado);
+        compilado = analizador.compilar(resultado);
+        ranurasPostfijo = postfijo.nuevasRanuras();
+        ranurasPostfijo[postfijo.ranura("b")] = 3;
+        pila = postfijo.nuevaPila();
+        ranurasCompilado = compilado.nuevasRanuras();
+        ranurasCompilado[compilado.ranura("b")] = 3;
+    }
+
+    @Benchmark
+    public AnalizadorLenguajeNatural.ResultadoAnalisis analizar() {
+        return analizador.analizar(expresion);
+    }
+
+    @Benchmark
+    public double ejecutarPostfijo() {
+        return postfijo.ejecutar(ranurasPostfijo, pila);
+    }
+
+    @Benchmark
+    public double ejecutarCompilado() {
+        return compilado.ejecutar(ranurasCompilado);
+    }
+}
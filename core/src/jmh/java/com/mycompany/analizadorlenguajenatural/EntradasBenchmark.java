@@ -0,0 +1,79 @@
+package com.mycompany.analizadorlenguajenatural;
+
+// Entradas representativas para los benchmarks, generadas de forma determinista a partir del
+// tipo de entrada y de su tamaño (número de instrucciones o profundidad de anidamiento)
+final class EntradasBenchmark {
+
+    // Instrucciones cortas como los ejemplos de FrameAnalizador
+    private static final String[] ASIGNACIONES = {
+        "x = suma cuatro y cinco",
+        "b = resta veinte y cinco",
+        "p = diez",
+        "m = multiplica x por b",
+        "d = divide m entre p",
+        "w = eleva d con dos",
+        "r = raiz de w"
+    };
+
+    // Números escritos con palabras, de distinta longitud
+    static final String[] NUMEROS = {
+        "cinco",
+        "veintitrés",
+        "noventa y nueve",
+        "ciento cuarenta y dos",
+        "tres mil doscientos",
+        "novecientos noventa y nueve mil ochocientos setenta y seis",
+        "dos millones quinientos mil trescientos veintiuno",
+        "cuatro billones trescientos mil millones"
+    };
+
+    private EntradasBenchmark() {
+    }
+
+    // Genera la entrada del tipo y tamaño dados
+    static String generar(String tipo, int tamano) {
+        StringBuilder entrada = new StringBuilder();
+        switch (tipo) {
+            case "asignacion":
+                // Una sola asignación corta, repetida con distintas variables si el tamaño es mayor
+                for (int i = 0; i < tamano; i++) {
+                    separar(entrada);
+                    entrada.append(ASIGNACIONES[i % 3]);
+                }
+                break;
+            case "programa":
+                // Programa largo separado por comas que encadena definiciones y usos
+                for (int i = 0; i < tamano; i++) {
+                    separar(entrada);
+                    entrada.append(ASIGNACIONES[i % ASIGNACIONES.length]);
+                }
+                break;
+            case "anidada":
+                // Operaciones anidadas: suma uno y multiplica dos por suma uno y ... uno
+                entrada.append("x = ");
+                for (int i = 0; i < tamano; i++) {
+                    entrada.append(i % 2 == 0 ? "suma uno y " : "multiplica dos por ");
+                }
+                entrada.append("uno");
+                break;
+            case "numeros":
+                // Texto dominado por números largos escritos con palabras
+                for (int i = 0; i < tamano; i++) {
+                    separar(entrada);
+                    entrada.append('n').append(i).append(" = suma ")
+                            .append(NUMEROS[i % NUMEROS.length]).append(" y ")
+                            .append(NUMEROS[(i + 5) % NUMEROS.length]);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Tipo de entrada desconocido: " + tipo);
+        }
+        return entrada.toString();
+    }
+
+    private static void separar(StringBuilder entrada) {
+        if (entrada.length() > 0) {
+            entrada.append(", ");
+        }
+    }
+}
@@ -0,0 +1,1006 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class AnalizadorLenguajeNatural {
+
+    private final CacheAnalisis cache;               // Caché opcional de resultados (null si no se usa)
+    private final SumideroDiagnosticos sumidero;     // Destino de los diagnósticos de cada análisis
+    private final MetricasAnalisis metricas;         // Métricas de cada fase (null si no se miden)
+    private final boolean optimizar;                 // Genera los árboles optimizados de cada análisis sintáctico
+
+    public AnalizadorLenguajeNatural() {
+        this(null);
+    }
+
+    // Crea un analizador que reutiliza los resultados guardados en la caché dada (puede ser null)
+    public AnalizadorLenguajeNatural(CacheAnalisis cache) {
+        this(cache, SumideroDiagnosticos.NINGUNO);
+    }
+
+    // Crea un analizador que publica en el sumidero dado los diagnósticos de cada análisis
+    public AnalizadorLenguajeNatural(CacheAnalisis cache, SumideroDiagnosticos sumidero) {
+        this(cache, sumidero, null);
+    }
+
+    // Crea un analizador que además mide la latencia de cada fase en las métricas dadas (puede ser null)
+    public AnalizadorLenguajeNatural(CacheAnalisis cache, SumideroDiagnosticos sumidero, MetricasAnalisis metricas) {
+        this(cache, sumidero, metricas, true);
+    }
+
+    // Igual que el anterior; con optimizar = false no se pliegan constantes (arbolesOptimizados es
+    // null y se compilan los árboles originales)
+    public AnalizadorLenguajeNatural(CacheAnalisis cache, SumideroDiagnosticos sumidero, MetricasAnalisis metricas,
+            boolean optimizar) {
+        this.cache = cache;
+        this.sumidero = sumidero == null ? SumideroDiagnosticos.NINGUNO : sumidero;
+        this.metricas = metricas;
+        this.optimizar = optimizar;
+    }
+
+    public CacheAnalisis getCache() {
+        return cache;
+    }
+
+    public SumideroDiagnosticos getSumidero() {
+        return sumidero;
+    }
+
+    public MetricasAnalisis getMetricas() {
+        return metricas;
+    }
+
+    public boolean isOptimizar() {
+        return optimizar;
+    }
+
+    // Clase que representa un Token
+    public static class Token {
+
+        public final String tipo;          // Tipo del token (e.g., Numero, OperadorSuma)
+        public final String valor;         // Valor interno del token (e.g., '+', '5')
+        public final String valorOriginal; // Valor original del token en la entrada
+        public final TipoToken tipoToken;  // Tipo del token como enumeración (null si el tipo no existe)
+
+        public Token(String tipo, String valor, String valorOriginal) {
+            this.tipo = tipo;
+            this.valor = valor;
+            this.valorOriginal = valorOriginal;
+            this.tipoToken = TipoToken.desdeNombre(tipo);
+        }
+
+        public Token(TipoToken tipoToken, String valor, String valorOriginal) {
+            this.tipo = tipoToken.getNombre();
+            this.valor = valor;
+            this.valorOriginal = valorOriginal;
+            this.tipoToken = tipoToken;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Token{tipo='%s', valor='%s', valorOriginal='%s'}",
+                    tipo, valor, valorOriginal);
+        }
+    }
+
+    // Clase que almacena el resultado del análisis léxico
+    public static class ResultadoLexico {
+
+        public final List<Token> tokens;                  // Lista de tokens reconocidos
+        public final BufferTokens buffer;                 // Tokens en formato compacto (arreglos paralelos)
+        public final List<String> identificadores;        // Lista de identificadores encontrados
+        public final String expresionOriginal;            // Expresión original de entrada
+        public final List<String> noReconocidos;          // Elementos no reconocidos en la entrada
+
+        public ResultadoLexico(List<Token> tokens, List<String> identificadores,
+                String expresionOriginal, List<String> noReconocidos) {
+            this.tokens = tokens;
+            this.buffer = BufferTokens.desdeTokens(tokens);
+            this.identificadores = identificadores;
+            this.expresionOriginal = expresionOriginal;
+            this.noReconocidos = noReconocidos;
+        }
+
+        public ResultadoLexico(BufferTokens buffer, List<String> identificadores,
+                String expresionOriginal, List<String> noReconocidos) {
+            this.tokens = buffer.comoLista();
+            this.buffer = buffer;
+            this.identificadores = identificadores;
+            this.expresionOriginal = expresionOriginal;
+            this.noReconocidos = noReconocidos;
+        }
+    }
+
+    // Excepción personalizada para errores sintácticos
+    public static class ErrorSintactico extends Exception {
+
+        private final String tipoError;    // Tipo de error sintáctico
+        private final String sugerencia;   // Sugerencia para corregir el error
+        private final int inicio;          // Desplazamiento inicial del error en la expresión (-1 si no se conoce)
+        private final int fin;             // Desplazamiento final (exclusivo) del error (-1 si no se conoce)
+
+        public ErrorSintactico(String mensaje, String tipoError, String sugerencia) {
+            this(mensaje, tipoError, sugerencia, -1, -1);
+        }
+
+        // Sin traza de pila: el error es un resultado del análisis, no un fallo del programa, y la
+        // recuperación puede crear cientos en una sola pasada
+        public ErrorSintactico(String mensaje, String tipoError, String sugerencia, int inicio, int fin) {
+            super(mensaje, null, false, false);
+            this.tipoError = tipoError;
+            this.sugerencia = sugerencia;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        public String getTipoError() {
+            return tipoError;
+        }
+
+        public String getSugerencia() {
+            return sugerencia;
+        }
+
+        public int getInicio() {
+            return inicio;
+        }
+
+        public int getFin() {
+            return fin;
+        }
+    }
+
+    // Error sintáctico de una instrucción del programa
+    public static class ErrorInstruccion {
+
+        public final int instruccion;      // Índice de la instrucción (desde 0; -1 si no se conoce)
+        public final String error;         // Mensaje de error
+        public final String tipoError;     // Tipo de error sintáctico
+        public final String sugerencia;    // Sugerencia para corregir el error
+        public final int inicio;           // Desplazamiento del error en la expresión (-1 si no se conoce)
+        public final int fin;              // Desplazamiento final (exclusivo) del error (-1 si no se conoce)
+
+        public ErrorInstruccion(int instruccion, String error, String tipoError, String sugerencia, int inicio, int fin) {
+            this.instruccion = instruccion;
+            this.error = error;
+            this.tipoError = tipoError;
+            this.sugerencia = sugerencia;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        public String toString() {
+            return "Instrucción " + (instruccion + 1) + ": " + error;
+        }
+    }
+
+    // Clase que almacena el resultado del análisis sintáctico
+    public static class ResultadoSintactico {
+
+        public final boolean esValido;                     // Indica si la sintaxis es válida
+        public final List<NodoExpresion> arboles;          // Árboles de expresión, uno por instrucción
+        public final TablaSimbolos simbolos;               // Variables encontradas por el analizador sintáctico
+        public final List<String> arbolesExpresion;        // Lista de árboles de expresión generados (en texto)
+        public final List<String> expresionesPostfijas;    // Lista de expresiones en notación postfija
+        public final String error;                         // Mensaje de error si existe
+        public final String tipoError;                     // Tipo de error sintáctico
+        public final String sugerencia;                    // Sugerencia para corregir el error
+        public final int inicioError;                      // Desplazamiento del error en la expresión (-1 si no hay)
+        public final int finError;                         // Desplazamiento final (exclusivo) del error (-1 si no hay)
+        // Árbol de cada instrucción, en orden, con null en las que tienen errores (null si no se conocen)
+        public final List<NodoExpresion> instrucciones;
+        public final List<ErrorInstruccion> errores;       // Todos los errores; error, tipoError y sugerencia son los del primero
+        // Instrucciones con las constantes plegadas, con null en las que tienen errores (null si no se optimizó)
+        public final List<NodoExpresion> arbolesOptimizados;
+
+        public ResultadoSintactico(boolean esValido, List<String> arbolesExpresion,
+                List<String> expresionesPostfijas, String error,
+                String tipoError, String sugerencia) {
+            this.esValido = esValido;
+            this.arboles = null;
+            this.simbolos = null;
+            this.arbolesExpresion = arbolesExpresion;
+            this.expresionesPostfijas = expresionesPostfijas;
+            this.error = error;
+            this.tipoError = tipoError;
+            this.sugerencia = sugerencia;
+            this.inicioError = -1;
+            this.finError = -1;
+            this.instrucciones = null;
+            this.errores = error == null ? Collections.emptyList()
+                    : Collections.singletonList(new ErrorInstruccion(-1, error, tipoError, sugerencia, -1, -1));
+            this.arbolesOptimizados = null;
+        }
+
+        // Construye el resultado a partir de los árboles; su texto se genera solo al consultarlo
+        public ResultadoSintactico(boolean esValido, List<NodoExpresion> arboles, TablaSimbolos simbolos,
+                String error, String tipoError, String sugerencia) {
+            this(esValido, arboles, simbolos, error, tipoError, sugerencia, -1, -1);
+        }
+
+        // Igual que el anterior, con el tramo de caracteres [inicioError, finError) del error
+        public ResultadoSintactico(boolean esValido, List<NodoExpresion> arboles, TablaSimbolos simbolos,
+                String error, String tipoError, String sugerencia, int inicioError, int finError) {
+            this.esValido = esValido;
+            this.arboles = arboles;
+            this.simbolos = simbolos;
+            this.arbolesExpresion = arboles == null ? null : new TextoArboles(arboles, false);
+            this.expresionesPostfijas = arboles == null ? null : new TextoArboles(arboles, true);
+            this.error = error;
+            this.tipoError = tipoError;
+            this.sugerencia = sugerencia;
+            this.inicioError = inicioError;
+            this.finError = finError;
+            this.instrucciones = arboles;
+            this.errores = error == null ? Collections.emptyList()
+                    : Collections.singletonList(new ErrorInstruccion(-1, error, tipoError, sugerencia, inicioError, finError));
+            this.arbolesOptimizados = null;
+        }
+
+        // Construye el resultado de un análisis con recuperación de errores: 'instrucciones' tiene
+        // un árbol por instrucción (null en las que fallaron) y 'errores' todos los errores. Si no
+        // hay errores, 'arboles' son las instrucciones; si los hay, 'arboles' es null y el primer
+        // error ocupa los campos error, tipoError, sugerencia, inicioError y finError.
+        public ResultadoSintactico(List<NodoExpresion> instrucciones, List<ErrorInstruccion> errores,
+                TablaSimbolos simbolos) {
+            this(instrucciones, errores, simbolos, null);
+        }
+
+        // Igual que el anterior, con las instrucciones ya optimizadas (puede ser null)
+        public ResultadoSintactico(List<NodoExpresion> instrucciones, List<ErrorInstruccion> errores,
+                TablaSimbolos simbolos, List<NodoExpresion> arbolesOptimizados) {
+            ErrorInstruccion primero = errores.isEmpty() ? null : errores.get(0);
+            this.esValido = primero == null;
+            this.arboles = esValido ? instrucciones : null;
+            this.simbolos = simbolos;
+            this.arbolesExpresion = esValido ? new TextoArboles(instrucciones, false) : null;
+            this.expresionesPostfijas = esValido ? new TextoArboles(instrucciones, true) : null;
+            this.error = esValido ? null : primero.error;
+            this.tipoError = esValido ? null : primero.tipoError;
+            this.sugerencia = esValido ? null : primero.sugerencia;
+            this.inicioError = esValido ? -1 : primero.inicio;
+            this.finError = esValido ? -1 : primero.fin;
+            this.instrucciones = instrucciones;
+            this.errores = errores;
+            this.arbolesOptimizados = arbolesOptimizados;
+        }
+
+        // Árboles que se deben evaluar: los optimizados si los hay y, si no, los originales
+        public List<NodoExpresion> arbolesEvaluables() {
+            return esValido && arbolesOptimizados != null ? arbolesOptimizados : arboles;
+        }
+
+        // Número de instrucciones del programa, o -1 si el resultado no las conoce
+        public int numeroInstrucciones() {
+            return instrucciones == null ? -1 : instrucciones.size();
+        }
+
+        // Indica si la instrucción dada (desde 0) se analizó sin errores
+        public boolean esInstruccionValida(int indice) {
+            return instrucciones != null && instrucciones.get(indice) != null;
+        }
+    }
+
+    // Vista de los árboles como texto en notación prefija (o postfija), generado la primera vez que se consulta
+    private static class TextoArboles extends AbstractList<String> implements RandomAccess {
+
+        private final List<NodoExpresion> arboles;
+        private final boolean postfija;
+        private final String[] textos;
+
+        TextoArboles(List<NodoExpresion> arboles, boolean postfija) {
+            this.arboles = arboles;
+            this.postfija = postfija;
+            this.textos = new String[arboles.size()];
+        }
+
+        @Override
+        public String get(int indice) {
+            String texto = textos[indice];
+            if (texto == null) {
+                NodoExpresion arbol = arboles.get(indice);
+                texto = postfija ? arbol.textoPostfijo() : arbol.toString();
+                textos[indice] = texto;
+            }
+            return texto;
+        }
+
+        @Override
+        public int size() {
+            return textos.length;
+        }
+    }
+
+    // Clase que almacena el resultado completo del análisis (léxico y sintáctico)
+    public static class ResultadoAnalisis {
+
+        public final ResultadoLexico resultadoLexico;          // Resultado del análisis léxico
+        public final ResultadoSintactico resultadoSintactico;  // Resultado del análisis sintáctico
+        public final Diagnosticos diagnosticos;                // Diagnósticos léxicos y sintácticos
+
+        public ResultadoAnalisis(ResultadoLexico resultadoLexico,
+                ResultadoSintactico resultadoSintactico) {
+            this(resultadoLexico, resultadoSintactico, Diagnosticos.de(resultadoLexico, resultadoSintactico));
+        }
+
+        public ResultadoAnalisis(ResultadoLexico resultadoLexico,
+                ResultadoSintactico resultadoSintactico, Diagnosticos diagnosticos) {
+            this.resultadoLexico = resultadoLexico;
+            this.resultadoSintactico = resultadoSintactico;
+            this.diagnosticos = diagnosticos;
+        }
+    }
+
+    // Método para realizar el análisis léxico de la entrada
+    public ResultadoLexico analizarLexico(String entrada) {
+        if (metricas == null) {
+            return AnalizadorLexico.analizar(entrada);
+        }
+        long inicio = System.nanoTime();
+        ResultadoLexico resultado = AnalizadorLexico.analizar(entrada);
+        metricas.registrarLexico(System.nanoTime() - inicio, resultado.buffer.tamano(), resultado.noReconocidos.size());
+        return resultado;
+    }
+
+    // Clase interna para el analizador sintáctico
+    private static class AnalizadorSintactico {
+
+        private final BufferTokens tokens;     // Tokens a analizar
+        private int posicionActual;            // Posición actual en el buffer de tokens
+        private TipoToken tipoActual;          // Tipo del token actual (null al final de la entrada)
+        private final TablaSimbolos simbolos = new TablaSimbolos(); // Variables encontradas
+
+        // Pila de marcos de operacion(), en arreglos paralelos. Un marco es una operación que espera
+        // su término o el operando derecho de su operador infijo (operador != null), un operador
+        // prefijo binario que espera su operando izquierdo (nodo == null) o el derecho, o un
+        // operador unario que espera su operando.
+        private static final int MARCO_OPERACION = 0;
+        private static final int MARCO_PREFIJO = 1;
+        private static final int MARCO_UNARIO = 2;
+        private int[] tipoMarco = new int[16];
+        private TipoToken[] operadorMarco = new TipoToken[16];
+        private TipoToken[] paradaMarco = new TipoToken[16];   // Operador ante el que se detiene la operación
+        private int[] inicioMarco = new int[16];               // Inicio del operador prefijo o unario
+        private NodoExpresion[] nodoMarco = new NodoExpresion[16];
+        private int marcos;
+
+        public AnalizadorSintactico(BufferTokens tokens) {
+            this.tokens = tokens;
+            this.posicionActual = 0;
+            this.tipoActual = tokens.tamano() == 0 ? null : tokens.tipo(0);
+        }
+
+        // Método principal del análisis sintáctico. Si una instrucción tiene un error, se registra,
+        // se descartan sus tokens hasta la siguiente coma (recuperación en modo pánico) y se sigue
+        // con la instrucción siguiente, de modo que una sola pasada encuentra todos los errores.
+        // Si 'optimizar' es true, el resultado incluye además las instrucciones optimizadas.
+        public ResultadoSintactico analizar(boolean optimizar) {
+            List<NodoExpresion> instrucciones = new ArrayList<>();
+            List<ErrorInstruccion> errores = new ArrayList<>(0);
+
+            while (tipoActual != null) {
+                try {
+                    NodoExpresion arbol = expresion();
+                    if (!coincide(TipoToken.COMA) && tipoActual != null) {
+                        throw error(
+                                "Se esperaba una coma o fin de entrada en la posición " + posicionActual,
+                                "Error de sintaxis",
+                                "Asegúrate de separar las instrucciones con comas"
+                        );
+                    }
+                    instrucciones.add(arbol);
+                } catch (ErrorSintactico e) {
+                    errores.add(new ErrorInstruccion(instrucciones.size(), e.getMessage(), e.getTipoError(),
+                            e.getSugerencia(), e.getInicio(), e.getFin()));
+                    instrucciones.add(null);
+                    sincronizar();
+                }
+
+                if (coincide(TipoToken.COMA)) {
+                    avanzar(); // Consumir la coma
+                }
+            }
+
+            return new ResultadoSintactico(instrucciones, errores, simbolos,
+                    optimizar ? OptimizadorArboles.optimizar(instrucciones, simbolos) : null);
+        }
+
+        // Descarta los tokens de la instrucción con errores hasta la siguiente coma (sin consumirla)
+        private void sincronizar() {
+            while (tipoActual != null && !coincide(TipoToken.COMA)) {
+                avanzar();
+            }
+        }
+
+        // Crea un error sintáctico situado en el token actual (o al final de la entrada, si ya no hay tokens)
+        private ErrorSintactico error(String mensaje, String tipoError, String sugerencia) {
+            int inicio = tipoActual != null ? tokens.inicio(posicionActual) : tokens.getFuente().length();
+            int fin = tipoActual != null ? tokens.fin(posicionActual) : inicio;
+            return new ErrorSintactico(mensaje, tipoError, sugerencia, inicio, fin);
+        }
+
+        // Método para avanzar al siguiente token
+        private void avanzar() {
+            posicionActual++;
+            tipoActual = posicionActual < tokens.tamano() ? tokens.tipo(posicionActual) : null;
+        }
+
+        // Método para verificar si el token actual coincide con un tipo específico
+        private boolean coincide(TipoToken tipo) {
+            return tipoActual == tipo;
+        }
+
+        // Métodos para verificar conectores y operadores
+        private boolean coincideConector() {
+            return tipoActual != null && tipoActual.esConector();
+        }
+
+        private boolean coincideOperador() {
+            return tipoActual != null && tipoActual.esOperador();
+        }
+
+        // Método para consumir conectores opcionales
+        private void consumirConectores() {
+            while (coincideConector()) {
+                avanzar();
+            }
+        }
+
+        // Método para analizar una expresión completa
+        private NodoExpresion expresion() throws ErrorSintactico {
+            NodoExpresion resultado = asignacion();
+            return resultado;
+        }
+
+        // Método para analizar una asignación
+        private NodoExpresion asignacion() throws ErrorSintactico {
+            if (coincide(TipoToken.IDENTIFICADOR) && siguienteEs(TipoToken.OPERADOR_ASIGNACION)) {
+                int posicionIdentificador = posicionActual;
+                String nombre = tokens.valorInterno(posicionIdentificador);
+                int simbolo = simbolos.registrar(nombre);
+                avanzar(); // Avanzar desde el identificador
+                avanzar(); // Avanzar desde el operador de asignación
+                NodoExpresion valor = operacion(null); // Analizar la expresión del lado derecho
+                return new NodoExpresion.Asignacion(tokens.texto(posicionIdentificador), nombre, simbolo, valor,
+                        tokens.inicio(posicionIdentificador), valor.fin);
+            } else {
+                return operacion(null);
+            }
+        }
+
+        // Método para analizar una operación; se detiene ante el operador 'parada' (puede ser null),
+        // que separa los operandos de un operador prefijo, como "por" en "multiplica x por tres".
+        //
+        // Gramática (los conectores son opcionales entre cualquier par de elementos):
+        //   operacion(p) := termino(p) [operador distinto de p, operacion(p)]
+        //   termino(p)   := número | identificador
+        //                 | operador binario o, operacion(o), [o], operacion(p)
+        //                 | operador unario, operacion(p)
+        // Los operadores infijos se agrupan a la derecha: "uno mas dos por tres" es (+ uno (* dos tres)).
+        // En lugar de llamadas recursivas se usa una pila explícita de marcos, por lo que la pila de
+        // Java no crece con la longitud ni con el anidamiento de la entrada.
+        private NodoExpresion operacion(TipoToken parada) throws ErrorSintactico {
+            marcos = 0;
+            apilar(MARCO_OPERACION, null, parada, 0);
+            while (true) {
+                NodoExpresion nodo = termino();
+
+                // Completa los marcos que esperaban este nodo, hasta encontrar uno que necesite otro término
+                while (true) {
+                    int m = marcos - 1;
+                    if (tipoMarco[m] == MARCO_OPERACION) {
+                        if (operadorMarco[m] != null) {
+                            // Operando derecho de un operador infijo
+                            NodoExpresion izquierda = nodoMarco[m];
+                            nodo = new NodoExpresion.OperacionBinaria(operadorMarco[m], izquierda, nodo, izquierda.inicio, nodo.fin);
+                        }
+
+                        // Consumir conectores opcionales
+                        consumirConectores();
+
+                        if (coincideOperador() && !coincide(paradaMarco[m])) {
+                            operadorMarco[m] = tipoActual;
+                            nodoMarco[m] = nodo;
+                            avanzar(); // Avanzar desde el operador
+
+                            // Consumir conectores opcionales
+                            consumirConectores();
+
+                            apilar(MARCO_OPERACION, null, paradaMarco[m], 0);
+                            break;
+                        }
+                        marcos--;
+                        if (marcos == 0) {
+                            return nodo;
+                        }
+                    } else if (tipoMarco[m] == MARCO_PREFIJO) {
+                        if (nodoMarco[m] == null) {
+                            // Operando izquierdo de un operador prefijo; sigue el derecho
+                            nodoMarco[m] = nodo;
+
+                            // Consumir conectores opcionales o el mismo operador usado como separador
+                            consumirConectores();
+                            if (coincide(operadorMarco[m])) {
+                                avanzar();
+                                consumirConectores();
+                            }
+
+                            apilar(MARCO_OPERACION, null, paradaMarco[m], 0);
+                            break;
+                        }
+                        nodo = new NodoExpresion.OperacionBinaria(operadorMarco[m], nodoMarco[m], nodo, inicioMarco[m], nodo.fin);
+                        marcos--;
+                    } else {
+                        nodo = new NodoExpresion.OperacionUnaria(operadorMarco[m], nodo, inicioMarco[m], nodo.fin);
+                        marcos--;
+                    }
+                }
+            }
+        }
+
+        // Método para analizar un término (número o identificador). Cada operador prefijo que lo
+        // precede abre un marco que espera sus operandos; el del tope es siempre una operación.
+        private NodoExpresion termino() throws ErrorSintactico {
+            while (coincideOperador()) {
+                TipoToken operador = tipoActual;
+                int inicio = tokens.inicio(posicionActual);
+                TipoToken parada = paradaMarco[marcos - 1];
+                avanzar(); // Avanzar desde el operador
+
+                // Consumir conectores opcionales
+                consumirConectores();
+
+                if (operador.getAridad() == 2) {
+                    // El operando izquierdo termina ante el mismo operador; el derecho, ante la parada actual
+                    apilar(MARCO_PREFIJO, operador, parada, inicio);
+                    apilar(MARCO_OPERACION, null, operador, 0);
+                } else {
+                    apilar(MARCO_UNARIO, operador, parada, inicio);
+                    apilar(MARCO_OPERACION, null, parada, 0);
+                }
+            }
+
+            if (coincide(TipoToken.NUMERO)) {
+                NodoExpresion numero = new NodoExpresion.NumeroLiteral(tokens.texto(posicionActual),
+                        tokens.valor(posicionActual), tokens.inicio(posicionActual), tokens.fin(posicionActual));
+                avanzar();
+                return numero;
+            } else if (coincide(TipoToken.IDENTIFICADOR)) {
+                String nombre = tokens.valorInterno(posicionActual);
+                NodoExpresion referencia = new NodoExpresion.Referencia(tokens.texto(posicionActual), nombre,
+                        simbolos.registrar(nombre), tokens.inicio(posicionActual), tokens.fin(posicionActual));
+                avanzar();
+                return referencia;
+            } else {
+                throw error(
+                        "Se esperaba un número, identificador u operador en la posición " + posicionActual,
+                        "Error de sintaxis",
+                        "Verifica que la expresión esté correctamente formada"
+                );
+            }
+        }
+
+        // Abre un marco en la pila del análisis de operaciones
+        private void apilar(int tipo, TipoToken operador, TipoToken parada, int inicio) {
+            if (marcos == tipoMarco.length) {
+                int capacidad = marcos * 2;
+                tipoMarco = Arrays.copyOf(tipoMarco, capacidad);
+                operadorMarco = Arrays.copyOf(operadorMarco, capacidad);
+                paradaMarco = Arrays.copyOf(paradaMarco, capacidad);
+                inicioMarco = Arrays.copyOf(inicioMarco, capacidad);
+                nodoMarco = Arrays.copyOf(nodoMarco, capacidad);
+            }
+            tipoMarco[marcos] = tipo;
+            operadorMarco[marcos] = operador;
+            paradaMarco[marcos] = parada;
+            inicioMarco[marcos] = inicio;
+            nodoMarco[marcos] = null;
+            marcos++;
+        }
+
+        // Método para verificar el siguiente token sin avanzar
+        private boolean siguienteEs(TipoToken tipo) {
+            return posicionActual + 1 < tokens.tamano() && tokens.tipo(posicionActual + 1) == tipo;
+        }
+    }
+
+    // Método principal para analizar una expresión (combina análisis léxico y sintáctico).
+    // Si la caché tiene el resultado, se devuelve el guardado. Los diagnósticos (texto no
+    // reconocido, advertencias y el error sintáctico) se publican en el sumidero.
+    public ResultadoAnalisis analizar(String expresion) {
+        if (metricas != null) {
+            metricas.registrarAnalisis();
+        }
+        ResultadoAnalisis resultado = analizarSinPublicar(expresion);
+        publicar(resultado.diagnosticos);
+        return resultado;
+    }
+
+    private ResultadoAnalisis analizarSinPublicar(String expresion) {
+        if (cache != null) {
+            ResultadoAnalisis guardado = cache.obtener(expresion);
+            if (guardado != null) {
+                return guardado;
+            }
+        }
+
+        // Realizar el análisis léxico
+        ResultadoLexico resultadoLexico = analizarLexico(expresion);
+
+        // Continuar con el análisis sintáctico
+        ResultadoSintactico resultadoSintactico = analizarSintactico(resultadoLexico);
+
+        ResultadoAnalisis resultado = new ResultadoAnalisis(resultadoLexico, resultadoSintactico);
+        return cache != null ? cache.guardar(expresion, resultado) : resultado;
+    }
+
+    // Entrega los diagnósticos al sumidero, solo si hay alguno
+    private void publicar(Diagnosticos diagnosticos) {
+        if (diagnosticos != null && !diagnosticos.esVacio()) {
+            sumidero.publicar(diagnosticos);
+        }
+    }
+
+    // Método para realizar el análisis sintáctico de los tokens de un análisis léxico
+    public ResultadoSintactico analizarSintactico(ResultadoLexico resultadoLexico) {
+        long inicio = metricas == null ? 0 : System.nanoTime();
+        AnalizadorSintactico analizadorSintactico = new AnalizadorSintactico(resultadoLexico.buffer);
+        ResultadoSintactico resultado = analizadorSintactico.analizar(optimizar);
+        if (metricas != null) {
+            metricas.registrarSintactico(System.nanoTime() - inicio, resultado.errores);
+        }
+        return resultado;
+    }
+
+    // Método para analizar un lote de expresiones independientes en paralelo (fork-join común).
+    // Los resultados se devuelven en el mismo orden que las expresiones de entrada.
+    public List<ResultadoAnalisis> analizarLote(List<String> expresiones) {
+        return analizarLote(expresiones, ForkJoinPool.commonPool());
+    }
+
+    // Igual que analizarLote(List), pero repartiendo el trabajo en el pool indicado
+    public List<ResultadoAnalisis> analizarLote(List<String> expresiones, ForkJoinPool pool) {
+        String[] entradas = expresiones.toArray(new String[0]);
+        ResultadoAnalisis[] resultados = new ResultadoAnalisis[entradas.length];
+        pool.invoke(new TareaLote(this, entradas, resultados, 0, entradas.length));
+        return Collections.unmodifiableList(Arrays.asList(resultados));
+    }
+
+    // Método para analizar en paralelo un flujo de expresiones, conservando su orden de encuentro
+    public List<ResultadoAnalisis> analizarLote(Stream<String> expresiones) {
+        return expresiones.parallel()
+                .map(expresion -> analizar(expresion))
+                .collect(Collectors.toList());
+    }
+
+    // Tarea fork-join que divide el lote en mitades hasta llegar a tramos pequeños.
+    // Cada hilo escribe en posiciones distintas del arreglo de resultados, por lo que no hay
+    // bloqueos: el analizador no tiene estado mutable compartido (el léxico, las tablas de
+    // palabras y el convertidor de números son inmutables, el analizador sintáctico se crea
+    // en cada llamada y la caché, si la hay, admite varios hilos).
+    private static class TareaLote extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private static final int UMBRAL = 64;   // Expresiones por tramo que se analizan sin dividir
+
+        private final AnalizadorLenguajeNatural analizador;
+        private final String[] entradas;
+        private final ResultadoAnalisis[] resultados;
+        private final int desde;
+        private final int hasta;
+
+        TareaLote(AnalizadorLenguajeNatural analizador, String[] entradas, ResultadoAnalisis[] resultados,
+                int desde, int hasta) {
+            this.analizador = analizador;
+            this.entradas = entradas;
+            this.resultados = resultados;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                for (int i = desde; i < hasta; i++) {
+                    resultados[i] = analizador.analizar(entradas[i]);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaLote(analizador, entradas, resultados, desde, medio),
+                    new TareaLote(analizador, entradas, resultados, medio, hasta));
+        }
+    }
+
+    // Método para compilar las instrucciones analizadas en un programa evaluable (a partir de los
+    // árboles optimizados, si el análisis los tiene). Lanza IllegalArgumentException si el análisis
+    // tiene errores sintácticos o semánticos; lo mismo vale para los demás compilar*
+    public ProgramaCompilado compilar(ResultadoAnalisis resultado) {
+        ResultadoSintactico sintactico = compilable(resultado, "compilar");
+        return ProgramaCompilado.compilar(sintactico.arbolesEvaluables(), sintactico.simbolos);
+    }
+
+    // Método para compilar las instrucciones analizadas en un programa que se evalúa por columnas,
+    // sobre muchas filas de valores de entrada a la vez
+    public ProgramaColumnar compilarColumnar(ResultadoAnalisis resultado) {
+        ResultadoSintactico sintactico = compilable(resultado, "compilar");
+        return ProgramaColumnar.compilar(sintactico.arbolesEvaluables(), sintactico.simbolos);
+    }
+
+    // Método para compilar las instrucciones analizadas en notación postfija, para una máquina de
+    // pila que no usa recursión y admite expresiones de cualquier profundidad
+    public ProgramaPostfijo compilarPostfijo(ResultadoAnalisis resultado) {
+        ResultadoSintactico sintactico = compilable(resultado, "compilar");
+        return ProgramaPostfijo.compilar(sintactico.arbolesEvaluables(), sintactico.simbolos);
+    }
+
+    // Método para obtener el grafo de dependencias entre las instrucciones analizadas, con sus
+    // ondas de ejecución, redefiniciones y dependencias circulares
+    public GrafoDependencias grafoDependencias(ResultadoAnalisis resultado) {
+        ResultadoSintactico sintactico = sintaxisValida(resultado, "construir el grafo de");
+        return GrafoDependencias.construir(sintactico.arbolesEvaluables(), sintactico.simbolos);
+    }
+
+    // Método para compilar las instrucciones analizadas en un programa que ejecuta en paralelo
+    // (fork-join común) las que no dependen entre sí
+    public ProgramaParalelo compilarParalelo(ResultadoAnalisis resultado) {
+        return compilarParalelo(resultado, ForkJoinPool.commonPool());
+    }
+
+    // Igual que compilarParalelo(ResultadoAnalisis), pero ejecutando en el pool indicado
+    public ProgramaParalelo compilarParalelo(ResultadoAnalisis resultado, ForkJoinPool pool) {
+        ResultadoSintactico sintactico = compilable(resultado, "compilar");
+        return ProgramaParalelo.compilar(sintactico.arbolesEvaluables(), sintactico.simbolos, pool);
+    }
+
+    // Resultado sintáctico de un análisis que se va a compilar; si tiene errores lanza
+    // IllegalArgumentException ('accion' completa el mensaje: "No se puede <accion> una expresión...")
+    private static ResultadoSintactico sintaxisValida(ResultadoAnalisis resultado, String accion) {
+        ResultadoSintactico sintactico = resultado.resultadoSintactico;
+        if (!sintactico.esValido) {
+            throw new IllegalArgumentException("No se puede " + accion + " una expresión con errores sintácticos: "
+                    + sintactico.error);
+        }
+        return sintactico;
+    }
+
+    // Como sintaxisValida, pero además verifica la semántica de los árboles (e.g. "cuatro raiz dos"
+    // usa la raíz como operador binario). Las variables sin asignar no son un error, porque sus
+    // valores llegan como entradas al ejecutar el programa.
+    static ResultadoSintactico compilable(ResultadoAnalisis resultado, String accion) {
+        ResultadoSintactico sintactico = sintaxisValida(resultado, accion);
+        if (sintactico.arboles != null && sintactico.simbolos != null) {
+            Map<String, Integer> todas = new HashMap<>();
+            for (int id = 0; id < sintactico.simbolos.tamano(); id++) {
+                todas.put(sintactico.simbolos.nombre(id), id);
+            }
+            ResultadoSemantico semantico = AnalizadorSemantico.analizar(sintactico.arboles, sintactico.simbolos,
+                    todas, resultado.resultadoLexico.buffer.getFuente());
+            if (!semantico.esValido) {
+                throw new IllegalArgumentException("No se puede " + accion + " una expresión con errores semánticos: "
+                        + String.join(" ", semantico.errores));
+            }
+        }
+        return sintactico;
+    }
+
+    // Método para analizar, compilar y ejecutar una expresión; devuelve el valor final de cada variable
+    public Map<String, Double> evaluar(String expresion, Map<String, ? extends Number> entradas) {
+        return compilar(analizar(expresion)).evaluar(entradas);
+    }
+
+    // Método para analizar y ejecutar una expresión con aritmética exacta (ver EvaluadorExacto);
+    // devuelve el valor final de cada variable que tiene valor
+    public Map<String, Number> evaluarExacto(String expresion, Map<String, ? extends Number> entradas) {
+        return new EvaluadorExacto().evaluar(analizar(expresion), entradas);
+    }
+
+    // Clase que almacena el resultado del análisis semántico
+    public static class ResultadoSemantico {
+
+        public final boolean esValido;            // Indica si el análisis semántico es válido
+        public final List<String> errores;        // Lista de errores semánticos encontrados
+        public final Diagnosticos diagnosticos;   // Los mismos errores con su tramo en la expresión (null si no se registraron)
+
+        public ResultadoSemantico(boolean esValido, List<String> errores) {
+            this(esValido, errores, null);
+        }
+
+        public ResultadoSemantico(boolean esValido, List<String> errores, Diagnosticos diagnosticos) {
+            this.esValido = esValido;
+            this.errores = errores;
+            this.diagnosticos = diagnosticos;
+        }
+    }
+
+    // Método para realizar el análisis semántico de un análisis completo. Si la sintaxis es válida,
+    // se hace en un solo recorrido sobre los árboles; si no, se analizan los tokens
+    // Los errores encontrados se publican también en el sumidero de diagnósticos
+    // En ambos casos las variables asignadas se agregan a variablesDefinidas con su identificador
+    // en la tabla de símbolos de la expresión (el orden en que aparecen por primera vez)
+    public ResultadoSemantico analizarSemantico(ResultadoAnalisis resultado, Map<String, Integer> variablesDefinidas) {
+        ResultadoSemantico semantico;
+        // Los resultados de la caché memorizan el análisis sin variables predefinidas
+        if (resultado instanceof CacheAnalisis.ResultadoEnCache && variablesDefinidas.isEmpty()) {
+            semantico = ((CacheAnalisis.ResultadoEnCache) resultado).semantico(variablesDefinidas,
+                    definidas -> analizarSemanticoSinCache(resultado, definidas));
+        } else {
+            semantico = analizarSemanticoSinCache(resultado, variablesDefinidas);
+        }
+        publicar(semantico.diagnosticos);
+        return semantico;
+    }
+
+    private ResultadoSemantico analizarSemanticoSinCache(ResultadoAnalisis resultado, Map<String, Integer> variablesDefinidas) {
+        long inicio = metricas == null ? 0 : System.nanoTime();
+        ResultadoSintactico sintactico = resultado.resultadoSintactico;
+        ResultadoSemantico semantico;
+        if (sintactico.arboles != null && sintactico.simbolos != null) {
+            semantico = AnalizadorSemantico.analizar(sintactico.arboles, sintactico.simbolos, variablesDefinidas,
+                    resultado.resultadoLexico.buffer.getFuente());
+        } else {
+            semantico = analizarSemantico(resultado.resultadoLexico.buffer, variablesDefinidas);
+        }
+        if (metricas != null) {
+            metricas.registrarSemantico(System.nanoTime() - inicio, semantico.errores.size());
+        }
+        return semantico;
+    }
+
+    // Método para realizar el análisis semántico
+    public ResultadoSemantico analizarSemantico(List<Token> tokens, Map<String, Integer> variablesDefinidas) {
+        return analizarSemantico(BufferTokens.desdeTokens(tokens), variablesDefinidas);
+    }
+
+    // Método para realizar el análisis semántico directamente sobre el buffer de tokens
+    public ResultadoSemantico analizarSemantico(BufferTokens tokens, Map<String, Integer> variablesDefinidas) {
+        List<String> errores = new ArrayList<>();
+        Diagnosticos diagnosticos = new Diagnosticos(tokens.getFuente());
+        // Como en el análisis sobre los árboles, cada variable definida se guarda con su
+        // identificador: el orden en que aparece por primera vez en la expresión
+        TablaSimbolos simbolos = new TablaSimbolos();
+        for (int t = 0; t < tokens.tamano(); t++) {
+            if (tokens.tipo(t) == TipoToken.IDENTIFICADOR) {
+                simbolos.registrar(tokens.valorInterno(t));
+            }
+        }
+
+        int i = 0;
+        while (i < tokens.tamano()) {
+            TipoToken tipo = tokens.tipo(i);
+
+            if (tipo == TipoToken.IDENTIFICADOR) {
+                String variable = tokens.valorInterno(i);
+                if (i + 1 < tokens.tamano() && tokens.tipo(i + 1) == TipoToken.OPERADOR_ASIGNACION) {
+                    // Registrar la variable como definida
+                    i += 2; // Avanzar desde el identificador y el operador de asignación
+
+                    // Verificar si hay una expresión válida después del "="
+                    if (i >= tokens.tamano()) {
+                        agregarError(errores, diagnosticos, tokens, i - 1,
+                                "Error semántico: Falta una expresión después de la asignación a '" + variable + "'.");
+                    } else {
+                        ResultadoVerificacionExpresion resultadoExpresion = verificarExpresion(tokens, i, variablesDefinidas,
+                                diagnosticos);
+                        if (!resultadoExpresion.esValido) {
+                            errores.addAll(resultadoExpresion.errores);
+                        }
+                        i = resultadoExpresion.posicionSiguiente; // Actualizar la posición
+                    }
+
+                    // Agregar la variable al mapa de variables definidas
+                    variablesDefinidas.put(variable, simbolos.buscar(variable));
+                } else if (!variablesDefinidas.containsKey(variable)) {
+                    agregarError(errores, diagnosticos, tokens, i,
+                            "Error semántico: La variable '" + variable + "' no ha sido definida.");
+                    i++;
+                } else {
+                    i++;
+                }
+            } else if (tipo.esOperador()) {
+                ResultadoVerificacionExpresion resultadoExpresion = verificarExpresion(tokens, i, variablesDefinidas,
+                        diagnosticos);
+                if (!resultadoExpresion.esValido) {
+                    errores.addAll(resultadoExpresion.errores);
+                }
+                i = resultadoExpresion.posicionSiguiente; // Actualizar la posición
+            } else {
+                i++; // Comas y demás tokens fuera de una expresión
+            }
+        }
+
+        boolean esValido = errores.isEmpty();
+        return new ResultadoSemantico(esValido, errores, diagnosticos);
+    }
+
+    // Agrega el error semántico a la lista y, con el tramo del token dado, a los diagnósticos
+    private static void agregarError(List<String> errores, Diagnosticos diagnosticos, BufferTokens tokens, int token,
+            String mensaje) {
+        errores.add(mensaje);
+        diagnosticos.agregar(Diagnosticos.Tipo.ERROR_SEMANTICO, tokens.inicio(token), tokens.fin(token), mensaje);
+    }
+
+    // Clase interna para almacenar el resultado de la verificación de expresiones
+    private static class ResultadoVerificacionExpresion {
+
+        public boolean esValido;                // Indica si la expresión es válida
+        public List<String> errores;            // Errores encontrados en la expresión
+        public int posicionSiguiente;           // Posición siguiente después de analizar la expresión
+
+        public ResultadoVerificacionExpresion(boolean esValido, List<String> errores, int posicionSiguiente) {
+            this.esValido = esValido;
+            this.errores = errores;
+            this.posicionSiguiente = posicionSiguiente;
+        }
+    }
+
+    // Método para verificar la validez semántica de una expresión; los errores se registran
+    // también en 'diagnosticos'
+    private static ResultadoVerificacionExpresion verificarExpresion(BufferTokens tokens, int posicionInicial,
+            Map<String, Integer> variablesDefinidas, Diagnosticos diagnosticos) {
+
+        List<String> errores = new ArrayList<>();
+        int i = posicionInicial;
+        int operandosNecesarios = 0;
+        String operadorActual = null;
+        int posicionOperador = -1;
+        boolean haEncontradoOperador = false;
+
+        while (i < tokens.tamano()) {
+            TipoToken tipo = tokens.tipo(i);
+
+            if (tipo == TipoToken.NUMERO || tipo == TipoToken.IDENTIFICADOR) {
+                if (tipo == TipoToken.IDENTIFICADOR && !variablesDefinidas.containsKey(tokens.valorInterno(i))) {
+                    agregarError(errores, diagnosticos, tokens, i,
+                            "Error semántico: La variable '" + tokens.valorInterno(i) + "' no ha sido definida.");
+                }
+                if (haEncontradoOperador) {
+                    operandosNecesarios--;
+                    if (operandosNecesarios < 0) {
+                        agregarError(errores, diagnosticos, tokens, i,
+                                "Error semántico: Operando inesperado '" + tokens.texto(i) + "'.");
+                        break;
+                    }
+                }
+                // Si no se ha encontrado un operador, no se modifica operandosNecesarios
+                i++;
+            } else if (tipo.esConector()) {
+                // Ignorar conectores
+                i++;
+            } else if (tipo.esOperador()) {
+                operadorActual = tokens.texto(i);
+                posicionOperador = i;
+                operandosNecesarios += tipo.getAridad();
+                haEncontradoOperador = true;
+                i++;
+            } else if (tipo == TipoToken.COMA) {
+                // Fin de la expresión
+                i++;
+                break;
+            } else {
+                agregarError(errores, diagnosticos, tokens, i, "Error semántico: Token inesperado '" + tokens.texto(i) + "'.");
+                break;
+            }
+        }
+
+        if (operandosNecesarios > 0 && errores.isEmpty()) {
+            agregarError(errores, diagnosticos, tokens, posicionOperador,
+                    "Error semántico: El operador '" + operadorActual + "' espera más operandos.");
+        }
+
+        boolean esValido = errores.isEmpty();
+        return new ResultadoVerificacionExpresion(esValido, errores, i);
+    }
+}
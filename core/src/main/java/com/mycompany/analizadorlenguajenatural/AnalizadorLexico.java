@@ -0,0 +1,357 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Analizador léxico dirigido por tablas. El vocabulario en español se compila una sola vez
+// en un trie y cada token se clasifica en la misma pasada en la que se reconoce, con las
+// mismas reglas de límite de palabra (\b) que usaban los patrones de expresiones regulares.
+final class AnalizadorLexico {
+
+    // Vocabulario de cada categoría (las palabras de los números las define ConvertirNumeroTextoADigito).
+    // GeneradorProgramas escribe sus programas con estas mismas palabras.
+    static final String[] PALABRAS_SUMA = {"suma", "anade", "mas"};
+    static final String[] PALABRAS_RESTA = {"resta", "quita", "menos"};
+    static final String[] PALABRAS_MULTIPLICA = {"multiplica", "por"};
+    static final String[] PALABRAS_DIVIDE = {"divide"};
+    static final String[] PALABRAS_POTENCIA = {"eleva", "potencia"};
+    static final String[] PALABRAS_RAIZ = {"raiz"};
+    static final String[] PALABRAS_CONECTOR_Y = {"y", "luego"};
+    static final String[] PALABRAS_CONECTOR_CON = {"a", "con", "de", "entre"};
+
+    // Tipo de cada palabra reservada; el trie devuelve el índice de la palabra en este arreglo
+    private static final List<TipoToken> TIPO_PALABRA = new ArrayList<>();
+    private static final TablaPalabras PALABRAS = construirTablaPalabras();
+
+    private static final ConvertirNumeroTextoADigito CONVERTIDOR = ConvertirNumeroTextoADigito.INSTANCIA;
+
+    private AnalizadorLexico() {
+    }
+
+    // Construye el trie con todas las palabras reservadas y registra el tipo de cada una
+    private static TablaPalabras construirTablaPalabras() {
+        Object[][] grupos = {
+            {TipoToken.OPERADOR_SUMA, PALABRAS_SUMA},
+            {TipoToken.OPERADOR_RESTA, PALABRAS_RESTA},
+            {TipoToken.OPERADOR_MULTIPLICACION, PALABRAS_MULTIPLICA},
+            {TipoToken.OPERADOR_DIVISION, PALABRAS_DIVIDE},
+            {TipoToken.OPERADOR_POTENCIA, PALABRAS_POTENCIA},
+            {TipoToken.OPERADOR_RAIZ, PALABRAS_RAIZ},
+            {TipoToken.CONECTOR_Y, PALABRAS_CONECTOR_Y},
+            {TipoToken.CONECTOR_CON, PALABRAS_CONECTOR_CON}
+        };
+        List<String> palabras = new ArrayList<>();
+        for (Object[] grupo : grupos) {
+            for (String palabra : (String[]) grupo[1]) {
+                palabras.add(palabra);
+                TIPO_PALABRA.add((TipoToken) grupo[0]);
+            }
+        }
+        int[] indices = new int[palabras.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return new TablaPalabras(palabras.toArray(new String[0]), indices);
+    }
+
+    // Condición de parada de un análisis parcial, consultada después de agregar cada token
+    @FunctionalInterface
+    interface Parada {
+
+        boolean detener(int fin, long conectoresAsignados);
+    }
+
+    // Realiza el análisis léxico de la entrada en una sola pasada. Solo se llena el buffer de
+    // tokens; los identificadores y el texto no reconocido se obtienen de él al consultarlos.
+    static ResultadoLexico analizar(String entrada) {
+        BufferTokens tokens = new BufferTokens(entrada, entrada.length() / 4);
+        escanear(entrada, 0, 0, tokens, null);
+        return resultadoDesdeBuffer(tokens);
+    }
+
+    // Construye el resultado léxico de un buffer ya completo. Los identificadores y el texto no
+    // reconocido (los huecos entre tokens que no son solo espacio en blanco) son vistas perezosas
+    // sobre el buffer: sus tramos se calculan la primera vez que se consultan y cada String se
+    // crea solo cuando se lee.
+    static ResultadoLexico resultadoDesdeBuffer(BufferTokens tokens) {
+        return new ResultadoLexico(tokens, new Fragmentos(tokens, true), tokens.getFuente(), new Fragmentos(tokens, false));
+    }
+
+    // Vista de solo lectura de fragmentos de la fuente de un buffer: los identificadores o los
+    // huecos no reconocidos. Si varios hilos la consultan a la vez, en el peor caso los tramos o
+    // un String se calculan dos veces, con el mismo resultado.
+    private static final class Fragmentos extends AbstractList<String> implements RandomAccess {
+
+        private final BufferTokens tokens;
+        private final boolean identificadores;   // true: identificadores; false: texto no reconocido
+        private volatile Tramos tramos;
+
+        Fragmentos(BufferTokens tokens, boolean identificadores) {
+            this.tokens = tokens;
+            this.identificadores = identificadores;
+        }
+
+        private Tramos tramos() {
+            Tramos calculados = tramos;
+            if (calculados == null) {
+                calculados = identificadores ? tramosIdentificadores(tokens) : tramosNoReconocidos(tokens);
+                tramos = calculados;
+            }
+            return calculados;
+        }
+
+        @Override
+        public String get(int indice) {
+            Tramos calculados = tramos();
+            if (indice < 0 || indice >= calculados.textos.length) {
+                throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + calculados.textos.length);
+            }
+            String texto = calculados.textos[indice];
+            if (texto == null) {
+                texto = tokens.getFuente().substring(calculados.limites[2 * indice], calculados.limites[2 * indice + 1]);
+                calculados.textos[indice] = texto;
+            }
+            return texto;
+        }
+
+        @Override
+        public int size() {
+            return tramos().textos.length;
+        }
+    }
+
+    // Tramos [inicio, fin) de cada fragmento, en pares, y los Strings ya materializados
+    private static final class Tramos {
+
+        final int[] limites;
+        final String[] textos;
+
+        Tramos(int[] limites, int cantidad) {
+            this.limites = limites;
+            this.textos = new String[cantidad];
+        }
+    }
+
+    private static final Tramos SIN_TRAMOS = new Tramos(new int[0], 0);
+
+    private static Tramos tramosIdentificadores(BufferTokens tokens) {
+        int cantidad = 0;
+        for (int t = 0; t < tokens.tamano(); t++) {
+            if (tokens.tipo(t) == TipoToken.IDENTIFICADOR) {
+                cantidad++;
+            }
+        }
+        if (cantidad == 0) {
+            return SIN_TRAMOS;
+        }
+        int[] limites = new int[2 * cantidad];
+        int j = 0;
+        for (int t = 0; t < tokens.tamano(); t++) {
+            if (tokens.tipo(t) == TipoToken.IDENTIFICADOR) {
+                limites[j++] = tokens.inicio(t);
+                limites[j++] = tokens.fin(t);
+            }
+        }
+        return new Tramos(limites, cantidad);
+    }
+
+    private static Tramos tramosNoReconocidos(BufferTokens tokens) {
+        String entrada = tokens.getFuente();
+        int[] limites = null;
+        int cantidad = 0;
+        int ultimoFin = 0;
+        for (int t = 0; t <= tokens.tamano(); t++) {
+            int inicio = t < tokens.tamano() ? tokens.inicio(t) : entrada.length();
+            if (!esSoloEspacio(entrada, ultimoFin, inicio)) {
+                if (limites == null) {
+                    limites = new int[8];
+                } else if (2 * cantidad == limites.length) {
+                    limites = Arrays.copyOf(limites, limites.length * 2);
+                }
+                limites[2 * cantidad] = ultimoFin;
+                limites[2 * cantidad + 1] = inicio;
+                cantidad++;
+            }
+            if (t < tokens.tamano()) {
+                ultimoFin = tokens.fin(t);
+            }
+        }
+        return cantidad == 0 ? SIN_TRAMOS : new Tramos(limites, cantidad);
+    }
+
+    // Reconoce tokens desde la posición 'inicio' (que debe ser el inicio de la entrada o el fin de
+    // un token) con los conectores asignados dados (palabras conectoras usadas como variables, un
+    // bit por palabra), y los agrega al buffer. Si hay una condición de parada, se detiene en
+    // cuanto se cumple. Devuelve el estado de los conectores asignados al terminar.
+    static long escanear(String entrada, int inicio, long conectoresAsignados, BufferTokens tokens, Parada parada) {
+        int longitud = entrada.length();
+        int i = inicio;
+        while (i < longitud) {
+            char c = Character.toLowerCase(entrada.charAt(i));
+            int fin = -1;
+            TipoToken tipo = null;
+            int palabra = TablaPalabras.NINGUNO;
+
+            if (c == ',') {
+                fin = i + 1;
+                tipo = TipoToken.COMA;
+            } else if (c == '=') {
+                fin = i + 1;
+                tipo = TipoToken.OPERADOR_ASIGNACION;
+            } else {
+                // Palabras reservadas y números: deben ocupar una palabra completa
+                if (esLimiteInicial(entrada, i)) {
+                    int finPalabra = finDePalabra(entrada, i);
+                    if (sonDigitos(entrada, i, finPalabra)) {
+                        fin = finPalabra;
+                        tipo = TipoToken.NUMERO;
+                    } else if ((fin = CONVERTIDOR.finNumero(entrada, i)) > 0) {
+                        tipo = TipoToken.NUMERO;
+                    } else {
+                        palabra = PALABRAS.buscar(entrada, i, finPalabra);
+                        if (palabra != TablaPalabras.NINGUNO) {
+                            fin = finPalabra;
+                            tipo = TIPO_PALABRA.get(palabra);
+                        }
+                    }
+                }
+                // Identificadores: se clasifican por su texto, igual que cualquier otra palabra
+                if (fin < 0 && esInicioIdentificador(c)) {
+                    fin = finIdentificador(entrada, i + 1);
+                    if (CONVERTIDOR.convertir(entrada, i, fin) != ConvertirNumeroTextoADigito.NO_ES_NUMERO) {
+                        tipo = TipoToken.NUMERO;
+                    } else {
+                        palabra = PALABRAS.buscar(entrada, i, fin);
+                        tipo = palabra == TablaPalabras.NINGUNO ? TipoToken.IDENTIFICADOR : TIPO_PALABRA.get(palabra);
+                    }
+                }
+            }
+
+            // Un conector seguido de '=' (e.g., "y = ..." o "a = diez") es una variable, y lo sigue
+            // siendo en el resto de la entrada
+            if (tipo != null && tipo.esConector()) {
+                if ((conectoresAsignados & (1L << palabra)) != 0 || siguienteEsAsignacion(entrada, fin)) {
+                    conectoresAsignados |= 1L << palabra;
+                    tipo = TipoToken.IDENTIFICADOR;
+                }
+            }
+
+            if (fin < 0) {
+                i++;
+                continue;
+            }
+
+            long valor = BufferTokens.SIN_VALOR;
+            if (tipo == TipoToken.NUMERO) {
+                // El número se convierte directamente desde la entrada, sin copias intermedias
+                valor = CONVERTIDOR.convertir(entrada, i, fin);
+                if (valor == ConvertirNumeroTextoADigito.NO_ES_NUMERO) {
+                    valor = BufferTokens.SIN_VALOR;
+                }
+            }
+            tokens.agregar(tipo, i, fin, valor);
+
+            i = fin;
+            if (parada != null && parada.detener(fin, conectoresAsignados)) {
+                break;
+            }
+        }
+        return conectoresAsignados;
+    }
+
+    // Bit de la palabra conectora del fragmento [inicio, fin), o 0 si no es un conector.
+    // Un identificador cuyo texto es un conector indica que ese conector ya fue asignado.
+    static long bitConector(String entrada, int inicio, int fin) {
+        int palabra = PALABRAS.buscar(entrada, inicio, fin);
+        return palabra != TablaPalabras.NINGUNO && TIPO_PALABRA.get(palabra).esConector() ? 1L << palabra : 0;
+    }
+
+    // Verifica si el siguiente carácter que no es espacio en blanco es '='
+    private static boolean siguienteEsAsignacion(String entrada, int i) {
+        while (i < entrada.length() && esEspacio(entrada.charAt(i))) {
+            i++;
+        }
+        return i < entrada.length() && entrada.charAt(i) == '=';
+    }
+
+    // Verifica si el fragmento [inicio, fin) es vacío o solo tiene caracteres de control y espacios
+    private static boolean esSoloEspacio(String entrada, int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            if (entrada.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Espacios en blanco tal como los define \s en las expresiones regulares de Java
+    static boolean esEspacio(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Verifica si el fragmento [inicio, fin) está formado solo por dígitos ASCII
+    private static boolean sonDigitos(String entrada, int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            char c = entrada.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Caracteres que pueden iniciar un identificador
+    private static boolean esInicioIdentificador(char c) {
+        return (c >= 'a' && c <= 'z') || c == '_';
+    }
+
+    // Devuelve el fin de un identificador ([a-z_0-9]*) a partir de la posición dada
+    private static int finIdentificador(String entrada, int i) {
+        while (i < entrada.length()) {
+            char c = Character.toLowerCase(entrada.charAt(i));
+            if (!esInicioIdentificador(c) && (c < '0' || c > '9')) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    // Verifica si hay un límite de palabra al inicio de una palabra en la posición dada
+    private static boolean esLimiteInicial(String entrada, int i) {
+        return esCaracterDePalabra(entrada, i) && (i == 0 || !esCaracterDePalabra(entrada, i - Character.charCount(Character.codePointBefore(entrada, i))));
+    }
+
+    // Devuelve la primera posición a partir de la dada que no es carácter de palabra
+    static int finDePalabra(CharSequence entrada, int i) {
+        while (i < entrada.length() && esCaracterDePalabra(entrada, i)) {
+            i += Character.charCount(Character.codePointAt(entrada, i));
+        }
+        return i;
+    }
+
+    // Carácter de palabra según \b: letra, dígito, '_' o marca diacrítica sobre una letra
+    private static boolean esCaracterDePalabra(CharSequence entrada, int i) {
+        int codigo = Character.codePointAt(entrada, i);
+        if (codigo == '_' || Character.isLetterOrDigit(codigo)) {
+            return true;
+        }
+        if (Character.getType(codigo) != Character.NON_SPACING_MARK) {
+            return false;
+        }
+        for (int j = i; j >= 0; j--) {
+            int anterior = Character.codePointAt(entrada, j);
+            if (Character.isLetterOrDigit(anterior)) {
+                return true;
+            }
+            if (Character.getType(anterior) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+
+// Analizador léxico para un texto que se edita poco a poco (e.g., mientras el usuario escribe).
+// Conserva los tokens del análisis anterior y, ante un cambio, solo vuelve a analizar la zona
+// editada: reutiliza los tokens del prefijo sin cambios y, en cuanto el nuevo análisis vuelve
+// a coincidir con el anterior después de la edición, copia el resto desplazado.
+// No es seguro para uso concurrente: cada instancia debe usarse desde un solo hilo a la vez.
+public final class AnalizadorLexicoIncremental {
+
+    private String texto = "";
+    private BufferTokens tokens = new BufferTokens("", 0);
+
+    // Analiza el nuevo texto reutilizando lo posible del análisis anterior
+    public ResultadoLexico actualizar(String nuevo) {
+        String anterior = texto;
+        BufferTokens previos = tokens;
+
+        // Zona editada: [prefijo, anterior.length() - sufijo) en el texto anterior
+        int maximo = Math.min(anterior.length(), nuevo.length());
+        int prefijo = 0;
+        while (prefijo < maximo && anterior.charAt(prefijo) == nuevo.charAt(prefijo)) {
+            prefijo++;
+        }
+        if (prefijo == anterior.length() && prefijo == nuevo.length()) {
+            return AnalizadorLexico.resultadoDesdeBuffer(previos);
+        }
+        int sufijo = 0;
+        while (sufijo < maximo - prefijo
+                && anterior.charAt(anterior.length() - 1 - sufijo) == nuevo.charAt(nuevo.length() - 1 - sufijo)) {
+            sufijo++;
+        }
+        int finEdicion = nuevo.length() - sufijo;          // Fin de la zona editada en el texto nuevo
+        int desplazamiento = nuevo.length() - anterior.length();
+
+        // Tokens reutilizables del prefijo: aquellos cuya palabra termina al menos dos caracteres
+        // antes de la edición (el analizador lee la palabra completa y el carácter siguiente).
+        // Los números y los conectores miran más adelante (más palabras del número, o un '='
+        // tras el conector), así que se vuelven a analizar
+        int reutilizados = 0;
+        while (reutilizados < previos.tamano() && previos.fin(reutilizados) + 1 < prefijo) {
+            reutilizados++;
+        }
+        while (reutilizados > 0 && (miraAdelante(previos, reutilizados - 1)
+                || AnalizadorLexico.finDePalabra(anterior, previos.inicio(reutilizados - 1)) + 1 >= prefijo)) {
+            reutilizados--;
+        }
+
+        BufferTokens nuevos = new BufferTokens(nuevo, previos.tamano() + 4);
+        nuevos.agregarDesde(previos, 0, reutilizados, 0);
+        long conectores = 0;
+        for (int t = 0; t < reutilizados; t++) {
+            conectores |= conectorAsignado(previos, t);
+        }
+        int inicio = reutilizados > 0 ? previos.fin(reutilizados - 1) : 0;
+
+        // Volver a analizar desde el prefijo hasta sincronizar con un token anterior: mismo fin
+        // (desplazado), mismos conectores asignados y el carácter previo ya fuera de la edición
+        Sincronizacion sincronizacion = new Sincronizacion(previos, reutilizados, conectores,
+                nuevo, finEdicion, desplazamiento);
+        AnalizadorLexico.escanear(nuevo, inicio, conectores, nuevos, sincronizacion);
+        if (sincronizacion.token >= 0) {
+            nuevos.agregarDesde(previos, sincronizacion.token + 1, previos.tamano(), desplazamiento);
+        }
+
+        texto = nuevo;
+        tokens = nuevos;
+        return AnalizadorLexico.resultadoDesdeBuffer(nuevos);
+    }
+
+    // Indica si la clasificación del token depende de texto más allá del carácter siguiente
+    private static boolean miraAdelante(BufferTokens tokens, int indice) {
+        TipoToken tipo = tokens.tipo(indice);
+        return tipo == TipoToken.NUMERO || tipo.esConector() || conectorAsignado(tokens, indice) != 0;
+    }
+
+    // Bit del conector que el token usa como variable, o 0 si no es un conector asignado
+    private static long conectorAsignado(BufferTokens tokens, int indice) {
+        if (tokens.tipo(indice) != TipoToken.IDENTIFICADOR) {
+            return 0;
+        }
+        return AnalizadorLexico.bitConector(tokens.getFuente(), tokens.inicio(indice), tokens.fin(indice));
+    }
+
+    // Busca, a medida que se agregan tokens nuevos, el token anterior a partir del cual el resto
+    // del análisis es idéntico
+    private static final class Sincronizacion implements AnalizadorLexico.Parada {
+
+        private final BufferTokens previos;
+        private final String nuevo;
+        private final int finEdicion;
+        private final int desplazamiento;
+        private int siguiente;          // Siguiente token anterior por comparar
+        private long conectores;        // Conectores asignados tras el token anterior 'siguiente - 1'
+        int token = -1;                 // Token anterior con el que se sincronizó (-1 si ninguno)
+
+        Sincronizacion(BufferTokens previos, int siguiente, long conectores, String nuevo, int finEdicion,
+                int desplazamiento) {
+            this.previos = previos;
+            this.siguiente = siguiente;
+            this.conectores = conectores;
+            this.nuevo = nuevo;
+            this.finEdicion = finEdicion;
+            this.desplazamiento = desplazamiento;
+        }
+
+        @Override
+        public boolean detener(int fin, long conectoresAsignados) {
+            // El carácter anterior debe estar fuera de la edición y ser ASCII, para que la regla
+            // de límite de palabra no consulte caracteres editados
+            if (fin - 1 < finEdicion || nuevo.charAt(fin - 1) >= 0x80) {
+                return false;
+            }
+            int finAnterior = fin - desplazamiento;
+            while (siguiente < previos.tamano() && previos.fin(siguiente) < finAnterior) {
+                conectores |= conectorAsignado(previos, siguiente);
+                siguiente++;
+            }
+            if (siguiente == previos.tamano() || previos.fin(siguiente) != finAnterior) {
+                return false;
+            }
+            if ((conectores | conectorAsignado(previos, siguiente)) != conectoresAsignados) {
+                return false;
+            }
+            token = siguiente;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import javax.management.JMException;
+
+// Modo por lotes sin interfaz gráfica: lee un archivo con una expresión (o programa separado
+// por comas) por línea, realiza los análisis léxico, sintáctico y semántico de cada una y
+// escribe un resultado por línea en formato JSON Lines o CSV, o todos en un archivo de análisis
+// binario (ver ArchivoAnalisis) para cargarlos después sin repetir el análisis. La entrada y la
+// salida se procesan en flujo, por lo que la memoria usada no depende del tamaño del archivo
+// (salvo la tabla de cadenas y el índice del archivo binario).
+public class AnalizadorLotes {
+
+    private static final int TAMANO_BUFFER = 1 << 16;
+    private static final int CAPACIDAD_DIAGNOSTICOS = 8192;   // Expresiones con diagnósticos pendientes de escribir
+
+    public enum Formato {
+        JSONL, CSV, BINARIO
+    }
+
+    private final AnalizadorLenguajeNatural analizador;
+    private final StringBuilder linea = new StringBuilder(512); // Buffer reutilizado para cada resultado
+
+    public AnalizadorLotes() {
+        this((CacheAnalisis) null);
+    }
+
+    // Usa la caché dada (puede ser null) para las expresiones que se repiten
+    public AnalizadorLotes(CacheAnalisis cache) {
+        this(cache, SumideroDiagnosticos.NINGUNO);
+    }
+
+    // Además publica los diagnósticos de cada expresión en el sumidero dado
+    public AnalizadorLotes(CacheAnalisis cache, SumideroDiagnosticos sumidero) {
+        this(cache, sumidero, null);
+    }
+
+    // Además mide la latencia de cada fase en las métricas dadas (puede ser null)
+    public AnalizadorLotes(CacheAnalisis cache, SumideroDiagnosticos sumidero, MetricasAnalisis metricas) {
+        this(new AnalizadorLenguajeNatural(cache, sumidero, metricas));
+    }
+
+    // Usa un analizador ya configurado, que puede compartirse con otros lotes
+    public AnalizadorLotes(AnalizadorLenguajeNatural analizador) {
+        this.analizador = analizador;
+    }
+
+    // Procesa todas las líneas de la entrada y devuelve el número de expresiones analizadas
+    public long procesar(BufferedReader entrada, Writer salida, Formato formato) throws IOException {
+        if (formato == Formato.CSV) {
+            salida.write(SerializadorResultados.ENCABEZADO_CSV);
+            salida.write('\n');
+        }
+
+        long numeroLinea = 0;
+        long procesadas = 0;
+        String expresion;
+        while ((expresion = entrada.readLine()) != null) {
+            numeroLinea++;
+            if (expresion.trim().isEmpty()) {
+                continue;
+            }
+
+            ResultadoAnalisis resultado = analizador.analizar(expresion);
+            ResultadoSemantico resultadoSemantico = analizador.analizarSemantico(resultado, new HashMap<>());
+
+            linea.setLength(0);
+            if (formato == Formato.CSV) {
+                SerializadorResultados.escribirCsv(linea, numeroLinea, resultado, resultadoSemantico);
+            } else {
+                SerializadorResultados.escribirJson(linea, numeroLinea, resultado, resultadoSemantico);
+            }
+            linea.append('\n');
+            salida.append(linea);
+            procesadas++;
+        }
+        salida.flush();
+        return procesadas;
+    }
+
+    // Procesa todas las líneas de la entrada, guarda cada análisis en el archivo binario y
+    // devuelve el número de expresiones analizadas
+    public long procesar(BufferedReader entrada, ArchivoAnalisis.Escritor archivo) throws IOException {
+        long procesadas = 0;
+        String expresion;
+        while ((expresion = entrada.readLine()) != null) {
+            if (expresion.trim().isEmpty()) {
+                continue;
+            }
+            ResultadoAnalisis resultado = analizador.analizar(expresion);
+            archivo.agregar(resultado, analizador.analizarSemantico(resultado, new HashMap<>()));
+            procesadas++;
+        }
+        return procesadas;
+    }
+
+    // uso: AnalizadorLotes <entrada|-> [salida|-] [--formato jsonl|csv|binario] [--cache capacidad] [--diagnosticos]
+    //                        [--metricas] [--sin-optimizar]
+    // Con --diagnosticos, los diagnósticos de cada expresión se escriben en la salida de error
+    // desde un hilo aparte, sin frenar el análisis. Con --metricas, la latencia de cada fase se
+    // publica en JMX mientras dura el proceso y se resume en la salida de error al terminar. El
+    // formato binario necesita un archivo de salida (no la salida estándar).
+    public static void main(String[] args) throws IOException, JMException {
+        String rutaEntrada = null;
+        String rutaSalida = "-";
+        Formato formato = Formato.JSONL;
+        CacheAnalisis cache = null;
+        boolean diagnosticos = false;
+        MetricasAnalisis metricas = null;
+        boolean optimizar = true;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--formato") && i + 1 < args.length) {
+                formato = Formato.valueOf(args[++i].toUpperCase());
+            } else if (args[i].equals("--cache") && i + 1 < args.length) {
+                cache = new CacheAnalisis(Integer.parseInt(args[++i]));
+            } else if (args[i].equals("--diagnosticos")) {
+                diagnosticos = true;
+            } else if (args[i].equals("--metricas")) {
+                metricas = new MetricasAnalisis();
+            } else if (args[i].equals("--sin-optimizar")) {
+                optimizar = false;
+            } else if (rutaEntrada == null) {
+                rutaEntrada = args[i];
+            } else {
+                rutaSalida = args[i];
+            }
+        }
+        if (rutaEntrada == null || (formato == Formato.BINARIO && rutaSalida.equals("-"))) {
+            System.err.println("Uso: AnalizadorLotes <entrada|-> [salida|-] [--formato jsonl|csv|binario] [--cache capacidad]"
+                    + " [--diagnosticos] [--metricas] [--sin-optimizar]");
+            System.exit(2);
+        }
+
+        Writer salidaDiagnosticos = new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8),
+                TAMANO_BUFFER);
+        SumideroDiagnosticosAsincrono sumidero = diagnosticos
+                ? new SumideroDiagnosticosAsincrono(salidaDiagnosticos, CAPACIDAD_DIAGNOSTICOS) : null;
+
+        if (metricas != null) {
+            metricas.registrar("AnalizadorLotes");
+        }
+
+        long inicio = System.nanoTime();
+        long procesadas;
+        AnalizadorLotes lotes = new AnalizadorLotes(new AnalizadorLenguajeNatural(cache, sumidero, metricas, optimizar));
+        try (BufferedReader entrada = abrirEntrada(rutaEntrada)) {
+            if (formato == Formato.BINARIO) {
+                try (ArchivoAnalisis.Escritor archivo = ArchivoAnalisis.crear(Paths.get(rutaSalida))) {
+                    procesadas = lotes.procesar(entrada, archivo);
+                }
+            } else {
+                try (Writer salida = abrirSalida(rutaSalida)) {
+                    procesadas = lotes.procesar(entrada, salida, formato);
+                }
+            }
+        } finally {
+            if (sumidero != null) {
+                sumidero.close();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.err.printf("Procesadas %d expresiones en %.3f s (%.0f expresiones/s)%n",
+                procesadas, segundos, procesadas / Math.max(segundos, 1e-9));
+        if (cache != null) {
+            System.err.println(cache);
+        }
+        if (metricas != null) {
+            System.err.println(metricas);
+        }
+        if (sumidero != null && sumidero.getDescartados() > 0) {
+            System.err.printf("Diagnósticos descartados de %d expresiones (la salida no daba abasto)%n",
+                    sumidero.getDescartados());
+        }
+    }
+
+    private static BufferedReader abrirEntrada(String ruta) throws IOException {
+        if (ruta.equals("-")) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        }
+        return new BufferedReader(Files.newBufferedReader(Paths.get(ruta), StandardCharsets.UTF_8), TAMANO_BUFFER);
+    }
+
+    private static Writer abrirSalida(String ruta) throws IOException {
+        if (ruta.equals("-")) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        }
+        Path destino = Paths.get(ruta);
+        return new BufferedWriter(Files.newBufferedWriter(destino, StandardCharsets.UTF_8), TAMANO_BUFFER);
+    }
+}
@@ -0,0 +1,124 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Análisis semántico en un solo recorrido sobre los árboles del análisis sintáctico.
+// Verifica la aridad de los operadores y que cada variable se haya asignado antes de usarse;
+// las variables definidas se llevan en un arreglo indexado por el identificador de la tabla
+// de símbolos, sin buscar nombres en mapas durante el recorrido.
+final class AnalizadorSemantico {
+
+    private TablaSimbolos simbolos;
+    private boolean tablaPropia;                          // 'simbolos' ya es una copia que se puede modificar
+    private boolean[] definidas;                         // Variables ya asignadas, por identificador
+    private final List<String> errores = new ArrayList<>();
+    private final Diagnosticos diagnosticos;             // Los errores con el tramo del nodo que los causa
+    private final ArrayDeque<NodoExpresion> pendientes = new ArrayDeque<>(); // Nodos por visitar de la expresión actual
+
+    private AnalizadorSemantico(TablaSimbolos simbolos, String fuente) {
+        this.simbolos = simbolos;
+        this.definidas = new boolean[simbolos.tamano()];
+        this.diagnosticos = new Diagnosticos(fuente);
+    }
+
+    // Analiza las instrucciones en orden. Las variables de 'variablesDefinidas' se consideran ya
+    // asignadas; al terminar, el mapa contiene además las asignadas por el programa, con su
+    // identificador en la tabla de símbolos como valor. 'fuente' es la expresión a la que apuntan
+    // las posiciones de los nodos.
+    static ResultadoSemantico analizar(List<NodoExpresion> arboles, TablaSimbolos simbolos,
+            Map<String, Integer> variablesDefinidas, String fuente) {
+        AnalizadorSemantico analizador = new AnalizadorSemantico(simbolos, fuente);
+        for (String variable : variablesDefinidas.keySet()) {
+            int id = simbolos.buscar(variable);
+            if (id >= 0) {
+                analizador.definidas[id] = true;
+            }
+        }
+
+        for (NodoExpresion arbol : arboles) {
+            analizador.instruccion(arbol, variablesDefinidas);
+        }
+
+        boolean esValido = analizador.errores.isEmpty();
+        return new ResultadoSemantico(esValido, analizador.errores, analizador.diagnosticos);
+    }
+
+    private void instruccion(NodoExpresion nodo, Map<String, Integer> variablesDefinidas) {
+        if (nodo instanceof NodoExpresion.Asignacion) {
+            NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+            // El valor se verifica antes de definir la variable: "x = suma x y uno" usa x sin asignar
+            expresion(asignacion.valor);
+            int id = identificador(asignacion.simbolo, asignacion.nombre);
+            definidas[id] = true;
+            variablesDefinidas.put(asignacion.nombre, id);
+        } else {
+            expresion(nodo);
+        }
+    }
+
+    // Recorre la expresión en preorden (cada operación antes que sus operandos, de izquierda a
+    // derecha) con una pila explícita, para que los árboles profundos no agoten la pila de Java
+    private void expresion(NodoExpresion raiz) {
+        pendientes.push(raiz);
+        while (!pendientes.isEmpty()) {
+            NodoExpresion nodo = pendientes.pop();
+            if (nodo instanceof NodoExpresion.Referencia) {
+                NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                // El identificador se obtiene antes de leer 'definidas', que puede crecer al registrarlo
+                int id = identificador(referencia.simbolo, referencia.nombre);
+                if (!definidas[id]) {
+                    error(referencia, "Error semántico: La variable '" + referencia.nombre + "' no ha sido definida.");
+                }
+            } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                NodoExpresion.OperacionBinaria operacion = (NodoExpresion.OperacionBinaria) nodo;
+                verificarAridad(operacion, operacion.operador, 2);
+                pendientes.push(operacion.derecha);
+                pendientes.push(operacion.izquierda);
+            } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                NodoExpresion.OperacionUnaria operacion = (NodoExpresion.OperacionUnaria) nodo;
+                verificarAridad(operacion, operacion.operador, 1);
+                pendientes.push(operacion.operando);
+            } else if (nodo instanceof NodoExpresion.Asignacion) {
+                error(nodo, "Error semántico: Asignación inesperada a '" + ((NodoExpresion.Asignacion) nodo).nombre
+                        + "' dentro de una expresión.");
+            }
+            // Los números literales siempre son válidos
+        }
+    }
+
+    // El número de operandos del nodo debe coincidir con la aridad del operador
+    private void verificarAridad(NodoExpresion nodo, TipoToken operador, int operandos) {
+        if (operador.getAridad() != operandos) {
+            error(nodo, "Error semántico: El operador '" + operador.getValor() + "' espera "
+                    + operador.getAridad() + (operador.getAridad() == 1 ? " operando" : " operandos")
+                    + " y recibió " + operandos + ".");
+        }
+    }
+
+    private void error(NodoExpresion nodo, String mensaje) {
+        errores.add(mensaje);
+        diagnosticos.agregar(Diagnosticos.Tipo.ERROR_SEMANTICO, nodo.inicio, nodo.fin, mensaje);
+    }
+
+    // Identificador del nombre; los nodos construidos sin tabla de símbolos se registran al vuelo
+    // en una copia de la tabla, porque la recibida puede estar compartida (CacheAnalisis)
+    private int identificador(int simbolo, String nombre) {
+        int id = simbolo >= 0 ? simbolo : simbolos.buscar(nombre);
+        if (id < 0) {
+            if (!tablaPropia) {
+                simbolos = simbolos.copia();
+                tablaPropia = true;
+            }
+            id = simbolos.registrar(nombre);
+        }
+        if (id >= definidas.length) {
+            definidas = Arrays.copyOf(definidas, Math.max(id + 1, definidas.length * 2));
+        }
+        return id;
+    }
+}
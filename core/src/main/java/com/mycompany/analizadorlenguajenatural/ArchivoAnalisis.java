@@ -0,0 +1,786 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ErrorInstruccion;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Archivo binario con resultados de análisis ya hechos (tokens, árboles, tabla de símbolos,
+// errores, diagnósticos y, si se guardó, el análisis semántico), para no repetir el análisis de
+// toda una biblioteca de programas cada vez que arranca el proceso. El archivo se mapea en
+// memoria con FileChannel: abrir() solo valida el encabezado y el pie, sin leer ningún programa,
+// y cada programa se decodifica cuando se pide con resultado(i). Los enteros de los registros son
+// varint (LEB128, con zigzag si pueden ser negativos) y los textos que se repiten (nombres de
+// variables, mensajes de error) se guardan una sola vez, en una tabla de cadenas.
+//
+// Formato (versión 1; los enteros fijos son int big-endian):
+//   encabezado: MAGIA, VERSION
+//   programas:  un registro por programa (ver Escritor.registro)
+//   cadenas:    por cada cadena, su largo en bytes (varint) y sus bytes en UTF-8
+//   índices:    desplazamiento de cada cadena (relativo al inicio de las cadenas) y de cada programa
+//   pie:        número de programas, número de cadenas, inicio de las cadenas, inicio del índice de
+//               cadenas, inicio del índice de programas y MAGIA
+// El archivo se mapea en un solo MappedByteBuffer, así que no puede pasar de 2 GB. El mapeo se
+// libera cuando el recolector de basura descarta el ArchivoAnalisis.
+public final class ArchivoAnalisis {
+
+    static final int MAGIA = 0x414C4E42;   // "ALNB"
+    static final int VERSION = 1;
+
+    private static final int TAMANO_ENCABEZADO = 8;
+    private static final int TAMANO_PIE = 24;
+
+    // Marcas de cada registro
+    private static final int CON_SEMANTICO = 1;          // Tiene el análisis semántico
+    private static final int LEXICO_EXPLICITO = 2;       // Identificadores y texto no reconocido guardados tal cual
+    private static final int CON_OPTIMIZADOS = 4;        // Árboles optimizados distintos de las instrucciones
+    private static final int OPTIMIZADOS_IGUALES = 8;    // Árboles optimizados que son la misma lista
+
+    // Etiquetas de los nodos (en preorden)
+    private static final int NODO_NULO = 0;
+    private static final int NODO_NUMERO = 1;
+    private static final int NODO_REFERENCIA = 2;
+    private static final int NODO_BINARIO = 3;
+    private static final int NODO_UNARIO = 4;
+    private static final int NODO_ASIGNACION = 5;
+    private static final int NODO_IGUAL = 6;             // Árbol optimizado igual al de la instrucción
+
+    // Origen del texto de un nodo; los demás valores son una cadena de la tabla (desplazada en 2)
+    private static final int TEXTO_DEL_NODO = 0;         // El tramo de la fuente que cubre el nodo
+    private static final int TEXTO_DESDE_INICIO = 1;     // Un tramo de la fuente que empieza donde el nodo
+
+    private static final TipoToken[] TIPOS_TOKEN = TipoToken.values();
+    private static final Diagnosticos.Tipo[] TIPOS_DIAGNOSTICO = Diagnosticos.Tipo.values();
+
+    private final ByteBuffer datos;
+    private final int programas;
+    private final int inicioCadenas;
+    private final int indiceCadenas;
+    private final int indiceProgramas;
+    // Cadenas ya decodificadas. Si dos hilos leen la misma a la vez, en el peor caso se decodifica dos veces.
+    private final String[] cadenas;
+
+    private ArchivoAnalisis(ByteBuffer datos) throws IOException {
+        this.datos = datos;
+        int tamano = datos.capacity();
+        if (tamano < TAMANO_ENCABEZADO + TAMANO_PIE || datos.getInt(0) != MAGIA
+                || datos.getInt(tamano - 4) != MAGIA) {
+            throw new IOException("No es un archivo de análisis");
+        }
+        if (datos.getInt(4) != VERSION) {
+            throw new IOException("Versión de archivo de análisis no soportada: " + datos.getInt(4));
+        }
+        int pie = tamano - TAMANO_PIE;
+        this.programas = datos.getInt(pie);
+        this.cadenas = new String[datos.getInt(pie + 4)];
+        this.inicioCadenas = datos.getInt(pie + 8);
+        this.indiceCadenas = datos.getInt(pie + 12);
+        this.indiceProgramas = datos.getInt(pie + 16);
+        if (programas < 0 || indiceProgramas + (long) programas * 4 != pie) {
+            throw new IOException("Archivo de análisis dañado");
+        }
+    }
+
+    // Mapea el archivo en memoria; no lee ningún programa hasta que se pide
+    public static ArchivoAnalisis abrir(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE) {
+                throw new IOException("El archivo de análisis supera 2 GB: " + tamano + " bytes");
+            }
+            return new ArchivoAnalisis(canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano));
+        }
+    }
+
+    // Crea (o reemplaza) un archivo y devuelve el escritor con el que se agregan los programas
+    public static Escritor crear(Path ruta) throws IOException {
+        return new Escritor(Files.newOutputStream(ruta));
+    }
+
+    // Número de programas guardados
+    public int tamano() {
+        return programas;
+    }
+
+    // Expresión original del programa dado, sin decodificar el resto del registro
+    public String expresion(int indice) {
+        Lector lector = new Lector(registro(indice));
+        int marcas = lector.octeto();
+        String fuente = lector.textoEnLinea();
+        return (marcas & LEXICO_EXPLICITO) != 0 ? lector.cadena() : fuente;
+    }
+
+    // Decodifica el resultado del análisis léxico y sintáctico del programa dado. Cada llamada
+    // crea objetos nuevos: quien lo use muchas veces debe guardarlo (por ejemplo, en una caché).
+    public ResultadoAnalisis resultado(int indice) {
+        return new Lector(registro(indice)).resultado();
+    }
+
+    // Decodifica el análisis semántico del programa dado, o null si no se guardó
+    public ResultadoSemantico semantico(int indice) {
+        Lector lector = new Lector(registro(indice));
+        lector.resultado();
+        return lector.semantico();
+    }
+
+    private int registro(int indice) {
+        if (indice < 0 || indice >= programas) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + programas);
+        }
+        return datos.getInt(indiceProgramas + indice * 4);
+    }
+
+    private String cadena(int indice) {
+        String cadena = cadenas[indice];
+        if (cadena == null) {
+            Lector lector = new Lector(inicioCadenas + datos.getInt(indiceCadenas + indice * 4));
+            cadena = lector.textoEnLinea();
+            cadenas[indice] = cadena;
+        }
+        return cadena;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivoAnalisis[programas=" + programas + ", cadenas=" + cadenas.length
+                + ", bytes=" + datos.capacity() + "]";
+    }
+
+    // Cursor de lectura sobre el archivo mapeado. Usa lecturas absolutas, así que varios hilos
+    // pueden decodificar programas a la vez sobre el mismo buffer.
+    private final class Lector {
+
+        private int posicion;
+        private int marcas;
+        private String fuente;
+        private TablaSimbolos simbolos;
+        private int inicioAnterior;   // Las posiciones de los nodos se guardan relativas a la del anterior
+
+        Lector(int posicion) {
+            this.posicion = posicion;
+        }
+
+        ResultadoAnalisis resultado() {
+            marcas = octeto();
+            fuente = textoEnLinea();
+
+            ResultadoLexico lexico;
+            if ((marcas & LEXICO_EXPLICITO) != 0) {
+                String expresionOriginal = cadena();
+                List<String> identificadores = listaCadenas();
+                List<String> noReconocidos = listaCadenas();
+                lexico = new ResultadoLexico(tokens(), identificadores, expresionOriginal, noReconocidos);
+            } else {
+                lexico = AnalizadorLexico.resultadoDesdeBuffer(tokens());
+            }
+
+            simbolos = new TablaSimbolos();
+            for (int i = varint(); i > 0; i--) {
+                simbolos.registrar(cadena());
+            }
+            List<NodoExpresion> instrucciones = null;
+            int numeroInstrucciones = varint() - 1;
+            if (numeroInstrucciones >= 0) {
+                NodoExpresion[] arboles = new NodoExpresion[numeroInstrucciones];
+                for (int i = 0; i < arboles.length; i++) {
+                    arboles[i] = nodo(null);
+                }
+                instrucciones = Collections.unmodifiableList(Arrays.asList(arboles));
+            }
+            ErrorInstruccion[] errores = new ErrorInstruccion[varint()];
+            for (int i = 0; i < errores.length; i++) {
+                errores[i] = new ErrorInstruccion(varint() - 1, cadena(), cadena(), cadena(), zigzag(), zigzag());
+            }
+            List<NodoExpresion> optimizados = null;
+            if ((marcas & OPTIMIZADOS_IGUALES) != 0) {
+                optimizados = instrucciones;
+            } else if ((marcas & CON_OPTIMIZADOS) != 0) {
+                NodoExpresion[] arboles = new NodoExpresion[instrucciones.size()];
+                for (int i = 0; i < arboles.length; i++) {
+                    arboles[i] = nodo(instrucciones.get(i));
+                }
+                optimizados = Collections.unmodifiableList(Arrays.asList(arboles));
+            }
+            ResultadoSintactico sintactico = new ResultadoSintactico(instrucciones,
+                    Collections.unmodifiableList(Arrays.asList(errores)), simbolos, optimizados);
+            return new ResultadoAnalisis(lexico, sintactico, diagnosticos());
+        }
+
+        // Se llama después de resultado(), que deja el cursor al final de los diagnósticos
+        ResultadoSemantico semantico() {
+            if ((marcas & CON_SEMANTICO) == 0) {
+                return null;
+            }
+            boolean esValido = octeto() != 0;
+            List<String> errores = listaCadenas();
+            return new ResultadoSemantico(esValido, errores, diagnosticos());
+        }
+
+        private BufferTokens tokens() {
+            int cantidad = varint();
+            BufferTokens tokens = new BufferTokens(fuente, cantidad);
+            int fin = 0;
+            for (int i = 0; i < cantidad; i++) {
+                TipoToken tipo = TIPOS_TOKEN[octeto()];
+                int inicio = fin + zigzag();
+                fin = inicio + varint();
+                tokens.agregar(tipo, inicio, fin, tipo == TipoToken.NUMERO ? zigzagLargo() : BufferTokens.SIN_VALOR);
+            }
+            return tokens;
+        }
+
+        // 'original' es el árbol de la instrucción, que reemplaza a NODO_IGUAL en los optimizados.
+        // Los nodos están en preorden; las operaciones cuyos operandos aún no se leyeron esperan en
+        // una pila explícita, así que un árbol muy profundo no agota la pila de Java.
+        private NodoExpresion nodo(NodoExpresion original) {
+            List<NodoPendiente> pendientes = new ArrayList<>();
+            while (true) {
+                int etiqueta = octeto();
+                NodoExpresion nodo;
+                if (etiqueta == NODO_NULO) {
+                    nodo = null;
+                } else if (etiqueta == NODO_IGUAL) {
+                    nodo = pendientes.isEmpty() ? original : null;
+                } else {
+                    int inicio = inicioAnterior + zigzag();
+                    int fin = inicio + zigzag();
+                    inicioAnterior = inicio;
+                    switch (etiqueta) {
+                        case NODO_NUMERO:
+                            nodo = new NodoExpresion.NumeroLiteral(texto(inicio, fin), zigzagLargo(), inicio, fin);
+                            break;
+                        case NODO_REFERENCIA: {
+                            String texto = texto(inicio, fin);
+                            int simbolo = zigzag();
+                            nodo = new NodoExpresion.Referencia(texto, nombre(simbolo), simbolo, inicio, fin);
+                            break;
+                        }
+                        case NODO_BINARIO:
+                        case NODO_UNARIO:
+                            pendientes.add(new NodoPendiente(etiqueta, TIPOS_TOKEN[octeto()], null, null, 0, inicio, fin));
+                            continue;
+                        case NODO_ASIGNACION: {
+                            String texto = texto(inicio, fin);
+                            int simbolo = zigzag();
+                            pendientes.add(new NodoPendiente(etiqueta, null, texto, nombre(simbolo), simbolo, inicio, fin));
+                            continue;
+                        }
+                        default:
+                            throw new IllegalStateException("Nodo desconocido en el archivo de análisis: " + etiqueta);
+                    }
+                }
+                // El nodo leído es operando de la última operación pendiente; si la completa, esa
+                // operación es a su vez operando de la anterior
+                while (true) {
+                    if (pendientes.isEmpty()) {
+                        return nodo;
+                    }
+                    NodoPendiente operacion = pendientes.get(pendientes.size() - 1);
+                    if (operacion.etiqueta == NODO_BINARIO && !operacion.conIzquierda) {
+                        operacion.izquierda = nodo;
+                        operacion.conIzquierda = true;
+                        break;
+                    }
+                    pendientes.remove(pendientes.size() - 1);
+                    nodo = operacion.construir(nodo);
+                }
+            }
+        }
+
+        // Texto de un nodo: el tramo [inicio, fin) de la fuente, otro tramo que empieza en 'inicio'
+        // o una cadena de la tabla
+        private String texto(int inicio, int fin) {
+            int referencia = varint();
+            if (referencia == TEXTO_DEL_NODO) {
+                return fuente.substring(inicio, fin);
+            }
+            if (referencia == TEXTO_DESDE_INICIO) {
+                return fuente.substring(inicio, inicio + varint());
+            }
+            return ArchivoAnalisis.this.cadena(referencia - 2);
+        }
+
+        // Nombre de una variable: el de su símbolo o una cadena de la tabla
+        private String nombre(int simbolo) {
+            int referencia = varint();
+            return referencia == 0 ? simbolos.nombre(simbolo) : ArchivoAnalisis.this.cadena(referencia - 1);
+        }
+
+        private Diagnosticos diagnosticos() {
+            int cantidad = varint() - 1;
+            if (cantidad < 0) {
+                return null;
+            }
+            Diagnosticos diagnosticos = new Diagnosticos(octeto() == 0 ? fuente : cadena());
+            for (int i = 0; i < cantidad; i++) {
+                Diagnosticos.Tipo tipo = TIPOS_DIAGNOSTICO[octeto()];
+                int inicio = zigzag();
+                int fin = zigzag();
+                diagnosticos.agregar(tipo, inicio, fin, cadena());
+            }
+            return diagnosticos;
+        }
+
+        private List<String> listaCadenas() {
+            String[] lista = new String[varint()];
+            for (int i = 0; i < lista.length; i++) {
+                lista[i] = cadena();
+            }
+            return Collections.unmodifiableList(Arrays.asList(lista));
+        }
+
+        // Referencia a la tabla de cadenas (0 es null)
+        String cadena() {
+            int referencia = varint();
+            return referencia == 0 ? null : ArchivoAnalisis.this.cadena(referencia - 1);
+        }
+
+        // Texto guardado en el mismo lugar: largo en bytes y bytes en UTF-8
+        String textoEnLinea() {
+            int largo = varint();
+            byte[] bytes = new byte[largo];
+            datos.get(posicion, bytes, 0, largo);
+            posicion += largo;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int octeto() {
+            return datos.get(posicion++) & 0xFF;
+        }
+
+        int varint() {
+            int valor = 0;
+            for (int desplazamiento = 0; ; desplazamiento += 7) {
+                int b = datos.get(posicion++);
+                valor |= (b & 0x7F) << desplazamiento;
+                if (b >= 0) {
+                    return valor;
+                }
+            }
+        }
+
+        long varintLargo() {
+            long valor = 0;
+            for (int desplazamiento = 0; ; desplazamiento += 7) {
+                int b = datos.get(posicion++);
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                if (b >= 0) {
+                    return valor;
+                }
+            }
+        }
+
+        int zigzag() {
+            int valor = varint();
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+
+        long zigzagLargo() {
+            long valor = varintLargo();
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+    }
+
+    // Operación que el lector ya empezó a decodificar y espera sus operandos
+    private static final class NodoPendiente {
+
+        final int etiqueta;
+        final TipoToken operador;
+        final String texto;
+        final String nombre;
+        final int simbolo;
+        final int inicio;
+        final int fin;
+        NodoExpresion izquierda;
+        boolean conIzquierda;
+
+        NodoPendiente(int etiqueta, TipoToken operador, String texto, String nombre, int simbolo, int inicio, int fin) {
+            this.etiqueta = etiqueta;
+            this.operador = operador;
+            this.texto = texto;
+            this.nombre = nombre;
+            this.simbolo = simbolo;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        // Nodo con su último operando
+        NodoExpresion construir(NodoExpresion operando) {
+            switch (etiqueta) {
+                case NODO_BINARIO:
+                    return new NodoExpresion.OperacionBinaria(operador, izquierda, operando, inicio, fin);
+                case NODO_UNARIO:
+                    return new NodoExpresion.OperacionUnaria(operador, operando, inicio, fin);
+                default:
+                    return new NodoExpresion.Asignacion(texto, nombre, simbolo, operando, inicio, fin);
+            }
+        }
+    }
+
+    // Escribe un archivo de análisis en flujo: cada programa se codifica al agregarlo y la tabla
+    // de cadenas, los índices y el pie se escriben al cerrar. No es seguro para varios hilos.
+    public static final class Escritor implements Closeable {
+
+        private static final int TAMANO_BUFFER = 1 << 16;
+
+        private final OutputStream salida;
+        private byte[] buffer = new byte[TAMANO_BUFFER];
+        private int llenos;           // Bytes del buffer pendientes de escribir
+        private long escritos;        // Bytes ya escritos en la salida
+        private int[] registros = new int[1024];
+        private int programas;
+        private final Map<String, Integer> indicesCadenas = new HashMap<>();
+        private final List<String> cadenas = new ArrayList<>();
+        private boolean cerrado;
+
+        // Estado del programa que se está codificando
+        private String fuente;
+        private TablaSimbolos simbolos;
+        private int inicioAnterior;   // Las posiciones de los nodos se guardan relativas a la del anterior
+
+        private Escritor(OutputStream salida) throws IOException {
+            this.salida = salida;
+            entero(MAGIA);
+            entero(VERSION);
+        }
+
+        // Agrega un programa con su análisis semántico (puede ser null). El resultado debe tener
+        // la lista de instrucciones (los de los constructores que solo guardan texto no se pueden guardar).
+        public void agregar(ResultadoAnalisis resultado, ResultadoSemantico semantico) throws IOException {
+            if (cerrado) {
+                throw new IOException("El escritor ya está cerrado");
+            }
+            if (resultado.resultadoSintactico.instrucciones == null && resultado.resultadoSintactico.esValido) {
+                throw new IllegalArgumentException("El resultado no tiene árboles de expresión que guardar");
+            }
+            if (escritos + llenos > Integer.MAX_VALUE) {
+                throw new IOException("El archivo de análisis supera 2 GB");
+            }
+            if (programas == registros.length) {
+                registros = Arrays.copyOf(registros, programas * 2);
+            }
+            int inicio = llenos;
+            try {
+                registro(resultado, semantico);
+            } catch (RuntimeException | Error e) {
+                llenos = inicio;   // Descarta el registro a medias; el archivo sigue siendo válido
+                throw e;
+            }
+            registros[programas++] = (int) (escritos + inicio);
+            if (llenos >= TAMANO_BUFFER) {
+                vaciar();
+            }
+        }
+
+        // Registro: marcas, fuente, [expresión original, identificadores y texto no reconocido],
+        // tokens, símbolos, instrucciones, errores, [árboles optimizados], diagnósticos y
+        // [validez, errores y diagnósticos del análisis semántico]
+        private void registro(ResultadoAnalisis resultado, ResultadoSemantico semantico) {
+            ResultadoLexico lexico = resultado.resultadoLexico;
+            ResultadoSintactico sintactico = resultado.resultadoSintactico;
+            BufferTokens tokens = lexico.buffer;
+            fuente = tokens.getFuente();
+            simbolos = sintactico.simbolos != null ? sintactico.simbolos : new TablaSimbolos();
+            inicioAnterior = 0;
+            boolean lexicoExplicito = !fuente.equals(lexico.expresionOriginal);
+            List<NodoExpresion> optimizados = sintactico.arbolesOptimizados;
+            int marcas = (semantico != null ? CON_SEMANTICO : 0)
+                    | (lexicoExplicito ? LEXICO_EXPLICITO : 0)
+                    | (optimizados != null && optimizados == sintactico.instrucciones ? OPTIMIZADOS_IGUALES
+                    : optimizados != null && sintactico.instrucciones != null ? CON_OPTIMIZADOS : 0);
+            octeto(marcas);
+            textoEnLinea(fuente);
+            if (lexicoExplicito) {
+                cadena(lexico.expresionOriginal);
+                listaCadenas(lexico.identificadores);
+                listaCadenas(lexico.noReconocidos);
+            }
+
+            varint(tokens.tamano());
+            int fin = 0;
+            for (int i = 0; i < tokens.tamano(); i++) {
+                octeto(tokens.tipo(i).ordinal());
+                zigzag(tokens.inicio(i) - fin);
+                varint(tokens.fin(i) - tokens.inicio(i));
+                fin = tokens.fin(i);
+                if (tokens.tipo(i) == TipoToken.NUMERO) {
+                    zigzagLargo(tokens.valor(i));
+                }
+            }
+
+            varint(simbolos.tamano());
+            for (String nombre : simbolos.getNombres()) {
+                cadena(nombre);
+            }
+            List<NodoExpresion> instrucciones = sintactico.instrucciones;
+            varint(instrucciones == null ? 0 : instrucciones.size() + 1);
+            if (instrucciones != null) {
+                for (NodoExpresion arbol : instrucciones) {
+                    nodo(arbol, null);
+                }
+            }
+            varint(sintactico.errores.size());
+            for (ErrorInstruccion error : sintactico.errores) {
+                varint(error.instruccion + 1);
+                cadena(error.error);
+                cadena(error.tipoError);
+                cadena(error.sugerencia);
+                zigzag(error.inicio);
+                zigzag(error.fin);
+            }
+            if ((marcas & CON_OPTIMIZADOS) != 0) {
+                for (int i = 0; i < instrucciones.size(); i++) {
+                    nodo(optimizados.get(i), instrucciones.get(i));
+                }
+            }
+            diagnosticos(resultado.diagnosticos);
+
+            if (semantico != null) {
+                octeto(semantico.esValido ? 1 : 0);
+                listaCadenas(semantico.errores);
+                diagnosticos(semantico.diagnosticos);
+            }
+        }
+
+        // Número de programas agregados
+        public int tamano() {
+            return programas;
+        }
+
+        // Escribe el árbol en preorden (cada nodo antes que sus operandos, de izquierda a derecha)
+        // con una pila explícita de nodos pendientes, que admite los operandos nulos; 'original'
+        // es el árbol de la instrucción, que solo puede coincidir con la raíz de un optimizado
+        private void nodo(NodoExpresion raiz, NodoExpresion original) {
+            if (raiz != null && raiz == original) {
+                octeto(NODO_IGUAL);
+                return;
+            }
+            List<NodoExpresion> pendientes = new ArrayList<>();
+            pendientes.add(raiz);
+            while (!pendientes.isEmpty()) {
+                NodoExpresion nodo = pendientes.remove(pendientes.size() - 1);
+                if (nodo == null) {
+                    octeto(NODO_NULO);
+                } else if (nodo instanceof NodoExpresion.NumeroLiteral) {
+                    NodoExpresion.NumeroLiteral literal = (NodoExpresion.NumeroLiteral) nodo;
+                    posicion(NODO_NUMERO, nodo);
+                    texto(literal.texto, nodo);
+                    zigzagLargo(literal.valor);
+                } else if (nodo instanceof NodoExpresion.Referencia) {
+                    NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                    posicion(NODO_REFERENCIA, nodo);
+                    texto(referencia.texto, nodo);
+                    nombre(referencia.nombre, referencia.simbolo);
+                } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                    NodoExpresion.OperacionBinaria operacion = (NodoExpresion.OperacionBinaria) nodo;
+                    posicion(NODO_BINARIO, nodo);
+                    octeto(operacion.operador.ordinal());
+                    pendientes.add(operacion.derecha);
+                    pendientes.add(operacion.izquierda);
+                } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                    NodoExpresion.OperacionUnaria operacion = (NodoExpresion.OperacionUnaria) nodo;
+                    posicion(NODO_UNARIO, nodo);
+                    octeto(operacion.operador.ordinal());
+                    pendientes.add(operacion.operando);
+                } else if (nodo instanceof NodoExpresion.Asignacion) {
+                    NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+                    posicion(NODO_ASIGNACION, nodo);
+                    texto(asignacion.texto, nodo);
+                    nombre(asignacion.nombre, asignacion.simbolo);
+                    pendientes.add(asignacion.valor);
+                } else {
+                    throw new IllegalArgumentException("Nodo no soportado: " + nodo);
+                }
+            }
+        }
+
+        private void posicion(int etiqueta, NodoExpresion nodo) {
+            octeto(etiqueta);
+            zigzag(nodo.inicio - inicioAnterior);
+            zigzag(nodo.fin - nodo.inicio);
+            inicioAnterior = nodo.inicio;
+        }
+
+        // Si el texto es el de la fuente en la posición del nodo (lo habitual) no se repite
+        private void texto(String texto, NodoExpresion nodo) {
+            if (nodo.inicio >= 0 && fuente.startsWith(texto, nodo.inicio)) {
+                if (texto.length() == nodo.fin - nodo.inicio) {
+                    varint(TEXTO_DEL_NODO);
+                } else {
+                    varint(TEXTO_DESDE_INICIO);
+                    varint(texto.length());
+                }
+            } else {
+                varint(indiceCadena(texto) + 2);
+            }
+        }
+
+        // Si el nombre es el del símbolo (lo habitual) no se repite
+        private void nombre(String nombre, int simbolo) {
+            zigzag(simbolo);
+            if (simbolo >= 0 && simbolo < simbolos.tamano() && simbolos.nombre(simbolo).equals(nombre)) {
+                varint(0);
+            } else {
+                varint(indiceCadena(nombre) + 1);
+            }
+        }
+
+        private void diagnosticos(Diagnosticos diagnosticos) {
+            if (diagnosticos == null) {
+                varint(0);
+                return;
+            }
+            varint(diagnosticos.tamano() + 1);
+            if (diagnosticos.getFuente().equals(fuente)) {
+                octeto(0);
+            } else {
+                octeto(1);
+                cadena(diagnosticos.getFuente());
+            }
+            for (int i = 0; i < diagnosticos.tamano(); i++) {
+                octeto(diagnosticos.tipo(i).ordinal());
+                zigzag(diagnosticos.inicio(i));
+                zigzag(diagnosticos.fin(i));
+                cadena(diagnosticos.mensaje(i));
+            }
+        }
+
+        private void listaCadenas(List<String> lista) {
+            varint(lista.size());
+            for (String cadena : lista) {
+                cadena(cadena);
+            }
+        }
+
+        private void cadena(String cadena) {
+            varint(cadena == null ? 0 : indiceCadena(cadena) + 1);
+        }
+
+        private int indiceCadena(String cadena) {
+            Integer indice = indicesCadenas.get(cadena);
+            if (indice == null) {
+                indice = cadenas.size();
+                cadenas.add(cadena);
+                indicesCadenas.put(cadena, indice);
+            }
+            return indice;
+        }
+
+        // Escribe la tabla de cadenas, los índices y el pie, y cierra la salida
+        @Override
+        public void close() throws IOException {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            try {
+                long inicioCadenas = escritos + llenos;
+                int[] desplazamientos = new int[cadenas.size()];
+                for (int i = 0; i < desplazamientos.length; i++) {
+                    desplazamientos[i] = (int) (escritos + llenos - inicioCadenas);
+                    textoEnLinea(cadenas.get(i));
+                    if (llenos >= TAMANO_BUFFER) {
+                        vaciar();
+                    }
+                }
+                long indiceCadenas = escritos + llenos;
+                for (int desplazamiento : desplazamientos) {
+                    entero(desplazamiento);
+                }
+                long indiceProgramas = escritos + llenos;
+                for (int i = 0; i < programas; i++) {
+                    entero(registros[i]);
+                }
+                if (indiceProgramas + (long) programas * 4 + TAMANO_PIE > Integer.MAX_VALUE) {
+                    throw new IOException("El archivo de análisis supera 2 GB");
+                }
+                entero(programas);
+                entero(cadenas.size());
+                entero((int) inicioCadenas);
+                entero((int) indiceCadenas);
+                entero((int) indiceProgramas);
+                entero(MAGIA);
+                vaciar();
+            } finally {
+                salida.close();
+            }
+        }
+
+        private void textoEnLinea(String texto) {
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            reservar(bytes.length);
+            System.arraycopy(bytes, 0, buffer, llenos, bytes.length);
+            llenos += bytes.length;
+        }
+
+        private void entero(int valor) {
+            reservar(4);
+            buffer[llenos++] = (byte) (valor >>> 24);
+            buffer[llenos++] = (byte) (valor >>> 16);
+            buffer[llenos++] = (byte) (valor >>> 8);
+            buffer[llenos++] = (byte) valor;
+        }
+
+        private void octeto(int valor) {
+            reservar(1);
+            buffer[llenos++] = (byte) valor;
+        }
+
+        private void varint(int valor) {
+            reservar(5);
+            while ((valor & ~0x7F) != 0) {
+                buffer[llenos++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            buffer[llenos++] = (byte) valor;
+        }
+
+        private void varintLargo(long valor) {
+            reservar(10);
+            while ((valor & ~0x7FL) != 0) {
+                buffer[llenos++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            buffer[llenos++] = (byte) valor;
+        }
+
+        private void zigzag(int valor) {
+            varint((valor << 1) ^ (valor >> 31));
+        }
+
+        private void zigzagLargo(long valor) {
+            varintLargo((valor << 1) ^ (valor >> 63));
+        }
+
+        // El registro de un programa se arma entero en el buffer, que crece si hace falta; se
+        // vacía en la salida entre registros
+        private void reservar(int bytes) {
+            if (llenos + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, llenos + bytes));
+            }
+        }
+
+        private void vaciar() throws IOException {
+            salida.write(buffer, 0, llenos);
+            escritos += llenos;
+            llenos = 0;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.Token;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+// Flujo compacto de tokens almacenado en arreglos paralelos (tipo, inicio, fin y valor numérico).
+// Analizar una expresión larga reserva unos pocos arreglos en lugar de miles de objetos Token;
+// la lista de Token solo se materializa, de forma perezosa, cuando alguien la consulta.
+public final class BufferTokens {
+
+    // Valor numérico de los tokens que no tienen uno (o cuyo número no cabe en un long)
+    public static final long SIN_VALOR = Long.MIN_VALUE;
+
+    private final String fuente;   // Texto de entrada al que apuntan los desplazamientos
+    private int[] tipos;           // Ordinal de TipoToken de cada token
+    private int[] inicios;         // Desplazamiento inicial de cada token en la fuente
+    private int[] fines;           // Desplazamiento final (exclusivo) de cada token
+    private long[] valores;        // Valor numérico de los tokens Numero
+    private int tamano;            // Número de tokens almacenados
+
+    // Cachés perezosas. Si varios hilos consultan el mismo buffer a la vez, en el peor caso un
+    // Token se construye dos veces; Token y la vista solo tienen campos final, así que es seguro.
+    private Token[] materializados; // Tokens ya construidos por la vista de lista
+    private List<Token> vista;      // Vista de lista perezosa sobre el buffer
+
+    public BufferTokens(String fuente, int capacidadInicial) {
+        int capacidad = Math.max(capacidadInicial, 4);
+        this.fuente = fuente;
+        this.tipos = new int[capacidad];
+        this.inicios = new int[capacidad];
+        this.fines = new int[capacidad];
+        this.valores = new long[capacidad];
+    }
+
+    // Construye un buffer a partir de una lista de tokens ya creados (por ejemplo, por otros llamadores).
+    // El texto fuente se reconstruye uniendo los valores originales con espacios.
+    public static BufferTokens desdeTokens(List<Token> tokens) {
+        if (tokens instanceof VistaTokens) {
+            return ((VistaTokens) tokens).buffer();
+        }
+        StringBuilder fuente = new StringBuilder();
+        int[] posiciones = new int[tokens.size() + 1];
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                fuente.append(' ');
+            }
+            posiciones[i] = fuente.length();
+            fuente.append(tokens.get(i).valorOriginal);
+        }
+        BufferTokens buffer = new BufferTokens(fuente.toString(), tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.tipoToken == null) {
+                throw new IllegalArgumentException("Tipo de token desconocido: " + token.tipo);
+            }
+            long valor = SIN_VALOR;
+            if (token.tipoToken == TipoToken.NUMERO) {
+                try {
+                    valor = Long.parseLong(token.valor);
+                } catch (NumberFormatException e) {
+                    valor = SIN_VALOR;
+                }
+            }
+            buffer.agregar(token.tipoToken, posiciones[i], posiciones[i] + token.valorOriginal.length(), valor);
+        }
+        return buffer;
+    }
+
+    // Agrega un token al final del buffer
+    void agregar(TipoToken tipo, int inicio, int fin, long valor) {
+        if (tamano == tipos.length) {
+            int capacidad = tamano * 2;
+            tipos = Arrays.copyOf(tipos, capacidad);
+            inicios = Arrays.copyOf(inicios, capacidad);
+            fines = Arrays.copyOf(fines, capacidad);
+            valores = Arrays.copyOf(valores, capacidad);
+        }
+        tipos[tamano] = tipo.ordinal();
+        inicios[tamano] = inicio;
+        fines[tamano] = fin;
+        valores[tamano] = valor;
+        tamano++;
+    }
+
+    // Agrega los tokens [desde, hasta) de otro buffer, desplazando sus posiciones en 'desplazamiento'
+    void agregarDesde(BufferTokens origen, int desde, int hasta, int desplazamiento) {
+        int cantidad = hasta - desde;
+        if (tamano + cantidad > tipos.length) {
+            int capacidad = Math.max(tamano * 2, tamano + cantidad);
+            tipos = Arrays.copyOf(tipos, capacidad);
+            inicios = Arrays.copyOf(inicios, capacidad);
+            fines = Arrays.copyOf(fines, capacidad);
+            valores = Arrays.copyOf(valores, capacidad);
+        }
+        System.arraycopy(origen.tipos, desde, tipos, tamano, cantidad);
+        System.arraycopy(origen.valores, desde, valores, tamano, cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            inicios[tamano + i] = origen.inicios[desde + i] + desplazamiento;
+            fines[tamano + i] = origen.fines[desde + i] + desplazamiento;
+        }
+        tamano += cantidad;
+    }
+
+    public String getFuente() {
+        return fuente;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public TipoToken tipo(int indice) {
+        return TipoToken.desdeOrdinal(tipos[indice]);
+    }
+
+    public int inicio(int indice) {
+        return inicios[indice];
+    }
+
+    public int fin(int indice) {
+        return fines[indice];
+    }
+
+    public long valor(int indice) {
+        return valores[indice];
+    }
+
+    // Texto original del token tal como aparece en la entrada
+    public String texto(int indice) {
+        return fuente.substring(inicios[indice], fines[indice]);
+    }
+
+    // Valor interno del token (e.g., '+', '5' o el identificador en minúsculas)
+    public String valorInterno(int indice) {
+        TipoToken tipo = tipo(indice);
+        if (tipo.getValor() != null) {
+            return tipo.getValor();
+        }
+        if (tipo == TipoToken.NUMERO && valores[indice] != SIN_VALOR) {
+            return String.valueOf(valores[indice]);
+        }
+        return texto(indice).toLowerCase(Locale.ROOT);
+    }
+
+    // Materializa el token en la posición dada, reutilizando el creado en consultas anteriores
+    public Token token(int indice) {
+        if (materializados == null) {
+            materializados = new Token[tamano];
+        }
+        Token token = materializados[indice];
+        if (token == null) {
+            token = new Token(tipo(indice), valorInterno(indice), texto(indice));
+            materializados[indice] = token;
+        }
+        return token;
+    }
+
+    // Vista de solo lectura de los tokens como lista de Token
+    public List<Token> comoLista() {
+        if (vista == null) {
+            vista = new VistaTokens(this);
+        }
+        return vista;
+    }
+
+    // Lista perezosa: cada Token se construye la primera vez que se consulta
+    private static final class VistaTokens extends AbstractList<Token> implements RandomAccess {
+
+        private final BufferTokens buffer;
+
+        VistaTokens(BufferTokens buffer) {
+            this.buffer = buffer;
+        }
+
+        BufferTokens buffer() {
+            return buffer;
+        }
+
+        @Override
+        public Token get(int indice) {
+            if (indice < 0 || indice >= buffer.tamano) {
+                throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + buffer.tamano);
+            }
+            return buffer.token(indice);
+        }
+
+        @Override
+        public int size() {
+            return buffer.tamano;
+        }
+    }
+}
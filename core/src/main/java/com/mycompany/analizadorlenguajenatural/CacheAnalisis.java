@@ -0,0 +1,204 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Caché acotada de resultados de análisis, con desalojo LRU, para entradas que se repiten.
+// La clave es el texto exacto de la expresión: el resultado copia textos de la entrada
+// (expresión original, fragmentos no reconocidos, operandos citados en los errores) y guarda
+// posiciones de tokens y diagnósticos, así que dos expresiones equivalentes pero escritas
+// distinto ("x = suma dos con tres" y "X = SUMA dos a tres") tienen resultados distintos.
+// Para que varios hilos la usen a la vez sin un bloqueo global, está dividida en segmentos,
+// cada uno con su propio LinkedHashMap sincronizado; los contadores son LongAdder. Los
+// resultados guardados se comparten entre hilos y son inmutables: listas no modificables y
+// tabla de símbolos congelada.
+public final class CacheAnalisis {
+
+    private static final int SEGMENTOS_MAXIMOS = 16;
+
+    private final Segmento[] segmentos;
+    private final int capacidad;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    public CacheAnalisis(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        int numeroSegmentos = Integer.highestOneBit(Math.min(SEGMENTOS_MAXIMOS, capacidad));
+        segmentos = new Segmento[numeroSegmentos];
+        for (int i = 0; i < numeroSegmentos; i++) {
+            int capacidadSegmento = capacidad / numeroSegmentos + (i < capacidad % numeroSegmentos ? 1 : 0);
+            segmentos[i] = new Segmento(capacidadSegmento);
+        }
+    }
+
+    // Resultado guardado en la caché, que además memoriza el análisis semántico hecho sin
+    // variables predefinidas
+    static final class ResultadoEnCache extends ResultadoAnalisis {
+
+        private volatile Semantica semantica;
+
+        private ResultadoEnCache(ResultadoLexico resultadoLexico, ResultadoSintactico resultadoSintactico,
+                Diagnosticos diagnosticos) {
+            super(resultadoLexico, resultadoSintactico, diagnosticos);
+        }
+
+        // Devuelve el análisis semántico memorizado (calculándolo la primera vez) y agrega a
+        // 'variablesDefinidas' las variables que el programa define
+        ResultadoSemantico semantico(Map<String, Integer> variablesDefinidas,
+                Function<Map<String, Integer>, ResultadoSemantico> analisis) {
+            Semantica memoria = semantica;
+            if (memoria == null) {
+                Map<String, Integer> definidas = new HashMap<>();
+                ResultadoSemantico resultado = analisis.apply(definidas);
+                memoria = new Semantica(new ResultadoSemantico(resultado.esValido,
+                        Collections.unmodifiableList(resultado.errores), resultado.diagnosticos),
+                        Collections.unmodifiableMap(definidas));
+                semantica = memoria;
+            }
+            variablesDefinidas.putAll(memoria.definidas);
+            return memoria.resultado;
+        }
+    }
+
+    private static final class Semantica {
+
+        final ResultadoSemantico resultado;
+        final Map<String, Integer> definidas;
+
+        Semantica(ResultadoSemantico resultado, Map<String, Integer> definidas) {
+            this.resultado = resultado;
+            this.definidas = definidas;
+        }
+    }
+
+    // Busca el resultado de la expresión, o null si no está
+    ResultadoAnalisis obtener(String clave) {
+        ResultadoAnalisis resultado = segmento(clave).obtener(clave);
+        if (resultado == null) {
+            fallos.increment();
+        } else {
+            aciertos.increment();
+        }
+        return resultado;
+    }
+
+    // Guarda una copia inmutable del resultado y la devuelve
+    ResultadoAnalisis guardar(String clave, ResultadoAnalisis resultado) {
+        ResultadoEnCache guardado = congelar(resultado);
+        segmento(clave).guardar(clave, guardado);
+        return guardado;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    // Número de resultados guardados
+    public int tamano() {
+        int tamano = 0;
+        for (Segmento segmento : segmentos) {
+            tamano += segmento.tamano();
+        }
+        return tamano;
+    }
+
+    public void limpiar() {
+        for (Segmento segmento : segmentos) {
+            segmento.limpiar();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CacheAnalisis[tamano=" + tamano() + "/" + capacidad + ", aciertos=" + getAciertos()
+                + ", fallos=" + getFallos() + ", desalojos=" + getDesalojos() + "]";
+    }
+
+    // Copia del resultado con las listas que se pueden proteger envueltas como no modificables y
+    // la tabla de símbolos congelada (los resultados sin lista de instrucciones, de constructores
+    // antiguos, se guardan tal cual)
+    private static ResultadoEnCache congelar(ResultadoAnalisis resultado) {
+        ResultadoLexico lexico = resultado.resultadoLexico;
+        ResultadoSintactico sintactico = resultado.resultadoSintactico;
+        ResultadoLexico lexicoCongelado = new ResultadoLexico(lexico.buffer, lexico.identificadores,
+                lexico.expresionOriginal, Collections.unmodifiableList(lexico.noReconocidos));
+        ResultadoSintactico sintacticoCongelado = sintactico;
+        if (sintactico.instrucciones != null) {
+            List<NodoExpresion> instrucciones = Collections.unmodifiableList(sintactico.instrucciones);
+            List<NodoExpresion> optimizados = sintactico.arbolesOptimizados;
+            if (optimizados == sintactico.instrucciones) {
+                optimizados = instrucciones;   // Nada que optimizar: es la misma lista
+            } else if (optimizados != null) {
+                optimizados = Collections.unmodifiableList(optimizados);
+            }
+            sintacticoCongelado = new ResultadoSintactico(instrucciones, Collections.unmodifiableList(sintactico.errores),
+                    sintactico.simbolos.congelada(), optimizados);
+        }
+        return new ResultadoEnCache(lexicoCongelado, sintacticoCongelado, resultado.diagnosticos);
+    }
+
+    private Segmento segmento(String clave) {
+        int hash = clave.hashCode();
+        return segmentos[(hash ^ (hash >>> 16)) & (segmentos.length - 1)];
+    }
+
+    // Segmento LRU: LinkedHashMap en orden de acceso que desaloja la entrada más antigua
+    private final class Segmento {
+
+        private final LinkedHashMap<String, ResultadoAnalisis> entradas;
+
+        Segmento(int capacidadSegmento) {
+            entradas = new LinkedHashMap<String, ResultadoAnalisis>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ResultadoAnalisis> eldest) {
+                    if (size() > capacidadSegmento) {
+                        desalojos.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized ResultadoAnalisis obtener(String clave) {
+            return entradas.get(clave);
+        }
+
+        synchronized void guardar(String clave, ResultadoAnalisis resultado) {
+            entradas.put(clave, resultado);
+        }
+
+        synchronized int tamano() {
+            return entradas.size();
+        }
+
+        synchronized void limpiar() {
+            entradas.clear();
+        }
+    }
+}
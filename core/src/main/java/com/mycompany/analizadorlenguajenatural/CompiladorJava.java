@@ -0,0 +1,239 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+// Compila en memoria, con javax.tools, la clase Java que GeneradorJava obtiene de un programa
+// analizado, y la carga para que el programa corra como código compilado por el JIT. Necesita
+// un JDK (con un JRE no hay compilador del sistema).
+// Las clases compiladas se guardan en una caché LRU acotada cuya clave es el código generado
+// (en un mapa de hash), de modo que dos expresiones con el mismo programa comparten la clase.
+// Cada programa se carga con su propio ClassLoader: al desalojarlo de la caché, y cuando nadie
+// más lo usa, la clase se puede descargar, así que el metaspace queda acotado por la capacidad.
+public final class CompiladorJava implements AutoCloseable {
+
+    private static final List<String> OPCIONES = Arrays.asList("-proc:none", "-Xlint:none");
+
+    private final JavaCompiler javac;
+    private final StandardJavaFileManager archivos;   // Se reutiliza entre compilaciones, bajo 'compilando'
+    private final Object compilando = new Object();
+    private final LinkedHashMap<String, ProgramaJava> programas;
+    private final int capacidad;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    public CompiladorJava(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva: " + capacidad);
+        }
+        this.javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) {
+            throw new IllegalStateException("No hay compilador de Java disponible: se necesita un JDK");
+        }
+        this.archivos = javac.getStandardFileManager(null, null, null);
+        this.capacidad = capacidad;
+        this.programas = new LinkedHashMap<String, ProgramaJava>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ProgramaJava> eldest) {
+                if (size() > CompiladorJava.this.capacidad) {
+                    desalojos.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Compila las instrucciones de un análisis válido (las optimizadas, si las tiene). Como
+    // compilar() del analizador, lanza IllegalArgumentException si tiene errores sintácticos o semánticos.
+    public ProgramaJava compilar(ResultadoAnalisis resultado) {
+        ResultadoSintactico sintactico = AnalizadorLenguajeNatural.compilable(resultado, "compilar");
+        return compilar(sintactico.arbolesEvaluables(), sintactico.simbolos);
+    }
+
+    // Compila los árboles (uno por instrucción); las ranuras siguen la tabla de símbolos (puede ser null).
+    // Si javac rechaza el código generado (por ejemplo "code too large", cuando una instrucción de
+    // decenas de miles de operadores no cabe en los 64 KB de un método) lanza IllegalArgumentException;
+    // ProgramaCompilado y ProgramaPostfijo admiten esos programas.
+    public ProgramaJava compilar(List<NodoExpresion> arboles, TablaSimbolos simbolos) {
+        TablaSimbolos variables = GeneradorJava.variables(arboles, simbolos);
+        String fuente = GeneradorJava.generar(arboles, variables);
+        ProgramaJava programa = buscar(fuente);
+        if (programa != null) {
+            aciertos.increment();
+            return programa;
+        }
+        // Una compilación a la vez: el compilador del sistema comparte el administrador de
+        // archivos, y así dos hilos con el mismo programa no lo compilan dos veces
+        synchronized (compilando) {
+            programa = buscar(fuente);
+            if (programa != null) {
+                aciertos.increment();
+                return programa;
+            }
+            fallos.increment();
+            programa = compilarFuente(fuente, variables.getNombres());
+        }
+        synchronized (programas) {
+            programas.put(fuente, programa);
+        }
+        return programa;
+    }
+
+    private ProgramaJava buscar(String fuente) {
+        synchronized (programas) {
+            return programas.get(fuente);
+        }
+    }
+
+    private ProgramaJava compilarFuente(String fuente, List<String> variables) {
+        FuenteEnMemoria unidad = new FuenteEnMemoria(GeneradorJava.NOMBRE_CLASE, fuente);
+        ClasesEnMemoria salida = new ClasesEnMemoria(archivos);
+        DiagnosticCollector<JavaFileObject> diagnosticos = new DiagnosticCollector<>();
+        boolean compilado = javac.getTask(null, salida, diagnosticos, OPCIONES, null,
+                Collections.singletonList(unidad)).call();
+        byte[] bytes = salida.clases.get(GeneradorJava.NOMBRE_CLASE);
+        if (!compilado || bytes == null) {
+            throw new IllegalArgumentException("No se pudo compilar el programa generado: " + primerError(diagnosticos));
+        }
+        try {
+            Class<?> clase = new CargadorPrograma(CompiladorJava.class.getClassLoader())
+                    .definir(GeneradorJava.NOMBRE_CLASE, bytes);
+            return new ProgramaJava(fuente, clase, variables);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("La clase generada no tiene constructor público", e);
+        }
+    }
+
+    private static String primerError(DiagnosticCollector<JavaFileObject> diagnosticos) {
+        for (Diagnostic<? extends JavaFileObject> diagnostico : diagnosticos.getDiagnostics()) {
+            if (diagnostico.getKind() == Diagnostic.Kind.ERROR) {
+                return diagnostico.getMessage(null);
+            }
+        }
+        return "error desconocido";
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int tamano() {
+        synchronized (programas) {
+            return programas.size();
+        }
+    }
+
+    public void limpiar() {
+        synchronized (programas) {
+            programas.clear();
+        }
+    }
+
+    // Vacía la caché y libera los archivos que tiene abiertos el compilador
+    @Override
+    public void close() throws IOException {
+        limpiar();
+        synchronized (compilando) {
+            archivos.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiladorJava[tamano=" + tamano() + "/" + capacidad + ", aciertos=" + getAciertos()
+                + ", fallos=" + getFallos() + ", desalojos=" + getDesalojos() + "]";
+    }
+
+    // Código fuente de una clase, leído desde un String
+    private static final class FuenteEnMemoria extends SimpleJavaFileObject {
+
+        private final String codigo;
+
+        FuenteEnMemoria(String nombreClase, String codigo) {
+            super(URI.create("string:///" + nombreClase + Kind.SOURCE.extension), Kind.SOURCE);
+            this.codigo = codigo;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignorarErroresCodificacion) {
+            return codigo;
+        }
+    }
+
+    // Administrador de archivos que guarda en memoria los .class generados
+    private static final class ClasesEnMemoria extends ForwardingJavaFileManager<JavaFileManager> {
+
+        final Map<String, byte[]> clases = new LinkedHashMap<>();
+
+        ClasesEnMemoria(JavaFileManager archivos) {
+            super(archivos);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location ubicacion, String nombreClase, JavaFileObject.Kind tipo,
+                FileObject hermano) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + nombreClase.replace('.', '/') + tipo.extension), tipo) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream() {
+                        @Override
+                        public void close() {
+                            clases.put(nombreClase, toByteArray());
+                        }
+                    };
+                }
+            };
+        }
+
+        // El administrador compartido no se cierra al terminar cada compilación
+        @Override
+        public void close() {
+        }
+    }
+
+    // Cargador de una sola clase generada; al quedar inalcanzable, la clase se puede descargar
+    private static final class CargadorPrograma extends ClassLoader {
+
+        CargadorPrograma(ClassLoader padre) {
+            super(padre);
+        }
+
+        Class<?> definir(String nombre, byte[] bytes) {
+            return defineClass(nombre, bytes, 0, bytes.length);
+        }
+    }
+}
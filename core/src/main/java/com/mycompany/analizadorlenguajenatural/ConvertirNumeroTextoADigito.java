@@ -0,0 +1,236 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.mycompany.analizadorlenguajenatural;
+
+/**
+ *
+ * @author desan
+ */
+public class ConvertirNumeroTextoADigito {
+
+    // Valor devuelto cuando el texto no es un número válido
+    public static final long NO_ES_NUMERO = -1;
+
+    // Instancia compartida: el convertidor no guarda estado y puede usarse desde varios hilos
+    public static final ConvertirNumeroTextoADigito INSTANCIA = new ConvertirNumeroTextoADigito();
+
+    // Clases de palabra de la gramática de los números cardinales
+    private static final int CERO = 1;       // cero (solo puede aparecer sola)
+    private static final int UNIDAD = 2;     // uno .. nueve
+    private static final int ESPECIAL = 3;   // diez .. veintinueve
+    private static final int DECENA = 4;     // treinta .. noventa
+    private static final int CIEN = 5;       // cien
+    private static final int CENTENA = 6;    // ciento, doscientos .. novecientos
+    private static final int MIL = 7;        // mil
+    private static final int MILLON = 8;     // millón, millones
+    private static final int BILLON = 9;     // billón, billones
+    private static final int Y = 10;         // conector de decenas y unidades
+
+    private static final int BITS_VALOR = 10;
+    private static final int MASCARA_VALOR = (1 << BITS_VALOR) - 1;
+
+    private static final long MILLON_VALOR = 1_000_000L;
+    private static final long BILLON_VALOR = 1_000_000_000_000L;
+
+    // Léxico de números: palabra, clase y valor, construido una sola vez
+    private static final TablaPalabras LEXICO;
+
+    static {
+        Object[][] palabras = {
+            {"cero", CERO, 0},
+            {"un", UNIDAD, 1}, {"uno", UNIDAD, 1}, {"una", UNIDAD, 1}, {"dos", UNIDAD, 2},
+            {"tres", UNIDAD, 3}, {"cuatro", UNIDAD, 4}, {"cinco", UNIDAD, 5}, {"seis", UNIDAD, 6},
+            {"siete", UNIDAD, 7}, {"ocho", UNIDAD, 8}, {"nueve", UNIDAD, 9},
+            {"diez", ESPECIAL, 10}, {"once", ESPECIAL, 11}, {"doce", ESPECIAL, 12},
+            {"trece", ESPECIAL, 13}, {"catorce", ESPECIAL, 14}, {"quince", ESPECIAL, 15},
+            {"dieciséis", ESPECIAL, 16}, {"dieciseis", ESPECIAL, 16}, {"diecisiete", ESPECIAL, 17},
+            {"dieciocho", ESPECIAL, 18}, {"diecinueve", ESPECIAL, 19}, {"veinte", ESPECIAL, 20},
+            {"veintiuno", ESPECIAL, 21}, {"veintiuna", ESPECIAL, 21}, {"veintiún", ESPECIAL, 21},
+            {"veintiun", ESPECIAL, 21}, {"veintidós", ESPECIAL, 22}, {"veintidos", ESPECIAL, 22},
+            {"veintitrés", ESPECIAL, 23}, {"veintitres", ESPECIAL, 23}, {"veinticuatro", ESPECIAL, 24},
+            {"veinticinco", ESPECIAL, 25}, {"veintiséis", ESPECIAL, 26}, {"veintiseis", ESPECIAL, 26},
+            {"veintisiete", ESPECIAL, 27}, {"veintiocho", ESPECIAL, 28}, {"veintinueve", ESPECIAL, 29},
+            {"treinta", DECENA, 30}, {"cuarenta", DECENA, 40}, {"cincuenta", DECENA, 50},
+            {"sesenta", DECENA, 60}, {"setenta", DECENA, 70}, {"ochenta", DECENA, 80},
+            {"noventa", DECENA, 90},
+            {"cien", CIEN, 100}, {"ciento", CENTENA, 100},
+            {"doscientos", CENTENA, 200}, {"doscientas", CENTENA, 200},
+            {"trescientos", CENTENA, 300}, {"trescientas", CENTENA, 300},
+            {"cuatrocientos", CENTENA, 400}, {"cuatrocientas", CENTENA, 400},
+            {"quinientos", CENTENA, 500}, {"quinientas", CENTENA, 500},
+            {"seiscientos", CENTENA, 600}, {"seiscientas", CENTENA, 600},
+            {"setecientos", CENTENA, 700}, {"setecientas", CENTENA, 700},
+            {"ochocientos", CENTENA, 800}, {"ochocientas", CENTENA, 800},
+            {"novecientos", CENTENA, 900}, {"novecientas", CENTENA, 900},
+            {"mil", MIL, 0},
+            {"millón", MILLON, 0}, {"millon", MILLON, 0}, {"millones", MILLON, 0},
+            {"billón", BILLON, 0}, {"billon", BILLON, 0}, {"billones", BILLON, 0},
+            {"y", Y, 0}
+        };
+        String[] textos = new String[palabras.length];
+        int[] valores = new int[palabras.length];
+        for (int i = 0; i < palabras.length; i++) {
+            textos[i] = (String) palabras[i][0];
+            valores[i] = ((Integer) palabras[i][1] << BITS_VALOR) | (Integer) palabras[i][2];
+        }
+        LEXICO = new TablaPalabras(textos, valores);
+    }
+
+    // Convierte un número escrito en texto (o en dígitos) a su valor; conserva el texto si no es un número
+    public String convertirNumeroTextoADigito(String numeroTexto) {
+        numeroTexto = numeroTexto.toLowerCase().trim();
+        long valor = convertir(numeroTexto, 0, numeroTexto.length());
+        return valor == NO_ES_NUMERO ? numeroTexto : String.valueOf(valor);
+    }
+
+    // Convierte el fragmento [inicio, fin) a su valor numérico o devuelve NO_ES_NUMERO
+    public long convertir(CharSequence texto, int inicio, int fin) {
+        if (inicio < fin && esDigito(texto.charAt(inicio))) {
+            return convertirDigitos(texto, inicio, fin);
+        }
+        return recorrer(texto, inicio, fin, false);
+    }
+
+    // Devuelve el fin del número escrito en palabras más largo que empieza en inicio, o -1
+    public int finNumero(CharSequence texto, int inicio) {
+        return (int) recorrer(texto, inicio, texto.length(), true);
+    }
+
+    // Recorre las palabras de un número cardinal aplicando la gramática de los números en español.
+    // Si buscarFin es verdadero devuelve el fin del prefijo válido más largo; si no, el valor del
+    // fragmento completo.
+    private long recorrer(CharSequence texto, int inicio, int limite, boolean buscarFin) {
+        long total = 0;            // Valor acumulado de los billones y millones
+        long seccion = 0;          // Valor acumulado por debajo del último millón o billón
+        int grupo = 0;             // Valor del grupo actual (0 .. 999)
+        int anterior = 0;          // Clase de la palabra anterior
+        long escalaMaxima = Long.MAX_VALUE; // Multiplicador máximo permitido a continuación
+        int finValido = -1;        // Fin del último prefijo que forma un número completo
+
+        int i = inicio;
+        while (i < limite) {
+            int finPalabra = Math.min(AnalizadorLexico.finDePalabra(texto, i), limite);
+            if (finPalabra == i) {
+                break;
+            }
+            int entrada = LEXICO.buscar(texto, i, finPalabra);
+            if (entrada == TablaPalabras.NINGUNO) {
+                break;
+            }
+            int clase = entrada >>> BITS_VALOR;
+            int valor = entrada & MASCARA_VALOR;
+            if (!puedeSeguir(anterior, clase, grupo, seccion)) {
+                break;
+            }
+
+            switch (clase) {
+                case MIL:
+                    seccion += (grupo == 0 ? 1 : grupo) * 1000L;
+                    grupo = 0;
+                    break;
+                case MILLON:
+                case BILLON:
+                    long escala = clase == MILLON ? MILLON_VALOR : BILLON_VALOR;
+                    if (escala >= escalaMaxima) {
+                        return buscarFin ? finValido : NO_ES_NUMERO;
+                    }
+                    total += (seccion + grupo) * escala;
+                    seccion = 0;
+                    grupo = 0;
+                    escalaMaxima = escala;
+                    break;
+                case Y:
+                    break;
+                default:
+                    grupo += valor;
+                    break;
+            }
+            anterior = clase;
+
+            if (clase != Y) {
+                finValido = finPalabra;
+            }
+            if (clase == CERO) {
+                break;
+            }
+
+            // Las palabras de un número solo pueden separarse con espacios en blanco
+            int siguiente = finPalabra;
+            while (siguiente < limite && AnalizadorLexico.esEspacio(texto.charAt(siguiente))) {
+                siguiente++;
+            }
+            if (siguiente == finPalabra) {
+                i = finPalabra;
+                break;
+            }
+            i = siguiente;
+        }
+
+        if (buscarFin) {
+            return finValido;
+        }
+        // Para convertir, el número debe ocupar el fragmento completo
+        if (finValido < 0 || anterior == Y || !soloEspacios(texto, finValido, limite)) {
+            return NO_ES_NUMERO;
+        }
+        return total + seccion + grupo;
+    }
+
+    // Verifica si una palabra de la clase dada puede seguir a la anterior
+    private static boolean puedeSeguir(int anterior, int clase, int grupo, long seccion) {
+        switch (clase) {
+            case CERO:
+                return anterior == 0;
+            case CENTENA:
+            case CIEN:
+                return grupo == 0 && (anterior == 0 || anterior == MIL || anterior == MILLON || anterior == BILLON);
+            case DECENA:
+            case ESPECIAL:
+                return grupo % 100 == 0 && anterior != CIEN && anterior != Y;
+            case UNIDAD:
+                return anterior == Y || (grupo % 100 == 0 && anterior != CIEN);
+            case Y:
+                return anterior == DECENA;
+            case MIL:
+                return anterior != Y && anterior != MIL && seccion < 1000;
+            case MILLON:
+            case BILLON:
+                // Requieren una cantidad explícita: "un millón", "mil millones"
+                return anterior != 0 && anterior != Y && (grupo > 0 || seccion > 0);
+            default:
+                return false;
+        }
+    }
+
+    // Convierte una secuencia de dígitos verificando el desbordamiento
+    private static long convertirDigitos(CharSequence texto, int inicio, int fin) {
+        long valor = 0;
+        for (int i = inicio; i < fin; i++) {
+            char c = texto.charAt(i);
+            if (!esDigito(c)) {
+                return NO_ES_NUMERO;
+            }
+            int digito = c - '0';
+            if (valor > (Long.MAX_VALUE - digito) / 10) {
+                return NO_ES_NUMERO;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean soloEspacios(CharSequence texto, int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            if (!AnalizadorLexico.esEspacio(texto.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
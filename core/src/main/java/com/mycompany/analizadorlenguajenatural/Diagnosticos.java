@@ -0,0 +1,231 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ErrorInstruccion;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Diagnósticos de un análisis (errores, texto no reconocido y advertencias), cada uno con el
+// tramo [inicio, fin) de caracteres de la expresión original al que se refiere. Igual que
+// BufferTokens, se guardan en arreglos paralelos que solo se reservan si hay algún diagnóstico;
+// el objeto Diagnostico se construye al consultarlo. Se llena durante el análisis y después
+// solo se lee, por lo que puede compartirse entre hilos una vez publicado.
+public final class Diagnosticos {
+
+    public enum Severidad {
+        ERROR, ADVERTENCIA
+    }
+
+    public enum Tipo {
+        NO_RECONOCIDO(Severidad.ADVERTENCIA),           // Texto que el analizador léxico ignoró
+        ERROR_SINTACTICO(Severidad.ERROR),
+        ERROR_SEMANTICO(Severidad.ERROR),
+        CONECTOR_COMO_VARIABLE(Severidad.ADVERTENCIA);  // Conector asignado, e.g. "y = cinco"
+
+        private final Severidad severidad;
+
+        Tipo(Severidad severidad) {
+            this.severidad = severidad;
+        }
+
+        public Severidad getSeveridad() {
+            return severidad;
+        }
+    }
+
+    // Un diagnóstico individual
+    public static final class Diagnostico {
+
+        public final Tipo tipo;
+        public final int inicio;       // Desplazamiento inicial en la expresión original
+        public final int fin;          // Desplazamiento final (exclusivo); igual a inicio al final de la entrada
+        public final String mensaje;
+
+        public Diagnostico(Tipo tipo, int inicio, int fin, String mensaje) {
+            this.tipo = tipo;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.mensaje = mensaje;
+        }
+
+        public Severidad getSeveridad() {
+            return tipo.getSeveridad();
+        }
+
+        @Override
+        public String toString() {
+            return "[" + inicio + "," + fin + ") " + tipo.getSeveridad() + " " + tipo + ": " + mensaje;
+        }
+    }
+
+    private static final Tipo[] TIPOS = Tipo.values();
+
+    private final String fuente;   // Expresión original a la que apuntan los tramos
+    private byte[] tipos;          // Ordinal de Tipo de cada diagnóstico
+    private int[] inicios;
+    private int[] fines;
+    private String[] mensajes;
+    private int tamano;
+    private List<Diagnostico> vista;
+
+    public Diagnosticos(String fuente) {
+        this.fuente = fuente;
+    }
+
+    // Diagnósticos de los análisis léxico y sintáctico: texto no reconocido, conectores usados
+    // como variables y el error sintáctico, si lo hay
+    static Diagnosticos de(ResultadoLexico lexico, ResultadoSintactico sintactico) {
+        BufferTokens tokens = lexico.buffer;
+        Diagnosticos diagnosticos = new Diagnosticos(tokens.getFuente());
+        boolean hayNoReconocidos = !lexico.noReconocidos.isEmpty();
+        int ultimoFin = 0;
+        for (int t = 0; t < tokens.tamano(); t++) {
+            if (hayNoReconocidos) {
+                diagnosticos.agregarNoReconocido(ultimoFin, tokens.inicio(t));
+            }
+            if (tokens.tipo(t) == TipoToken.IDENTIFICADOR && t + 1 < tokens.tamano()
+                    && tokens.tipo(t + 1) == TipoToken.OPERADOR_ASIGNACION
+                    && AnalizadorLexico.bitConector(diagnosticos.fuente, tokens.inicio(t), tokens.fin(t)) != 0) {
+                diagnosticos.agregar(Tipo.CONECTOR_COMO_VARIABLE, tokens.inicio(t), tokens.fin(t),
+                        "La palabra '" + tokens.texto(t) + "' es un conector; a partir de aquí se usa como variable.");
+            }
+            ultimoFin = tokens.fin(t);
+        }
+        if (hayNoReconocidos) {
+            diagnosticos.agregarNoReconocido(ultimoFin, diagnosticos.fuente.length());
+        }
+        for (ErrorInstruccion error : sintactico.errores) {
+            diagnosticos.agregar(Tipo.ERROR_SINTACTICO, Math.max(error.inicio, 0), Math.max(error.fin, 0), error.error);
+        }
+        return diagnosticos;
+    }
+
+    // Registra el hueco [inicio, fin) entre dos tokens, sin los espacios de los extremos, si
+    // contiene algo más que espacio en blanco
+    private void agregarNoReconocido(int inicio, int fin) {
+        String texto = fuente;
+        while (inicio < fin && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && texto.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        if (inicio < fin) {
+            agregar(Tipo.NO_RECONOCIDO, inicio, fin, "Texto no reconocido '" + texto.substring(inicio, fin) + "'.");
+        }
+    }
+
+    // Agrega un diagnóstico al final
+    void agregar(Tipo tipo, int inicio, int fin, String mensaje) {
+        if (tipos == null) {
+            tipos = new byte[4];
+            inicios = new int[4];
+            fines = new int[4];
+            mensajes = new String[4];
+        } else if (tamano == tipos.length) {
+            int capacidad = tamano * 2;
+            tipos = Arrays.copyOf(tipos, capacidad);
+            inicios = Arrays.copyOf(inicios, capacidad);
+            fines = Arrays.copyOf(fines, capacidad);
+            mensajes = Arrays.copyOf(mensajes, capacidad);
+        }
+        tipos[tamano] = (byte) tipo.ordinal();
+        inicios[tamano] = inicio;
+        fines[tamano] = fin;
+        mensajes[tamano] = mensaje;
+        tamano++;
+    }
+
+    public String getFuente() {
+        return fuente;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public boolean esVacio() {
+        return tamano == 0;
+    }
+
+    public Tipo tipo(int indice) {
+        return TIPOS[tipos[indice]];
+    }
+
+    public int inicio(int indice) {
+        return inicios[indice];
+    }
+
+    public int fin(int indice) {
+        return fines[indice];
+    }
+
+    public String mensaje(int indice) {
+        return mensajes[indice];
+    }
+
+    // Texto de la expresión original que cubre el diagnóstico
+    public String fragmento(int indice) {
+        return fuente.substring(inicios[indice], fines[indice]);
+    }
+
+    // Número de diagnósticos con la severidad dada
+    public int contar(Severidad severidad) {
+        int cantidad = 0;
+        for (int i = 0; i < tamano; i++) {
+            if (tipo(i).getSeveridad() == severidad) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    // Vista de solo lectura de los diagnósticos como lista de Diagnostico
+    public List<Diagnostico> comoLista() {
+        if (vista == null) {
+            vista = new VistaDiagnosticos();
+        }
+        return vista;
+    }
+
+    // Escribe la expresión seguida de un diagnóstico por línea, e.g. "  [6,8) ADVERTENCIA NO_RECONOCIDO: ..."
+    public void escribir(Appendable destino) throws IOException {
+        destino.append(fuente).append('\n');
+        for (int i = 0; i < tamano; i++) {
+            destino.append("  [").append(String.valueOf(inicios[i])).append(',').append(String.valueOf(fines[i]))
+                    .append(") ").append(tipo(i).getSeveridad().name()).append(' ').append(tipo(i).name())
+                    .append(": ").append(mensajes[i]).append('\n');
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        try {
+            escribir(texto);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder no lanza IOException
+        }
+        return texto.toString();
+    }
+
+    private final class VistaDiagnosticos extends AbstractList<Diagnostico> implements RandomAccess {
+
+        @Override
+        public Diagnostico get(int indice) {
+            if (indice < 0 || indice >= tamano) {
+                throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + tamano);
+            }
+            return new Diagnostico(tipo(indice), inicios[indice], fines[indice], mensajes[indice]);
+        }
+
+        @Override
+        public int size() {
+            return tamano;
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Evaluación de programas con aritmética exacta. Los valores se calculan en long y el
+// desbordamiento se detecta con Math.*Exact; solo la operación que desborda (y las que usan su
+// resultado) pasa a BigInteger, o a BigDecimal si el resultado no es entero (divisiones no
+// exactas, raíces que no son de un cuadrado perfecto, potencias negativas). Los enteros son
+// exactos; toda operación con un operando o un resultado no entero se redondea con el
+// MathContext configurado, así que los decimales no crecen sin límite. Un resultado grande que vuelve a
+// caber en un long se sigue calculando en long, por lo que un programa que no desborda no crea
+// objetos mientras se evalúa.
+// A diferencia de ProgramaCompilado, los errores aritméticos (división por cero, raíz de un
+// negativo, resultados de más de LIMITE_BITS bits) lanzan ArithmeticException en lugar de dar
+// infinito o NaN. El evaluador no tiene estado mutable y se puede compartir entre hilos.
+public final class EvaluadorExacto {
+
+    public static final int LIMITE_BITS = 1 << 22;   // Tamaño máximo de un entero (unos 1,26 millones de dígitos)
+
+    private static final long GRANDE = Long.MIN_VALUE;   // El valor está en Evaluacion.grande
+    private static final BigInteger MINIMO_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+
+    private final MathContext contexto;   // Precisión de las operaciones con decimales no enteros
+
+    public EvaluadorExacto() {
+        this(MathContext.DECIMAL128);
+    }
+
+    // La precisión debe ser finita: con MathContext.UNLIMITED los decimales crecerían sin límite
+    public EvaluadorExacto(MathContext contexto) {
+        if (contexto.getPrecision() == 0) {
+            throw new IllegalArgumentException("La precisión del MathContext debe ser mayor que cero");
+        }
+        this.contexto = contexto;
+    }
+
+    public MathContext getContexto() {
+        return contexto;
+    }
+
+    // Evalúa las instrucciones de un análisis válido (las optimizadas, si las tiene); lanza
+    // IllegalArgumentException si tiene errores sintácticos o semánticos
+    public Map<String, Number> evaluar(ResultadoAnalisis resultado, Map<String, ? extends Number> entradas) {
+        ResultadoSintactico sintactico = AnalizadorLenguajeNatural.compilable(resultado, "evaluar");
+        return evaluar(sintactico.arbolesEvaluables(), sintactico.simbolos, entradas);
+    }
+
+    // Ejecuta las instrucciones en orden con los valores iniciales dados y devuelve el valor final
+    // de cada variable que tiene valor: Long si cabe en un long y, si no, BigInteger o BigDecimal.
+    // Las ranuras de las variables son sus identificadores en la tabla de símbolos (puede ser null).
+    public Map<String, Number> evaluar(List<NodoExpresion> arboles, TablaSimbolos simbolos,
+            Map<String, ? extends Number> entradas) {
+        Evaluacion evaluacion = new Evaluacion(simbolos);
+        for (Map.Entry<String, ? extends Number> entrada : entradas.entrySet()) {
+            evaluacion.asignar(evaluacion.ranura(entrada.getKey(), -1), entrada.getValue());
+        }
+        for (NodoExpresion arbol : arboles) {
+            evaluacion.instruccion(arbol);
+        }
+        return evaluacion.resultado();
+    }
+
+    // Estado de una evaluación: el valor de cada variable en 'enteros' o, si no cabe en un long,
+    // en 'grandes'. Las operaciones devuelven el valor en long o GRANDE, con el valor en 'grande'.
+    private final class Evaluacion {
+
+        private final boolean usarSimbolos;
+        private final Map<String, Integer> ranuras = new HashMap<>();
+        private String[] nombres;
+        private long[] enteros;
+        private Number[] grandes;
+        private boolean[] definidas;
+        private int variables;
+        private Number grande;
+        private long[] pilaEnteros = new long[16];       // Pila de valores de valor()
+        private Number[] pilaGrandes = new Number[16];
+
+        Evaluacion(TablaSimbolos simbolos) {
+            usarSimbolos = simbolos != null;
+            int capacidad = Math.max(8, usarSimbolos ? simbolos.tamano() : 0);
+            nombres = new String[capacidad];
+            enteros = new long[capacidad];
+            grandes = new Number[capacidad];
+            definidas = new boolean[capacidad];
+            if (usarSimbolos) {
+                for (String nombre : simbolos.getNombres()) {
+                    ranura(nombre, -1);
+                }
+            }
+        }
+
+        int ranura(String nombre, int simbolo) {
+            if (usarSimbolos && simbolo >= 0) {
+                return simbolo;
+            }
+            Integer ranura = ranuras.get(nombre);
+            if (ranura == null) {
+                if (variables == nombres.length) {
+                    nombres = Arrays.copyOf(nombres, variables * 2);
+                    enteros = Arrays.copyOf(enteros, variables * 2);
+                    grandes = Arrays.copyOf(grandes, variables * 2);
+                    definidas = Arrays.copyOf(definidas, variables * 2);
+                }
+                ranura = variables++;
+                nombres[ranura] = nombre;
+                ranuras.put(nombre, ranura);
+            }
+            return ranura;
+        }
+
+        void asignar(int ranura, Number valor) {
+            long entero = desde(valor);
+            guardar(ranura, entero);
+        }
+
+        void guardar(int ranura, long valor) {
+            enteros[ranura] = valor;
+            grandes[ranura] = valor == GRANDE ? grande : null;
+            definidas[ranura] = true;
+        }
+
+        void instruccion(NodoExpresion nodo) {
+            if (nodo instanceof NodoExpresion.Asignacion) {
+                NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+                long valor = valor(asignacion.valor);
+                guardar(ranura(asignacion.nombre, asignacion.simbolo), valor);
+            } else {
+                valor(nodo);
+            }
+        }
+
+        Map<String, Number> resultado() {
+            Map<String, Number> resultado = new LinkedHashMap<>();
+            for (int i = 0; i < variables; i++) {
+                if (definidas[i]) {
+                    resultado.put(nombres[i], enteros[i] == GRANDE ? grandes[i] : (Number) enteros[i]);
+                }
+            }
+            return resultado;
+        }
+
+        // Valor de una expresión, calculado en postorden sobre una pila de valores (sin recursión,
+        // para expresiones de cualquier profundidad). La pila guarda cada valor en long o GRANDE,
+        // con el número grande al lado.
+        private long valor(NodoExpresion raiz) {
+            int tope = -1;
+            for (NodoExpresion nodo : NodoExpresion.postorden(raiz)) {
+                long valor;
+                if (nodo instanceof NodoExpresion.NumeroLiteral) {
+                    valor = literal((NodoExpresion.NumeroLiteral) nodo);
+                } else if (nodo instanceof NodoExpresion.Referencia) {
+                    NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                    int ranura = ranura(referencia.nombre, referencia.simbolo);
+                    if (!definidas[ranura]) {
+                        throw new IllegalArgumentException("La variable '" + referencia.nombre + "' no tiene valor");
+                    }
+                    grande = grandes[ranura];
+                    valor = enteros[ranura];
+                } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                    grande = pilaGrandes[tope];
+                    valor = raiz(pilaEnteros[tope--]);
+                } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                    long b = pilaEnteros[tope];
+                    Number grandeB = pilaGrandes[tope--];
+                    long a = pilaEnteros[tope];
+                    Number grandeA = pilaGrandes[tope--];
+                    valor = operacion(((NodoExpresion.OperacionBinaria) nodo).operador, a, grandeA, b, grandeB);
+                } else {
+                    throw new IllegalArgumentException("Nodo no soportado: " + nodo);
+                }
+                if (++tope == pilaEnteros.length) {
+                    pilaEnteros = Arrays.copyOf(pilaEnteros, tope * 2);
+                    pilaGrandes = Arrays.copyOf(pilaGrandes, tope * 2);
+                }
+                pilaEnteros[tope] = valor;
+                pilaGrandes[tope] = valor == GRANDE ? grande : null;
+            }
+            grande = pilaGrandes[0];
+            pilaGrandes[0] = null;
+            return pilaEnteros[0];
+        }
+
+        private long literal(NodoExpresion.NumeroLiteral literal) {
+            if (literal.valor != BufferTokens.SIN_VALOR) {
+                return literal.valor;
+            }
+            try {
+                return desde(new BigDecimal(literal.texto));
+            } catch (NumberFormatException e) {
+                throw new ArithmeticException("Número fuera de rango: " + literal.texto);
+            }
+        }
+
+        // Operación binaria; grandeA y grandeB son los números grandes de a y b (null si caben en un long)
+        private long operacion(TipoToken operador, long a, Number grandeA, long b, Number grandeB) {
+            if (grandeA == null && grandeB == null) {
+                if (operador == TipoToken.OPERADOR_DIVISION) {
+                    return division(a, b);
+                }
+                if (operador != TipoToken.OPERADOR_POTENCIA || b >= 0) {
+                    try {
+                        return enLong(operador, a, b);
+                    } catch (ArithmeticException desbordamiento) {
+                        // Math.*Exact desbordó: se repite la operación con BigInteger
+                    }
+                }
+            }
+            return enGrande(operador, grandeA != null ? grandeA : BigInteger.valueOf(a),
+                    grandeB != null ? grandeB : BigInteger.valueOf(b));
+        }
+
+        // División de dos long: en long si es exacta y, si no, directamente en BigDecimal, sin lanzar
+        // ni atrapar excepciones en el caso común de una división no exacta
+        private long division(long a, long b) {
+            if (b == 0) {
+                throw new ArithmeticException("División por cero");
+            }
+            if (a % b != 0) {
+                return normalizar(BigDecimal.valueOf(a).divide(BigDecimal.valueOf(b), contexto));
+            }
+            if (a == Long.MIN_VALUE && b == -1) {
+                return normalizar(MINIMO_LONG.negate());
+            }
+            return a / b;
+        }
+
+        // Camino rápido de +, -, * y ^ (exponente no negativo): lanza ArithmeticException si el
+        // resultado desborda un long
+        private long enLong(TipoToken operador, long a, long b) {
+            switch (operador) {
+                case OPERADOR_SUMA:
+                    return Math.addExact(a, b);
+                case OPERADOR_RESTA:
+                    return Math.subtractExact(a, b);
+                case OPERADOR_MULTIPLICACION:
+                    return Math.multiplyExact(a, b);
+                case OPERADOR_POTENCIA:
+                    return potencia(a, b);
+                default:
+                    throw new IllegalArgumentException("Operador no soportado: " + operador);
+            }
+        }
+
+        private long enGrande(TipoToken operador, Number a, Number b) {
+            if (operador == TipoToken.OPERADOR_POTENCIA) {
+                return potencia(a, b);
+            }
+            if (a instanceof BigInteger && b instanceof BigInteger) {
+                BigInteger x = (BigInteger) a;
+                BigInteger y = (BigInteger) b;
+                switch (operador) {
+                    case OPERADOR_SUMA:
+                        return normalizar(x.add(y));
+                    case OPERADOR_RESTA:
+                        return normalizar(x.subtract(y));
+                    case OPERADOR_MULTIPLICACION:
+                        return normalizar(limitar(x.multiply(y)));
+                    case OPERADOR_DIVISION:
+                        if (y.signum() == 0) {
+                            throw new ArithmeticException("División por cero");
+                        }
+                        BigInteger[] cocienteYResto = x.divideAndRemainder(y);
+                        if (cocienteYResto[1].signum() == 0) {
+                            return normalizar(cocienteYResto[0]);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Operador no soportado: " + operador);
+                }
+            }
+            BigDecimal x = decimal(a);
+            BigDecimal y = decimal(b);
+            // Con precisión ilimitada, elevar al cuadrado un decimal duplica sus dígitos en cada paso
+            switch (operador) {
+                case OPERADOR_SUMA:
+                    return normalizar(x.add(y, contexto));
+                case OPERADOR_RESTA:
+                    return normalizar(x.subtract(y, contexto));
+                case OPERADOR_MULTIPLICACION:
+                    return normalizar(x.multiply(y, contexto));
+                case OPERADOR_DIVISION:
+                    if (y.signum() == 0) {
+                        throw new ArithmeticException("División por cero");
+                    }
+                    return normalizar(x.divide(y, contexto));
+                default:
+                    throw new IllegalArgumentException("Operador no soportado: " + operador);
+            }
+        }
+
+        // Potencia con base y exponente (no negativo) en long
+        private long potencia(long base, long exponente) {
+            long resultado = 1;
+            long factor = base;
+            long restante = exponente;
+            while (restante > 0) {
+                if ((restante & 1) != 0) {
+                    resultado = Math.multiplyExact(resultado, factor);
+                }
+                restante >>= 1;
+                if (restante > 0) {
+                    factor = Math.multiplyExact(factor, factor);
+                }
+            }
+            return resultado;
+        }
+
+        private long potencia(Number base, Number exponente) {
+            BigInteger entero = entero(exponente);
+            if (entero == null) {
+                // Exponente no entero: no hay resultado exacto, se aproxima en double
+                double aproximado = Math.pow(decimal(base).doubleValue(), decimal(exponente).doubleValue());
+                if (Double.isNaN(aproximado) || Double.isInfinite(aproximado)) {
+                    throw new ArithmeticException("Potencia sin resultado real: " + base + " ^ " + exponente);
+                }
+                return normalizar(new BigDecimal(aproximado, contexto));
+            }
+            if (entero.bitLength() >= Integer.SIZE) {
+                BigInteger baseEntera = entero(base);
+                if (baseEntera != null && baseEntera.abs().compareTo(BigInteger.ONE) <= 0) {
+                    // 0, 1 y -1 elevados a cualquier exponente
+                    if (baseEntera.signum() == 0) {
+                        if (entero.signum() < 0) {
+                            throw new ArithmeticException("División por cero");
+                        }
+                        return 0;
+                    }
+                    return baseEntera.signum() > 0 || !entero.testBit(0) ? 1 : -1;
+                }
+                throw new ArithmeticException("Exponente demasiado grande: " + entero);
+            }
+            int n = entero.intValue();
+            BigInteger baseEntera = entero(base);
+            if (baseEntera != null && n >= 0) {
+                if ((long) baseEntera.bitLength() * n > LIMITE_BITS) {
+                    throw new ArithmeticException("El resultado supera " + LIMITE_BITS + " bits");
+                }
+                return normalizar(baseEntera.pow(n));
+            }
+            BigDecimal baseDecimal = decimal(base);
+            if (n < 0 && baseDecimal.signum() == 0) {
+                throw new ArithmeticException("División por cero");
+            }
+            return normalizar(baseDecimal.pow(n, contexto));
+        }
+
+        private long raiz(long valor) {
+            Number grandeValor = valor == GRANDE ? grande : null;
+            if (grandeValor == null) {
+                if (valor < 0) {
+                    throw new ArithmeticException("Raíz de un número negativo: " + valor);
+                }
+                long raiz = (long) Math.sqrt((double) valor);
+                // Corrige el redondeo del double sin desbordar (raiz < 2^32)
+                while (raiz > 0 && raiz > valor / raiz) {
+                    raiz--;
+                }
+                while (raiz + 1 <= valor / (raiz + 1)) {
+                    raiz++;
+                }
+                if (raiz * raiz == valor) {
+                    return raiz;
+                }
+                return normalizar(BigDecimal.valueOf(valor).sqrt(contexto));
+            }
+            if (grandeValor instanceof BigInteger) {
+                BigInteger entero = (BigInteger) grandeValor;
+                if (entero.signum() < 0) {
+                    throw new ArithmeticException("Raíz de un número negativo: " + entero);
+                }
+                BigInteger raiz = entero.sqrt();
+                if (raiz.multiply(raiz).equals(entero)) {
+                    return normalizar(raiz);
+                }
+            }
+            BigDecimal decimal = decimal(grandeValor);
+            if (decimal.signum() < 0) {
+                throw new ArithmeticException("Raíz de un número negativo: " + decimal);
+            }
+            return normalizar(decimal.sqrt(contexto));
+        }
+
+        // Convierte un valor de entrada
+        private long desde(Number valor) {
+            if (valor instanceof Long || valor instanceof Integer || valor instanceof Short || valor instanceof Byte) {
+                long entero = valor.longValue();
+                return entero == GRANDE ? normalizar(MINIMO_LONG) : entero;
+            }
+            if (valor instanceof BigInteger) {
+                return normalizar((BigInteger) valor);
+            }
+            if (valor instanceof BigDecimal) {
+                return normalizar((BigDecimal) valor);
+            }
+            double real = valor.doubleValue();
+            if (Double.isNaN(real) || Double.isInfinite(real)) {
+                throw new IllegalArgumentException("Valor no finito: " + valor);
+            }
+            if (valor instanceof Double || valor instanceof Float) {
+                return normalizar(BigDecimal.valueOf(real));
+            }
+            return normalizar(new BigDecimal(valor.toString()));
+        }
+
+        private long normalizar(BigInteger valor) {
+            if (valor.bitLength() < Long.SIZE && !valor.equals(MINIMO_LONG)) {
+                return valor.longValue();
+            }
+            grande = valor;
+            return GRANDE;
+        }
+
+        // Un decimal con valor entero se guarda como entero
+        private long normalizar(BigDecimal valor) {
+            if (valor.signum() == 0) {
+                return 0;
+            }
+            BigDecimal reducido = valor.stripTrailingZeros();
+            if (reducido.scale() <= 0) {
+                if (reducido.precision() - reducido.scale() > LIMITE_BITS / 3) {
+                    throw new ArithmeticException("El resultado supera " + LIMITE_BITS + " bits");
+                }
+                return normalizar(reducido.toBigIntegerExact());
+            }
+            grande = reducido;
+            return GRANDE;
+        }
+
+        private BigInteger limitar(BigInteger valor) {
+            if (valor.bitLength() > LIMITE_BITS) {
+                throw new ArithmeticException("El resultado supera " + LIMITE_BITS + " bits");
+            }
+            return valor;
+        }
+
+        // Valor entero del número, o null si tiene parte decimal
+        private BigInteger entero(Number valor) {
+            return valor instanceof BigInteger ? (BigInteger) valor : null;
+        }
+
+        private BigDecimal decimal(Number valor) {
+            return valor instanceof BigDecimal ? (BigDecimal) valor : new BigDecimal((BigInteger) valor);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.Arrays;
+import java.util.List;
+import javax.lang.model.SourceVersion;
+
+// Genera el código fuente Java de un programa analizado: una clase con un campo double por
+// variable y un método ejecutar() que ejecuta las instrucciones en orden y devuelve el valor de
+// la última. La clase implementa ToDoubleFunction<double[]>, que carga las variables desde las
+// ranuras (en el orden de la tabla de símbolos), ejecuta y guarda en ellas los valores finales;
+// al no depender de ninguna clase del proyecto, se compila sin ruta de clases.
+// Las operaciones son las mismas que en ProgramaCompilado, así que los resultados coinciden.
+final class GeneradorJava {
+
+    static final String NOMBRE_CLASE = "ProgramaGenerado";
+    // Instrucciones por método: un método de la JVM no puede pasar de 64 KB de código
+    private static final int INSTRUCCIONES_POR_BLOQUE = 128;
+    // Anidamiento máximo de una expresión generada: javac analiza las expresiones con recursión,
+    // así que los subárboles más profundos se guardan antes en variables locales ($t0, $t1...)
+    private static final int ANIDAMIENTO_MAXIMO = 64;
+
+    private final TablaSimbolos simbolos;
+    private final String[] campos;      // Nombre del campo de cada variable
+    private final StringBuilder fuente = new StringBuilder(1024);
+    private int locales;                // Variables locales temporales generadas
+
+    private GeneradorJava(TablaSimbolos simbolos) {
+        this.simbolos = simbolos;
+        this.campos = new String[simbolos.tamano()];
+        for (int i = 0; i < campos.length; i++) {
+            String nombre = simbolos.nombre(i);
+            // Los nombres que no son identificadores Java (o palabras reservadas como 'int') se
+            // reemplazan; los nombres generados empiezan con '$', que el analizador léxico no admite
+            campos[i] = SourceVersion.isName(nombre) ? nombre : "$v" + i;
+        }
+    }
+
+    // Tabla con las variables del programa en el orden de sus ranuras: las de la tabla de
+    // símbolos dada (puede ser null) y después las que no estén registradas en ella
+    static TablaSimbolos variables(List<NodoExpresion> arboles, TablaSimbolos simbolos) {
+        TablaSimbolos variables = new TablaSimbolos();
+        if (simbolos != null) {
+            for (String nombre : simbolos.getNombres()) {
+                variables.registrar(nombre);
+            }
+        }
+        for (NodoExpresion arbol : arboles) {
+            registrarVariables(arbol, variables);
+        }
+        return variables;
+    }
+
+    // Genera el código de los árboles (uno por instrucción) con las variables dadas, que deben
+    // incluir todas las del programa (ver variables())
+    static String generar(List<NodoExpresion> arboles, TablaSimbolos variables) {
+        return new GeneradorJava(variables).clase(arboles);
+    }
+
+    private static void registrarVariables(NodoExpresion arbol, TablaSimbolos variables) {
+        if (arbol instanceof NodoExpresion.Asignacion) {
+            variables.registrar(((NodoExpresion.Asignacion) arbol).nombre);
+        }
+        for (NodoExpresion nodo : NodoExpresion.postorden(arbol)) {
+            if (nodo instanceof NodoExpresion.Referencia) {
+                variables.registrar(((NodoExpresion.Referencia) nodo).nombre);
+            }
+        }
+    }
+
+    private String clase(List<NodoExpresion> arboles) {
+        fuente.append("public final class ").append(NOMBRE_CLASE)
+                .append(" implements java.util.function.ToDoubleFunction<double[]> {\n\n");
+        for (String campo : campos) {
+            fuente.append("    public double ").append(campo).append(" = Double.NaN;\n");
+        }
+
+        // ejecutar() llama a un método por bloque de instrucciones; el último devuelve el resultado
+        int bloques = Math.max(1, (arboles.size() + INSTRUCCIONES_POR_BLOQUE - 1) / INSTRUCCIONES_POR_BLOQUE);
+        fuente.append("\n    public double ejecutar() {\n");
+        for (int b = 0; b < bloques - 1; b++) {
+            fuente.append("        bloque").append(b).append("();\n");
+        }
+        fuente.append("        return bloque").append(bloques - 1).append("();\n    }\n");
+
+        for (int b = 0; b < bloques; b++) {
+            boolean ultimo = b == bloques - 1;
+            fuente.append("\n    private ").append(ultimo ? "double" : "void").append(" bloque").append(b).append("() {\n");
+            int desde = b * INSTRUCCIONES_POR_BLOQUE;
+            int hasta = Math.min(arboles.size(), desde + INSTRUCCIONES_POR_BLOQUE);
+            for (int i = desde; i < hasta; i++) {
+                instruccion(arboles.get(i), ultimo && i == hasta - 1);
+            }
+            if (ultimo && hasta == desde) {
+                fuente.append("        return Double.NaN;\n");
+            }
+            fuente.append("    }\n");
+        }
+
+        fuente.append("\n    @Override\n    public double applyAsDouble(double[] $ranuras) {\n");
+        for (int i = 0; i < campos.length; i++) {
+            fuente.append("        ").append(campos[i]).append(" = $ranuras[").append(i).append("];\n");
+        }
+        fuente.append("        double $resultado = ejecutar();\n");
+        for (int i = 0; i < campos.length; i++) {
+            fuente.append("        $ranuras[").append(i).append("] = ").append(campos[i]).append(";\n");
+        }
+        fuente.append("        return $resultado;\n    }\n}\n");
+        return fuente.toString();
+    }
+
+    // Una instrucción sin asignación no tiene efectos, así que solo se genera si es la última
+    private void instruccion(NodoExpresion nodo, boolean ultima) {
+        if (nodo instanceof NodoExpresion.Asignacion) {
+            NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+            String campo = campos[simbolos.buscar(asignacion.nombre)];
+            String valor = expresion(asignacion.valor);
+            fuente.append("        ").append(campo).append(" = ").append(valor).append(";\n");
+            if (ultima) {
+                fuente.append("        return ").append(campo).append(";\n");
+            }
+        } else if (ultima) {
+            String valor = expresion(nodo);
+            fuente.append("        return ").append(valor).append(";\n");
+        }
+    }
+
+    // Código de una expresión, generado en postorden con una pila de fragmentos y sus alturas.
+    // Un fragmento que llega a ANIDAMIENTO_MAXIMO niveles se asigna a una variable local (la
+    // declaración se escribe antes de la instrucción) y se reemplaza por su nombre.
+    private String expresion(NodoExpresion raiz) {
+        String[] fragmentos = new String[16];
+        int[] alturas = new int[16];
+        int tope = -1;
+        for (NodoExpresion nodo : NodoExpresion.postorden(raiz)) {
+            String fragmento;
+            int altura;
+            if (nodo instanceof NodoExpresion.NumeroLiteral) {
+                fragmento = numero(RanurasVariables.valorLiteral((NodoExpresion.NumeroLiteral) nodo));
+                altura = 1;
+            } else if (nodo instanceof NodoExpresion.Referencia) {
+                fragmento = campos[simbolos.buscar(((NodoExpresion.Referencia) nodo).nombre)];
+                altura = 1;
+            } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                fragmento = "Math.sqrt(" + fragmentos[tope] + ")";
+                altura = alturas[tope--] + 1;
+            } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                NodoExpresion.OperacionBinaria operacion = (NodoExpresion.OperacionBinaria) nodo;
+                String derecha = fragmentos[tope];
+                int alturaDerecha = alturas[tope--];
+                String izquierda = fragmentos[tope];
+                altura = Math.max(alturas[tope--], alturaDerecha) + 1;
+                if (operacion.operador == TipoToken.OPERADOR_POTENCIA) {
+                    fragmento = "Math.pow(" + izquierda + ", " + derecha + ")";
+                } else {
+                    fragmento = "(" + izquierda + " " + operadorJava(operacion.operador) + " " + derecha + ")";
+                }
+            } else {
+                throw new IllegalArgumentException("Nodo no soportado: " + nodo);
+            }
+            if (altura >= ANIDAMIENTO_MAXIMO) {
+                String local = "$t" + locales++;
+                fuente.append("        double ").append(local).append(" = ").append(fragmento).append(";\n");
+                fragmento = local;
+                altura = 1;
+            }
+            if (++tope == fragmentos.length) {
+                fragmentos = Arrays.copyOf(fragmentos, tope * 2);
+                alturas = Arrays.copyOf(alturas, tope * 2);
+            }
+            fragmentos[tope] = fragmento;
+            alturas[tope] = altura;
+        }
+        return fragmentos[0];
+    }
+
+    private static char operadorJava(TipoToken operador) {
+        switch (operador) {
+            case OPERADOR_SUMA:
+                return '+';
+            case OPERADOR_RESTA:
+                return '-';
+            case OPERADOR_MULTIPLICACION:
+                return '*';
+            case OPERADOR_DIVISION:
+                return '/';
+            default:
+                throw new IllegalArgumentException("Operador no soportado: " + operador);
+        }
+    }
+
+    // Literal double de Java con el mismo valor
+    private static String numero(double valor) {
+        if (Double.isInfinite(valor)) {
+            return valor > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return valor < 0 ? "(" + valor + ")" : String.valueOf(valor);
+    }
+}
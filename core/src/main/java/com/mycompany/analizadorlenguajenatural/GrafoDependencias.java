@@ -0,0 +1,392 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Grafo de dependencias entre las instrucciones de un programa, construido a partir de las
+// variables que cada instrucción lee y la que asigna (por su identificador en la tabla de
+// símbolos). Una instrucción depende de otra anterior si lee lo que aquella escribió (RAW),
+// si escribe lo que aquella leyó (WAR) o si ambas escriben la misma variable (WAW); las que no
+// dependen entre sí se pueden ejecutar a la vez sobre las mismas ranuras con el mismo resultado
+// que en orden. Las instrucciones se agrupan en ondas (orden topológico de Kahn): cada onda solo
+// depende de las anteriores, así que el número de ondas es el largo de la ruta crítica.
+public final class GrafoDependencias {
+
+    // Motivo de una dependencia entre dos instrucciones
+    public enum TipoDependencia {
+        LECTURA_TRAS_ESCRITURA,    // RAW: lee la variable que asignó la instrucción anterior
+        ESCRITURA_TRAS_LECTURA,    // WAR: asigna una variable que leyó la instrucción anterior
+        ESCRITURA_TRAS_ESCRITURA   // WAW: vuelve a asignar la variable
+    }
+
+    // Arista del grafo: 'destino' debe ejecutarse después de 'origen' (índices desde 0)
+    public static final class Dependencia {
+
+        public final int origen;
+        public final int destino;
+        public final TipoDependencia tipo;
+        public final String variable;
+
+        public Dependencia(int origen, int destino, TipoDependencia tipo, String variable) {
+            this.origen = origen;
+            this.destino = destino;
+            this.tipo = tipo;
+            this.variable = variable;
+        }
+
+        @Override
+        public String toString() {
+            return (origen + 1) + " -> " + (destino + 1) + " " + tipo + " " + variable;
+        }
+    }
+
+    public final int instrucciones;                 // Número de instrucciones del programa
+    public final List<Dependencia> dependencias;    // Aristas, agrupadas por instrucción de destino
+    public final int[][] ondas;                     // Instrucciones de cada onda, en orden de programa
+    public final int[] costos;                      // Nodos del árbol de cada instrucción
+    public final List<String> redefiniciones;       // Variables asignadas más de una vez
+    public final List<String> ciclos;               // Variables definidas unas en función de otras
+
+    private final int[][] sucesores;                // Instrucciones que dependen de cada una, sin repetir
+
+    private GrafoDependencias(Recorrido recorrido) {
+        this.instrucciones = recorrido.sucesores.length;
+        this.dependencias = Collections.unmodifiableList(recorrido.dependencias);
+        this.costos = recorrido.costos;
+        this.redefiniciones = Collections.unmodifiableList(recorrido.redefiniciones);
+        this.ciclos = Collections.unmodifiableList(recorrido.ciclos);
+        this.sucesores = new int[instrucciones][];
+        for (int i = 0; i < instrucciones; i++) {
+            sucesores[i] = recorrido.sucesores[i].toArray();
+        }
+        this.ondas = ondas(sucesores);
+    }
+
+    // Construye el grafo de los árboles de expresión (uno por instrucción); 'simbolos' es la tabla
+    // del análisis (puede ser null)
+    public static GrafoDependencias construir(List<NodoExpresion> arboles, TablaSimbolos simbolos) {
+        Recorrido recorrido = new Recorrido(arboles.size(), simbolos != null ? simbolos : new TablaSimbolos());
+        for (int i = 0; i < arboles.size(); i++) {
+            recorrido.instruccion(i, arboles.get(i));
+        }
+        recorrido.buscarCiclos();
+        return new GrafoDependencias(recorrido);
+    }
+
+    // Instrucciones que deben esperar a la dada
+    public int[] sucesores(int instruccion) {
+        return sucesores[instruccion].clone();
+    }
+
+    // Largo de la ruta crítica, en instrucciones
+    public int rutaCritica() {
+        return ondas.length;
+    }
+
+    // Resumen del grafo, e.g. "5 instrucciones en 2 ondas: [1, 2, 4] [3, 5]"
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(instrucciones).append(" instrucciones en ").append(ondas.length).append(" ondas:");
+        for (int[] onda : ondas) {
+            texto.append(" [");
+            for (int i = 0; i < onda.length; i++) {
+                texto.append(i > 0 ? ", " : "").append(onda[i] + 1);
+            }
+            texto.append(']');
+        }
+        return texto.toString();
+    }
+
+    // Orden topológico de Kahn por niveles: cada onda tiene las instrucciones cuyas dependencias
+    // están todas en ondas anteriores. Las aristas siempre van hacia instrucciones posteriores, así
+    // que el grafo no tiene ciclos y todas las instrucciones quedan en alguna onda.
+    private static int[][] ondas(int[][] sucesores) {
+        int[] pendientes = new int[sucesores.length];   // Dependencias sin cumplir de cada instrucción
+        for (int[] destinos : sucesores) {
+            for (int destino : destinos) {
+                pendientes[destino]++;
+            }
+        }
+        List<int[]> ondas = new ArrayList<>();
+        Enteros actual = new Enteros();
+        for (int i = 0; i < sucesores.length; i++) {
+            if (pendientes[i] == 0) {
+                actual.agregar(i);
+            }
+        }
+        while (actual.tamano > 0) {
+            int[] onda = actual.toArray();
+            Arrays.sort(onda);
+            ondas.add(onda);
+            actual = new Enteros();
+            for (int instruccion : onda) {
+                for (int destino : sucesores[instruccion]) {
+                    if (--pendientes[destino] == 0) {
+                        actual.agregar(destino);
+                    }
+                }
+            }
+        }
+        return ondas.toArray(new int[0][]);
+    }
+
+    // Recorre las instrucciones en orden llevando, por variable, la última que la asignó y las que
+    // la leyeron desde entonces
+    private static class Recorrido {
+
+        private TablaSimbolos simbolos;
+        private boolean tablaPropia;            // 'simbolos' ya es una copia que se puede modificar
+        private final Enteros[] sucesores;
+        private final List<Dependencia> dependencias = new ArrayList<>();
+        private final int[] costos;
+        private final List<String> redefiniciones = new ArrayList<>();
+        private final List<String> ciclos = new ArrayList<>();
+
+        private int[] ultimaEscritura = new int[0];   // Por variable: última instrucción que la asignó (-1 si ninguna)
+        private Enteros[] lecturas = new Enteros[0];  // Por variable: instrucciones que la leyeron desde entonces
+        private int[] marcaLectura = new int[0];      // Por variable: última instrucción que la leyó, más uno
+        private final int[] marcaSucesor;             // Por instrucción: último sucesor agregado, más uno
+        private final int[] escrituras;               // Variable que asigna cada instrucción (-1 si ninguna)
+        private final Enteros[] leidas;               // Variables distintas que lee cada instrucción
+        private final ArrayDeque<NodoExpresion> pendientes = new ArrayDeque<>();
+
+        Recorrido(int instrucciones, TablaSimbolos simbolos) {
+            this.simbolos = simbolos;
+            this.sucesores = new Enteros[instrucciones];
+            this.costos = new int[instrucciones];
+            this.marcaSucesor = new int[instrucciones];
+            this.escrituras = new int[instrucciones];
+            this.leidas = new Enteros[instrucciones];
+            for (int i = 0; i < instrucciones; i++) {
+                sucesores[i] = new Enteros();
+                leidas[i] = new Enteros();
+            }
+            crecer(simbolos.tamano());
+        }
+
+        void instruccion(int indice, NodoExpresion arbol) {
+            // Variables leídas (cada una una vez) y asignada, con un recorrido sin recursión
+            int escrita = -1;
+            int costo = 0;
+            pendientes.push(arbol);
+            while (!pendientes.isEmpty()) {
+                NodoExpresion nodo = pendientes.pop();
+                costo++;
+                if (nodo instanceof NodoExpresion.Referencia) {
+                    NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                    int variable = identificador(referencia.simbolo, referencia.nombre);
+                    if (marcaLectura[variable] != indice + 1) {
+                        marcaLectura[variable] = indice + 1;
+                        leidas[indice].agregar(variable);
+                    }
+                } else if (nodo instanceof NodoExpresion.Asignacion) {
+                    NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+                    escrita = identificador(asignacion.simbolo, asignacion.nombre);
+                    pendientes.push(asignacion.valor);
+                } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                    pendientes.push(((NodoExpresion.OperacionBinaria) nodo).derecha);
+                    pendientes.push(((NodoExpresion.OperacionBinaria) nodo).izquierda);
+                } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                    pendientes.push(((NodoExpresion.OperacionUnaria) nodo).operando);
+                }
+            }
+            costos[indice] = costo;
+            escrituras[indice] = escrita;
+
+            // Se lee lo que dejó la última asignación anterior (RAW)
+            for (int i = 0; i < leidas[indice].tamano; i++) {
+                int variable = leidas[indice].valores[i];
+                if (ultimaEscritura[variable] >= 0) {
+                    depender(ultimaEscritura[variable], indice, TipoDependencia.LECTURA_TRAS_ESCRITURA, variable);
+                }
+            }
+            if (escrita >= 0) {
+                // La asignación espera a las lecturas del valor anterior (WAR) y a la asignación anterior (WAW)
+                Enteros lectores = lecturas[escrita];
+                for (int i = 0; i < lectores.tamano; i++) {
+                    if (lectores.valores[i] != indice) {
+                        depender(lectores.valores[i], indice, TipoDependencia.ESCRITURA_TRAS_LECTURA, escrita);
+                    }
+                }
+                int anterior = ultimaEscritura[escrita];
+                if (anterior >= 0) {
+                    depender(anterior, indice, TipoDependencia.ESCRITURA_TRAS_ESCRITURA, escrita);
+                    redefiniciones.add("Redefinición: La variable '" + simbolos.nombre(escrita)
+                            + "' se asigna en la instrucción " + (indice + 1)
+                            + " y ya se había asignado en la " + (anterior + 1) + ".");
+                }
+                ultimaEscritura[escrita] = indice;
+                lectores.tamano = 0;
+            }
+            for (int i = 0; i < leidas[indice].tamano; i++) {
+                int variable = leidas[indice].valores[i];
+                if (variable != escrita) {
+                    lecturas[variable].agregar(indice);
+                }
+            }
+        }
+
+        private void depender(int origen, int destino, TipoDependencia tipo, int variable) {
+            dependencias.add(new Dependencia(origen, destino, tipo, simbolos.nombre(variable)));
+            if (marcaSucesor[origen] != destino + 1) {
+                // Las aristas hacia 'destino' se agregan juntas, así que basta recordar la última
+                marcaSucesor[origen] = destino + 1;
+                sucesores[origen].agregar(destino);
+            }
+        }
+
+        // Busca variables definidas unas en función de otras sin importar el orden, como en
+        // "a = suma b y uno, b = multiplica a por dos": la primera lee b antes de que se asigne y
+        // b depende de a. En orden de programa no es un ciclo (la primera lee el valor inicial de
+        // b), pero suele ser un error. Se agrega una arista desde la primera asignación de cada
+        // variable hacia las instrucciones que la leen antes, y se buscan las componentes fuertemente
+        // conexas (Tarjan, sin recursión) con más de una instrucción.
+        void buscarCiclos() {
+            int n = sucesores.length;
+            int[] primeraEscritura = new int[ultimaEscritura.length];
+            Arrays.fill(primeraEscritura, -1);
+            for (int i = n - 1; i >= 0; i--) {
+                if (escrituras[i] >= 0) {
+                    primeraEscritura[escrituras[i]] = i;
+                }
+            }
+            // Solo cuentan las lecturas (RAW): "y = suma b y uno, b = cinco" no es un ciclo aunque
+            // la segunda deba esperar a la primera
+            Enteros[] adyacentes = new Enteros[n];
+            boolean hayAdelantadas = false;
+            for (int i = 0; i < n; i++) {
+                adyacentes[i] = new Enteros();
+            }
+            for (Dependencia dependencia : dependencias) {
+                if (dependencia.tipo == TipoDependencia.LECTURA_TRAS_ESCRITURA) {
+                    adyacentes[dependencia.origen].agregar(dependencia.destino);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < leidas[i].tamano; j++) {
+                    int primera = primeraEscritura[leidas[i].valores[j]];
+                    if (primera > i) {
+                        adyacentes[primera].agregar(i);
+                        hayAdelantadas = true;
+                    }
+                }
+            }
+            if (!hayAdelantadas) {
+                return;   // Todas las aristas van hacia adelante
+            }
+
+            int[] orden = new int[n];      // Orden de descubrimiento, más uno (0: sin visitar)
+            int[] minimo = new int[n];
+            boolean[] enPila = new boolean[n];
+            int[] siguiente = new int[n];  // Próximo adyacente por revisar de cada instrucción
+            Enteros pila = new Enteros();
+            Enteros camino = new Enteros();
+            int contador = 0;
+            for (int raiz = 0; raiz < n; raiz++) {
+                if (orden[raiz] != 0) {
+                    continue;
+                }
+                camino.agregar(raiz);
+                orden[raiz] = minimo[raiz] = ++contador;
+                pila.agregar(raiz);
+                enPila[raiz] = true;
+                while (camino.tamano > 0) {
+                    int v = camino.valores[camino.tamano - 1];
+                    if (siguiente[v] < adyacentes[v].tamano) {
+                        int w = adyacentes[v].valores[siguiente[v]++];
+                        if (orden[w] == 0) {
+                            orden[w] = minimo[w] = ++contador;
+                            pila.agregar(w);
+                            enPila[w] = true;
+                            camino.agregar(w);
+                        } else if (enPila[w]) {
+                            minimo[v] = Math.min(minimo[v], orden[w]);
+                        }
+                        continue;
+                    }
+                    camino.tamano--;
+                    if (camino.tamano > 0) {
+                        int padre = camino.valores[camino.tamano - 1];
+                        minimo[padre] = Math.min(minimo[padre], minimo[v]);
+                    }
+                    if (minimo[v] == orden[v]) {
+                        Enteros componente = new Enteros();
+                        int w;
+                        do {
+                            w = pila.valores[--pila.tamano];
+                            enPila[w] = false;
+                            componente.agregar(w);
+                        } while (w != v);
+                        if (componente.tamano > 1) {
+                            ciclo(componente.toArray());
+                        }
+                    }
+                }
+            }
+        }
+
+        private void ciclo(int[] componente) {
+            Arrays.sort(componente);
+            StringBuilder instrucciones = new StringBuilder();
+            StringBuilder variables = new StringBuilder();
+            for (int i = 0; i < componente.length; i++) {
+                instrucciones.append(i > 0 ? ", " : "").append(componente[i] + 1);
+                int escrita = escrituras[componente[i]];
+                if (escrita >= 0 && variables.indexOf("'" + simbolos.nombre(escrita) + "'") < 0) {
+                    variables.append(variables.length() > 0 ? ", " : "").append('\'').append(simbolos.nombre(escrita)).append('\'');
+                }
+            }
+            ciclos.add("Dependencia circular: Las instrucciones " + instrucciones
+                    + " definen las variables " + variables + " unas en función de otras.");
+        }
+
+        // Los nodos sin identificador se registran en una copia de la tabla, que puede estar compartida
+        private int identificador(int simbolo, String nombre) {
+            int id = simbolo >= 0 ? simbolo : simbolos.buscar(nombre);
+            if (id < 0) {
+                if (!tablaPropia) {
+                    simbolos = simbolos.copia();
+                    tablaPropia = true;
+                }
+                id = simbolos.registrar(nombre);
+            }
+            if (id >= ultimaEscritura.length) {
+                crecer(Math.max(id + 1, ultimaEscritura.length * 2));
+            }
+            return id;
+        }
+
+        private void crecer(int tamano) {
+            int anterior = ultimaEscritura.length;
+            ultimaEscritura = Arrays.copyOf(ultimaEscritura, tamano);
+            Arrays.fill(ultimaEscritura, anterior, tamano, -1);
+            marcaLectura = Arrays.copyOf(marcaLectura, tamano);
+            lecturas = Arrays.copyOf(lecturas, tamano);
+            for (int i = anterior; i < tamano; i++) {
+                lecturas[i] = new Enteros();
+            }
+        }
+    }
+
+    // Lista de enteros sin cajas
+    private static final class Enteros {
+
+        int[] valores = new int[4];
+        int tamano;
+
+        void agregar(int valor) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = valor;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(valores, tamano);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de latencias en nanosegundos con cubetas log-lineales: los valores menores que 16
+// tienen su propia cubeta y, a partir de ahí, cada potencia de dos se divide en 8 cubetas, por lo
+// que los percentiles tienen un error relativo menor al 12,5 %. Cada cubeta es un LongAdder, así
+// que registrar un valor no bloquea ni compite por la misma línea de caché entre hilos.
+final class HistogramaLatencia {
+
+    private static final int LINEALES = 16;             // Cubetas de un solo valor (0..15)
+    private static final int SUBCUBETAS_BITS = 3;       // 8 cubetas por potencia de dos
+    private static final int SUBCUBETAS = 1 << SUBCUBETAS_BITS;
+    private static final int PRIMERA_POTENCIA = 4;      // 2^4 = LINEALES
+    private static final int ULTIMA_POTENCIA = 40;      // Más de 2^41 ns (unos 36 minutos) va a la última cubeta
+    private static final int CUBETAS = LINEALES + (ULTIMA_POTENCIA - PRIMERA_POTENCIA + 1) * SUBCUBETAS;
+
+    private final LongAdder[] cubetas = new LongAdder[CUBETAS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    HistogramaLatencia() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas[i] = new LongAdder();
+        }
+    }
+
+    void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        cubetas[cubeta(nanos)].increment();
+        total.add(nanos);
+        maximo.accumulate(nanos);
+    }
+
+    // Índice de la cubeta del valor
+    private static int cubeta(long valor) {
+        if (valor < LINEALES) {
+            return (int) valor;
+        }
+        int potencia = 63 - Long.numberOfLeadingZeros(valor);
+        if (potencia > ULTIMA_POTENCIA) {
+            return CUBETAS - 1;
+        }
+        int subcubeta = (int) (valor >>> (potencia - SUBCUBETAS_BITS)) & (SUBCUBETAS - 1);
+        return LINEALES + (potencia - PRIMERA_POTENCIA) * SUBCUBETAS + subcubeta;
+    }
+
+    // Mayor valor que cae en la cubeta; la última no tiene límite
+    private static long limiteSuperior(int cubeta) {
+        if (cubeta < LINEALES) {
+            return cubeta;
+        }
+        if (cubeta == CUBETAS - 1) {
+            return Long.MAX_VALUE;
+        }
+        int potencia = PRIMERA_POTENCIA + (cubeta - LINEALES) / SUBCUBETAS;
+        int subcubeta = (cubeta - LINEALES) % SUBCUBETAS;
+        return ((long) (SUBCUBETAS + subcubeta + 1) << (potencia - SUBCUBETAS_BITS)) - 1;
+    }
+
+    // Resumen del estado actual. Las cubetas se leen una a una mientras otros hilos siguen
+    // registrando, así que el resumen es aproximado, igual que la suma de un LongAdder.
+    ResumenLatencia resumen() {
+        long[] cuentas = new long[CUBETAS];
+        long cuenta = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas[i] = cubetas[i].sum();
+            cuenta += cuentas[i];
+        }
+        long max = maximo.get();
+        double media = cuenta == 0 ? 0 : (double) total.sum() / cuenta;
+        return new ResumenLatencia(cuenta, media, percentil(cuentas, cuenta, 0.50, max),
+                percentil(cuentas, cuenta, 0.99, max), percentil(cuentas, cuenta, 0.999, max), max);
+    }
+
+    // Límite superior de la cubeta que contiene el percentil, sin pasar del máximo observado
+    private static long percentil(long[] cuentas, long cuenta, double fraccion, long max) {
+        if (cuenta == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(cuenta * fraccion));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), max);
+            }
+        }
+        return max;
+    }
+
+    void reiniciar() {
+        for (LongAdder cubeta : cubetas) {
+            cubeta.reset();
+        }
+        total.reset();
+        maximo.reset();
+    }
+}
@@ -0,0 +1,147 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ErrorInstruccion;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Métricas del analizador: histograma de latencia de cada fase (léxica, sintáctica y semántica)
+// y contadores de tokens, fragmentos no reconocidos y errores. Todo se acumula en LongAdder, sin
+// bloqueos, para poder dejarlas activas con carga completa; varios analizadores (o hilos) pueden
+// compartir la misma instancia. Se publican en JMX con registrar().
+public final class MetricasAnalisis implements MetricasAnalisisMXBean {
+
+    private static final String DOMINIO = "com.mycompany.analizadorlenguajenatural";
+    private static final String SIN_TIPO = "Desconocido";   // Clave de los errores sin tipoError
+
+    private final HistogramaLatencia lexico = new HistogramaLatencia();
+    private final HistogramaLatencia sintactico = new HistogramaLatencia();
+    private final HistogramaLatencia semantico = new HistogramaLatencia();
+    private final LongAdder analisis = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder noReconocidos = new LongAdder();
+    private final LongAdder erroresSemanticos = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> erroresSintacticos = new ConcurrentHashMap<>();
+    private ObjectName nombreRegistrado;
+
+    // Mediciones de cada fase, llamadas por AnalizadorLenguajeNatural
+
+    void registrarAnalisis() {
+        analisis.increment();
+    }
+
+    void registrarLexico(long nanos, int tokensProducidos, int fragmentosNoReconocidos) {
+        lexico.registrar(nanos);
+        tokens.add(tokensProducidos);
+        if (fragmentosNoReconocidos > 0) {
+            noReconocidos.add(fragmentosNoReconocidos);
+        }
+    }
+
+    void registrarSintactico(long nanos, List<ErrorInstruccion> errores) {
+        sintactico.registrar(nanos);
+        for (int i = 0; i < errores.size(); i++) {
+            String tipoError = errores.get(i).tipoError;
+            erroresSintacticos.computeIfAbsent(tipoError == null ? SIN_TIPO : tipoError, tipo -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    void registrarSemantico(long nanos, int errores) {
+        semantico.registrar(nanos);
+        if (errores > 0) {
+            erroresSemanticos.add(errores);
+        }
+    }
+
+    @Override
+    public ResumenLatencia getLatenciaLexico() {
+        return lexico.resumen();
+    }
+
+    @Override
+    public ResumenLatencia getLatenciaSintactico() {
+        return sintactico.resumen();
+    }
+
+    @Override
+    public ResumenLatencia getLatenciaSemantico() {
+        return semantico.resumen();
+    }
+
+    @Override
+    public long getAnalisis() {
+        return analisis.sum();
+    }
+
+    @Override
+    public long getTokens() {
+        return tokens.sum();
+    }
+
+    @Override
+    public long getFragmentosNoReconocidos() {
+        return noReconocidos.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErroresSintacticos() {
+        Map<String, Long> errores = new TreeMap<>();
+        erroresSintacticos.forEach((tipo, cuenta) -> errores.put(tipo, cuenta.sum()));
+        return errores;
+    }
+
+    @Override
+    public long getErroresSemanticos() {
+        return erroresSemanticos.sum();
+    }
+
+    @Override
+    public void reiniciar() {
+        lexico.reiniciar();
+        sintactico.reiniciar();
+        semantico.reiniciar();
+        analisis.reset();
+        tokens.reset();
+        noReconocidos.reset();
+        erroresSemanticos.reset();
+        erroresSintacticos.clear();
+    }
+
+    // Registra las métricas en el servidor MBean de la plataforma como
+    // com.mycompany.analizadorlenguajenatural:type=MetricasAnalisis,name=<nombre>
+    public synchronized void registrar(String nombre) throws JMException {
+        if (nombreRegistrado != null) {
+            throw new IllegalStateException("Las métricas ya están registradas como " + nombreRegistrado);
+        }
+        ObjectName objeto = new ObjectName(DOMINIO + ":type=MetricasAnalisis,name=" + ObjectName.quote(nombre));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objeto);
+        nombreRegistrado = objeto;
+    }
+
+    // Quita el registro hecho con registrar(), si lo hay
+    public synchronized void anularRegistro() throws JMException {
+        if (nombreRegistrado != null) {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            servidor.unregisterMBean(nombreRegistrado);
+            nombreRegistrado = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Léxico:     " + getLatenciaLexico() + "\n"
+                + "Sintáctico: " + getLatenciaSintactico() + "\n"
+                + "Semántico:  " + getLatenciaSemantico() + "\n"
+                + "Análisis=" + getAnalisis() + ", tokens=" + getTokens()
+                + ", no reconocidos=" + getFragmentosNoReconocidos()
+                + ", errores sintácticos=" + getErroresSintacticos()
+                + ", errores semánticos=" + getErroresSemanticos();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.Map;
+
+// Interfaz de gestión (JMX) de las métricas del analizador. Las latencias están en nanosegundos.
+public interface MetricasAnalisisMXBean {
+
+    ResumenLatencia getLatenciaLexico();
+
+    ResumenLatencia getLatenciaSintactico();
+
+    ResumenLatencia getLatenciaSemantico();
+
+    long getAnalisis();                       // Llamadas a analizar(), incluidas las resueltas por la caché
+
+    long getTokens();                         // Tokens producidos por el analizador léxico
+
+    long getFragmentosNoReconocidos();
+
+    Map<String, Long> getErroresSintacticos(); // Errores sintácticos por tipo de error
+
+    long getErroresSemanticos();
+
+    void reiniciar();
+}
@@ -0,0 +1,242 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+// Nodo del árbol de expresión que construye el analizador sintáctico.
+// El texto en notación prefija, e.g. "x = (+ cuatro cinco)", y en notación postfija, e.g.
+// "cuatro cinco + x =", solo se genera cuando se solicita. Los recorridos usan pilas explícitas,
+// así que un árbol muy profundo (una cadena larga de operadores) no agota la pila de Java.
+public abstract class NodoExpresion {
+
+    public final int inicio;   // Desplazamiento inicial del nodo en la expresión original
+    public final int fin;      // Desplazamiento final (exclusivo) del nodo en la expresión original
+
+    protected NodoExpresion(int inicio, int fin) {
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    // Escribe la representación textual del nodo en el StringBuilder dado
+    public abstract void escribir(StringBuilder destino);
+
+    @Override
+    public String toString() {
+        StringBuilder destino = new StringBuilder();
+        escribir(destino);
+        return destino.toString();
+    }
+
+    // Escribe el nodo en notación postfija: los operandos, separados por espacios, antes que su
+    // operador; una asignación termina con la variable y '='
+    public void escribirPostfija(StringBuilder destino) {
+        boolean primero = true;
+        for (NodoExpresion nodo : postorden(this)) {
+            if (!primero) {
+                destino.append(' ');
+            }
+            primero = false;
+            if (nodo instanceof OperacionBinaria) {
+                destino.append(((OperacionBinaria) nodo).operador.getValor());
+            } else if (nodo instanceof OperacionUnaria) {
+                destino.append(((OperacionUnaria) nodo).operador.getValor());
+            } else if (nodo instanceof Asignacion) {
+                destino.append(((Asignacion) nodo).texto).append(" =");
+            } else {
+                nodo.escribir(destino);
+            }
+        }
+    }
+
+    public String textoPostfijo() {
+        StringBuilder destino = new StringBuilder();
+        escribirPostfija(destino);
+        return destino.toString();
+    }
+
+    // Nodos del árbol en postorden: los operandos de izquierda a derecha y después su operación
+    // (el valor de una asignación antes que la asignación)
+    static ArrayDeque<NodoExpresion> postorden(NodoExpresion raiz) {
+        ArrayDeque<NodoExpresion> orden = new ArrayDeque<>();
+        postorden(raiz, orden, new ArrayDeque<>());
+        return orden;
+    }
+
+    // Igual que postorden(raiz), pero agrega los nodos a 'orden' (vacía) y usa 'pendientes' como
+    // pila, para que quien recorre muchos árboles reutilice las dos colas
+    static void postorden(NodoExpresion raiz, ArrayDeque<NodoExpresion> orden, ArrayDeque<NodoExpresion> pendientes) {
+        // Se recorre en orden nodo, derecha, izquierda y cada nodo se agrega al principio
+        pendientes.push(raiz);
+        while (!pendientes.isEmpty()) {
+            NodoExpresion nodo = pendientes.pop();
+            orden.addFirst(nodo);
+            if (nodo instanceof OperacionBinaria) {
+                pendientes.push(((OperacionBinaria) nodo).izquierda);
+                pendientes.push(((OperacionBinaria) nodo).derecha);
+            } else if (nodo instanceof OperacionUnaria) {
+                pendientes.push(((OperacionUnaria) nodo).operando);
+            } else if (nodo instanceof Asignacion) {
+                pendientes.push(((Asignacion) nodo).valor);
+            }
+        }
+    }
+
+    // Altura del árbol (una hoja tiene altura 1), calculada en postorden con una pila de alturas
+    static int altura(NodoExpresion raiz) {
+        int[] pila = new int[16];
+        int tope = -1;
+        for (NodoExpresion nodo : postorden(raiz)) {
+            int altura;
+            if (nodo instanceof OperacionBinaria) {
+                int derecha = pila[tope--];
+                altura = Math.max(pila[tope--], derecha) + 1;
+            } else if (nodo instanceof OperacionUnaria || nodo instanceof Asignacion) {
+                altura = pila[tope--] + 1;
+            } else {
+                altura = 1;
+            }
+            if (++tope == pila.length) {
+                pila = Arrays.copyOf(pila, tope * 2);
+            }
+            pila[tope] = altura;
+        }
+        return pila[0];
+    }
+
+    // Escribe en notación prefija un nodo compuesto. Los elementos pendientes son nodos o texto
+    // (los cierres de paréntesis y separadores) y se apilan en orden inverso.
+    static void escribirPrefija(NodoExpresion raiz, StringBuilder destino) {
+        ArrayDeque<Object> pendientes = new ArrayDeque<>();
+        pendientes.push(raiz);
+        while (!pendientes.isEmpty()) {
+            Object elemento = pendientes.pop();
+            if (elemento instanceof String) {
+                destino.append((String) elemento);
+            } else if (elemento instanceof OperacionBinaria) {
+                OperacionBinaria operacion = (OperacionBinaria) elemento;
+                destino.append('(').append(operacion.operador.getValor()).append(' ');
+                pendientes.push(")");
+                pendientes.push(operacion.derecha);
+                pendientes.push(" ");
+                pendientes.push(operacion.izquierda);
+            } else if (elemento instanceof OperacionUnaria) {
+                OperacionUnaria operacion = (OperacionUnaria) elemento;
+                destino.append('(').append(operacion.operador.getValor()).append(' ');
+                pendientes.push(")");
+                pendientes.push(operacion.operando);
+            } else if (elemento instanceof Asignacion) {
+                Asignacion asignacion = (Asignacion) elemento;
+                destino.append(asignacion.texto).append(" = ");
+                pendientes.push(asignacion.valor);
+            } else {
+                ((NodoExpresion) elemento).escribir(destino);
+            }
+        }
+    }
+
+    // Número literal (e.g., 'cinco' o '12')
+    public static final class NumeroLiteral extends NodoExpresion {
+
+        public final String texto;   // Texto original del número
+        public final long valor;     // Valor numérico (BufferTokens.SIN_VALOR si no cabe en un long)
+
+        public NumeroLiteral(String texto, long valor, int inicio, int fin) {
+            super(inicio, fin);
+            this.texto = texto;
+            this.valor = valor;
+        }
+
+        @Override
+        public void escribir(StringBuilder destino) {
+            destino.append(texto);
+        }
+    }
+
+    // Referencia a una variable
+    public static final class Referencia extends NodoExpresion {
+
+        public final String texto;    // Texto original del identificador
+        public final String nombre;   // Nombre de la variable en minúsculas
+        public final int simbolo;     // Identificador en la tabla de símbolos del análisis (-1 si no tiene)
+
+        public Referencia(String texto, String nombre, int inicio, int fin) {
+            this(texto, nombre, -1, inicio, fin);
+        }
+
+        public Referencia(String texto, String nombre, int simbolo, int inicio, int fin) {
+            super(inicio, fin);
+            this.texto = texto;
+            this.nombre = nombre;
+            this.simbolo = simbolo;
+        }
+
+        @Override
+        public void escribir(StringBuilder destino) {
+            destino.append(texto);
+        }
+    }
+
+    // Operación de dos operandos (+, -, *, /, ^)
+    public static final class OperacionBinaria extends NodoExpresion {
+
+        public final TipoToken operador;
+        public final NodoExpresion izquierda;
+        public final NodoExpresion derecha;
+
+        public OperacionBinaria(TipoToken operador, NodoExpresion izquierda, NodoExpresion derecha, int inicio, int fin) {
+            super(inicio, fin);
+            this.operador = operador;
+            this.izquierda = izquierda;
+            this.derecha = derecha;
+        }
+
+        @Override
+        public void escribir(StringBuilder destino) {
+            escribirPrefija(this, destino);
+        }
+    }
+
+    // Operación de un operando (√)
+    public static final class OperacionUnaria extends NodoExpresion {
+
+        public final TipoToken operador;
+        public final NodoExpresion operando;
+
+        public OperacionUnaria(TipoToken operador, NodoExpresion operando, int inicio, int fin) {
+            super(inicio, fin);
+            this.operador = operador;
+            this.operando = operando;
+        }
+
+        @Override
+        public void escribir(StringBuilder destino) {
+            escribirPrefija(this, destino);
+        }
+    }
+
+    // Asignación de una expresión a una variable
+    public static final class Asignacion extends NodoExpresion {
+
+        public final String texto;    // Texto original de la variable asignada
+        public final String nombre;   // Nombre de la variable en minúsculas
+        public final int simbolo;     // Identificador en la tabla de símbolos del análisis (-1 si no tiene)
+        public final NodoExpresion valor;
+
+        public Asignacion(String texto, String nombre, NodoExpresion valor, int inicio, int fin) {
+            this(texto, nombre, -1, valor, inicio, fin);
+        }
+
+        public Asignacion(String texto, String nombre, int simbolo, NodoExpresion valor, int inicio, int fin) {
+            super(inicio, fin);
+            this.texto = texto;
+            this.nombre = nombre;
+            this.simbolo = simbolo;
+            this.valor = valor;
+        }
+
+        @Override
+        public void escribir(StringBuilder destino) {
+            escribirPrefija(this, destino);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Optimización de los árboles de un programa antes de evaluarlos:
+//  - pliega los subárboles que solo tienen números en un único literal,
+//  - aplica identidades que conservan cualquier double, incluidos -0.0, NaN e infinito
+//    (x*1, 1*x, x/1, x-0, x^1); x+0 no es una de ellas, porque -0.0 + 0 da 0.0,
+//  - propaga las constantes asignadas en instrucciones anteriores del mismo programa.
+// Un subárbol se pliega solo si el cálculo exacto en enteros (long) da, al pasarlo a double,
+// exactamente el mismo valor que la evaluación en double de ProgramaCompilado; así el árbol
+// optimizado se evalúa bit a bit igual que el original.
+// Los nodos que no cambian se reutilizan, por lo que optimizar un programa sin nada que plegar
+// no crea nodos nuevos.
+final class OptimizadorArboles {
+
+    private static final long MAXIMO_EXACTO = 1L << 53;   // Mayor entero a partir del cual un double pierde unidades
+
+    private final long[] constantes;      // Valor conocido de cada variable, por identificador de símbolo
+    private final boolean[] conocidas;    // Indica si la variable tiene un valor constante conocido
+
+    // Colas del recorrido en postorden, compartidas por todas las instrucciones del programa
+    private final ArrayDeque<NodoExpresion> orden = new ArrayDeque<>();
+    private final ArrayDeque<NodoExpresion> pendientes = new ArrayDeque<>();
+    private final ArrayDeque<NodoExpresion> optimizados = new ArrayDeque<>();
+
+    private OptimizadorArboles(TablaSimbolos simbolos) {
+        int variables = simbolos == null ? 0 : simbolos.tamano();
+        this.constantes = new long[variables];
+        this.conocidas = new boolean[variables];
+    }
+
+    // Optimiza las instrucciones en orden. Las instrucciones null (con errores sintácticos) se
+    // conservan como null y, como no se sabe qué variables habrían asignado, olvidan las
+    // constantes conocidas hasta ese punto. Devuelve la misma lista si nada cambia.
+    static List<NodoExpresion> optimizar(List<NodoExpresion> instrucciones, TablaSimbolos simbolos) {
+        OptimizadorArboles optimizador = new OptimizadorArboles(simbolos);
+        List<NodoExpresion> optimizadas = null;
+        for (int i = 0; i < instrucciones.size(); i++) {
+            NodoExpresion original = instrucciones.get(i);
+            NodoExpresion optimizada = null;
+            if (original == null) {
+                Arrays.fill(optimizador.conocidas, false);
+            } else {
+                optimizada = optimizador.instruccion(original);
+            }
+            if (optimizada != original && optimizadas == null) {
+                optimizadas = new ArrayList<>(instrucciones.subList(0, i));
+            }
+            if (optimizadas != null) {
+                optimizadas.add(optimizada);
+            }
+        }
+        return optimizadas == null ? instrucciones : Collections.unmodifiableList(optimizadas);
+    }
+
+    private NodoExpresion instruccion(NodoExpresion nodo) {
+        if (!(nodo instanceof NodoExpresion.Asignacion)) {
+            return expresion(nodo);
+        }
+        NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+        NodoExpresion valor = expresion(asignacion.valor);
+        if (asignacion.simbolo >= 0 && asignacion.simbolo < conocidas.length) {
+            long constante = constante(valor);
+            conocidas[asignacion.simbolo] = constante != BufferTokens.SIN_VALOR;
+            constantes[asignacion.simbolo] = constante;
+        }
+        if (valor == asignacion.valor) {
+            return asignacion;
+        }
+        return new NodoExpresion.Asignacion(asignacion.texto, asignacion.nombre, asignacion.simbolo, valor,
+                asignacion.inicio, asignacion.fin);
+    }
+
+    // Optimiza la expresión en postorden, con una pila explícita de nodos ya optimizados
+    private NodoExpresion expresion(NodoExpresion raiz) {
+        if (raiz instanceof NodoExpresion.NumeroLiteral || raiz instanceof NodoExpresion.Referencia) {
+            return hoja(raiz);
+        }
+        NodoExpresion.postorden(raiz, orden, pendientes);
+        while (!orden.isEmpty()) {
+            NodoExpresion nodo = orden.pollFirst();
+            if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                optimizados.push(unaria((NodoExpresion.OperacionUnaria) nodo, optimizados.pop()));
+            } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                NodoExpresion derecha = optimizados.pop();
+                NodoExpresion izquierda = optimizados.pop();
+                optimizados.push(binaria((NodoExpresion.OperacionBinaria) nodo, izquierda, derecha));
+            } else if (nodo instanceof NodoExpresion.Asignacion) {
+                // Una asignación dentro de una expresión se conserva sin optimizar
+                optimizados.pop();
+                optimizados.push(nodo);
+            } else {
+                optimizados.push(hoja(nodo));
+            }
+        }
+        return optimizados.pop();
+    }
+
+    // Las variables con valor constante conocido se reemplazan por un literal
+    private NodoExpresion hoja(NodoExpresion nodo) {
+        if (nodo instanceof NodoExpresion.Referencia) {
+            NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+            if (referencia.simbolo >= 0 && referencia.simbolo < conocidas.length && conocidas[referencia.simbolo]) {
+                return literal(constantes[referencia.simbolo], referencia);
+            }
+        }
+        return nodo;
+    }
+
+    // Operación unaria con su operando ya optimizado
+    private NodoExpresion unaria(NodoExpresion.OperacionUnaria operacion, NodoExpresion operando) {
+        long valor = constante(operando);
+        // Raíz de un cuadrado perfecto. Hasta 2^53 el double representa el valor sin redondeo y
+        // Math.sqrt da la raíz exacta de un cuadrado perfecto.
+        if (valor != BufferTokens.SIN_VALOR && valor >= 0 && valor <= MAXIMO_EXACTO) {
+            long raiz = (long) Math.sqrt((double) valor);
+            if (raiz * raiz == valor) {
+                return literal(raiz, operacion);
+            }
+        }
+        if (operando == operacion.operando) {
+            return operacion;
+        }
+        return new NodoExpresion.OperacionUnaria(operacion.operador, operando, operacion.inicio, operacion.fin);
+    }
+
+    // Operación binaria con sus operandos ya optimizados
+    private NodoExpresion binaria(NodoExpresion.OperacionBinaria operacion, NodoExpresion izquierda,
+            NodoExpresion derecha) {
+        long a = constante(izquierda);
+        long b = constante(derecha);
+
+        if (a != BufferTokens.SIN_VALOR && b != BufferTokens.SIN_VALOR) {
+            long exacto = plegar(operacion.operador, a, b);
+            if (exacto != BufferTokens.SIN_VALOR) {
+                return literal(exacto, operacion);
+            }
+        }
+
+        // Identidades: el resultado es uno de los operandos
+        switch (operacion.operador) {
+            case OPERADOR_MULTIPLICACION:
+                if (b == 1) {
+                    return izquierda;
+                }
+                if (a == 1) {
+                    return derecha;
+                }
+                break;
+            case OPERADOR_RESTA:
+            case OPERADOR_DIVISION:
+                if (b == (operacion.operador == TipoToken.OPERADOR_RESTA ? 0 : 1)) {
+                    return izquierda;
+                }
+                break;
+            case OPERADOR_POTENCIA:
+                if (b == 1) {
+                    return izquierda;
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (izquierda == operacion.izquierda && derecha == operacion.derecha) {
+            return operacion;
+        }
+        return new NodoExpresion.OperacionBinaria(operacion.operador, izquierda, derecha, operacion.inicio, operacion.fin);
+    }
+
+    // Calcula la operación de forma exacta; devuelve SIN_VALOR si el resultado no es un entero
+    // exacto, no cabe en un long o no coincide con el que daría la evaluación en double
+    private static long plegar(TipoToken operador, long a, long b) {
+        double x = a;
+        double y = b;
+        long exacto;
+        double real;
+        try {
+            switch (operador) {
+                case OPERADOR_SUMA:
+                    exacto = Math.addExact(a, b);
+                    real = x + y;
+                    break;
+                case OPERADOR_RESTA:
+                    exacto = Math.subtractExact(a, b);
+                    real = x - y;
+                    break;
+                case OPERADOR_MULTIPLICACION:
+                    exacto = Math.multiplyExact(a, b);
+                    real = x * y;
+                    break;
+                case OPERADOR_DIVISION:
+                    if (b == 0 || a % b != 0) {
+                        return BufferTokens.SIN_VALOR;
+                    }
+                    exacto = a / b;
+                    real = x / y;
+                    break;
+                case OPERADOR_POTENCIA:
+                    exacto = potencia(a, b);
+                    real = Math.pow(x, y);
+                    break;
+                default:
+                    return BufferTokens.SIN_VALOR;
+            }
+        } catch (ArithmeticException desbordamiento) {
+            return BufferTokens.SIN_VALOR;
+        }
+        return exacto != BufferTokens.SIN_VALOR && coincide(exacto, real) ? exacto : BufferTokens.SIN_VALOR;
+    }
+
+    // Potencia entera exacta; SIN_VALOR si el exponente es negativo (el resultado no sería entero
+    // salvo para las bases 1 y -1, que no vale la pena distinguir)
+    private static long potencia(long base, long exponente) {
+        if (exponente < 0) {
+            return BufferTokens.SIN_VALOR;
+        }
+        if (base == 0 || base == 1) {
+            return exponente == 0 ? 1 : base;
+        }
+        if (base == -1) {
+            return (exponente & 1) == 0 ? 1 : -1;
+        }
+        if (exponente >= Long.SIZE) {
+            throw new ArithmeticException("long overflow");
+        }
+        long resultado = 1;
+        for (long i = 0; i < exponente; i++) {
+            resultado = Math.multiplyExact(resultado, base);
+        }
+        return resultado;
+    }
+
+    // Indica si el literal entero se evalúa exactamente como el valor double dado
+    private static boolean coincide(long exacto, double real) {
+        return Double.doubleToRawLongBits((double) exacto) == Double.doubleToRawLongBits(real);
+    }
+
+    // Valor entero del nodo si es un literal que cabe en un long, o SIN_VALOR
+    private static long constante(NodoExpresion nodo) {
+        return nodo instanceof NodoExpresion.NumeroLiteral ? ((NodoExpresion.NumeroLiteral) nodo).valor : BufferTokens.SIN_VALOR;
+    }
+
+    // Literal que reemplaza al nodo dado, con su mismo tramo de la expresión original
+    private static NodoExpresion.NumeroLiteral literal(long valor, NodoExpresion reemplazado) {
+        return new NodoExpresion.NumeroLiteral(Long.toString(valor), valor, reemplazado.inicio, reemplazado.fin);
+    }
+}
@@ -0,0 +1,374 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Programa compilado para evaluarse por columnas: el mismo programa sobre muchas filas de
+// valores de entrada (una columna long[] o double[] por variable). Cada operador se ejecuta como
+// un ciclo sobre un bloque de filas, de modo que el JIT puede vectorizar +, -, *, / y √ (SIMD)
+// sin que el proyecto dependa del módulo incubador jdk.incubator.vector. Las filas se procesan en
+// bloques de FILAS_POR_BLOQUE para que las columnas intermedias quepan en la caché. No se crean
+// objetos por fila. Los resultados coinciden con ProgramaCompilado fila por fila.
+public final class ProgramaColumnar {
+
+    static final int FILAS_POR_BLOQUE = 1024;
+
+    // Códigos de los pasos
+    private static final int SUMA = 0;
+    private static final int RESTA = 1;
+    private static final int MULTIPLICACION = 2;
+    private static final int DIVISION = 3;
+    private static final int POTENCIA = 4;
+    private static final int RAIZ = 5;
+    private static final int COPIA = 6;
+
+    // Cada paso calcula registros[destino] = registros[a] <operación> registros[b]. Los registros
+    // son: las variables (en el orden de sus ranuras), luego las constantes y luego los temporales.
+    private final int[] codigos;
+    private final int[] destinos;
+    private final int[] operandosA;
+    private final int[] operandosB;
+    private final double[] constantes;
+    private final int registros;
+    private final List<String> variables;
+    private final RanurasVariables ranuras;
+
+    private ProgramaColumnar(Compilador compilador) {
+        int pasos = compilador.pasos;
+        this.codigos = Arrays.copyOf(compilador.codigos, pasos);
+        this.destinos = Arrays.copyOf(compilador.destinos, pasos);
+        this.operandosA = Arrays.copyOf(compilador.operandosA, pasos);
+        this.operandosB = Arrays.copyOf(compilador.operandosB, pasos);
+        this.ranuras = compilador.ranuras;
+        this.variables = ranuras.getVariables();
+        this.constantes = new double[compilador.constantes.size()];
+        for (int i = 0; i < constantes.length; i++) {
+            constantes[i] = compilador.constantes.get(i);
+        }
+        this.registros = variables.size() + constantes.length + compilador.temporales;
+        // Los registros de temporales se numeran después de las constantes
+        int primerTemporal = variables.size() + constantes.length;
+        for (int p = 0; p < pasos; p++) {
+            destinos[p] = compilador.registro(destinos[p], primerTemporal);
+            operandosA[p] = compilador.registro(operandosA[p], primerTemporal);
+            operandosB[p] = compilador.registro(operandosB[p], primerTemporal);
+        }
+    }
+
+    // Compila los árboles de expresión (uno por instrucción); las ranuras de las variables son sus
+    // identificadores en la tabla de símbolos (puede ser null)
+    public static ProgramaColumnar compilar(List<NodoExpresion> arboles, TablaSimbolos simbolos) {
+        Compilador compilador = new Compilador(simbolos);
+        for (NodoExpresion arbol : arboles) {
+            compilador.instruccion(arbol);
+        }
+        return new ProgramaColumnar(compilador);
+    }
+
+    // Nombres de las variables, en el orden de sus ranuras
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    // Ranura de una variable, o -1 si el programa no la usa
+    public int ranura(String variable) {
+        return ranuras.ranura(variable);
+    }
+
+    // Evalúa el programa sobre las columnas de entrada (long[] o double[] por variable, todas del
+    // mismo largo) y devuelve una columna con el valor final de cada variable. Las variables sin
+    // columna de entrada empiezan en NaN, como en ProgramaCompilado.
+    public Map<String, double[]> evaluar(Map<String, ?> columnas) {
+        int filas = filas(columnas);
+        Map<String, double[]> salidas = new LinkedHashMap<>();
+        for (String variable : variables) {
+            salidas.put(variable, new double[filas]);
+        }
+        evaluar(columnas, salidas);
+        return salidas;
+    }
+
+    // Igual que evaluar(Map), pero escribe solo las variables de 'salidas' en las columnas dadas,
+    // que deben tener el mismo largo que las de entrada; así no se crea ningún arreglo por fila
+    public void evaluar(Map<String, ?> columnas, Map<String, double[]> salidas) {
+        int filas = filas(columnas);
+        Object[] entradasPorRanura = new Object[variables.size()];
+        for (Map.Entry<String, ?> columna : columnas.entrySet()) {
+            int ranura = ranura(columna.getKey());
+            if (ranura >= 0) {
+                entradasPorRanura[ranura] = columna.getValue();
+            }
+        }
+        double[][] salidasPorRanura = new double[variables.size()][];
+        for (Map.Entry<String, double[]> salida : salidas.entrySet()) {
+            int ranura = ranura(salida.getKey());
+            if (ranura < 0) {
+                throw new IllegalArgumentException("El programa no usa la variable '" + salida.getKey() + "'");
+            }
+            if (salida.getValue().length != filas) {
+                throw new IllegalArgumentException("La columna de salida '" + salida.getKey() + "' tiene "
+                        + salida.getValue().length + " filas en lugar de " + filas);
+            }
+            salidasPorRanura[ranura] = salida.getValue();
+        }
+        evaluar(entradasPorRanura, salidasPorRanura, filas);
+    }
+
+    // Evalúa con las columnas ya ordenadas por ranura (null en las variables sin entrada o sin salida)
+    public void evaluar(Object[] entradas, double[][] salidas, int filas) {
+        int bloque = Math.min(FILAS_POR_BLOQUE, Math.max(filas, 1));
+        double[][] r = new double[registros][bloque];
+        int primeraConstante = variables.size();
+        for (int c = 0; c < constantes.length; c++) {
+            Arrays.fill(r[primeraConstante + c], constantes[c]);
+        }
+
+        for (int desde = 0; desde < filas; desde += bloque) {
+            int m = Math.min(bloque, filas - desde);
+            cargar(entradas, r, desde, m);
+            ejecutar(r, m);
+            for (int v = 0; v < salidas.length; v++) {
+                if (salidas[v] != null) {
+                    System.arraycopy(r[v], 0, salidas[v], desde, m);
+                }
+            }
+        }
+    }
+
+    // Copia el bloque de filas de cada columna de entrada a los registros de las variables
+    private void cargar(Object[] entradas, double[][] r, int desde, int m) {
+        for (int v = 0; v < variables.size(); v++) {
+            double[] registro = r[v];
+            Object columna = entradas[v];
+            if (columna instanceof double[]) {
+                System.arraycopy((double[]) columna, desde, registro, 0, m);
+            } else if (columna instanceof long[]) {
+                long[] enteros = (long[]) columna;
+                for (int i = 0; i < m; i++) {
+                    registro[i] = enteros[desde + i];
+                }
+            } else {
+                Arrays.fill(registro, 0, m, Double.NaN);
+            }
+        }
+    }
+
+    // Ejecuta cada paso como un ciclo sobre las m filas del bloque
+    private void ejecutar(double[][] r, int m) {
+        for (int p = 0; p < codigos.length; p++) {
+            double[] d = r[destinos[p]];
+            double[] x = r[operandosA[p]];
+            double[] y = r[operandosB[p]];
+            switch (codigos[p]) {
+                case SUMA:
+                    for (int i = 0; i < m; i++) {
+                        d[i] = x[i] + y[i];
+                    }
+                    break;
+                case RESTA:
+                    for (int i = 0; i < m; i++) {
+                        d[i] = x[i] - y[i];
+                    }
+                    break;
+                case MULTIPLICACION:
+                    for (int i = 0; i < m; i++) {
+                        d[i] = x[i] * y[i];
+                    }
+                    break;
+                case DIVISION:
+                    for (int i = 0; i < m; i++) {
+                        d[i] = x[i] / y[i];
+                    }
+                    break;
+                case POTENCIA:
+                    for (int i = 0; i < m; i++) {
+                        d[i] = Math.pow(x[i], y[i]);
+                    }
+                    break;
+                case RAIZ:
+                    for (int i = 0; i < m; i++) {
+                        d[i] = Math.sqrt(x[i]);
+                    }
+                    break;
+                case COPIA:
+                    System.arraycopy(x, 0, d, 0, m);
+                    break;
+                default:
+                    throw new IllegalStateException("Paso desconocido: " + codigos[p]);
+            }
+        }
+    }
+
+    // Número de filas de las columnas de entrada, que deben tener todas el mismo largo
+    private static int filas(Map<String, ?> columnas) {
+        int filas = -1;
+        for (Map.Entry<String, ?> columna : columnas.entrySet()) {
+            int largo;
+            if (columna.getValue() instanceof double[]) {
+                largo = ((double[]) columna.getValue()).length;
+            } else if (columna.getValue() instanceof long[]) {
+                largo = ((long[]) columna.getValue()).length;
+            } else {
+                throw new IllegalArgumentException("La columna '" + columna.getKey() + "' no es long[] ni double[]");
+            }
+            if (filas >= 0 && largo != filas) {
+                throw new IllegalArgumentException("La columna '" + columna.getKey() + "' tiene " + largo
+                        + " filas en lugar de " + filas);
+            }
+            filas = largo;
+        }
+        return Math.max(filas, 0);
+    }
+
+    // Traduce los árboles a pasos. Mientras compila aún no se sabe cuántas variables y constantes
+    // hay, así que las constantes se numeran desde Integer.MIN_VALUE y los temporales con -1, -2...;
+    // al terminar se renumeran con registro().
+    private static class Compilador {
+
+        private static final int PRIMERA_CONSTANTE = Integer.MIN_VALUE;
+
+        private final RanurasVariables ranuras;
+        private final List<Double> constantes = new ArrayList<>();
+        private final Map<Double, Integer> registrosConstantes = new HashMap<>();
+        private int[] codigos = new int[16];
+        private int[] destinos = new int[16];
+        private int[] operandosA = new int[16];
+        private int[] operandosB = new int[16];
+        private int pasos;
+        private int temporales;   // Máximo de temporales en uso a la vez
+
+        Compilador(TablaSimbolos simbolos) {
+            ranuras = new RanurasVariables(simbolos);
+        }
+
+        // Una instrucción sin asignación no cambia ninguna variable, así que no genera pasos
+        void instruccion(NodoExpresion nodo) {
+            if (nodo instanceof NodoExpresion.Asignacion) {
+                NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+                int destino = ranuras.ranura(asignacion.nombre, asignacion.simbolo);
+                int valor = expresion(asignacion.valor);
+                if (esTemporal(valor) && pasos > 0 && destinos[pasos - 1] == valor) {
+                    destinos[pasos - 1] = destino;   // La última operación escribe directo en la variable
+                } else if (valor != destino) {
+                    agregar(COPIA, destino, valor, valor);
+                }
+            } else {
+                ranurasDe(nodo);
+            }
+        }
+
+        // Devuelve el registro con el valor de la expresión. Los nodos se traducen en postorden
+        // con una pila de registros; el resultado de cada operación ocupa el primer temporal
+        // libre, contando los temporales que siguen en la pila.
+        private int expresion(NodoExpresion raiz) {
+            int[] pila = new int[16];
+            int tope = -1;
+            int temporalesEnPila = 0;
+            for (NodoExpresion nodo : NodoExpresion.postorden(raiz)) {
+                int registro;
+                if (nodo instanceof NodoExpresion.NumeroLiteral) {
+                    registro = constante(RanurasVariables.valorLiteral((NodoExpresion.NumeroLiteral) nodo));
+                } else if (nodo instanceof NodoExpresion.Referencia) {
+                    NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                    registro = ranuras.ranura(referencia.nombre, referencia.simbolo);
+                } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                    int operando = pila[tope--];
+                    temporalesEnPila -= esTemporal(operando) ? 1 : 0;
+                    registro = temporal(temporalesEnPila);
+                    agregar(RAIZ, registro, operando, operando);
+                } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                    int derecha = pila[tope--];
+                    int izquierda = pila[tope--];
+                    temporalesEnPila -= (esTemporal(derecha) ? 1 : 0) + (esTemporal(izquierda) ? 1 : 0);
+                    registro = temporal(temporalesEnPila);
+                    agregar(codigo(((NodoExpresion.OperacionBinaria) nodo).operador), registro, izquierda, derecha);
+                } else {
+                    throw new IllegalArgumentException("Nodo no soportado: " + nodo);
+                }
+                if (++tope == pila.length) {
+                    pila = Arrays.copyOf(pila, tope * 2);
+                }
+                pila[tope] = registro;
+                temporalesEnPila += esTemporal(registro) ? 1 : 0;
+            }
+            return pila[0];
+        }
+
+        // Registra las variables de una instrucción que no genera pasos, para que tengan ranura
+        private void ranurasDe(NodoExpresion raiz) {
+            for (NodoExpresion nodo : NodoExpresion.postorden(raiz)) {
+                if (nodo instanceof NodoExpresion.Referencia) {
+                    ranuras.ranura(((NodoExpresion.Referencia) nodo).nombre, ((NodoExpresion.Referencia) nodo).simbolo);
+                }
+            }
+        }
+
+        private static int codigo(TipoToken operador) {
+            switch (operador) {
+                case OPERADOR_SUMA:
+                    return SUMA;
+                case OPERADOR_RESTA:
+                    return RESTA;
+                case OPERADOR_MULTIPLICACION:
+                    return MULTIPLICACION;
+                case OPERADOR_DIVISION:
+                    return DIVISION;
+                case OPERADOR_POTENCIA:
+                    return POTENCIA;
+                default:
+                    throw new IllegalArgumentException("Operador no soportado: " + operador);
+            }
+        }
+
+        // Los temporales se usan como una pila: el resultado de una operación ocupa el primer
+        // temporal libre, que puede ser el mismo de uno de sus operandos (se calcula elemento a
+        // elemento, así que leer y escribir el mismo registro es seguro)
+        private int temporal(int tope) {
+            temporales = Math.max(temporales, tope + 1);
+            return -(tope + 1);
+        }
+
+        private static boolean esTemporal(int registro) {
+            return registro < 0 && registro > PRIMERA_CONSTANTE / 2;
+        }
+
+        private int constante(double valor) {
+            Integer registro = registrosConstantes.get(valor);
+            if (registro == null) {
+                registro = constantes.size();
+                constantes.add(valor);
+                registrosConstantes.put(valor, registro);
+            }
+            return PRIMERA_CONSTANTE + registro;
+        }
+
+        // Registro definitivo de un operando numerado durante la compilación
+        int registro(int operando, int primerTemporal) {
+            if (operando >= 0) {
+                return operando;
+            }
+            if (esTemporal(operando)) {
+                return primerTemporal + (-operando - 1);
+            }
+            return ranuras.tamano() + (operando - PRIMERA_CONSTANTE);
+        }
+
+        private void agregar(int codigo, int destino, int a, int b) {
+            if (pasos == codigos.length) {
+                codigos = Arrays.copyOf(codigos, pasos * 2);
+                destinos = Arrays.copyOf(destinos, pasos * 2);
+                operandosA = Arrays.copyOf(operandosA, pasos * 2);
+                operandosB = Arrays.copyOf(operandosB, pasos * 2);
+            }
+            codigos[pasos] = codigo;
+            destinos[pasos] = destino;
+            operandosA[pasos] = a;
+            operandosB[pasos] = b;
+            pasos++;
+        }
+    }
+}
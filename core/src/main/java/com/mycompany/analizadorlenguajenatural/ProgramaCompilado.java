@@ -0,0 +1,161 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+
+// Programa evaluable obtenido al compilar una vez los árboles de un análisis sintáctico válido.
+// Cada instrucción se convierte en un árbol de clausuras con los operadores ya resueltos, y cada
+// variable se asocia a una ranura de un arreglo, de modo que reevaluar con otros valores no
+// requiere recorrer los árboles ni buscar nombres en mapas. Las instrucciones muy profundas (una
+// cadena larga de operadores) se ejecutan en una máquina de pila (ProgramaPostfijo) en lugar de
+// clausuras anidadas, así que no agotan la pila de Java.
+public final class ProgramaCompilado {
+
+    // Clausura que calcula un valor a partir de las ranuras de variables
+    @FunctionalInterface
+    interface Operacion {
+
+        double evaluar(double[] ranuras);
+    }
+
+    private final Operacion[] instrucciones;   // Instrucciones en orden de ejecución
+    private final RanurasVariables ranuras;
+
+    private ProgramaCompilado(Operacion[] instrucciones, RanurasVariables ranuras) {
+        this.instrucciones = instrucciones;
+        this.ranuras = ranuras;
+    }
+
+    // Compila los árboles de expresión (uno por instrucción) en un programa evaluable
+    public static ProgramaCompilado compilar(List<NodoExpresion> arboles) {
+        return compilar(arboles, null);
+    }
+
+    // Compila los árboles usando como ranura de cada variable su identificador en la tabla de
+    // símbolos del análisis (puede ser null)
+    public static ProgramaCompilado compilar(List<NodoExpresion> arboles, TablaSimbolos simbolos) {
+        Compilador compilador = new Compilador(simbolos);
+        Operacion[] instrucciones = new Operacion[arboles.size()];
+        for (int i = 0; i < instrucciones.length; i++) {
+            instrucciones[i] = compilador.instruccion(arboles.get(i));
+        }
+        return new ProgramaCompilado(instrucciones, compilador.ranuras);
+    }
+
+    // Nombres de las variables, en el orden de sus ranuras
+    public List<String> getVariables() {
+        return ranuras.getVariables();
+    }
+
+    // Ranura de una variable, o -1 si el programa no la usa
+    public int ranura(String variable) {
+        return ranuras.ranura(variable);
+    }
+
+    // Crea un arreglo de ranuras; las variables sin valor inicial valen NaN
+    public double[] nuevasRanuras() {
+        return ranuras.nuevasRanuras();
+    }
+
+    // Ranuras de las variables, para los programas que ejecutan estas instrucciones en otro orden
+    RanurasVariables getRanuras() {
+        return ranuras;
+    }
+
+    // Ejecuta las instrucciones en orden sobre las ranuras dadas y devuelve el valor de la última
+    public double ejecutar(double[] valores) {
+        double ultimo = Double.NaN;
+        for (Operacion instruccion : instrucciones) {
+            ultimo = instruccion.evaluar(valores);
+        }
+        return ultimo;
+    }
+
+    // Número de instrucciones del programa
+    public int numeroInstrucciones() {
+        return instrucciones.length;
+    }
+
+    // Ejecuta solo la instrucción dada (desde 0) sobre las ranuras y devuelve su valor
+    public double ejecutarInstruccion(int indice, double[] valores) {
+        return instrucciones[indice].evaluar(valores);
+    }
+
+    // Ejecuta el programa con los valores iniciales dados y devuelve el valor final de cada variable
+    public Map<String, Double> evaluar(Map<String, ? extends Number> entradas) {
+        double[] valores = ranuras.cargar(entradas);
+        ejecutar(valores);
+        return ranuras.resultado(valores);
+    }
+
+    // Traduce los nodos a clausuras y asigna una ranura a cada variable nueva
+    private static class Compilador {
+
+        private final RanurasVariables ranuras;
+
+        Compilador(TablaSimbolos simbolos) {
+            ranuras = new RanurasVariables(simbolos);
+        }
+
+        // Las instrucciones más profundas que esto se ejecutan en una máquina de pila: evaluar un
+        // árbol de clausuras anidadas usa la pila de Java, una llamada por nivel
+        static final int PROFUNDIDAD_CLAUSURAS = 256;
+
+        Operacion instruccion(NodoExpresion arbol) {
+            if (NodoExpresion.altura(arbol) > PROFUNDIDAD_CLAUSURAS) {
+                ProgramaPostfijo postfijo = ProgramaPostfijo.compilar(arbol, ranuras);
+                return postfijo::ejecutar;
+            }
+            // Las clausuras se construyen en postorden: los operandos de cada nodo quedan en la pila
+            ArrayDeque<Operacion> pila = new ArrayDeque<>();
+            for (NodoExpresion nodo : NodoExpresion.postorden(arbol)) {
+                pila.push(operacion(nodo, pila));
+            }
+            return pila.pop();
+        }
+
+        // Clausura de un nodo; desapila las de sus operandos
+        private Operacion operacion(NodoExpresion nodo, ArrayDeque<Operacion> pila) {
+            if (nodo instanceof NodoExpresion.NumeroLiteral) {
+                double valor = RanurasVariables.valorLiteral((NodoExpresion.NumeroLiteral) nodo);
+                return r -> valor;
+            }
+            if (nodo instanceof NodoExpresion.Referencia) {
+                NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                int ranura = ranuras.ranura(referencia.nombre, referencia.simbolo);
+                return r -> r[ranura];
+            }
+            if (nodo instanceof NodoExpresion.Asignacion) {
+                NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+                Operacion valor = pila.pop();
+                int ranura = ranuras.ranura(asignacion.nombre, asignacion.simbolo);
+                return r -> r[ranura] = valor.evaluar(r);
+            }
+            if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                Operacion operando = pila.pop();
+                return r -> Math.sqrt(operando.evaluar(r));
+            }
+            if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                NodoExpresion.OperacionBinaria operacion = (NodoExpresion.OperacionBinaria) nodo;
+                Operacion derecha = pila.pop();
+                Operacion izquierda = pila.pop();
+                switch (operacion.operador) {
+                    case OPERADOR_SUMA:
+                        return r -> izquierda.evaluar(r) + derecha.evaluar(r);
+                    case OPERADOR_RESTA:
+                        return r -> izquierda.evaluar(r) - derecha.evaluar(r);
+                    case OPERADOR_MULTIPLICACION:
+                        return r -> izquierda.evaluar(r) * derecha.evaluar(r);
+                    case OPERADOR_DIVISION:
+                        return r -> izquierda.evaluar(r) / derecha.evaluar(r);
+                    case OPERADOR_POTENCIA:
+                        return r -> Math.pow(izquierda.evaluar(r), derecha.evaluar(r));
+                    default:
+                        throw new IllegalArgumentException("Operador no soportado: " + operacion.operador);
+                }
+            }
+            throw new IllegalArgumentException("Nodo no soportado: " + nodo);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+// Programa analizado convertido en una clase Java compilada (ver CompiladorJava). Cada instancia
+// de la clase tiene un campo por variable, así que no se debe usar desde varios hilos a la vez;
+// ejecutar() y evaluar() crean una instancia nueva en cada llamada. Para reevaluar muchas veces
+// desde un hilo conviene obtener una instancia con nuevaInstancia() y reutilizarla.
+public final class ProgramaJava {
+
+    private final String fuente;                 // Código fuente generado
+    private final Class<?> clase;                // Clase compilada y cargada
+    private final Constructor<?> constructor;
+    private final RanurasVariables ranuras;      // Ranuras en el orden de los campos de la clase
+
+    ProgramaJava(String fuente, Class<?> clase, List<String> variables) throws NoSuchMethodException {
+        this.fuente = fuente;
+        this.clase = clase;
+        this.constructor = clase.getConstructor();
+        this.ranuras = new RanurasVariables(null);
+        for (String variable : variables) {
+            ranuras.ranura(variable, -1);
+        }
+    }
+
+    public String getFuente() {
+        return fuente;
+    }
+
+    public Class<?> getClase() {
+        return clase;
+    }
+
+    // Nombres de las variables, en el orden de sus ranuras
+    public List<String> getVariables() {
+        return ranuras.getVariables();
+    }
+
+    // Ranura de una variable, o -1 si el programa no la usa
+    public int ranura(String variable) {
+        return ranuras.ranura(variable);
+    }
+
+    // Crea un arreglo de ranuras; las variables sin valor inicial valen NaN
+    public double[] nuevasRanuras() {
+        return ranuras.nuevasRanuras();
+    }
+
+    // Crea una instancia de la clase generada; applyAsDouble(ranuras) carga las variables desde
+    // las ranuras, ejecuta el programa, guarda los valores finales y devuelve el de la última instrucción
+    @SuppressWarnings("unchecked")
+    public ToDoubleFunction<double[]> nuevaInstancia() {
+        try {
+            return (ToDoubleFunction<double[]>) constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo instanciar el programa generado", e);
+        }
+    }
+
+    // Ejecuta las instrucciones en orden sobre las ranuras dadas y devuelve el valor de la última
+    public double ejecutar(double[] valores) {
+        return nuevaInstancia().applyAsDouble(valores);
+    }
+
+    // Ejecuta el programa con los valores iniciales dados y devuelve el valor final de cada variable
+    public Map<String, Double> evaluar(Map<String, ? extends Number> entradas) {
+        double[] valores = ranuras.cargar(entradas);
+        ejecutar(valores);
+        return ranuras.resultado(valores);
+    }
+}
@@ -0,0 +1,133 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Programa compilado que ejecuta sus instrucciones por ondas del grafo de dependencias: las de
+// una misma onda no dependen entre sí y se reparten en un pool fork-join, y cada onda empieza
+// cuando termina la anterior. Todas escriben en el mismo arreglo de ranuras; dentro de una onda
+// ninguna variable se escribe dos veces ni se lee y escribe a la vez, así que el resultado es el
+// mismo que en orden. Con instrucciones costosas el tiempo depende de la ruta crítica y no del
+// número de instrucciones; las ondas con poco trabajo se ejecutan en el hilo que llama.
+public final class ProgramaParalelo {
+
+    private static final int UMBRAL = 4096;   // Nodos de árbol por tarea que se ejecutan sin dividir
+
+    private final ProgramaCompilado programa;
+    private final GrafoDependencias grafo;
+    private final ForkJoinPool pool;
+
+    private ProgramaParalelo(ProgramaCompilado programa, GrafoDependencias grafo, ForkJoinPool pool) {
+        this.programa = programa;
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    // Compila los árboles de expresión (uno por instrucción) y su grafo de dependencias; las
+    // ondas se ejecutan en el pool indicado
+    public static ProgramaParalelo compilar(List<NodoExpresion> arboles, TablaSimbolos simbolos, ForkJoinPool pool) {
+        return new ProgramaParalelo(ProgramaCompilado.compilar(arboles, simbolos),
+                GrafoDependencias.construir(arboles, simbolos), pool);
+    }
+
+    public GrafoDependencias getGrafo() {
+        return grafo;
+    }
+
+    // Nombres de las variables, en el orden de sus ranuras
+    public List<String> getVariables() {
+        return programa.getVariables();
+    }
+
+    // Ranura de una variable, o -1 si el programa no la usa
+    public int ranura(String variable) {
+        return programa.ranura(variable);
+    }
+
+    // Crea un arreglo de ranuras; las variables sin valor inicial valen NaN
+    public double[] nuevasRanuras() {
+        return programa.nuevasRanuras();
+    }
+
+    // Ejecuta las ondas en orden sobre las ranuras dadas y devuelve el valor de la última instrucción
+    public double ejecutar(double[] valores) {
+        int ultima = grafo.instrucciones - 1;
+        double resultado = Double.NaN;
+        for (int[] onda : grafo.ondas) {
+            // Las ondas están en orden de programa: si tiene la última instrucción, va al final y
+            // se ejecuta aparte para obtener su valor
+            int hasta = onda[onda.length - 1] == ultima ? onda.length - 1 : onda.length;
+            int costo = 0;
+            for (int i = 0; i < hasta; i++) {
+                costo += grafo.costos[onda[i]];
+            }
+            if (hasta > 1 && costo > UMBRAL) {
+                pool.invoke(new TareaOnda(programa, grafo.costos, onda, valores, 0, hasta, costo));
+            } else {
+                for (int i = 0; i < hasta; i++) {
+                    programa.ejecutarInstruccion(onda[i], valores);
+                }
+            }
+            if (hasta < onda.length) {
+                resultado = programa.ejecutarInstruccion(ultima, valores);
+            }
+        }
+        return resultado;
+    }
+
+    // Ejecuta el programa con los valores iniciales dados y devuelve el valor final de cada variable
+    public Map<String, Double> evaluar(Map<String, ? extends Number> entradas) {
+        double[] valores = programa.getRanuras().cargar(entradas);
+        ejecutar(valores);
+        return programa.getRanuras().resultado(valores);
+    }
+
+    // Tarea fork-join que divide las instrucciones de una onda en mitades hasta que el costo de
+    // cada tramo queda bajo el umbral. Cada instrucción escribe una ranura distinta.
+    private static class TareaOnda extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ProgramaCompilado programa;
+        private final int[] costos;
+        private final int[] onda;
+        private final double[] valores;
+        private final int desde;
+        private final int hasta;
+        private final int costo;
+
+        TareaOnda(ProgramaCompilado programa, int[] costos, int[] onda, double[] valores, int desde, int hasta,
+                int costo) {
+            this.programa = programa;
+            this.costos = costos;
+            this.onda = onda;
+            this.valores = valores;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.costo = costo;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= 1 || costo <= UMBRAL) {
+                for (int i = desde; i < hasta; i++) {
+                    programa.ejecutarInstruccion(onda[i], valores);
+                }
+                return;
+            }
+            // Se corta donde la primera mitad alcanza la mitad del costo
+            int medio = desde;
+            int costoIzquierda = 0;
+            while (medio < hasta - 1 && costoIzquierda + costos[onda[medio]] <= costo / 2) {
+                costoIzquierda += costos[onda[medio++]];
+            }
+            if (medio == desde) {
+                costoIzquierda += costos[onda[medio++]];
+            }
+            invokeAll(new TareaOnda(programa, costos, onda, valores, desde, medio, costoIzquierda),
+                    new TareaOnda(programa, costos, onda, valores, medio, hasta, costo - costoIzquierda));
+        }
+    }
+}
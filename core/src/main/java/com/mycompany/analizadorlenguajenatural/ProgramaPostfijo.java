@@ -0,0 +1,247 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Programa en notación postfija (RPN): las instrucciones se traducen a un arreglo compacto de
+// códigos int que una máquina de pila ejecuta sobre un arreglo double[], en un solo ciclo, sin
+// llamadas recursivas ni objetos por operación. La profundidad máxima de la pila se calcula al
+// compilar, así que un programa se puede ejecutar muchas veces con la misma pila. Los resultados
+// coinciden con los de ProgramaCompilado.
+public final class ProgramaPostfijo {
+
+    // Operaciones. Cada código lleva la operación en los 4 bits bajos y el argumento (ranura de
+    // variable o índice de constante) en los demás.
+    private static final int CONSTANTE = 0;      // Apila constantes[argumento]
+    private static final int CARGAR = 1;         // Apila el valor de la ranura
+    private static final int GUARDAR = 2;        // Copia el tope en la ranura, sin desapilarlo
+    private static final int FIN = 3;            // Desapila el valor de la instrucción que termina
+    private static final int SUMA = 4;
+    private static final int RESTA = 5;
+    private static final int MULTIPLICACION = 6;
+    private static final int DIVISION = 7;
+    private static final int POTENCIA = 8;
+    private static final int RAIZ = 9;
+    private static final int BITS_OPERACION = 4;
+    private static final int MASCARA_OPERACION = (1 << BITS_OPERACION) - 1;
+
+    private final int[] codigos;
+    private final double[] constantes;
+    private final int profundidad;               // Elementos que necesita la pila
+    private final RanurasVariables ranuras;
+
+    private ProgramaPostfijo(Compilador compilador) {
+        this.codigos = Arrays.copyOf(compilador.codigos, compilador.tamano);
+        this.constantes = new double[compilador.constantes.size()];
+        for (int i = 0; i < constantes.length; i++) {
+            constantes[i] = compilador.constantes.get(i);
+        }
+        this.profundidad = compilador.profundidadMaxima;
+        this.ranuras = compilador.ranuras;
+    }
+
+    // Compila los árboles de expresión (uno por instrucción); las ranuras de las variables son sus
+    // identificadores en la tabla de símbolos (puede ser null)
+    public static ProgramaPostfijo compilar(List<NodoExpresion> arboles, TablaSimbolos simbolos) {
+        Compilador compilador = new Compilador(simbolos);
+        for (NodoExpresion arbol : arboles) {
+            compilador.instruccion(arbol);
+        }
+        return new ProgramaPostfijo(compilador);
+    }
+
+    // Compila una sola instrucción con las ranuras de otro programa, que asigna las que falten
+    // (ProgramaCompilado la usa para las instrucciones muy profundas)
+    static ProgramaPostfijo compilar(NodoExpresion arbol, RanurasVariables ranuras) {
+        Compilador compilador = new Compilador(ranuras);
+        compilador.instruccion(arbol);
+        return new ProgramaPostfijo(compilador);
+    }
+
+    // Nombres de las variables, en el orden de sus ranuras
+    public List<String> getVariables() {
+        return ranuras.getVariables();
+    }
+
+    // Ranura de una variable, o -1 si el programa no la usa
+    public int ranura(String variable) {
+        return ranuras.ranura(variable);
+    }
+
+    // Crea un arreglo de ranuras; las variables sin valor inicial valen NaN
+    public double[] nuevasRanuras() {
+        return ranuras.nuevasRanuras();
+    }
+
+    // Crea una pila del tamaño que necesita el programa, para reutilizarla entre ejecuciones
+    public double[] nuevaPila() {
+        return new double[Math.max(1, profundidad)];
+    }
+
+    // Número de códigos del programa
+    public int tamano() {
+        return codigos.length;
+    }
+
+    // Ejecuta las instrucciones en orden sobre las ranuras dadas y devuelve el valor de la última
+    public double ejecutar(double[] valores) {
+        return ejecutar(valores, nuevaPila());
+    }
+
+    // Igual que el anterior, con una pila creada por nuevaPila()
+    public double ejecutar(double[] valores, double[] pila) {
+        int[] codigos = this.codigos;
+        double[] constantes = this.constantes;
+        double ultimo = Double.NaN;
+        int tope = -1;
+        for (int codigo : codigos) {
+            switch (codigo & MASCARA_OPERACION) {
+                case CONSTANTE:
+                    pila[++tope] = constantes[codigo >>> BITS_OPERACION];
+                    break;
+                case CARGAR:
+                    pila[++tope] = valores[codigo >>> BITS_OPERACION];
+                    break;
+                case GUARDAR:
+                    valores[codigo >>> BITS_OPERACION] = pila[tope];
+                    break;
+                case FIN:
+                    ultimo = pila[tope--];
+                    break;
+                case SUMA:
+                    tope--;
+                    pila[tope] = pila[tope] + pila[tope + 1];
+                    break;
+                case RESTA:
+                    tope--;
+                    pila[tope] = pila[tope] - pila[tope + 1];
+                    break;
+                case MULTIPLICACION:
+                    tope--;
+                    pila[tope] = pila[tope] * pila[tope + 1];
+                    break;
+                case DIVISION:
+                    tope--;
+                    pila[tope] = pila[tope] / pila[tope + 1];
+                    break;
+                case POTENCIA:
+                    tope--;
+                    pila[tope] = Math.pow(pila[tope], pila[tope + 1]);
+                    break;
+                default:
+                    pila[tope] = Math.sqrt(pila[tope]);
+                    break;
+            }
+        }
+        return ultimo;
+    }
+
+    // Ejecuta el programa con los valores iniciales dados y devuelve el valor final de cada variable
+    public Map<String, Double> evaluar(Map<String, ? extends Number> entradas) {
+        double[] valores = ranuras.cargar(entradas);
+        ejecutar(valores);
+        return ranuras.resultado(valores);
+    }
+
+    // Listado del programa, un código por línea (e.g. "CARGAR x", "CONSTANTE 5.0", "SUMA")
+    @Override
+    public String toString() {
+        String[] nombres = {"CONSTANTE", "CARGAR", "GUARDAR", "FIN", "SUMA", "RESTA", "MULTIPLICACION",
+            "DIVISION", "POTENCIA", "RAIZ"};
+        StringBuilder texto = new StringBuilder();
+        for (int codigo : codigos) {
+            int operacion = codigo & MASCARA_OPERACION;
+            int argumento = codigo >>> BITS_OPERACION;
+            texto.append(nombres[operacion]);
+            if (operacion == CONSTANTE) {
+                texto.append(' ').append(constantes[argumento]);
+            } else if (operacion == CARGAR || operacion == GUARDAR) {
+                texto.append(' ').append(ranuras.getVariables().get(argumento));
+            }
+            texto.append('\n');
+        }
+        return texto.toString();
+    }
+
+    // Traduce los árboles a códigos en postorden y asigna una ranura a cada variable nueva
+    private static class Compilador {
+
+        private int[] codigos = new int[64];
+        private int tamano;
+        private final List<Double> constantes = new ArrayList<>();
+        private final Map<Double, Integer> indiceConstantes = new HashMap<>();
+        private final RanurasVariables ranuras;
+        private int profundidad;              // Elementos en la pila después del último código
+        private int profundidadMaxima;
+
+        Compilador(TablaSimbolos simbolos) {
+            this(new RanurasVariables(simbolos));
+        }
+
+        Compilador(RanurasVariables ranuras) {
+            this.ranuras = ranuras;
+        }
+
+        void instruccion(NodoExpresion arbol) {
+            for (NodoExpresion nodo : NodoExpresion.postorden(arbol)) {
+                if (nodo instanceof NodoExpresion.NumeroLiteral) {
+                    emitir(CONSTANTE, constante(RanurasVariables.valorLiteral((NodoExpresion.NumeroLiteral) nodo)), 1);
+                } else if (nodo instanceof NodoExpresion.Referencia) {
+                    NodoExpresion.Referencia referencia = (NodoExpresion.Referencia) nodo;
+                    emitir(CARGAR, ranuras.ranura(referencia.nombre, referencia.simbolo), 1);
+                } else if (nodo instanceof NodoExpresion.Asignacion) {
+                    NodoExpresion.Asignacion asignacion = (NodoExpresion.Asignacion) nodo;
+                    emitir(GUARDAR, ranuras.ranura(asignacion.nombre, asignacion.simbolo), 0);
+                } else if (nodo instanceof NodoExpresion.OperacionUnaria) {
+                    emitir(RAIZ, 0, 0);
+                } else if (nodo instanceof NodoExpresion.OperacionBinaria) {
+                    emitir(operacion(((NodoExpresion.OperacionBinaria) nodo).operador), 0, -1);
+                } else {
+                    throw new IllegalArgumentException("Nodo no soportado: " + nodo);
+                }
+            }
+            emitir(FIN, 0, -1);
+        }
+
+        private static int operacion(TipoToken operador) {
+            switch (operador) {
+                case OPERADOR_SUMA:
+                    return SUMA;
+                case OPERADOR_RESTA:
+                    return RESTA;
+                case OPERADOR_MULTIPLICACION:
+                    return MULTIPLICACION;
+                case OPERADOR_DIVISION:
+                    return DIVISION;
+                case OPERADOR_POTENCIA:
+                    return POTENCIA;
+                default:
+                    throw new IllegalArgumentException("Operador no soportado: " + operador);
+            }
+        }
+
+        // Agrega un código; 'cambio' es cuánto crece (o decrece) la pila al ejecutarlo
+        private void emitir(int operacion, int argumento, int cambio) {
+            if (tamano == codigos.length) {
+                codigos = Arrays.copyOf(codigos, tamano * 2);
+            }
+            codigos[tamano++] = operacion | (argumento << BITS_OPERACION);
+            profundidad += cambio;
+            profundidadMaxima = Math.max(profundidadMaxima, profundidad);
+        }
+
+        // Índice de la constante, compartido por los literales con el mismo valor
+        private int constante(double valor) {
+            Integer indice = indiceConstantes.get(valor);
+            if (indice == null) {
+                indice = constantes.size();
+                constantes.add(valor);
+                indiceConstantes.put(valor, indice);
+            }
+            return indice;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Ranuras de las variables de un programa compilado (ProgramaCompilado, ProgramaPostfijo,
+// ProgramaColumnar, ProgramaJava y ProgramaParalelo): cada variable se asocia a una posición de
+// un arreglo double[]. Con tabla de símbolos, la ranura de una variable es su identificador en la
+// tabla; las que no estén registradas en ella van después, en el orden en que aparecen. Las
+// ranuras se asignan mientras se compila; después el programa solo las consulta.
+final class RanurasVariables {
+
+    private final List<String> variables = new ArrayList<>();       // Nombre de la variable de cada ranura
+    private final Map<String, Integer> ranuras = new HashMap<>();   // Ranura de cada variable
+    private final List<String> vista = Collections.unmodifiableList(variables);
+    private final boolean usarSimbolos;   // Las ranuras coinciden con los identificadores de la tabla
+
+    RanurasVariables(TablaSimbolos simbolos) {
+        usarSimbolos = simbolos != null;
+        if (usarSimbolos) {
+            for (String variable : simbolos.getNombres()) {
+                ranura(variable, -1);
+            }
+        }
+    }
+
+    // Ranura de la variable al compilar; la crea si es nueva ('simbolo' es su identificador en la
+    // tabla, o -1 si no lo tiene)
+    int ranura(String variable, int simbolo) {
+        if (usarSimbolos && simbolo >= 0) {
+            return simbolo;
+        }
+        Integer ranura = ranuras.get(variable);
+        if (ranura == null) {
+            ranura = variables.size();
+            variables.add(variable);
+            ranuras.put(variable, ranura);
+        }
+        return ranura;
+    }
+
+    // Ranura de una variable, o -1 si el programa no la usa
+    int ranura(String variable) {
+        Integer ranura = ranuras.get(variable);
+        return ranura == null ? -1 : ranura;
+    }
+
+    // Nombres de las variables, en el orden de sus ranuras
+    List<String> getVariables() {
+        return vista;
+    }
+
+    int tamano() {
+        return variables.size();
+    }
+
+    // Crea un arreglo de ranuras; las variables sin valor inicial valen NaN
+    double[] nuevasRanuras() {
+        double[] valores = new double[variables.size()];
+        Arrays.fill(valores, Double.NaN);
+        return valores;
+    }
+
+    // Crea un arreglo de ranuras con los valores iniciales dados; se ignoran las variables que el
+    // programa no usa
+    double[] cargar(Map<String, ? extends Number> entradas) {
+        double[] valores = nuevasRanuras();
+        for (Map.Entry<String, ? extends Number> entrada : entradas.entrySet()) {
+            int ranura = ranura(entrada.getKey());
+            if (ranura >= 0) {
+                valores[ranura] = entrada.getValue().doubleValue();
+            }
+        }
+        return valores;
+    }
+
+    // Valor de cada variable según las ranuras, en el orden de las ranuras
+    Map<String, Double> resultado(double[] valores) {
+        Map<String, Double> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < valores.length; i++) {
+            resultado.put(variables.get(i), valores[i]);
+        }
+        return resultado;
+    }
+
+    // Los números que no caben en un long se evalúan a partir de sus dígitos
+    static double valorLiteral(NodoExpresion.NumeroLiteral literal) {
+        return literal.valor != BufferTokens.SIN_VALOR ? literal.valor : Double.parseDouble(literal.texto);
+    }
+}
@@ -0,0 +1,55 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.beans.ConstructorProperties;
+
+// Resumen de las latencias de una fase del análisis, en nanosegundos. JMX lo muestra como un
+// dato compuesto con un campo por cada getter.
+public final class ResumenLatencia {
+
+    private final long cuenta;     // Número de mediciones
+    private final double media;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long maximo;
+
+    @ConstructorProperties({"cuenta", "media", "p50", "p99", "p999", "maximo"})
+    public ResumenLatencia(long cuenta, double media, long p50, long p99, long p999, long maximo) {
+        this.cuenta = cuenta;
+        this.media = media;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.maximo = maximo;
+    }
+
+    public long getCuenta() {
+        return cuenta;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d media=%.1fµs p50=%.1fµs p99=%.1fµs p999=%.1fµs max=%.1fµs",
+                cuenta, media / 1e3, p50 / 1e3, p99 / 1e3, p999 / 1e3, maximo / 1e3);
+    }
+}
@@ -0,0 +1,200 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ErrorInstruccion;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.util.List;
+
+// Serializa los resultados del análisis como JSON (un objeto por línea) o como filas CSV,
+// escribiendo directamente en un StringBuilder reutilizable para no crear Strings intermedios.
+final class SerializadorResultados {
+
+    // Encabezado de las filas CSV
+    static final String ENCABEZADO_CSV = "linea,expresion,tokens,no_reconocidos,sintaxis_valida,"
+            + "error_sintactico,arboles,semantica_valida,errores_semanticos";
+
+    private SerializadorResultados() {
+    }
+
+    // Escribe el resultado completo de una expresión como un objeto JSON
+    static void escribirJson(StringBuilder destino, long linea, ResultadoAnalisis resultado,
+            ResultadoSemantico resultadoSemantico) {
+        ResultadoLexico lexico = resultado.resultadoLexico;
+        ResultadoSintactico sintactico = resultado.resultadoSintactico;
+
+        destino.append('{');
+        if (linea > 0) {
+            destino.append("\"linea\":").append(linea).append(',');
+        }
+        destino.append("\"expresion\":");
+        escribirCadenaJson(destino, lexico.expresionOriginal);
+
+        destino.append(",\"lexico\":{\"tokens\":[");
+        BufferTokens tokens = lexico.buffer;
+        for (int i = 0; i < tokens.tamano(); i++) {
+            if (i > 0) {
+                destino.append(',');
+            }
+            destino.append("{\"tipo\":\"").append(tokens.tipo(i).getNombre()).append("\",\"valor\":");
+            escribirCadenaJson(destino, tokens.valorInterno(i));
+            destino.append(",\"valorOriginal\":");
+            escribirCadenaJson(destino, tokens.texto(i));
+            destino.append('}');
+        }
+        destino.append("],\"identificadores\":");
+        escribirListaJson(destino, lexico.identificadores);
+        destino.append(",\"noReconocidos\":");
+        escribirListaJson(destino, lexico.noReconocidos);
+
+        destino.append("},\"sintactico\":{\"esValido\":").append(sintactico.esValido);
+        if (sintactico.esValido) {
+            destino.append(",\"arbolesExpresion\":");
+            escribirListaJson(destino, sintactico.arbolesExpresion);
+            destino.append(",\"expresionesPostfijas\":");
+            escribirListaJson(destino, sintactico.expresionesPostfijas);
+        } else {
+            destino.append(",\"error\":");
+            escribirCadenaJson(destino, sintactico.error);
+            destino.append(",\"tipoError\":");
+            escribirCadenaJson(destino, sintactico.tipoError);
+            destino.append(",\"sugerencia\":");
+            escribirCadenaJson(destino, sintactico.sugerencia);
+            escribirErroresJson(destino, sintactico);
+        }
+
+        destino.append("},\"semantico\":{\"esValido\":").append(resultadoSemantico.esValido);
+        destino.append(",\"errores\":");
+        escribirListaJson(destino, resultadoSemantico.errores);
+        destino.append("}}");
+    }
+
+    // Escribe el resultado completo de una expresión como una fila CSV
+    static void escribirCsv(StringBuilder destino, long linea, ResultadoAnalisis resultado,
+            ResultadoSemantico resultadoSemantico) {
+        ResultadoLexico lexico = resultado.resultadoLexico;
+        ResultadoSintactico sintactico = resultado.resultadoSintactico;
+
+        destino.append(linea).append(',');
+        escribirCampoCsv(destino, lexico.expresionOriginal);
+        destino.append(',').append(lexico.buffer.tamano()).append(',');
+        escribirCampoCsv(destino, String.join(" | ", lexico.noReconocidos));
+        destino.append(',').append(sintactico.esValido).append(',');
+        escribirCampoCsv(destino, sintactico.errores.size() > 1 ? unirErrores(sintactico.errores)
+                : sintactico.error == null ? "" : sintactico.error);
+        destino.append(',');
+        escribirCampoCsv(destino, sintactico.esValido ? String.join(" | ", sintactico.arbolesExpresion) : "");
+        destino.append(',').append(resultadoSemantico.esValido).append(',');
+        escribirCampoCsv(destino, String.join(" | ", resultadoSemantico.errores));
+    }
+
+    // Escribe todos los errores sintácticos (con la instrucción y el tramo de cada uno) y el árbol
+    // de cada instrucción, null en las que tienen errores
+    private static void escribirErroresJson(StringBuilder destino, ResultadoSintactico sintactico) {
+        destino.append(",\"errores\":[");
+        for (int i = 0; i < sintactico.errores.size(); i++) {
+            ErrorInstruccion error = sintactico.errores.get(i);
+            if (i > 0) {
+                destino.append(',');
+            }
+            destino.append("{\"instruccion\":").append(error.instruccion).append(",\"error\":");
+            escribirCadenaJson(destino, error.error);
+            destino.append(",\"inicio\":").append(error.inicio).append(",\"fin\":").append(error.fin).append('}');
+        }
+        destino.append(']');
+        if (sintactico.instrucciones != null) {
+            destino.append(",\"instrucciones\":[");
+            for (int i = 0; i < sintactico.instrucciones.size(); i++) {
+                if (i > 0) {
+                    destino.append(',');
+                }
+                NodoExpresion arbol = sintactico.instrucciones.get(i);
+                escribirCadenaJson(destino, arbol == null ? null : arbol.toString());
+            }
+            destino.append(']');
+        }
+    }
+
+    private static String unirErrores(List<ErrorInstruccion> errores) {
+        StringBuilder texto = new StringBuilder();
+        for (ErrorInstruccion error : errores) {
+            if (texto.length() > 0) {
+                texto.append(" | ");
+            }
+            texto.append(error);
+        }
+        return texto.toString();
+    }
+
+    // Escribe una lista de textos como arreglo JSON
+    static void escribirListaJson(StringBuilder destino, List<String> valores) {
+        destino.append('[');
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                destino.append(',');
+            }
+            escribirCadenaJson(destino, valores.get(i));
+        }
+        destino.append(']');
+    }
+
+    // Escribe un texto como cadena JSON escapando los caracteres especiales
+    static void escribirCadenaJson(StringBuilder destino, String texto) {
+        if (texto == null) {
+            destino.append("null");
+            return;
+        }
+        destino.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"':
+                    destino.append("\\\"");
+                    break;
+                case '\\':
+                    destino.append("\\\\");
+                    break;
+                case '\n':
+                    destino.append("\\n");
+                    break;
+                case '\r':
+                    destino.append("\\r");
+                    break;
+                case '\t':
+                    destino.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+                    break;
+            }
+        }
+        destino.append('"');
+    }
+
+    // Escribe un campo CSV, entre comillas si contiene separadores, comillas o saltos de línea
+    static void escribirCampoCsv(StringBuilder destino, String texto) {
+        boolean requiereComillas = false;
+        for (int i = 0; i < texto.length() && !requiereComillas; i++) {
+            char c = texto.charAt(i);
+            requiereComillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!requiereComillas) {
+            destino.append(texto);
+            return;
+        }
+        destino.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"') {
+                destino.append('"');
+            }
+            destino.append(c);
+        }
+        destino.append('"');
+    }
+}
@@ -0,0 +1,213 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+
+// Servicio HTTP de análisis sobre com.sun.net.httpserver, sin dependencias externas.
+//   POST /analizar   cuerpo: una expresión            respuesta: un objeto JSON
+//   POST /lote       cuerpo: una expresión por línea   respuesta: JSON Lines (o CSV con ?formato=csv)
+//   GET  /salud      responde "ok"
+// Los objetos JSON son los mismos que escribe AnalizadorLotes (léxico, sintáctico y semántico).
+// El lote se lee y se responde en flujo, sin cargar el cuerpo completo en memoria. Cada petición
+// se atiende en un hilo virtual si la JVM los tiene (Java 21 o posterior) y, si no, en un hilo de
+// plataforma. Como el análisis usa la CPU, a lo sumo 'concurrencia' peticiones se analizan a la
+// vez; las que sobran se rechazan de inmediato con 503 para que el cliente reintente.
+public class ServidorAnalisis {
+
+    private static final int LIMITE_EXPRESION = 1 << 20;   // Bytes máximos del cuerpo de /analizar
+    private static final int TAMANO_BUFFER = 1 << 16;
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final String TIPO_JSON_LINES = "application/x-ndjson; charset=utf-8";
+    private static final String TIPO_CSV = "text/csv; charset=utf-8";
+    private static final String TIPO_TEXTO = "text/plain; charset=utf-8";
+
+    private final AnalizadorLenguajeNatural analizador;
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final Semaphore permisos;
+
+    // Crea el servidor en la dirección dada (puerto 0 para uno libre); no empieza a atender hasta iniciar()
+    public ServidorAnalisis(InetSocketAddress direccion, int concurrencia, AnalizadorLenguajeNatural analizador)
+            throws IOException {
+        if (concurrencia <= 0) {
+            throw new IllegalArgumentException("La concurrencia debe ser positiva: " + concurrencia);
+        }
+        this.analizador = analizador;
+        this.permisos = new Semaphore(concurrencia);
+        this.ejecutor = crearEjecutor();
+        this.servidor = HttpServer.create(direccion, 0);
+        servidor.setExecutor(ejecutor);
+        servidor.createContext("/analizar", limitado(this::analizar));
+        servidor.createContext("/lote", limitado(this::analizarLote));
+        servidor.createContext("/salud", intercambio -> responder(intercambio, 200, TIPO_TEXTO, "ok"));
+    }
+
+    // Un hilo virtual por petición si están disponibles (se buscan por reflexión porque el proyecto
+    // compila para Java 17); si no, hilos de plataforma que se reutilizan entre peticiones
+    private static ExecutorService crearEjecutor() {
+        try {
+            Method porTarea = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) porTarea.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger numero = new AtomicInteger();
+            ThreadFactory fabrica = tarea -> {
+                Thread hilo = new Thread(tarea, "servidor-analisis-" + numero.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            };
+            return Executors.newCachedThreadPool(fabrica);
+        }
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    // Deja de aceptar conexiones, espera hasta 'segundos' a las peticiones en curso y libera los hilos
+    public void detener(int segundos) {
+        servidor.stop(segundos);
+        ejecutor.shutdown();
+    }
+
+    public InetSocketAddress getDireccion() {
+        return servidor.getAddress();
+    }
+
+    // Manejador que solo admite POST y que rechaza la petición si ya se alcanzó la concurrencia máxima
+    private HttpHandler limitado(HttpHandler manejador) {
+        return intercambio -> {
+            try {
+                if (!intercambio.getRequestMethod().equals("POST")) {
+                    intercambio.getResponseHeaders().set("Allow", "POST");
+                    responder(intercambio, 405, TIPO_TEXTO, "Solo se admite POST");
+                    return;
+                }
+                if (!permisos.tryAcquire()) {
+                    intercambio.getResponseHeaders().set("Retry-After", "1");
+                    responder(intercambio, 503, TIPO_TEXTO, "Servidor ocupado");
+                    return;
+                }
+                try {
+                    manejador.handle(intercambio);
+                } finally {
+                    permisos.release();
+                }
+            } finally {
+                intercambio.close();
+            }
+        };
+    }
+
+    // POST /analizar: analiza la expresión del cuerpo y responde con un objeto JSON
+    private void analizar(HttpExchange intercambio) throws IOException {
+        String expresion = leerCuerpo(intercambio.getRequestBody());
+        if (expresion == null) {
+            responder(intercambio, 413, TIPO_TEXTO, "La expresión supera " + LIMITE_EXPRESION + " bytes");
+            return;
+        }
+        ResultadoAnalisis resultado = analizador.analizar(expresion);
+        ResultadoSemantico resultadoSemantico = analizador.analizarSemantico(resultado, new HashMap<>());
+
+        StringBuilder json = new StringBuilder(512);
+        SerializadorResultados.escribirJson(json, 0, resultado, resultadoSemantico);
+        responder(intercambio, 200, TIPO_JSON, json.toString());
+    }
+
+    // POST /lote: analiza una expresión por línea y escribe cada resultado en cuanto está listo
+    private void analizarLote(HttpExchange intercambio) throws IOException {
+        String consulta = intercambio.getRequestURI().getRawQuery();
+        AnalizadorLotes.Formato formato = consulta != null && consulta.contains("formato=csv")
+                ? AnalizadorLotes.Formato.CSV : AnalizadorLotes.Formato.JSONL;
+
+        intercambio.getResponseHeaders().set("Content-Type",
+                formato == AnalizadorLotes.Formato.CSV ? TIPO_CSV : TIPO_JSON_LINES);
+        intercambio.sendResponseHeaders(200, 0); // Longitud desconocida: respuesta por partes
+        try (BufferedReader entrada = new BufferedReader(
+                new InputStreamReader(intercambio.getRequestBody(), StandardCharsets.UTF_8), TAMANO_BUFFER);
+                Writer salida = new BufferedWriter(
+                        new OutputStreamWriter(intercambio.getResponseBody(), StandardCharsets.UTF_8), TAMANO_BUFFER)) {
+            new AnalizadorLotes(analizador).procesar(entrada, salida, formato);
+        }
+    }
+
+    // Lee el cuerpo completo como UTF-8, o devuelve null si supera el límite
+    private static String leerCuerpo(InputStream cuerpo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] bloque = new byte[8192];
+        int leidos;
+        while ((leidos = cuerpo.read(bloque)) > 0) {
+            if (bytes.size() + leidos > LIMITE_EXPRESION) {
+                return null;
+            }
+            bytes.write(bloque, 0, leidos);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String tipo, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", tipo);
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    // uso: ServidorAnalisis [--host 127.0.0.1] [--puerto 8080] [--concurrencia n] [--cache capacidad] [--metricas]
+    public static void main(String[] args) throws IOException, JMException {
+        String host = "127.0.0.1";
+        int puerto = 8080;
+        int concurrencia = 2 * Runtime.getRuntime().availableProcessors();
+        CacheAnalisis cache = null;
+        MetricasAnalisis metricas = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--host") && i + 1 < args.length) {
+                host = args[++i];
+            } else if (args[i].equals("--puerto") && i + 1 < args.length) {
+                puerto = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--concurrencia") && i + 1 < args.length) {
+                concurrencia = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--cache") && i + 1 < args.length) {
+                cache = new CacheAnalisis(Integer.parseInt(args[++i]));
+            } else if (args[i].equals("--metricas")) {
+                metricas = new MetricasAnalisis();
+            } else {
+                System.err.println("Uso: ServidorAnalisis [--host 127.0.0.1] [--puerto 8080] [--concurrencia n]"
+                        + " [--cache capacidad] [--metricas]");
+                System.exit(2);
+            }
+        }
+        if (metricas != null) {
+            metricas.registrar("ServidorAnalisis");
+        }
+
+        ServidorAnalisis servidor = new ServidorAnalisis(new InetSocketAddress(host, puerto), concurrencia,
+                new AnalizadorLenguajeNatural(cache, SumideroDiagnosticos.NINGUNO, metricas));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> servidor.detener(1)));
+        servidor.iniciar();
+        System.err.println("Servidor de análisis en http://" + host + ":" + servidor.getDireccion().getPort()
+                + " (concurrencia " + concurrencia + ")");
+    }
+}
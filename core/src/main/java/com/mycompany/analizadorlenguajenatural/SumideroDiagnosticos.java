@@ -0,0 +1,15 @@
+package com.mycompany.analizadorlenguajenatural;
+
+// Destino de los diagnósticos de cada análisis. El analizador lo llama desde el hilo que
+// analiza, solo cuando hay algún diagnóstico, así que las implementaciones no deben bloquear
+// ni sincronizar: deben guardar o encolar los diagnósticos y volver de inmediato.
+@FunctionalInterface
+public interface SumideroDiagnosticos {
+
+    // Descarta todos los diagnósticos (el sumidero por omisión)
+    SumideroDiagnosticos NINGUNO = diagnosticos -> {
+    };
+
+    // Recibe los diagnósticos de un análisis; no se modifican después de publicarse
+    void publicar(Diagnosticos diagnosticos);
+}
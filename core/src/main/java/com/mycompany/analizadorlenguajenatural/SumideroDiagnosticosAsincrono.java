@@ -0,0 +1,126 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Sumidero que escribe los diagnósticos en texto desde un hilo propio. Los hilos que analizan
+// solo encolan (sin bloqueos) y vuelven; si la cola está llena porque el destino no da abasto,
+// los diagnósticos se descartan y se cuentan en lugar de frenar el análisis.
+public final class SumideroDiagnosticosAsincrono implements SumideroDiagnosticos, AutoCloseable {
+
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Writer destino;
+    private final int capacidad;
+    private final ConcurrentLinkedQueue<Diagnosticos> cola = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendientes = new AtomicInteger();
+    private final LongAdder escritos = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final Thread escritor;
+    private volatile boolean cerrado;
+    private volatile boolean esperando;        // El escritor está dormido esperando diagnósticos
+    private volatile IOException errorEscritura; // Primer error del destino; después se descarta todo
+
+    // Escribe en 'destino' con una cola de a lo sumo 'capacidad' análisis pendientes
+    public SumideroDiagnosticosAsincrono(Writer destino, int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cola debe ser positiva: " + capacidad);
+        }
+        this.destino = destino;
+        this.capacidad = capacidad;
+        this.escritor = new Thread(this::escribirPendientes, "sumidero-diagnosticos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    @Override
+    public void publicar(Diagnosticos diagnosticos) {
+        if (cerrado || errorEscritura != null) {
+            descartados.increment();
+            return;
+        }
+        if (pendientes.incrementAndGet() > capacidad) {
+            pendientes.decrementAndGet();
+            descartados.increment();
+            return;
+        }
+        cola.add(diagnosticos);
+        if (esperando) {
+            LockSupport.unpark(escritor);
+        }
+    }
+
+    // Bucle del hilo escritor: vacía la cola y duerme hasta que haya más o se cierre el sumidero
+    private void escribirPendientes() {
+        while (true) {
+            Diagnosticos diagnosticos = cola.poll();
+            if (diagnosticos == null) {
+                try {
+                    destino.flush();
+                } catch (IOException e) {
+                    registrarError(e);
+                }
+                if (cerrado && cola.isEmpty()) {
+                    return;
+                }
+                esperando = true;
+                if (cola.isEmpty() && !cerrado) {
+                    LockSupport.parkNanos(this, ESPERA_NANOS);
+                }
+                esperando = false;
+                continue;
+            }
+            pendientes.decrementAndGet();
+            if (errorEscritura != null) {
+                descartados.increment();
+                continue;
+            }
+            try {
+                diagnosticos.escribir(destino);
+                escritos.increment();
+            } catch (IOException e) {
+                registrarError(e);
+                descartados.increment();
+            }
+        }
+    }
+
+    private void registrarError(IOException e) {
+        if (errorEscritura == null) {
+            errorEscritura = e;
+        }
+    }
+
+    // Análisis cuyos diagnósticos ya se escribieron
+    public long getEscritos() {
+        return escritos.sum();
+    }
+
+    // Análisis cuyos diagnósticos se descartaron (cola llena, sumidero cerrado o error de escritura)
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    // Primer error de escritura del destino, o null si no hubo
+    public IOException getErrorEscritura() {
+        return errorEscritura;
+    }
+
+    // Deja de aceptar diagnósticos, escribe los pendientes y espera al hilo escritor.
+    // No cierra el destino, que pertenece a quien lo creó.
+    @Override
+    public void close() {
+        cerrado = true;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.Diagnosticos.Diagnostico;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Sumidero que guarda en memoria los diagnósticos publicados, para consultarlos después.
+// La cola no usa bloqueos, así que varios hilos pueden publicar a la vez sin esperarse.
+public final class SumideroDiagnosticosMemoria implements SumideroDiagnosticos {
+
+    private final ConcurrentLinkedQueue<Diagnosticos> publicados = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publicar(Diagnosticos diagnosticos) {
+        publicados.add(diagnosticos);
+    }
+
+    // Diagnósticos de cada análisis, en orden de publicación
+    public List<Diagnosticos> getPublicados() {
+        return new ArrayList<>(publicados);
+    }
+
+    // Todos los diagnósticos publicados, uno detrás de otro
+    public List<Diagnostico> getDiagnosticos() {
+        List<Diagnostico> todos = new ArrayList<>();
+        for (Diagnosticos diagnosticos : publicados) {
+            todos.addAll(diagnosticos.comoLista());
+        }
+        return todos;
+    }
+
+    public void limpiar() {
+        publicados.clear();
+    }
+}
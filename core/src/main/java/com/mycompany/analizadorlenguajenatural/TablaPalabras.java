@@ -0,0 +1,94 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.Arrays;
+
+// Trie inmutable de palabras que asocia a cada palabra un valor entero.
+// Se construye una sola vez y permite buscar un fragmento de la entrada sin crear Strings.
+final class TablaPalabras {
+
+    public static final int NINGUNO = -1;   // Valor devuelto cuando la palabra no está en la tabla
+
+    private final byte[] columnaAscii = new byte[128]; // Columna de cada carácter ASCII (-1 si no aparece)
+    private final char[] alfabetoExtendido;            // Caracteres no ASCII del vocabulario
+    private final int[] columnaExtendida;              // Columna de cada carácter no ASCII
+    private final int columnas;                        // Tamaño del alfabeto del vocabulario
+    private final int[] transiciones;                  // Tabla nodo x columna, 0 = sin transición
+    private final int[] valores;                       // Valor asociado a cada nodo
+
+    // Construye la tabla a partir de pares palabra/valor (las palabras deben estar en minúsculas)
+    TablaPalabras(String[] palabras, int[] valoresPalabras) {
+        Arrays.fill(columnaAscii, (byte) -1);
+        StringBuilder extendido = new StringBuilder();
+        int[] columnasExtendidas = new int[8];
+        int siguienteColumna = 0;
+        int totalCaracteres = 1;
+        for (String palabra : palabras) {
+            totalCaracteres += palabra.length();
+            for (int i = 0; i < palabra.length(); i++) {
+                char c = palabra.charAt(i);
+                if (c < 128) {
+                    if (columnaAscii[c] < 0) {
+                        columnaAscii[c] = (byte) siguienteColumna++;
+                    }
+                } else if (extendido.indexOf(String.valueOf(c)) < 0) {
+                    if (extendido.length() == columnasExtendidas.length) {
+                        columnasExtendidas = Arrays.copyOf(columnasExtendidas, extendido.length() * 2);
+                    }
+                    columnasExtendidas[extendido.length()] = siguienteColumna++;
+                    extendido.append(c);
+                }
+            }
+        }
+        this.alfabetoExtendido = extendido.toString().toCharArray();
+        this.columnaExtendida = Arrays.copyOf(columnasExtendidas, alfabetoExtendido.length);
+        this.columnas = siguienteColumna;
+
+        int[] tabla = new int[totalCaracteres * columnas];
+        int[] valoresNodo = new int[totalCaracteres];
+        Arrays.fill(valoresNodo, NINGUNO);
+        int nodos = 1;
+        for (int p = 0; p < palabras.length; p++) {
+            int nodo = 0;
+            String palabra = palabras[p];
+            for (int i = 0; i < palabra.length(); i++) {
+                int indice = nodo * columnas + columna(palabra.charAt(i));
+                if (tabla[indice] == 0) {
+                    tabla[indice] = nodos++;
+                }
+                nodo = tabla[indice];
+            }
+            valoresNodo[nodo] = valoresPalabras[p];
+        }
+        this.transiciones = Arrays.copyOf(tabla, nodos * columnas);
+        this.valores = Arrays.copyOf(valoresNodo, nodos);
+    }
+
+    // Busca el fragmento [inicio, fin) sin distinguir mayúsculas; devuelve NINGUNO si no existe
+    int buscar(CharSequence texto, int inicio, int fin) {
+        int nodo = 0;
+        for (int i = inicio; i < fin; i++) {
+            int columna = columna(Character.toLowerCase(texto.charAt(i)));
+            if (columna < 0) {
+                return NINGUNO;
+            }
+            nodo = transiciones[nodo * columnas + columna];
+            if (nodo == 0) {
+                return NINGUNO;
+            }
+        }
+        return valores[nodo];
+    }
+
+    // Obtiene la columna de un carácter en la tabla de transiciones
+    private int columna(char c) {
+        if (c < 128) {
+            return columnaAscii[c];
+        }
+        for (int i = 0; i < alfabetoExtendido.length; i++) {
+            if (alfabetoExtendido[i] == c) {
+                return columnaExtendida[i];
+            }
+        }
+        return -1;
+    }
+}
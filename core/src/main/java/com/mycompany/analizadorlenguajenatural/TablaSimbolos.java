@@ -0,0 +1,68 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tabla de símbolos de un análisis: asigna a cada nombre de variable un identificador entero
+// denso (0, 1, 2...) en orden de aparición. El nombre se busca una sola vez, al construir el
+// árbol; las fases siguientes trabajan con el identificador e indexan arreglos.
+// Fuera del paquete la tabla es de solo lectura. Las tablas de los resultados guardados en
+// CacheAnalisis están congeladas: se comparten entre hilos y registrar() en ellas lanza
+// UnsupportedOperationException; quien necesite agregar nombres trabaja sobre una copia().
+public final class TablaSimbolos {
+
+    private final Map<String, Integer> identificadores;
+    private final List<String> nombres;
+
+    public TablaSimbolos() {
+        this(new HashMap<>(), new ArrayList<>());
+    }
+
+    private TablaSimbolos(Map<String, Integer> identificadores, List<String> nombres) {
+        this.identificadores = identificadores;
+        this.nombres = nombres;
+    }
+
+    // Devuelve el identificador del nombre, registrándolo si es la primera vez que aparece
+    int registrar(String nombre) {
+        Integer id = identificadores.get(nombre);
+        if (id == null) {
+            id = nombres.size();
+            nombres.add(nombre);
+            identificadores.put(nombre, id);
+        }
+        return id;
+    }
+
+    // Copia modificable de la tabla, con los mismos identificadores
+    TablaSimbolos copia() {
+        return new TablaSimbolos(new HashMap<>(identificadores), new ArrayList<>(nombres));
+    }
+
+    // Copia inmutable de la tabla, con los mismos identificadores
+    TablaSimbolos congelada() {
+        return new TablaSimbolos(Map.copyOf(identificadores), List.copyOf(nombres));
+    }
+
+    // Identificador del nombre, o -1 si no está registrado
+    public int buscar(String nombre) {
+        Integer id = identificadores.get(nombre);
+        return id == null ? -1 : id;
+    }
+
+    public String nombre(int id) {
+        return nombres.get(id);
+    }
+
+    public int tamano() {
+        return nombres.size();
+    }
+
+    // Nombres registrados, en el orden de sus identificadores
+    public List<String> getNombres() {
+        return Collections.unmodifiableList(nombres);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+// Tipos de token reconocidos por el analizador léxico
+public enum TipoToken {
+
+    NUMERO("Numero", null, 0),
+    IDENTIFICADOR("Identificador", null, 0),
+    OPERADOR_SUMA("OperadorSuma", "+", 2),
+    OPERADOR_RESTA("OperadorResta", "-", 2),
+    OPERADOR_MULTIPLICACION("OperadorMultiplicacion", "*", 2),
+    OPERADOR_DIVISION("OperadorDivision", "/", 2),
+    OPERADOR_POTENCIA("OperadorPotencia", "^", 2),
+    OPERADOR_RAIZ("OperadorRaiz", "√", 1),
+    CONECTOR_Y("ConectorY", "y", 0),
+    CONECTOR_CON("ConectorCon", "con", 0),
+    COMA("Coma", ",", 0),
+    OPERADOR_ASIGNACION("OperadorAsignacion", "=", 0);
+
+    // Operadores aritméticos y conectores opcionales entre operandos; privados porque EnumSet es
+    // mutable, y se consultan con esOperador() y esConector()
+    private static final EnumSet<TipoToken> OPERADORES = EnumSet.range(OPERADOR_SUMA, OPERADOR_RAIZ);
+    private static final EnumSet<TipoToken> CONECTORES = EnumSet.of(CONECTOR_Y, CONECTOR_CON);
+
+    private static final TipoToken[] POR_ORDINAL = values();
+    private static final Map<String, TipoToken> POR_NOMBRE = new HashMap<>();
+
+    static {
+        for (TipoToken tipo : POR_ORDINAL) {
+            POR_NOMBRE.put(tipo.nombre, tipo);
+        }
+    }
+
+    private final String nombre;   // Nombre del tipo usado en Token.tipo (e.g., OperadorSuma)
+    private final String valor;    // Valor interno fijo del token, null si depende del texto
+    private final int aridad;      // Número de operandos que requiere un operador
+
+    TipoToken(String nombre, String valor, int aridad) {
+        this.nombre = nombre;
+        this.valor = valor;
+        this.aridad = aridad;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public int getAridad() {
+        return aridad;
+    }
+
+    public boolean esOperador() {
+        return OPERADORES.contains(this);
+    }
+
+    public boolean esConector() {
+        return CONECTORES.contains(this);
+    }
+
+    // Obtiene el tipo a partir de su ordinal sin crear copias del arreglo de valores
+    public static TipoToken desdeOrdinal(int ordinal) {
+        return POR_ORDINAL[ordinal];
+    }
+
+    // Obtiene el tipo a partir del nombre usado en Token.tipo, o null si no existe
+    public static TipoToken desdeNombre(String nombre) {
+        return POR_NOMBRE.get(nombre);
+    }
+}
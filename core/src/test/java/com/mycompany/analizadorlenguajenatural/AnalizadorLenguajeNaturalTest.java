@@ -0,0 +1,63 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+// Puntos de entrada del analizador que compilan o evalúan: deben rechazar con
+// IllegalArgumentException los análisis con errores sintácticos o semánticos, y aceptar las
+// variables sin asignar, que son entradas del programa.
+class AnalizadorLenguajeNaturalTest {
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    @Test
+    void rechazaErroresSemanticos() throws IOException {
+        String expresion = "x = cuatro raiz dos";
+        ResultadoAnalisis resultado = analizador.analizar(expresion);
+        assertTrue(resultado.resultadoSintactico.esValido);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> analizador.evaluar(expresion, Map.of()));
+        assertTrue(error.getMessage().startsWith("No se puede compilar una expresión con errores semánticos: "
+                + "Error semántico: El operador '√' espera 1 operando"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> analizador.compilar(resultado));
+        assertThrows(IllegalArgumentException.class, () -> analizador.compilarPostfijo(resultado));
+        assertThrows(IllegalArgumentException.class, () -> analizador.compilarColumnar(resultado));
+        assertThrows(IllegalArgumentException.class, () -> analizador.compilarParalelo(resultado));
+        assertThrows(IllegalArgumentException.class, () -> analizador.evaluarExacto(expresion, Map.of()));
+        try (CompiladorJava compilador = new CompiladorJava(4)) {
+            assertThrows(IllegalArgumentException.class, () -> compilador.compilar(resultado));
+        }
+    }
+
+    @Test
+    void rechazaErroresSintacticos() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> analizador.evaluar("x = suma", Map.of()));
+        assertTrue(error.getMessage().startsWith("No se puede compilar una expresión con errores sintácticos: "),
+                error.getMessage());
+    }
+
+    @Test
+    void lasVariablesSinAsignarSonEntradas() {
+        assertEquals(Map.of("x", 6.0, "b", 2.0), analizador.evaluar("x = multiplica b por tres", Map.of("b", 2)));
+        assertEquals(Map.of("x", 6L, "b", 2L), analizador.evaluarExacto("x = multiplica b por tres", Map.of("b", 2)));
+    }
+
+    @Test
+    void variablesDefinidasConSuIdentificador() {
+        ResultadoAnalisis resultado = analizador.analizar("w = suma b y uno, total = multiplica w por b");
+        Map<String, Integer> porArboles = new HashMap<>();
+        Map<String, Integer> porTokens = new HashMap<>();
+        analizador.analizarSemantico(resultado, porArboles);
+        analizador.analizarSemantico(resultado.resultadoLexico.buffer, porTokens);
+        assertEquals(Map.of("w", 0, "total", 2), porArboles);
+        assertEquals(porArboles, porTokens);
+    }
+}
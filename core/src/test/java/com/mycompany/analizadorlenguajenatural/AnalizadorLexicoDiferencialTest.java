@@ -0,0 +1,125 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.Token;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// Prueba diferencial del analizador léxico por tabla contra el analizador original por expresiones
+// regulares (LexicoRegexReferencia): para entradas aleatorias ambos deben dar los mismos tokens,
+// identificadores y fragmentos no reconocidos. Se descuentan los cambios hechos a propósito:
+// los números en dígitos se normalizan ("007" vale 7); la gramática completa de los cardinales
+// agrega palabras ("un", "ciento", "mil"...) y solo admite "y unidad" después de una decena
+// ("dieciocho y uno" ya no es 19, "noventa y una" sí es 91); y una palabra conectora seguida de
+// '=' es una variable. Las entradas con estos últimos casos se descartan.
+class AnalizadorLexicoDiferencialTest {
+
+    private static final String[] VOCABULARIO = {
+        "cero", "uno", "una", "dos", "tres", "cuatro", "cinco", "seis", "siete", "ocho", "nueve", "diez",
+        "once", "doce", "trece", "catorce", "quince", "dieciseis", "dieciséis", "diecisiete", "dieciocho",
+        "diecinueve", "veinte", "veintiuno", "veintidos", "veintidós", "veintitres", "veintitrés",
+        "veinticuatro", "veinticinco", "veintiseis", "veintiséis", "veintisiete", "veintiocho", "veintinueve",
+        "treinta", "cuarenta", "cincuenta", "sesenta", "setenta", "ochenta", "noventa", "cien",
+        "0", "7", "42", "007", "99999",
+        "suma", "anade", "mas", "resta", "quita", "menos", "multiplica", "por", "divide", "eleva", "potencia",
+        "raiz", "y", "luego", "a", "con", "de", "entre",
+        "x", "valor1", "_t", "Suma", "UNO", "DIEZ", "Treinta", "sumas", "mass", "x3", "3x",
+        ",", "=", "(", ")", "+", "ñ", "é", "¿", "\t"
+    };
+
+    private static final String SOPA = "abcdeilmnorsuxyz_019 ,=+()éñ\t";
+
+    private static final Pattern CONECTOR_ASIGNADO = Pattern.compile("(?i)(y|luego|a|con|de|entre)\\s*=");
+
+    // Lo que el analizador original leía como "número y unidad" sin que el número sea una decena
+    private static final Pattern UNIDAD_SIN_DECENA = Pattern.compile("(?i)\\b(cero|uno|una|dos|tres|cuatro|cinco|"
+            + "seis|siete|ocho|nueve|diez|once|doce|trece|catorce|quince|dieciséis|dieciseis|diecisiete|dieciocho|"
+            + "diecinueve|veinte|veintiuno|veintidós|veintidos|veintitrés|veintitres|veinticuatro|veinticinco|"
+            + "veintiséis|veintiseis|veintisiete|veintiocho|veintinueve|cien|\\d+)\\s+y\\s+"
+            + "(uno|dos|tres|cuatro|cinco|seis|siete|ocho|nueve)\\b");
+
+    // Palabras de número que el analizador original no conocía
+    private static final Pattern PALABRA_NUEVA = Pattern.compile("(?i)(?<![a-zA-Z_])(un|veintiuna|veintiún|"
+            + "veintiun|ciento|\\p{L}*cient[oa]s|quinient[oa]s|mil|millón|millon|millones|billón|billon|billones)"
+            + "(?![a-zA-Z_])");
+
+    private static final Pattern DECENA_Y_UNA = Pattern.compile("(?i)(treinta|cuarenta|cincuenta|sesenta|setenta|"
+            + "ochenta|noventa)\\s+y\\s+una(?![a-zA-Z_])");
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    @Test
+    void secuenciasDelVocabulario() {
+        Random aleatorio = new Random(20240101);
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder entrada = new StringBuilder();
+            int palabras = 1 + aleatorio.nextInt(12);
+            for (int i = 0; i < palabras; i++) {
+                if (i > 0) {
+                    int separador = aleatorio.nextInt(8);
+                    entrada.append(separador == 0 ? "" : separador == 1 ? "  " : " ");
+                }
+                entrada.append(VOCABULARIO[aleatorio.nextInt(VOCABULARIO.length)]);
+            }
+            comparar(entrada.toString());
+        }
+    }
+
+    @Test
+    void sopaDeCaracteres() {
+        Random aleatorio = new Random(7);
+        for (int n = 0; n < 50_000; n++) {
+            char[] entrada = new char[aleatorio.nextInt(40)];
+            for (int i = 0; i < entrada.length; i++) {
+                entrada[i] = SOPA.charAt(aleatorio.nextInt(SOPA.length()));
+            }
+            comparar(new String(entrada));
+        }
+    }
+
+    @Test
+    void ejemplosDelFormulario() {
+        comparar("x = suma cuatro con cinco");
+        comparar("w = multiplica x por tres, z = raiz de nueve");
+        comparar("total = resta treinta y dos de cien");
+        comparar("");
+        comparar("   ");
+        comparar("¿cuánto es dos?");
+        assertEquals(6, comparadas);
+    }
+
+    private int comparadas;   // Entradas que no se descartaron
+
+    @AfterEach
+    void verificarCobertura() {
+        // Los descartes no deben dejar la prueba sin entradas
+        assertTrue(comparadas >= 3, "Se compararon solo " + comparadas + " entradas");
+    }
+
+    private void comparar(String entrada) {
+        if (CONECTOR_ASIGNADO.matcher(entrada).find() || UNIDAD_SIN_DECENA.matcher(entrada.toLowerCase()).find()
+                || PALABRA_NUEVA.matcher(entrada).find() || DECENA_Y_UNA.matcher(entrada).find()) {
+            return;
+        }
+        comparadas++;
+        assertEquals(describir(LexicoRegexReferencia.analizar(entrada)),
+                describir(analizador.analizarLexico(entrada)), () -> "Entrada: \"" + entrada + "\"");
+    }
+
+    private static String describir(ResultadoLexico resultado) {
+        StringBuilder texto = new StringBuilder();
+        for (Token token : resultado.tokens) {
+            String valor = token.valor;
+            if (token.tipo.equals("Numero") && valor.matches("\\d+")) {
+                valor = valor.replaceFirst("^0+(?=\\d)", "");
+            }
+            texto.append(token.tipo).append(' ').append(valor).append(' ').append(token.valorOriginal).append('\n');
+        }
+        return texto.append(resultado.identificadores).append('\n').append(resultado.noReconocidos).toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+// Prueba diferencial del analizador léxico incremental: tras cada edición aleatoria (insertar,
+// borrar o reemplazar un tramo, o pegar un trozo del propio texto) actualizar debe dar los mismos
+// tokens, con los mismos tramos y valores, que analizarLexico sobre el texto completo.
+class AnalizadorLexicoIncrementalTest {
+
+    // Palabras que cambian de token al editarse a medias: números de varias palabras, conectores
+    // que pasan a ser variables ante '=', palabras con acento y fragmentos no reconocidos
+    private static final String[] FRAGMENTOS = {
+        "x", "y", "a", "con", "de", "entre", "luego", "valor", "_t", "total1",
+        "uno", "un", "dos", "tres", "diez", "veinte", "veintiún", "treinta", "noventa", "cien", "ciento",
+        "doscientos", "mil", "millón", "millones", "billón", "12", "007",
+        "suma", "mas", "resta", "menos", "multiplica", "por", "divide", "potencia", "eleva", "raiz",
+        "=", ",", " ", " ", " ", "  ", "\t", "\n", "(", "+", "é", "ñ", "¿", "?"
+    };
+
+    private static final String SOPA = "abcdeilmnorstuxyz_019 ,=éñ\t";
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    @Test
+    void edicionesAleatorias() {
+        SplittableRandom aleatorio = new SplittableRandom(2024);
+        for (int sesion = 0; sesion < 300; sesion++) {
+            AnalizadorLexicoIncremental incremental = new AnalizadorLexicoIncremental();
+            StringBuilder texto = new StringBuilder();
+            for (int edicion = 0; edicion < 300; edicion++) {
+                editar(texto, aleatorio);
+                comparar(incremental, texto.toString());
+            }
+        }
+    }
+
+    @Test
+    void escrituraDeProgramas() {
+        // Escribe programas generados carácter a carácter, con correcciones de vez en cuando,
+        // como en el formulario
+        GeneradorProgramas generador = new GeneradorProgramas(6, new GeneradorProgramas.Opciones());
+        SplittableRandom aleatorio = new SplittableRandom(6);
+        for (int n = 0; n < 20; n++) {
+            String programa = generador.programa();
+            AnalizadorLexicoIncremental incremental = new AnalizadorLexicoIncremental();
+            StringBuilder texto = new StringBuilder();
+            for (int i = 0; i < programa.length() && i < 600; i++) {
+                texto.append(programa.charAt(i));
+                comparar(incremental, texto.toString());
+                if (aleatorio.nextInt(20) == 0) {
+                    int borrados = Math.min(texto.length(), 1 + aleatorio.nextInt(6));
+                    texto.setLength(texto.length() - borrados);
+                    comparar(incremental, texto.toString());
+                    texto.append(programa, i + 1 - borrados, i + 1);
+                    comparar(incremental, texto.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void casosLimite() {
+        AnalizadorLexicoIncremental incremental = new AnalizadorLexicoIncremental();
+        String[] textos = {
+            "", "x = treinta", "x = treinta y", "x = treinta y uno", "x = treinta y uno mil",
+            "x = treinta y uno", "y = treinta y uno", "y= treinta y uno", "y=treinta", "y treinta",
+            "x = dos, y = x", "x = dos, y = x", "x = dos,y = x", "é = dos", "e = dos", "", "  ",
+        };
+        for (String texto : textos) {
+            comparar(incremental, texto);
+        }
+    }
+
+    private static void editar(StringBuilder texto, SplittableRandom aleatorio) {
+        int inicio = aleatorio.nextInt(texto.length() + 1);
+        int fin = Math.min(texto.length(), inicio + aleatorio.nextInt(texto.length() < 120 ? 4 : 12));
+        switch (aleatorio.nextInt(6)) {
+            case 0:
+            case 1:
+                texto.insert(inicio, FRAGMENTOS[aleatorio.nextInt(FRAGMENTOS.length)]);
+                break;
+            case 2:
+                texto.insert(inicio, SOPA.charAt(aleatorio.nextInt(SOPA.length())));
+                break;
+            case 3:
+                texto.delete(inicio, fin);
+                break;
+            case 4:
+                texto.replace(inicio, fin, FRAGMENTOS[aleatorio.nextInt(FRAGMENTOS.length)]);
+                break;
+            default:
+                // Pegar un trozo del propio texto en otra posición
+                String trozo = texto.substring(inicio, fin);
+                texto.insert(aleatorio.nextInt(texto.length() + 1), trozo);
+                break;
+        }
+        if (texto.length() > 400) {
+            texto.delete(0, texto.length() - 200);
+        }
+    }
+
+    private void comparar(AnalizadorLexicoIncremental incremental, String texto) {
+        assertEquals(describir(analizador.analizarLexico(texto)), describir(incremental.actualizar(texto)),
+                () -> "Texto: \"" + texto + "\"");
+    }
+
+    private static String describir(ResultadoLexico resultado) {
+        BufferTokens tokens = resultado.buffer;
+        StringBuilder texto = new StringBuilder(resultado.expresionOriginal).append('\n');
+        for (int i = 0; i < tokens.tamano(); i++) {
+            texto.append(tokens.tipo(i)).append(' ').append(tokens.inicio(i)).append(' ').append(tokens.fin(i))
+                    .append(' ').append(tokens.valor(i)).append('\n');
+        }
+        return texto.append(resultado.identificadores).append('\n').append(resultado.noReconocidos).toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Ida y vuelta por el archivo binario: cada programa decodificado debe dar la misma salida JSON
+// (tokens, árboles, errores, diagnósticos y análisis semántico) que el análisis original,
+// incluidos programas con errores y árboles de decenas de miles de niveles.
+class ArchivoAnalisisTest {
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void programasGenerados() throws IOException {
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        opciones.tasaLexica = 0.05;
+        opciones.tasaSintactica = 0.05;
+        opciones.tasaSemantica = 0.05;
+        GeneradorProgramas generador = new GeneradorProgramas(21, opciones);
+        List<String> programas = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            programas.add(generador.programa());
+        }
+        idaYVuelta(programas);
+    }
+
+    @Test
+    void arbolesProfundos() throws IOException {
+        List<String> programas = new ArrayList<>();
+        for (int terminos : new int[] {5_000, 20_000, 50_000}) {
+            programas.add("x = suma z" + " mas z".repeat(terminos));
+            // "dos mas uno ..." se pliega: los árboles optimizados son distintos de las instrucciones
+            programas.add("w = dos" + " mas uno".repeat(terminos) + ", v = w por z");
+        }
+        programas.add("x = " + "raiz de ".repeat(20_000) + "z");
+        ArchivoAnalisis archivo = idaYVuelta(programas);
+        // Los árboles decodificados se evalúan igual que los originales
+        Map<String, Double> entradas = Map.of("z", 1.5);
+        for (int i = 0; i < programas.size(); i++) {
+            assertEquals(analizador.compilar(analizador.analizar(programas.get(i))).evaluar(entradas),
+                    analizador.compilar(archivo.resultado(i)).evaluar(entradas), "Programa " + i);
+        }
+    }
+
+    private ArchivoAnalisis idaYVuelta(List<String> programas) throws IOException {
+        Path ruta = directorio.resolve("programas.bin");
+        List<String> esperados = new ArrayList<>();
+        try (ArchivoAnalisis.Escritor escritor = ArchivoAnalisis.crear(ruta)) {
+            for (String programa : programas) {
+                ResultadoAnalisis resultado = analizador.analizar(programa);
+                ResultadoSemantico semantico = analizador.analizarSemantico(resultado, new HashMap<>());
+                escritor.agregar(resultado, semantico);
+                esperados.add(json(resultado, semantico));
+            }
+        }
+        ArchivoAnalisis archivo = ArchivoAnalisis.abrir(ruta);
+        assertEquals(programas.size(), archivo.tamano());
+        for (int i = 0; i < programas.size(); i++) {
+            assertEquals(programas.get(i), archivo.expresion(i));
+            assertEquals(esperados.get(i), json(archivo.resultado(i), archivo.semantico(i)), programas.get(i));
+        }
+        return archivo;
+    }
+
+    private static String json(ResultadoAnalisis resultado, ResultadoSemantico semantico) {
+        StringBuilder destino = new StringBuilder();
+        SerializadorResultados.escribirJson(destino, 0, resultado, semantico);
+        return destino.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+// CacheAnalisis: la clave es el texto exacto, el desalojo es LRU, los contadores cuentan cada
+// consulta y los resultados guardados se pueden leer a la vez desde varios hilos sin que nadie
+// modifique su tabla de símbolos.
+class CacheAnalisisTest {
+
+    @Test
+    void laClaveEsElTextoExacto() throws IOException {
+        CacheAnalisis cache = new CacheAnalisis(16);
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural(cache);
+        ResultadoAnalisis primero = analizador.analizar("x = suma dos con tres");
+        ResultadoAnalisis segundo = analizador.analizar("X   =   SUMA dos a tres");
+        assertNotSame(primero, segundo);
+        assertEquals("X   =   SUMA dos a tres", segundo.resultadoLexico.expresionOriginal);
+        assertEquals(8, ((NodoExpresion.Asignacion) segundo.resultadoSintactico.instrucciones.get(0)).valor.inicio);
+        assertSame(primero, analizador.analizar("x = suma dos con tres"));
+
+        // Cada fila del lote tiene su propia expresión, aunque la caché ya tenga una equivalente
+        StringWriter salida = new StringWriter();
+        new AnalizadorLotes(new CacheAnalisis(16)).procesar(
+                new BufferedReader(new StringReader("x = suma dos con tres\nX   =   SUMA dos a tres\n")),
+                salida, AnalizadorLotes.Formato.CSV);
+        String[] filas = salida.toString().split("\n");
+        assertTrue(filas[1].startsWith("1,x = suma dos con tres,"), filas[1]);
+        assertTrue(filas[2].startsWith("2,X   =   SUMA dos a tres,"), filas[2]);
+    }
+
+    @Test
+    void desalojoLruYContadores() {
+        // Capacidad 1: un solo segmento con una entrada
+        CacheAnalisis cache = new CacheAnalisis(1);
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural(cache);
+        analizador.analizar("x = uno");
+        analizador.analizar("x = uno");
+        analizador.analizar("x = dos");
+        analizador.analizar("x = uno");
+        assertEquals(1, cache.getAciertos());
+        assertEquals(3, cache.getFallos());
+        assertEquals(2, cache.getDesalojos());
+        assertEquals(1, cache.tamano());
+
+        // Se desaloja la entrada usada hace más tiempo de su segmento: una expresión que se lee
+        // entre cada inserción nunca es la más antigua y sobrevive a 1000 inserciones
+        CacheAnalisis grande = new CacheAnalisis(64);
+        analizador = new AnalizadorLenguajeNatural(grande);
+        for (int i = 1; i <= 1000; i++) {
+            analizador.analizar("x = 0");
+            analizador.analizar("y = " + i);
+        }
+        assertEquals(999, grande.getAciertos());
+        assertEquals(1001, grande.getFallos());
+        assertTrue(grande.tamano() <= 64);
+        assertEquals(1001 - grande.tamano(), grande.getDesalojos());
+        analizador.analizar("x = 0");
+        assertEquals(1000, grande.getAciertos());
+
+        grande.limpiar();
+        assertEquals(0, grande.tamano());
+        assertThrows(IllegalArgumentException.class, () -> new CacheAnalisis(0));
+    }
+
+    @Test
+    void tablaDeSimbolosCongelada() {
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural(new CacheAnalisis(4));
+        ResultadoAnalisis resultado = analizador.analizar("x = suma b con uno, w = multiplica x por b");
+        TablaSimbolos simbolos = resultado.resultadoSintactico.simbolos;
+        assertThrows(UnsupportedOperationException.class, () -> simbolos.registrar("z"));
+
+        // Los nodos sin identificador se registran en una copia, no en la tabla compartida
+        List<NodoExpresion> arboles = List.of(new NodoExpresion.Asignacion("z = x", "z", -1,
+                new NodoExpresion.Referencia("x", "x", -1, 4, 5), 0, 5));
+        Map<String, Integer> definidas = new HashMap<>(Map.of("x", 0));
+        assertTrue(AnalizadorSemantico.analizar(arboles, simbolos, definidas, "z = x").esValido);
+        GrafoDependencias.construir(arboles, simbolos);
+        // Una referencia que no está en la tabla se registra en la copia y es un error semántico
+        assertEquals(List.of("Error semántico: La variable 'q' no ha sido definida."), AnalizadorSemantico.analizar(
+                List.of(new NodoExpresion.Referencia("q", "q", -1, 0, 1)), simbolos, new HashMap<>(), "q").errores);
+        assertEquals(List.of("x", "b", "w"), simbolos.getNombres());
+    }
+
+    @Test
+    void lecturasConcurrentes() throws Exception {
+        CacheAnalisis cache = new CacheAnalisis(4096);
+        AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural(cache);
+        GeneradorProgramas generador = new GeneradorProgramas(8, new GeneradorProgramas.Opciones());
+        List<String> programas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            programas.add(generador.programa());
+        }
+        AnalizadorLenguajeNatural sinCache = new AnalizadorLenguajeNatural();
+        List<String> esperados = new ArrayList<>();
+        for (String programa : programas) {
+            esperados.add(describir(sinCache, sinCache.analizar(programa)));
+        }
+
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < 4; h++) {
+                int desplazamiento = h * 50;
+                tareas.add(hilos.submit(() -> {
+                    for (int vuelta = 0; vuelta < 20; vuelta++) {
+                        for (int i = 0; i < programas.size(); i++) {
+                            int indice = (i + desplazamiento) % programas.size();
+                            ResultadoAnalisis resultado = analizador.analizar(programas.get(indice));
+                            assertEquals(esperados.get(indice), describir(analizador, resultado));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+        assertEquals(4 * 20 * 200, cache.getAciertos() + cache.getFallos());
+        assertTrue(cache.getFallos() >= 200);
+        assertEquals(200, cache.tamano());
+    }
+
+    private static String describir(AnalizadorLenguajeNatural analizador, ResultadoAnalisis resultado) {
+        Map<String, Integer> definidas = new HashMap<>();
+        ResultadoSemantico semantico = analizador.analizarSemantico(resultado, definidas);
+        StringBuilder texto = new StringBuilder();
+        SerializadorResultados.escribirJson(texto, 1, resultado, semantico);
+        return texto.append(definidas).toString();
+    }
+}
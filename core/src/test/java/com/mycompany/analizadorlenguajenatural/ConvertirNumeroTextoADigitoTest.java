@@ -0,0 +1,90 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+// Tablas de la gramática de ConvertirNumeroTextoADigito: cada fila es un texto y el valor que
+// debe devolver convertir, o NO_ES_NUMERO si la forma se rechaza.
+class ConvertirNumeroTextoADigitoTest {
+
+    private static final long NO = ConvertirNumeroTextoADigito.NO_ES_NUMERO;
+
+    @Test
+    void unidadesDecenasYCentenas() {
+        comparar(new Object[][] {
+            {"cero", 0L}, {"uno", 1L}, {"un", 1L}, {"una", 1L}, {"nueve", 9L},
+            {"diez", 10L}, {"quince", 15L}, {"dieciséis", 16L}, {"dieciseis", 16L}, {"veinte", 20L},
+            {"veintiuno", 21L}, {"veintidós", 22L}, {"veintinueve", 29L},
+            {"treinta", 30L}, {"treinta y uno", 31L}, {"cuarenta  y   dos", 42L}, {"noventa y nueve", 99L},
+            {"cien", 100L}, {"ciento", 100L}, {"ciento uno", 101L}, {"ciento diez", 110L},
+            {"ciento treinta y cinco", 135L}, {"doscientas", 200L}, {"quinientos veinte", 520L},
+            {"novecientos noventa y nueve", 999L},
+        });
+    }
+
+    @Test
+    void milesMillonesYBillones() {
+        comparar(new Object[][] {
+            {"mil", 1_000L}, {"mil uno", 1_001L}, {"dos mil", 2_000L}, {"veintiún mil", 21_000L},
+            {"treinta y un mil", 31_000L}, {"cien mil", 100_000L}, {"ciento un mil", 101_000L},
+            {"novecientos noventa y nueve mil novecientos noventa y nueve", 999_999L},
+            {"un millón", 1_000_000L}, {"un millon", 1_000_000L}, {"dos millones", 2_000_000L},
+            {"un millón uno", 1_000_001L}, {"mil millones", 1_000_000_000L},
+            {"tres millones doscientos mil cuarenta", 3_200_040L},
+            {"un billón", 1_000_000_000_000L}, {"dos billones", 2_000_000_000_000L},
+            {"un billón un millón", 1_000_001_000_000L},
+            {"un billón dos millones tres mil cuatro", 1_000_002_003_004L},
+        });
+    }
+
+    @Test
+    void formasRechazadas() {
+        comparar(new Object[][] {
+            // "y" solo une decenas con unidades
+            {"cuatro y cinco", NO}, {"cien y uno", NO}, {"veinte y uno", NO}, {"treinta y", NO},
+            {"y uno", NO},
+            // Dos palabras del mismo orden seguidas
+            {"uno dos", NO}, {"diez cinco", NO}, {"treinta cuarenta", NO}, {"cien uno", NO},
+            {"ciento cien", NO}, {"mil mil", NO},
+            // Cero solo puede ir sola; las escalas necesitan una cantidad y van de mayor a menor
+            {"cero uno", NO}, {"uno cero", NO}, {"millón", NO}, {"billones", NO},
+            {"un millón un billón", NO}, {"un millón dos millones", NO},
+            // Texto que no es un número
+            {"", NO}, {"hola", NO}, {"dos hola", NO}, {"dos,tres", NO},
+        });
+    }
+
+    @Test
+    void formasRarasAceptadas() {
+        // Comportamiento actual, no español correcto: "un mil" vale lo mismo que "mil" y
+        // "mil millon" se acepta en singular como "mil millones"
+        comparar(new Object[][] {
+            {"un mil", 1_000L}, {"mil millon", 1_000_000_000L},
+        });
+    }
+
+    @Test
+    void digitosYTexto() {
+        comparar(new Object[][] {
+            {"0", 0L}, {"2024", 2024L}, {"9223372036854775807", Long.MAX_VALUE},
+            {"9223372036854775808", NO}, {"12a", NO},
+        });
+        ConvertirNumeroTextoADigito convertidor = ConvertirNumeroTextoADigito.INSTANCIA;
+        assertEquals("31", convertidor.convertirNumeroTextoADigito("  Treinta Y Uno "));
+        assertEquals("hola", convertidor.convertirNumeroTextoADigito(" Hola"));
+        // finNumero devuelve el fin del número más largo al principio del texto
+        assertEquals(3, convertidor.finNumero("dos con tres", 0));
+        assertEquals(13, convertidor.finNumero("treinta y uno mas dos", 0));
+        assertEquals(7, convertidor.finNumero("treinta y x", 0));
+        assertEquals(-1, convertidor.finNumero("x = dos", 0));
+    }
+
+    private static void comparar(Object[][] casos) {
+        for (Object[] caso : casos) {
+            String texto = (String) caso[0];
+            assertEquals((long) (Long) caso[1], ConvertirNumeroTextoADigito.INSTANCIA.convertir(texto, 0, texto.length()),
+                    () -> "\"" + texto + "\"");
+        }
+    }
+}
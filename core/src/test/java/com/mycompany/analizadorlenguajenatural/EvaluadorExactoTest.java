@@ -0,0 +1,117 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+// EvaluadorExacto: los enteros se calculan en long y pasan a BigInteger solo al desbordar; las
+// divisiones no exactas y las raíces se redondean con el MathContext; los errores aritméticos
+// lanzan ArithmeticException; y los decimales no crecen sin límite.
+class EvaluadorExactoTest {
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    private Map<String, Number> evaluar(EvaluadorExacto evaluador, String expresion, Map<String, ? extends Number> entradas) {
+        return evaluador.evaluar(analizador.analizar(expresion), entradas);
+    }
+
+    @Test
+    void desbordamientoABigInteger() {
+        Map<String, Number> valores = analizador.evaluarExacto(
+                "x = multiplica p por p, y = suma p con uno, w = resta y con uno, z = resta x con x",
+                Map.of("p", Long.MAX_VALUE));
+        BigInteger maximo = BigInteger.valueOf(Long.MAX_VALUE);
+        assertEquals(maximo.multiply(maximo), valores.get("x"));
+        assertEquals(maximo.add(BigInteger.ONE), valores.get("y"));
+        // Los resultados que vuelven a caber en un long son Long
+        assertEquals(Long.MAX_VALUE, valores.get("w"));
+        assertEquals(0L, valores.get("z"));
+
+        assertEquals(BigInteger.ONE.shiftLeft(64),
+                analizador.evaluarExacto("x = multiplica 4294967296 por 4294967296", Map.of()).get("x"));
+        assertEquals(BigInteger.ONE.shiftLeft(63),
+                analizador.evaluarExacto("x = divide p entre q", Map.of("p", Long.MIN_VALUE, "q", -1L)).get("x"));
+    }
+
+    @Test
+    void enterosIgualesAProgramaCompilado() {
+        // Una operación por instrucción con valores menores que 2^26: el double de
+        // ProgramaCompilado también es exacto, así que ambos deben coincidir
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        opciones.instrucciones = 6;
+        opciones.profundidad = 1;
+        opciones.pesos = new int[] {1, 1, 1, 0, 0, 0};
+        opciones.maximoNumero = 1000;
+        opciones.referencias = 0.5;
+        GeneradorProgramas generador = new GeneradorProgramas(19, opciones);
+        int comparados = 0;
+        for (int n = 0; n < 2000; n++) {
+            String programa = generador.programa();
+            ResultadoAnalisis resultado = analizador.analizar(programa);
+            Map<String, Number> exactos = new EvaluadorExacto().evaluar(resultado, Map.of());
+            if (!exactos.values().stream().allMatch(v -> v instanceof Long && Math.abs(v.longValue()) < 1 << 26)) {
+                continue;
+            }
+            Map<String, Double> reales = analizador.compilar(resultado).evaluar(Map.of());
+            for (Map.Entry<String, Number> exacto : exactos.entrySet()) {
+                assertEquals(exacto.getValue().doubleValue(), reales.get(exacto.getKey()), 0, programa);
+            }
+            comparados++;
+        }
+        assertTrue(comparados > 1000, "Se compararon solo " + comparados + " programas");
+    }
+
+    @Test
+    void contextoDeDivisionYRaiz() {
+        EvaluadorExacto evaluador = new EvaluadorExacto(MathContext.DECIMAL32);
+        Map<String, Number> valores = evaluar(evaluador,
+                "x = divide uno entre tres, y = raiz de dos, z = raiz de nueve, w = divide siete entre dos", Map.of());
+        assertEquals(new BigDecimal("0.3333333"), valores.get("x"));
+        assertEquals(new BigDecimal("1.414214"), valores.get("y"));
+        assertEquals(3L, valores.get("z"));
+        assertEquals(new BigDecimal("3.5"), valores.get("w"));
+
+        BigDecimal tercio = (BigDecimal) analizador.evaluarExacto("x = divide uno entre tres", Map.of()).get("x");
+        assertEquals(MathContext.DECIMAL128.getPrecision(), tercio.precision());
+        // Un decimal que da un entero vuelve a ser entero
+        assertEquals(1L, evaluar(evaluador, "x = divide uno entre dos, y = multiplica x por dos", Map.of()).get("y"));
+    }
+
+    @Test
+    void erroresAritmeticos() {
+        assertThrows(ArithmeticException.class, () -> analizador.evaluarExacto("x = divide uno entre cero", Map.of()));
+        assertThrows(ArithmeticException.class, () -> analizador.evaluarExacto("x = divide p entre q",
+                Map.of("p", BigInteger.TEN.pow(30), "q", 0)));
+        assertThrows(ArithmeticException.class, () -> analizador.evaluarExacto("x = raiz de p", Map.of("p", -4)));
+        assertThrows(ArithmeticException.class, () -> analizador.evaluarExacto("x = potencia p a q",
+                Map.of("p", 3, "q", EvaluadorExacto.LIMITE_BITS)));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluadorExacto(MathContext.UNLIMITED));
+        assertThrows(IllegalArgumentException.class, () -> analizador.evaluarExacto("x = suma p con uno",
+                Map.of("p", Double.NaN)));
+    }
+
+    @Test
+    void decimalesAcotados() {
+        // Con precisión ilimitada, cada cuadrado duplicaría los dígitos de x: 22 cuadrados
+        // llegarían a unos 140 millones de dígitos
+        StringBuilder programa = new StringBuilder("x = divide uno entre tres");
+        for (int i = 0; i < 22; i++) {
+            programa.append(", x = multiplica x por x");
+        }
+        Map<String, Number> valores = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> analizador.evaluarExacto(programa.toString(), Map.of()));
+        BigDecimal x = assertInstanceOf(BigDecimal.class, valores.get("x"));
+        assertTrue(x.precision() <= MathContext.DECIMAL128.getPrecision(), x.precision() + " dígitos");
+        assertTrue(x.signum() > 0);
+    }
+}
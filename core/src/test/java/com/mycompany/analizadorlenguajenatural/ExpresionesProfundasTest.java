@@ -0,0 +1,78 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+// Cadenas de operadores de miles de términos ("x = suma z mas z mas z ..."): todos los motores
+// deben evaluarlas sin agotar la pila de Java. Alrededor de la profundidad desde la que
+// ProgramaCompilado deja las clausuras por la máquina de pila, el resultado no debe cambiar.
+class ExpresionesProfundasTest {
+
+    private static final Map<String, Integer> ENTRADAS = Map.of("z", 1);
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    private static String cadena(int terminos) {
+        StringBuilder programa = new StringBuilder("x = suma z");
+        for (int i = 0; i < terminos; i++) {
+            programa.append(" mas z");
+        }
+        return programa.toString();
+    }
+
+    @Test
+    void cadenasLargas() {
+        for (int terminos : new int[] {5_000, 50_000}) {
+            String programa = cadena(terminos);
+            ResultadoAnalisis resultado = analizador.analizar(programa);
+            double esperado = terminos + 1;
+            assertEquals(esperado, analizador.evaluar(programa, ENTRADAS).get("x"));
+            assertEquals(esperado, analizador.compilarPostfijo(resultado).evaluar(ENTRADAS).get("x"));
+            assertEquals(esperado, analizador.compilarParalelo(resultado).evaluar(ENTRADAS).get("x"));
+            assertEquals(esperado, analizador.compilarColumnar(resultado)
+                    .evaluar(Map.of("z", new long[] {1})).get("x")[0]);
+            assertEquals((long) esperado, analizador.evaluarExacto(programa, ENTRADAS).get("x"));
+        }
+    }
+
+    @Test
+    void raicesAnidadas() {
+        String programa = "x = " + "raiz de ".repeat(5_000) + "z";
+        assertEquals(1.0, analizador.evaluar(programa, Map.of("z", 1)).get("x"));
+        assertEquals(1L, analizador.evaluarExacto(programa, Map.of("z", 1)).get("x"));
+    }
+
+    @Test
+    void codigoJava() throws IOException {
+        try (CompiladorJava compilador = new CompiladorJava(4)) {
+            ProgramaJava programa = compilador.compilar(analizador.analizar(cadena(5_000)));
+            assertEquals(5_001.0, programa.evaluar(ENTRADAS).get("x"));
+            // Una instrucción de 50.000 operadores no cabe en un método de la JVM
+            assertThrows(IllegalArgumentException.class,
+                    () -> compilador.compilar(analizador.analizar(cadena(50_000))));
+        }
+    }
+
+    @Test
+    void umbralDeLasClausuras() {
+        String[] operadores = {" mas ", " por ", " menos "};
+        String[] operandos = {"p", "q", "dos", "tres"};
+        int umbral = 256;
+        for (int terminos = umbral - 3; terminos <= umbral + 3; terminos++) {
+            StringBuilder programa = new StringBuilder("x = p");
+            for (int i = 0; i < terminos; i++) {
+                programa.append(operadores[i % operadores.length]).append(operandos[i % operandos.length]);
+            }
+            programa.append(", w = resta x con q");
+            ResultadoAnalisis resultado = analizador.analizar(programa.toString());
+            Map<String, Double> entradas = Map.of("p", 1.5, "q", 0.75);
+            assertEquals(analizador.compilarPostfijo(resultado).evaluar(entradas),
+                    analizador.compilar(resultado).evaluar(entradas), "Términos: " + terminos);
+        }
+    }
+}
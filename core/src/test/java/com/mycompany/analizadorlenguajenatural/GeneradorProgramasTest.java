@@ -0,0 +1,38 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+// Los números que GeneradorProgramas escribe en palabras deben estar en el léxico de
+// ConvertirNumeroTextoADigito y valer lo mismo al convertirlos de vuelta.
+class GeneradorProgramasTest {
+
+    @Test
+    void numerosPequenos() {
+        for (long valor = 0; valor <= 100_000; valor++) {
+            comparar(valor);
+        }
+    }
+
+    @Test
+    void milesYMillones() {
+        long[] valores = {1_000, 21_000, 31_000, 100_000, 101_000, 1_000_000, 1_000_001, 21_000_000,
+            100_000_000, 999_999_999_999L};
+        for (long valor : valores) {
+            comparar(valor);
+        }
+        SplittableRandom aleatorio = new SplittableRandom(11);
+        for (int i = 0; i < 50_000; i++) {
+            comparar(aleatorio.nextLong(1_000_000_000_000L));
+        }
+    }
+
+    private static void comparar(long valor) {
+        StringBuilder palabras = new StringBuilder();
+        GeneradorProgramas.numeroEnPalabras(valor, palabras);
+        assertEquals(valor, ConvertirNumeroTextoADigito.INSTANCIA.convertir(palabras, 0, palabras.length()),
+                palabras::toString);
+    }
+}
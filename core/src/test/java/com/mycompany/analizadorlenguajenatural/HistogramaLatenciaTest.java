@@ -0,0 +1,135 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+// HistogramaLatencia: límites de las cubetas y percentiles del resumen. Un percentil es el límite
+// superior de su cubeta, sin pasar del máximo, así que la mediana de {v, valor enorme} es el
+// límite superior de la cubeta de v.
+class HistogramaLatenciaTest {
+
+    private static final long ENORME = 1L << 50;
+
+    @Test
+    void limitesDeLasCubetas() {
+        // Cubetas de un solo valor hasta 15; después, 8 por potencia de dos
+        for (long valor = 0; valor < 16; valor++) {
+            assertEquals(valor, limite(valor));
+        }
+        long[][] casos = {
+            {16, 17}, {17, 17}, {18, 19}, {30, 31}, {31, 31}, {32, 35}, {35, 35}, {36, 39},
+            {100, 103}, {1000, 1023}, {1023, 1023}, {1024, 1151}, {1_000_000, 1_048_575},
+        };
+        for (long[] caso : casos) {
+            assertEquals(caso[1], limite(caso[0]), "Cubeta de " + caso[0]);
+        }
+
+        // Las cubetas son contiguas y el error relativo es menor que 1/8
+        SplittableRandom aleatorio = new SplittableRandom(13);
+        for (int i = 0; i < 20_000; i++) {
+            long valor = 16 + aleatorio.nextLong(1L << (5 + aleatorio.nextInt(35)));
+            long limite = limite(valor);
+            assertTrue(limite >= valor && limite - valor < valor / 8.0, valor + " -> " + limite);
+            assertEquals(limite, limite(limite));
+            assertTrue(limite(limite + 1) > limite);
+        }
+    }
+
+    @Test
+    void valoresFueraDeRango() {
+        // Los valores de más de 2^41 ns van a la última cubeta, que no tiene límite: el
+        // percentil es el máximo observado, no un valor menor que el registrado
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(1L << 45);
+        histograma.registrar(1L << 46);
+        ResumenLatencia resumen = histograma.resumen();
+        assertEquals(1L << 46, resumen.getP50());
+        assertEquals(1L << 46, resumen.getMaximo());
+
+        // Los negativos (un reloj que retrocede) cuentan como cero
+        histograma = new HistogramaLatencia();
+        histograma.registrar(-5);
+        resumen = histograma.resumen();
+        assertEquals(1, resumen.getCuenta());
+        assertEquals(0, resumen.getP50());
+        assertEquals(0, resumen.getMaximo());
+        assertEquals(0, resumen.getMedia(), 0);
+    }
+
+    @Test
+    void percentiles() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        ResumenLatencia vacio = histograma.resumen();
+        assertEquals(0, vacio.getCuenta());
+        assertEquals(0, vacio.getP50());
+        assertEquals(0, vacio.getP999());
+        assertEquals(0, vacio.getMedia(), 0);
+
+        for (long valor = 1; valor <= 1000; valor++) {
+            histograma.registrar(valor);
+        }
+        ResumenLatencia resumen = histograma.resumen();
+        assertEquals(1000, resumen.getCuenta());
+        assertEquals(500.5, resumen.getMedia(), 1e-9);
+        assertEquals(511, resumen.getP50());      // La cubeta de 500 es [480, 511]
+        assertEquals(1000, resumen.getP99());     // La de 990 es [960, 1023], acotada por el máximo
+        assertEquals(1000, resumen.getP999());
+        assertEquals(1000, resumen.getMaximo());
+
+        // Una cola rara solo aparece en los percentiles que la alcanzan
+        histograma.reiniciar();
+        assertEquals(0, histograma.resumen().getCuenta());
+        for (int i = 0; i < 990; i++) {
+            histograma.registrar(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histograma.registrar(50_000);
+        }
+        resumen = histograma.resumen();
+        assertEquals(103, resumen.getP50());
+        assertEquals(103, resumen.getP99());
+        assertEquals(50_000, resumen.getP999());
+        assertEquals(50_000, resumen.getMaximo());
+    }
+
+    @Test
+    void registrosConcurrentes() throws Exception {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < 4; h++) {
+                tareas.add(hilos.submit(() -> {
+                    for (int i = 1; i <= 100_000; i++) {
+                        histograma.registrar(i % 1000);
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+        ResumenLatencia resumen = histograma.resumen();
+        assertEquals(400_000, resumen.getCuenta());
+        assertEquals(999, resumen.getMaximo());
+        assertEquals(499.5, resumen.getMedia(), 1e-9);
+    }
+
+    // Límite superior de la cubeta del valor
+    private static long limite(long valor) {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(valor);
+        histograma.registrar(ENORME);
+        return histograma.resumen().getP50();
+    }
+}
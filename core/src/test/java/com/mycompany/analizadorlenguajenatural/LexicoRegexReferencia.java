@@ -0,0 +1,128 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.Token;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Analizador léxico original basado en expresiones regulares (el de la versión inicial del
+// proyecto), conservado solo como referencia para las pruebas diferenciales de AnalizadorLexico.
+// Los números compuestos se convierten con el mapa original de 0 a 100 y "decena y unidad".
+final class LexicoRegexReferencia {
+
+    private static final String NUMERO = "\\b(cero|uno|una|dos|tres|cuatro|cinco|seis|siete|ocho|nueve|diez|once|doce|trece|catorce|quince|dieciséis|dieciseis|diecisiete|dieciocho|diecinueve|veinte|veintiuno|veintidós|veintidos|veintitrés|veintitres|veinticuatro|veinticinco|veintiséis|veintiseis|veintisiete|veintiocho|veintinueve|treinta|cuarenta|cincuenta|sesenta|setenta|ochenta|noventa|cien|\\d+)(\\s+y\\s+(uno|dos|tres|cuatro|cinco|seis|siete|ocho|nueve))?\\b";
+    private static final String SUMA = "\\b(suma|anade|mas)\\b";
+    private static final String RESTA = "\\b(resta|quita|menos)\\b";
+    private static final String MULTIPLICA = "\\b(multiplica|por)\\b";
+    private static final String DIVIDE = "\\b(divide)\\b";
+    private static final String POTENCIA = "\\b(eleva|potencia)\\b";
+    private static final String RAIZ = "\\b(raiz)\\b";
+    private static final String CONECTOR_Y = "\\b(y|luego)\\b";
+    private static final String CONECTOR_CON = "\\b(a|con|de|entre)\\b";
+    private static final String IDENTIFICADOR = "[a-zA-Z_][a-zA-Z_0-9]*";
+    private static final String COMA = ",";
+    private static final String ASIGNACION = "=";
+
+    private static final Pattern PATRON = Pattern.compile(String.format(
+            "%s|%s|%s|%s|%s|%s|%s|%s|%s|%s|%s|%s",
+            NUMERO, SUMA, RESTA, MULTIPLICA, POTENCIA, RAIZ,
+            CONECTOR_Y, CONECTOR_CON, DIVIDE, COMA, ASIGNACION, IDENTIFICADOR), Pattern.CASE_INSENSITIVE);
+
+    private static final Map<String, Integer> NUMEROS = new HashMap<>();
+
+    static {
+        String[] palabras = {"cero", "uno", "dos", "tres", "cuatro", "cinco", "seis", "siete", "ocho", "nueve",
+            "diez", "once", "doce", "trece", "catorce", "quince", "dieciseis", "diecisiete", "dieciocho",
+            "diecinueve", "veinte", "veintiuno", "veintidos", "veintitres", "veinticuatro", "veinticinco",
+            "veintiseis", "veintisiete", "veintiocho", "veintinueve"};
+        for (int i = 0; i < palabras.length; i++) {
+            NUMEROS.put(palabras[i], i);
+        }
+        NUMEROS.put("una", 1);
+        NUMEROS.put("dieciséis", 16);
+        NUMEROS.put("veintidós", 22);
+        NUMEROS.put("veintitrés", 23);
+        NUMEROS.put("veintiséis", 26);
+        String[] decenas = {"treinta", "cuarenta", "cincuenta", "sesenta", "setenta", "ochenta", "noventa"};
+        for (int i = 0; i < decenas.length; i++) {
+            NUMEROS.put(decenas[i], 30 + 10 * i);
+        }
+        NUMEROS.put("cien", 100);
+    }
+
+    private LexicoRegexReferencia() {
+    }
+
+    static ResultadoLexico analizar(String entrada) {
+        List<Token> tokens = new ArrayList<>();
+        List<String> identificadores = new ArrayList<>();
+        List<String> noReconocidos = new ArrayList<>();
+        Matcher matcher = PATRON.matcher(entrada.toLowerCase());
+
+        int ultimoFin = 0;
+        while (matcher.find()) {
+            if (matcher.start() > ultimoFin) {
+                String noReconocido = entrada.substring(ultimoFin, matcher.start());
+                if (!noReconocido.trim().isEmpty()) {
+                    noReconocidos.add(noReconocido);
+                }
+            }
+
+            String texto = matcher.group();
+            String original = entrada.substring(matcher.start(), matcher.end());
+            if (texto.matches(SUMA)) {
+                tokens.add(new Token("OperadorSuma", "+", original));
+            } else if (texto.matches(RESTA)) {
+                tokens.add(new Token("OperadorResta", "-", original));
+            } else if (texto.matches(MULTIPLICA)) {
+                tokens.add(new Token("OperadorMultiplicacion", "*", original));
+            } else if (texto.matches(DIVIDE)) {
+                tokens.add(new Token("OperadorDivision", "/", original));
+            } else if (texto.matches(POTENCIA)) {
+                tokens.add(new Token("OperadorPotencia", "^", original));
+            } else if (texto.matches(RAIZ)) {
+                tokens.add(new Token("OperadorRaiz", "√", original));
+            } else if (texto.matches(NUMERO)) {
+                tokens.add(new Token("Numero", convertir(texto), original));
+            } else if (texto.matches(CONECTOR_Y)) {
+                tokens.add(new Token("ConectorY", "y", original));
+            } else if (texto.matches(CONECTOR_CON)) {
+                tokens.add(new Token("ConectorCon", "con", original));
+            } else if (texto.matches(IDENTIFICADOR)) {
+                tokens.add(new Token("Identificador", texto, original));
+                identificadores.add(original);
+            } else if (texto.matches(COMA)) {
+                tokens.add(new Token("Coma", ",", original));
+            } else if (texto.matches(ASIGNACION)) {
+                tokens.add(new Token("OperadorAsignacion", "=", original));
+            }
+            ultimoFin = matcher.end();
+        }
+
+        if (ultimoFin < entrada.length()) {
+            String noReconocido = entrada.substring(ultimoFin);
+            if (!noReconocido.trim().isEmpty()) {
+                noReconocidos.add(noReconocido);
+            }
+        }
+        return new ResultadoLexico(tokens, identificadores, entrada, noReconocidos);
+    }
+
+    // Conversión original: palabra del mapa, "decena y unidad" o el texto tal cual (los dígitos)
+    private static String convertir(String numero) {
+        numero = numero.toLowerCase().trim();
+        Integer valor = NUMEROS.get(numero);
+        if (valor != null) {
+            return String.valueOf(valor);
+        }
+        String[] partes = numero.split("\\s+y\\s+");
+        if (partes.length == 2 && NUMEROS.containsKey(partes[0]) && NUMEROS.containsKey(partes[1])) {
+            return String.valueOf(NUMEROS.get(partes[0]) + NUMEROS.get(partes[1]));
+        }
+        return numero;
+    }
+}
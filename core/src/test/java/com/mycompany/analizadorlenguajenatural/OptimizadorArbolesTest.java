@@ -0,0 +1,64 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+// Prueba diferencial del plegado de constantes: cada programa se evalúa con ProgramaCompilado
+// sobre los árboles optimizados y sobre los originales, y las variables deben valer lo mismo bit
+// a bit, incluidos el signo de los ceros, los infinitos y NaN.
+class OptimizadorArbolesTest {
+
+    private final AnalizadorLenguajeNatural optimizado = new AnalizadorLenguajeNatural();
+    private final AnalizadorLenguajeNatural original = new AnalizadorLenguajeNatural(null, null, null, false);
+
+    @Test
+    void ceroNegativoMasCero() {
+        // x es -0.0: x + 0 es 0.0 y 1 / z es infinito positivo
+        comparar("x = multiplica cero por resta cero con uno, z = suma x con cero, y = divide uno entre z");
+        comparar("x = multiplica cero por resta cero con uno, z = suma cero con x, y = divide uno entre z");
+        assertEquals(Map.of("x", -0.0, "z", 0.0, "y", Double.POSITIVE_INFINITY),
+                optimizado.evaluar("x = multiplica cero por resta cero con uno, z = suma x con cero, "
+                        + "y = divide uno entre z", Map.of()));
+    }
+
+    @Test
+    void programasGenerados() {
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        GeneradorProgramas generador = new GeneradorProgramas(3, opciones);
+        for (int n = 0; n < 20_000; n++) {
+            comparar(generador.programa());
+        }
+        // Números pequeños: más ceros, unos, cancelaciones, divisiones por cero e infinitos
+        GeneradorProgramas.Opciones pequenos = new GeneradorProgramas.Opciones();
+        pequenos.maximoNumero = 2;
+        pequenos.referencias = 0.6;
+        pequenos.profundidad = 4;
+        generador = new GeneradorProgramas(5, pequenos);
+        for (int n = 0; n < 20_000; n++) {
+            comparar(generador.programa());
+        }
+    }
+
+    @Test
+    void sinOptimizarNoHayArboles() {
+        ResultadoAnalisis resultado = original.analizar("x = suma uno con dos");
+        assertNull(resultado.resultadoSintactico.arbolesOptimizados);
+        assertNotSame(optimizado.analizar("x = suma uno con dos").resultadoSintactico.arbolesOptimizados,
+                optimizado.analizar("x = suma uno con dos").resultadoSintactico.instrucciones);
+    }
+
+    private void comparar(String programa) {
+        Map<String, Double> conPlegado = optimizado.evaluar(programa, Map.of());
+        Map<String, Double> sinPlegado = original.evaluar(programa, Map.of());
+        assertEquals(sinPlegado.keySet(), conPlegado.keySet(), programa);
+        for (Map.Entry<String, Double> valor : sinPlegado.entrySet()) {
+            assertEquals(Double.doubleToLongBits(valor.getValue()), Double.doubleToLongBits(conPlegado.get(valor.getKey())),
+                    () -> programa + "\n" + valor.getKey() + ": " + valor.getValue() + " / " + conPlegado.get(valor.getKey()));
+        }
+    }
+}
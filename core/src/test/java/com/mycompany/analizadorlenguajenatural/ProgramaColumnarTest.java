@@ -0,0 +1,77 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// ProgramaColumnar contra ProgramaCompilado sobre programas generados: cada fila de las columnas
+// de salida debe ser el resultado de evaluar esa fila con ProgramaCompilado, con columnas long[]
+// y double[] y con más filas que un bloque.
+class ProgramaColumnarTest {
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+    private final Random aleatorio = new Random(20);
+
+    @Test
+    void coincideConProgramaCompilado() {
+        GeneradorProgramas generador = new GeneradorProgramas(20, new GeneradorProgramas.Opciones());
+        for (int n = 0; n < 1_000; n++) {
+            String texto = generador.programa();
+            ResultadoAnalisis resultado = analizador.analizar(texto);
+            if (resultado.resultadoSintactico.esValido) {
+                comparar(texto, resultado, n % 100 == 0 ? ProgramaColumnar.FILAS_POR_BLOQUE * 2 + 17 : 5);
+            }
+        }
+    }
+
+    @Test
+    void columnasDeLargoDistinto() {
+        ProgramaColumnar programa = analizador.compilarColumnar(analizador.analizar("x = suma b y c"));
+        assertThrows(IllegalArgumentException.class,
+                () -> programa.evaluar(Map.of("b", new long[] {1, 2}, "c", new double[] {1})));
+    }
+
+    private void comparar(String texto, ResultadoAnalisis resultado, int filas) {
+        ProgramaCompilado compilado = analizador.compilar(resultado);
+        ProgramaColumnar columnar = analizador.compilarColumnar(resultado);
+        List<String> variables = columnar.getVariables();
+        assertEquals(compilado.getVariables(), variables, texto);
+
+        // Una columna por variable, alternando long[] y double[]; la última variable no tiene entrada
+        Map<String, Object> columnas = new HashMap<>();
+        for (int v = 0; v < variables.size() - 1; v++) {
+            if (v % 2 == 0) {
+                long[] columna = new long[filas];
+                for (int i = 0; i < filas; i++) {
+                    columna[i] = aleatorio.nextInt(2_001) - 1_000;
+                }
+                columnas.put(variables.get(v), columna);
+            } else {
+                double[] columna = new double[filas];
+                for (int i = 0; i < filas; i++) {
+                    columna[i] = (aleatorio.nextDouble() - 0.5) * 1e4;
+                }
+                columnas.put(variables.get(v), columna);
+            }
+        }
+        Map<String, double[]> salidas = columnar.evaluar(columnas);
+
+        for (int i = 0; i < filas; i++) {
+            Map<String, Double> fila = new HashMap<>();
+            for (Map.Entry<String, Object> columna : columnas.entrySet()) {
+                Object valores = columna.getValue();
+                fila.put(columna.getKey(), valores instanceof long[] ? ((long[]) valores)[i] : ((double[]) valores)[i]);
+            }
+            Map<String, Double> esperado = compilado.evaluar(fila);
+            for (String variable : variables) {
+                assertEquals(esperado.get(variable), salidas.get(variable)[i], texto + " (fila " + i + ", " + variable + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// ProgramaParalelo contra ProgramaCompilado sobre programas generados (con ondas que se reparten
+// en varios hilos), y el grafo de dependencias en los casos del README: ondas, redefiniciones y
+// dependencias circulares.
+class ProgramaParaleloTest {
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void cerrar() {
+        pool.shutdown();
+    }
+
+    @Test
+    void coincideConProgramaCompilado() {
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        for (int tamano : new int[] {8, 400}) {
+            opciones.instrucciones = tamano;
+            opciones.profundidad = tamano > 8 ? 10 : 3;
+            GeneradorProgramas generador = new GeneradorProgramas(tamano, opciones);
+            for (int n = 0; n < (tamano > 8 ? 20 : 2_000); n++) {
+                String texto = generador.programa();
+                ResultadoAnalisis resultado = analizador.analizar(texto);
+                if (!resultado.resultadoSintactico.esValido) {
+                    continue;
+                }
+                ProgramaCompilado compilado = analizador.compilar(resultado);
+                ProgramaParalelo paralelo = analizador.compilarParalelo(resultado, pool);
+                assertEquals(compilado.evaluar(Map.of()), paralelo.evaluar(Map.of()), texto);
+                assertEquals(compilado.ejecutar(compilado.nuevasRanuras()), paralelo.ejecutar(paralelo.nuevasRanuras()),
+                        texto);
+            }
+        }
+    }
+
+    @Test
+    void ondasQueSeReparten() {
+        // 64 cadenas independientes de 200 operadores (unos 25.000 nodos por onda) y otras 64 que
+        // leen las primeras: dos ondas que superan el umbral de división
+        StringBuilder texto = new StringBuilder();
+        String[] operadores = {" mas ", " por ", " menos "};
+        for (int i = 0; i < 128; i++) {
+            texto.append(i == 0 ? "" : ", ").append("v").append(i).append(" = ").append(i < 64 ? "p" : "v" + (i - 64));
+            for (int j = 0; j < 200; j++) {
+                texto.append(operadores[(i + j) % operadores.length]).append(j % 2 == 0 ? "q" : "dos");
+            }
+        }
+        ResultadoAnalisis resultado = analizador.analizar(texto.toString());
+        ProgramaParalelo paralelo = analizador.compilarParalelo(resultado, pool);
+        assertEquals(2, paralelo.getGrafo().ondas.length);
+        Map<String, Double> entradas = Map.of("p", 1.0, "q", 1.0000001);
+        assertEquals(analizador.compilar(resultado).evaluar(entradas), paralelo.evaluar(entradas));
+    }
+
+    @Test
+    void ondas() {
+        GrafoDependencias grafo = grafo("a = suma b y uno, c = multiplica b por dos, d = resta a con c");
+        assertEquals("3 instrucciones en 2 ondas: [1, 2] [3]", grafo.toString());
+        assertEquals(2, grafo.rutaCritica());
+        assertTrue(grafo.redefiniciones.isEmpty());
+        assertTrue(grafo.ciclos.isEmpty());
+    }
+
+    @Test
+    void redefiniciones() {
+        String texto = "x = suma b y uno, w = multiplica x por dos, x = resta w con uno";
+        GrafoDependencias grafo = grafo(texto);
+        assertEquals(List.of("Redefinición: La variable 'x' se asigna en la instrucción 3 y ya se había asignado en la 1."),
+                grafo.redefiniciones);
+        ResultadoAnalisis resultado = analizador.analizar(texto);
+        assertEquals(analizador.compilar(resultado).evaluar(Map.of("b", 4)),
+                analizador.compilarParalelo(resultado, pool).evaluar(Map.of("b", 4)));
+    }
+
+    @Test
+    void dependenciasCirculares() {
+        String texto = "a = suma b y uno, b = multiplica a por dos";
+        assertEquals(List.of("Dependencia circular: Las instrucciones 1, 2 definen las variables 'a', 'b' unas en "
+                + "función de otras."), grafo(texto).ciclos);
+        ResultadoAnalisis resultado = analizador.analizar(texto);
+        assertEquals(analizador.compilar(resultado).evaluar(Map.of("b", 3)),
+                analizador.compilarParalelo(resultado, pool).evaluar(Map.of("b", 3)));
+    }
+
+    private GrafoDependencias grafo(String texto) {
+        return analizador.grafoDependencias(analizador.analizar(texto));
+    }
+}
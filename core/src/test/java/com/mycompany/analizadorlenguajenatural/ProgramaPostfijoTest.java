@@ -0,0 +1,52 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+// ProgramaPostfijo contra ProgramaCompilado sobre programas generados: los mismos valores
+// finales de cada variable (NaN y -0.0 incluidos) y el mismo valor de la última instrucción.
+class ProgramaPostfijoTest {
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    @Test
+    void coincideConProgramaCompilado() {
+        GeneradorProgramas.Opciones opciones = new GeneradorProgramas.Opciones();
+        opciones.profundidad = 6;
+        GeneradorProgramas generador = new GeneradorProgramas(24, opciones);
+        int comparados = 0;
+        for (int n = 0; n < 5_000; n++) {
+            String texto = generador.programa();
+            ResultadoAnalisis resultado = analizador.analizar(texto);
+            if (!resultado.resultadoSintactico.esValido) {
+                continue;
+            }
+            ProgramaCompilado compilado = analizador.compilar(resultado);
+            ProgramaPostfijo postfijo = analizador.compilarPostfijo(resultado);
+            assertEquals(compilado.getVariables(), postfijo.getVariables(), texto);
+            assertEquals(compilado.evaluar(Map.of()), postfijo.evaluar(Map.of()), texto);
+            double[] ranurasCompilado = compilado.nuevasRanuras();
+            double[] ranurasPostfijo = postfijo.nuevasRanuras();
+            assertEquals(compilado.ejecutar(ranurasCompilado), postfijo.ejecutar(ranurasPostfijo, postfijo.nuevaPila()),
+                    texto);
+            comparados++;
+        }
+        assertTrue(comparados > 4_000, "Se compararon solo " + comparados + " programas");
+    }
+
+    @Test
+    void reutilizaLaPila() {
+        ProgramaPostfijo programa = analizador.compilarPostfijo(
+                analizador.analizar("x = multiplica b por tres, y = suma x con uno"));
+        double[] pila = programa.nuevaPila();
+        double[] ranuras = programa.nuevasRanuras();
+        for (int b = 0; b < 10; b++) {
+            ranuras[programa.ranura("b")] = b;
+            assertEquals(3 * b + 1, programa.ejecutar(ranuras, pila));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ErrorInstruccion;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// Recuperación en modo pánico del analizador sintáctico: cada instrucción con errores deja un
+// ErrorInstruccion con su índice y el tramo del token que lo causó, un null en 'instrucciones' y
+// en 'arbolesOptimizados', y las instrucciones que siguen se analizan igual que por separado.
+class RecuperacionErroresTest {
+
+    private static final String OPERANDO = "Se esperaba un número, identificador u operador en la posición ";
+    private static final String COMA = "Se esperaba una coma o fin de entrada en la posición ";
+
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+
+    @Test
+    void variasInstruccionesRotas() {
+        String expresion = "a = suma uno con dos, b = suma, c = multiplica a por dos, "
+                + "d = resta uno con dos tres, e = divide uno, = dos, f = raiz de a";
+        ResultadoSintactico sintactico = analizador.analizar(expresion).resultadoSintactico;
+        assertFalse(sintactico.esValido);
+
+        // Los mensajes dan la posición en tokens; el tramo, en caracteres de la expresión
+        List<ErrorInstruccion> errores = sintactico.errores;
+        assertEquals(4, errores.size());
+        comparar(errores.get(0), 1, OPERANDO + 10, expresion, expresion.indexOf(", c ="), ",");
+        comparar(errores.get(1), 3, COMA + 24, expresion, expresion.indexOf("tres"), "tres");
+        comparar(errores.get(2), 4, OPERANDO + 30, expresion, expresion.indexOf(", = dos"), ",");
+        comparar(errores.get(3), 5, OPERANDO + 31, expresion, expresion.indexOf("= dos"), "=");
+        assertEquals("Error de sintaxis", errores.get(1).tipoError);
+        assertEquals("Asegúrate de separar las instrucciones con comas", errores.get(1).sugerencia);
+
+        // Los campos del resultado son los del primer error
+        assertEquals(errores.get(0).error, sintactico.error);
+        assertEquals(errores.get(0).inicio, sintactico.inicioError);
+        assertEquals(errores.get(0).fin, sintactico.finError);
+
+        // Un árbol por instrucción, null en las rotas; las demás son las mismas que sin errores
+        List<NodoExpresion> instrucciones = sintactico.instrucciones;
+        assertEquals(7, instrucciones.size());
+        for (int i : new int[] {1, 3, 4, 5}) {
+            assertNull(instrucciones.get(i));
+            assertNull(sintactico.arbolesOptimizados.get(i));
+        }
+        List<NodoExpresion> esperadas = analizador.analizar(
+                "a = suma uno con dos, c = multiplica a por dos, f = raiz de a").resultadoSintactico.instrucciones;
+        int[] indices = {0, 2, 6};
+        for (int i = 0; i < indices.length; i++) {
+            assertEquals(esperadas.get(i).toString(), instrucciones.get(indices[i]).toString());
+        }
+        NodoExpresion.Asignacion c = (NodoExpresion.Asignacion) instrucciones.get(2);
+        assertEquals(expresion.indexOf("c ="), c.inicio);
+        assertEquals(expresion.indexOf("multiplica"), c.valor.inicio);
+        assertEquals(expresion.indexOf(", d ="), c.fin);
+        NodoExpresion.Asignacion f = (NodoExpresion.Asignacion) instrucciones.get(6);
+        assertEquals(expresion.indexOf("f ="), f.inicio);
+        assertEquals(expresion.length(), f.fin);
+        assertEquals("f", f.nombre);
+    }
+
+    @Test
+    void erroresEnLosExtremos() {
+        // Al final de la entrada, el tramo es vacío y está en el fin de la expresión
+        String expresion = "x = uno, y = suma uno";
+        ResultadoSintactico sintactico = analizador.analizar(expresion).resultadoSintactico;
+        assertEquals(1, sintactico.errores.size());
+        comparar(sintactico.errores.get(0), 1, OPERANDO + 8, expresion, expresion.length(), "");
+        assertEquals("x = uno", sintactico.instrucciones.get(0).toString());
+        assertNull(sintactico.instrucciones.get(1));
+
+        // Una coma inicial es una instrucción vacía con errores; la siguiente se analiza
+        expresion = ", x = uno";
+        sintactico = analizador.analizar(expresion).resultadoSintactico;
+        assertEquals(1, sintactico.errores.size());
+        comparar(sintactico.errores.get(0), 0, OPERANDO + 0, expresion, 0, ",");
+        assertNull(sintactico.instrucciones.get(0));
+        assertEquals("x = uno", sintactico.instrucciones.get(1).toString());
+
+        // Una coma final no abre otra instrucción
+        sintactico = analizador.analizar("x = uno,").resultadoSintactico;
+        assertTrue(sintactico.esValido);
+        assertTrue(sintactico.errores.isEmpty());
+        assertEquals(1, sintactico.instrucciones.size());
+    }
+
+    private static void comparar(ErrorInstruccion error, int instruccion, String mensaje, String expresion,
+            int inicio, String texto) {
+        assertEquals(instruccion, error.instruccion, error::toString);
+        assertEquals(mensaje, error.error);
+        assertEquals(inicio, error.inicio, error::toString);
+        assertEquals(texto, expresion.substring(error.inicio, error.fin), error::toString);
+    }
+}
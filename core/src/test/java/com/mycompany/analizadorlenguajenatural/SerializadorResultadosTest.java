@@ -0,0 +1,184 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+// Escapado de SerializadorResultados y salida de AnalizadorLotes: las cadenas JSON y los campos
+// CSV se comparan con tablas de casos y, para textos aleatorios, se leen de vuelta con un lector
+// mínimo de cada formato y deben dar el texto original.
+class SerializadorResultadosTest {
+
+    // Comillas, barras, separadores, controles, espacios Unicode y letras fuera de ASCII
+    private static final String ALFABETO = "ab ,\"\\\n\r\t\u0000\u0001\u001f\u007f\u2028ñ¿€;'";
+
+    @Test
+    void cadenasJson() {
+        String[][] casos = {
+            {"", "\"\""}, {"x = dos", "\"x = dos\""}, {"a\"b", "\"a\\\"b\""}, {"a\\b", "\"a\\\\b\""},
+            {"\n\r\t", "\"\\n\\r\\t\""}, {"\u0000\u0001\u001f", "\"\\u0000\\u0001\\u001f\""},
+            {"\u007f\u2028ñ¿€", "\"\u007f\u2028ñ¿€\""}, {"/", "\"/\""},
+        };
+        for (String[] caso : casos) {
+            StringBuilder json = new StringBuilder();
+            SerializadorResultados.escribirCadenaJson(json, caso[0]);
+            assertEquals(caso[1], json.toString());
+        }
+        StringBuilder nulo = new StringBuilder();
+        SerializadorResultados.escribirCadenaJson(nulo, null);
+        assertEquals("null", nulo.toString());
+
+        SplittableRandom aleatorio = new SplittableRandom(3);
+        for (int i = 0; i < 20_000; i++) {
+            String texto = aleatorio(aleatorio);
+            StringBuilder json = new StringBuilder();
+            SerializadorResultados.escribirCadenaJson(json, texto);
+            int[] posicion = {0};
+            assertEquals(texto, leerCadenaJson(json, posicion));
+            assertEquals(json.length(), posicion[0]);
+        }
+    }
+
+    @Test
+    void camposCsv() {
+        String[][] casos = {
+            {"", ""}, {"x = dos", "x = dos"}, {" a\tb ", " a\tb "}, {"a,b", "\"a,b\""}, {"a\"b", "\"a\"\"b\""},
+            {"\"", "\"\"\"\""}, {"a\nb", "\"a\nb\""}, {"a\rb", "\"a\rb\""}, {"ñ;'", "ñ;'"},
+        };
+        for (String[] caso : casos) {
+            StringBuilder csv = new StringBuilder();
+            SerializadorResultados.escribirCampoCsv(csv, caso[0]);
+            assertEquals(caso[1], csv.toString());
+        }
+
+        SplittableRandom aleatorio = new SplittableRandom(4);
+        for (int i = 0; i < 20_000; i++) {
+            String[] campos = {aleatorio(aleatorio), aleatorio(aleatorio), aleatorio(aleatorio)};
+            StringBuilder fila = new StringBuilder();
+            for (int c = 0; c < campos.length; c++) {
+                if (c > 0) {
+                    fila.append(',');
+                }
+                SerializadorResultados.escribirCampoCsv(fila, campos[c]);
+            }
+            assertEquals(List.of(campos), leerFilaCsv(fila));
+        }
+    }
+
+    @Test
+    void lotesJsonLinesYCsv() throws IOException {
+        String entrada = "x = \"dos\"\tcon \\ tres\n\n   \ny = suma, z = uno\n";
+
+        StringWriter jsonl = new StringWriter();
+        assertEquals(2, new AnalizadorLotes().procesar(new BufferedReader(new StringReader(entrada)), jsonl,
+                AnalizadorLotes.Formato.JSONL));
+        String[] lineas = jsonl.toString().split("\n");
+        assertEquals(2, lineas.length);
+        // Las líneas en blanco no se analizan, pero cuentan para el número de línea
+        assertTrue(lineas[0].startsWith("{\"linea\":1,\"expresion\":\"x = \\\"dos\\\"\\tcon \\\\ tres\","), lineas[0]);
+        assertTrue(lineas[0].contains("\"noReconocidos\":[\" \\\"\",\"\\\"\\t\",\" \\\\ \"]"), lineas[0]);
+        assertTrue(lineas[1].startsWith("{\"linea\":4,\"expresion\":\"y = suma, z = uno\","), lineas[1]);
+        assertTrue(lineas[1].contains("\"errores\":[{\"instruccion\":0,\"error\":\"Se esperaba un número, "
+                + "identificador u operador en la posición 3\",\"inicio\":8,\"fin\":9}],"
+                + "\"instrucciones\":[null,\"z = uno\"]"), lineas[1]);
+
+        StringWriter csv = new StringWriter();
+        assertEquals(2, new AnalizadorLotes().procesar(new BufferedReader(new StringReader(entrada)), csv,
+                AnalizadorLotes.Formato.CSV));
+        String[] filas = csv.toString().split("\n");
+        assertEquals(3, filas.length);
+        assertEquals(SerializadorResultados.ENCABEZADO_CSV, filas[0]);
+        List<String> primera = leerFilaCsv(filas[1]);
+        assertEquals(9, primera.size());
+        assertEquals(List.of("1", "x = \"dos\"\tcon \\ tres", "5", " \" | \"\t |  \\ ", "false"), primera.subList(0, 5));
+        List<String> segunda = leerFilaCsv(filas[2]);
+        assertEquals(9, segunda.size());
+        assertEquals(List.of("4", "y = suma, z = uno", "7", "", "false",
+                "Se esperaba un número, identificador u operador en la posición 3", "", "false"),
+                segunda.subList(0, 8));
+    }
+
+    private static String aleatorio(SplittableRandom aleatorio) {
+        char[] texto = new char[aleatorio.nextInt(12)];
+        for (int i = 0; i < texto.length; i++) {
+            texto[i] = ALFABETO.charAt(aleatorio.nextInt(ALFABETO.length()));
+        }
+        return new String(texto);
+    }
+
+    // Lee una cadena JSON desde posicion[0] y deja la posición después de las comillas finales
+    private static String leerCadenaJson(CharSequence json, int[] posicion) {
+        int i = posicion[0];
+        assertEquals('"', json.charAt(i++));
+        StringBuilder texto = new StringBuilder();
+        while (json.charAt(i) != '"') {
+            char c = json.charAt(i++);
+            assertTrue(c >= 0x20, "Carácter de control sin escapar");
+            if (c != '\\') {
+                texto.append(c);
+                continue;
+            }
+            char escape = json.charAt(i++);
+            switch (escape) {
+                case 'n':
+                    texto.append('\n');
+                    break;
+                case 'r':
+                    texto.append('\r');
+                    break;
+                case 't':
+                    texto.append('\t');
+                    break;
+                case 'u':
+                    texto.append((char) Integer.parseInt(json.subSequence(i, i + 4).toString(), 16));
+                    i += 4;
+                    break;
+                default:
+                    assertTrue(escape == '"' || escape == '\\', "Escape inválido: " + escape);
+                    texto.append(escape);
+                    break;
+            }
+        }
+        posicion[0] = i + 1;
+        return texto.toString();
+    }
+
+    // Separa una fila CSV (RFC 4180) en sus campos
+    private static List<String> leerFilaCsv(CharSequence fila) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < fila.length(); i++) {
+            char c = fila.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < fila.length() && fila.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                assertTrue(c != '"' && c != '\n' && c != '\r', "Campo sin comillas con '" + c + "'");
+                campo.append(c);
+            }
+        }
+        assertTrue(!entreComillas, "Comillas sin cerrar");
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,177 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// ServidorAnalisis sobre un puerto libre: códigos de estado (405 fuera de POST, 413 con una
+// expresión demasiado grande, 503 si ya se analizan 'concurrencia' peticiones) y /lote en flujo,
+// con la respuesta empezando antes de que termine el cuerpo de la petición.
+class ServidorAnalisisTest {
+
+    private static final int LIMITE_EXPRESION = 1 << 20;   // El de ServidorAnalisis
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private ServidorAnalisis servidor;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        servidor = new ServidorAnalisis(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1,
+                new AnalizadorLenguajeNatural());
+        servidor.iniciar();
+    }
+
+    @AfterEach
+    void detener() {
+        servidor.detener(0);
+    }
+
+    @Test
+    void analizarYSalud() throws Exception {
+        HttpResponse<String> respuesta = enviar("/analizar", "x = suma dos con tres ¿");
+        assertEquals(200, respuesta.statusCode());
+        assertEquals("application/json; charset=utf-8", respuesta.headers().firstValue("Content-Type").orElse(""));
+        assertTrue(respuesta.body().startsWith("{\"expresion\":\"x = suma dos con tres ¿\",\"lexico\":"),
+                respuesta.body());
+        assertTrue(respuesta.body().contains("\"noReconocidos\":[\" ¿\"]"), respuesta.body());
+
+        respuesta = cliente.send(peticion("/salud").GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, respuesta.statusCode());
+        assertEquals("ok", respuesta.body());
+    }
+
+    @Test
+    void soloPost() throws Exception {
+        for (String ruta : new String[] {"/analizar", "/lote"}) {
+            HttpResponse<String> respuesta = cliente.send(peticion(ruta).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, respuesta.statusCode(), ruta);
+            assertEquals("POST", respuesta.headers().firstValue("Allow").orElse(""));
+        }
+    }
+
+    @Test
+    void expresionDemasiadoGrande() throws Exception {
+        char[] relleno = new char[LIMITE_EXPRESION - "x = uno".length()];
+        Arrays.fill(relleno, ' ');
+        String alLimite = "x = uno" + new String(relleno);
+        assertEquals(200, enviar("/analizar", alLimite).statusCode());
+
+        HttpResponse<String> respuesta = enviar("/analizar", alLimite + " ");
+        assertEquals(413, respuesta.statusCode());
+        assertEquals("La expresión supera " + LIMITE_EXPRESION + " bytes", respuesta.body());
+        // El permiso se devolvió: la siguiente petición se atiende
+        assertEquals(200, enviar("/analizar", "x = uno").statusCode());
+    }
+
+    @Test
+    void loteEnFlujoYServidorOcupado() throws Exception {
+        // Un lote cuyo cuerpo llega en dos partes, escrito a mano sobre el socket para poder
+        // dejar la petición a medias
+        StringBuilder primera = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            primera.append("x = suma ").append(i).append(" con dos\n");
+        }
+        byte[] inicio = primera.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] resto = "y = uno\n".getBytes(StandardCharsets.UTF_8);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), servidor.getDireccion().getPort())) {
+            socket.setSoTimeout(10_000);
+            OutputStream salida = socket.getOutputStream();
+            InputStream entrada = socket.getInputStream();
+            salida.write(("POST /lote HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\nContent-Length: "
+                    + (inicio.length + resto.length) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            salida.write(inicio);
+            salida.flush();
+
+            assertEquals("HTTP/1.1 200 OK", leerLinea(entrada));
+            String encabezados = "";
+            for (String linea = leerLinea(entrada); !linea.isEmpty(); linea = leerLinea(entrada)) {
+                encabezados += linea.toLowerCase() + "\n";
+            }
+            assertTrue(encabezados.contains("transfer-encoding: chunked"), encabezados);
+            assertTrue(encabezados.contains("content-type: application/x-ndjson; charset=utf-8"), encabezados);
+
+            // Los primeros resultados llegan mientras falta parte del cuerpo
+            ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+            assertTrue(leerParte(entrada, cuerpo));
+
+            // La petición a medias ocupa el único permiso
+            HttpResponse<String> ocupado = enviar("/analizar", "x = uno");
+            assertEquals(503, ocupado.statusCode());
+            assertEquals("1", ocupado.headers().firstValue("Retry-After").orElse(""));
+
+            salida.write(resto);
+            salida.flush();
+            while (leerParte(entrada, cuerpo)) {
+                // Leer hasta la parte final, de longitud cero
+            }
+            String[] lineas = cuerpo.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(1001, lineas.length);
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(lineas[i].startsWith("{\"linea\":" + (i + 1) + ",\"expresion\":\"x = suma " + i
+                        + " con dos\""), lineas[i]);
+            }
+            assertTrue(lineas[1000].startsWith("{\"linea\":1001,\"expresion\":\"y = uno\""), lineas[1000]);
+        }
+        assertEquals(200, enviar("/analizar", "x = uno").statusCode());
+    }
+
+    @Test
+    void loteCsv() throws Exception {
+        HttpResponse<String> respuesta = enviar("/lote?formato=csv", "x = uno\n\ny = suma x, con dos\n");
+        assertEquals(200, respuesta.statusCode());
+        assertEquals("text/csv; charset=utf-8", respuesta.headers().firstValue("Content-Type").orElse(""));
+        String[] filas = respuesta.body().split("\n");
+        assertEquals(3, filas.length);
+        assertEquals(SerializadorResultados.ENCABEZADO_CSV, filas[0]);
+        assertTrue(filas[1].startsWith("1,x = uno,3,,true,"), filas[1]);
+        assertTrue(filas[2].startsWith("3,\"y = suma x, con dos\","), filas[2]);
+    }
+
+    private HttpRequest.Builder peticion(String ruta) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + servidor.getDireccion().getPort() + ruta))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpResponse<String> enviar(String ruta, String cuerpo) throws Exception {
+        return cliente.send(peticion(ruta).POST(HttpRequest.BodyPublishers.ofString(cuerpo, StandardCharsets.UTF_8)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    // Lee una línea de la respuesta sin el fin de línea
+    private static String leerLinea(InputStream entrada) throws IOException {
+        StringBuilder linea = new StringBuilder();
+        int c;
+        while ((c = entrada.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                linea.append((char) c);
+            }
+        }
+        return linea.toString();
+    }
+
+    // Lee una parte de una respuesta por partes (chunked); devuelve false en la parte final
+    private static boolean leerParte(InputStream entrada, ByteArrayOutputStream cuerpo) throws IOException {
+        int tamano = Integer.parseInt(leerLinea(entrada).trim(), 16);
+        cuerpo.write(entrada.readNBytes(tamano));
+        leerLinea(entrada);
+        return tamano > 0;
+    }
+}
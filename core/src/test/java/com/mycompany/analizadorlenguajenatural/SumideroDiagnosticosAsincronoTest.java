@@ -0,0 +1,147 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+// SumideroDiagnosticosAsincrono: descarta y cuenta lo que no cabe en la cola mientras el destino
+// está ocupado, escribe todo lo aceptado antes de que close() vuelva, y tras el primer error de
+// escritura guarda el error y descarta el resto sin lanzar nada a quien publica.
+class SumideroDiagnosticosAsincronoTest {
+
+    @Test
+    void descartaConLaColaLlena() throws Exception {
+        DestinoBloqueado destino = new DestinoBloqueado();
+        SumideroDiagnosticosAsincrono sumidero = new SumideroDiagnosticosAsincrono(destino, 2);
+        try {
+            // El escritor toma el primero y se queda bloqueado escribiéndolo
+            sumidero.publicar(new Diagnosticos("x = uno"));
+            assertTrue(destino.escribiendo.await(10, TimeUnit.SECONDS));
+            // Caben dos en la cola; los tres siguientes se descartan
+            for (int i = 2; i <= 6; i++) {
+                sumidero.publicar(new Diagnosticos("x = " + i));
+            }
+            assertEquals(3, sumidero.getDescartados());
+            assertEquals(0, sumidero.getEscritos());
+        } finally {
+            destino.liberar.countDown();
+            sumidero.close();
+        }
+        assertEquals(3, sumidero.getEscritos());
+        assertEquals(3, sumidero.getDescartados());
+        assertEquals("x = uno\nx = 2\nx = 3\n", destino.texto.toString());
+        assertNull(sumidero.getErrorEscritura());
+    }
+
+    @Test
+    void cerrarEscribeLosPendientes() {
+        StringWriter texto = new StringWriter();
+        int[] vaciados = new int[1];
+        Writer destino = new Writer() {
+            @Override
+            public void write(char[] caracteres, int desde, int cantidad) {
+                texto.write(caracteres, desde, cantidad);
+            }
+
+            @Override
+            public void flush() {
+                vaciados[0]++;
+            }
+
+            @Override
+            public void close() {
+                throw new AssertionError("El sumidero no debe cerrar el destino");
+            }
+        };
+        SumideroDiagnosticosAsincrono sumidero = new SumideroDiagnosticosAsincrono(destino, 1000);
+        StringBuilder esperado = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            Diagnosticos diagnosticos = new Diagnosticos("x = " + i + " ?");
+            diagnosticos.agregar(Diagnosticos.Tipo.NO_RECONOCIDO, 6, 7, "Texto no reconocido '?'.");
+            sumidero.publicar(diagnosticos);
+            esperado.append(diagnosticos);
+        }
+        sumidero.close();
+        assertEquals(500, sumidero.getEscritos());
+        assertEquals(0, sumidero.getDescartados());
+        assertEquals(esperado.toString(), texto.toString());
+        assertTrue(vaciados[0] > 0);
+
+        // Después de cerrar, lo publicado se descarta; cerrar dos veces no falla
+        sumidero.publicar(new Diagnosticos("x = uno"));
+        assertEquals(1, sumidero.getDescartados());
+        sumidero.close();
+        assertEquals(500, sumidero.getEscritos());
+    }
+
+    @Test
+    void erroresDeEscritura() {
+        IOException falla = new IOException("disco lleno");
+        int[] escrituras = new int[1];
+        Writer destino = new Writer() {
+            @Override
+            public void write(char[] caracteres, int desde, int cantidad) throws IOException {
+                // El primer análisis (la expresión y el salto de línea) se escribe; lo siguiente falla
+                if (++escrituras[0] > 2) {
+                    throw falla;
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        SumideroDiagnosticosAsincrono sumidero = new SumideroDiagnosticosAsincrono(destino, 100);
+        for (int i = 0; i < 10; i++) {
+            sumidero.publicar(new Diagnosticos("x = " + i));
+        }
+        sumidero.close();
+        assertSame(falla, sumidero.getErrorEscritura());
+        assertEquals(1, sumidero.getEscritos());
+        assertEquals(9, sumidero.getDescartados());
+
+        assertThrows(IllegalArgumentException.class, () -> new SumideroDiagnosticosAsincrono(new StringWriter(), 0));
+    }
+
+    // Destino cuya primera escritura espera hasta que la prueba lo libere
+    private static final class DestinoBloqueado extends Writer {
+
+        final StringBuilder texto = new StringBuilder();
+        final CountDownLatch escribiendo = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+
+        @Override
+        public void write(char[] caracteres, int desde, int cantidad) throws IOException {
+            escribiendo.countDown();
+            try {
+                if (!liberar.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("La prueba no liberó el destino");
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            texto.append(caracteres, desde, cantidad);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
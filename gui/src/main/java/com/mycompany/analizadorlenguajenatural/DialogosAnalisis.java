@@ -0,0 +1,60 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.util.HashMap;
+import java.util.Map;
+import javax.swing.JDialog;
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+// Diálogos Swing con los resultados de un análisis. Están en el módulo gui para que el
+// analizador (módulo core) no cargue clases de AWT ni Swing.
+public final class DialogosAnalisis {
+
+    private DialogosAnalisis() {
+    }
+
+    // Método para analizar una expresión y mostrar los resultados
+    public static void analizarYMostrar(AnalizadorLenguajeNatural analizador, String expresion) {
+        ResultadoAnalisis resultado = analizador.analizar(expresion);
+        Map<String, Integer> variablesDefinidas = new HashMap<>();
+
+        // Realizar el análisis semántico
+        ResultadoSemantico resultadoSemantico = analizador.analizarSemantico(resultado, variablesDefinidas);
+
+        // Mostrar resultados en el diálogo
+        mostrarResultadoEnDialog(resultado);
+
+        // Crear el mensaje para mostrar en el cuadro de diálogo
+        StringBuilder mensaje = new StringBuilder();
+        FormateadorResultados.escribirSemantico(mensaje, resultadoSemantico);
+
+        // Mostrar el cuadro de diálogo con los resultados semánticos
+        JOptionPane.showMessageDialog(null, mensaje.toString(), "Resultado del Análisis Semántico", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // Método para mostrar los resultados en un JDialog
+    public static void mostrarResultadoEnDialog(ResultadoAnalisis resultado) {
+        JDialog dialog = new JDialog();
+        dialog.setTitle("Resultado del Análisis");
+        dialog.setSize(600, 400);
+        dialog.setModal(true);
+
+        JTextArea textArea = new JTextArea();
+        textArea.setEditable(false);
+        textArea.setLineWrap(true);
+        textArea.setWrapStyleWord(true);
+
+        JScrollPane scrollPane = new JScrollPane(textArea);
+
+        StringBuilder contenido = new StringBuilder();
+        FormateadorResultados.escribirAnalisis(contenido, resultado);
+
+        textArea.setText(contenido.toString());
+        dialog.add(scrollPane);
+        dialog.setLocationRelativeTo(null);
+        dialog.setVisible(true);
+    }
+}
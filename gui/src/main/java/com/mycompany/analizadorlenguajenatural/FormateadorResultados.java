@@ -0,0 +1,82 @@
+package com.mycompany.analizadorlenguajenatural;
+
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ErrorInstruccion;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSintactico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.Token;
+
+// Texto legible de los resultados del análisis, compartido por los diálogos y el panel de la ventana
+final class FormateadorResultados {
+
+    private FormateadorResultados() {
+    }
+
+    // Escribe el resultado de los análisis léxico y sintáctico
+    static void escribirAnalisis(StringBuilder contenido, ResultadoAnalisis resultado) {
+        contenido.append("ANÁLISIS DE LA EXPRESIÓN: ").append(resultado.resultadoLexico.expresionOriginal).append("\n\n");
+
+        // Análisis Léxico
+        contenido.append("ANÁLISIS LÉXICO:\n");
+        contenido.append("Tokens reconocidos:\n");
+        for (Token token : resultado.resultadoLexico.tokens) {
+            contenido.append("  ").append(token.tipo).append(": '").append(token.valorOriginal)
+                    .append("' (valor interno: '").append(token.valor).append("')\n");
+        }
+
+        // Análisis Sintáctico
+        ResultadoSintactico sintactico = resultado.resultadoSintactico;
+        contenido.append("\nANÁLISIS SINTÁCTICO:\n");
+        if (sintactico.esValido) {
+            contenido.append("La expresión es sintácticamente válida\n");
+            for (int i = 0; i < sintactico.arbolesExpresion.size(); i++) {
+                contenido.append("\nInstrucción ").append(i + 1).append(":\n");
+                contenido.append("  Árbol de expresión: ")
+                        .append(sintactico.arbolesExpresion.get(i)).append("\n");
+                contenido.append("  Notación postfija: ")
+                        .append(sintactico.expresionesPostfijas.get(i)).append("\n");
+            }
+        } else if (sintactico.errores.size() <= 1) {
+            contenido.append("Se encontró un error sintáctico:\n");
+            escribirError(contenido, sintactico.error, sintactico.tipoError, sintactico.sugerencia);
+        } else {
+            contenido.append("Se encontraron ").append(sintactico.errores.size()).append(" errores sintácticos:\n");
+            for (ErrorInstruccion error : sintactico.errores) {
+                contenido.append("\nInstrucción ").append(error.instruccion + 1).append(":\n");
+                escribirError(contenido, error.error, error.tipoError, error.sugerencia);
+            }
+        }
+        // Las instrucciones válidas de un programa con errores también tienen su árbol
+        if (!sintactico.esValido && sintactico.instrucciones != null) {
+            for (int i = 0; i < sintactico.instrucciones.size(); i++) {
+                if (sintactico.instrucciones.get(i) != null) {
+                    contenido.append("\nInstrucción ").append(i + 1).append(" (válida):\n");
+                    contenido.append("  Árbol de expresión: ").append(sintactico.instrucciones.get(i)).append("\n");
+                }
+            }
+        }
+    }
+
+    private static void escribirError(StringBuilder contenido, String error, String tipoError, String sugerencia) {
+        contenido.append("  Descripción: ").append(error).append("\n");
+        if (tipoError != null) {
+            contenido.append("  Tipo de error: ").append(tipoError).append("\n");
+        }
+        if (sugerencia != null) {
+            contenido.append("  Sugerencia: ").append(sugerencia).append("\n");
+        }
+    }
+
+    // Escribe el resultado del análisis semántico
+    static void escribirSemantico(StringBuilder mensaje, ResultadoSemantico resultadoSemantico) {
+        mensaje.append("ANÁLISIS SEMÁNTICO:\n\n");
+        if (resultadoSemantico.esValido) {
+            mensaje.append("La expresión es semánticamente válida.\n");
+        } else {
+            mensaje.append("Se encontraron errores semánticos:\n");
+            for (String error : resultadoSemantico.errores) {
+                mensaje.append("- ").append(error).append("\n");
+            }
+        }
+    }
+}
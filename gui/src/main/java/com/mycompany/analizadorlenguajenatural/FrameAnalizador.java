@@ -8,6 +8,24 @@ import com.formdev.flatlaf.FlatDarkLaf;
 import java.awt.geom.FlatteningPathIterator;
 import javax.swing.UIManager;
 import com.formdev.flatlaf.FlatLightLaf;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoAnalisis;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoLexico;
+import com.mycompany.analizadorlenguajenatural.AnalizadorLenguajeNatural.ResultadoSemantico;
+import java.awt.BorderLayout;
+import java.awt.Container;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 
 /**
@@ -16,6 +34,21 @@ import com.formdev.flatlaf.FlatLightLaf;
  */
 public class FrameAnalizador extends javax.swing.JFrame {
 
+    // Pausa de escritura tras la cual se analiza el texto
+    private static final long ESPERA_ANALISIS_MS = 250;
+
+    // El análisis se hace fuera del hilo de eventos de Swing, en un único hilo en segundo plano
+    private final ScheduledExecutorService ejecutorAnalisis = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "analisis-en-vivo");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
+    private final AnalizadorLexicoIncremental analizadorLexico = new AnalizadorLexicoIncremental(); // Solo se usa en el hilo de análisis
+    private final AtomicLong version = new AtomicLong();   // Versión del texto; descarta los análisis obsoletos
+    private ScheduledFuture<?> analisisPendiente;          // Análisis programado (solo se usa en el hilo de eventos)
+    private JTextArea jTextAreaResultado;                  // Panel de resultados
+
     /**
      * Creates new form FrameAnalizador
      */
@@ -23,7 +56,82 @@ public class FrameAnalizador extends javax.swing.JFrame {
         initComponents();
         jLabelTitle.putClientProperty( "FlatLaf.styleClass", "h1" );
         jLabelExamples.putClientProperty( "FlatLaf.styleClass", "h2" );
-        
+
+        agregarPanelResultados();
+        // Analizar en vivo mientras el usuario escribe
+        jTextField1.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                programarAnalisis(ESPERA_ANALISIS_MS);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                programarAnalisis(ESPERA_ANALISIS_MS);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                programarAnalisis(ESPERA_ANALISIS_MS);
+            }
+        });
+    }
+
+    // Coloca un panel de resultados (no modal) a la derecha del formulario generado
+    private void agregarPanelResultados() {
+        jTextAreaResultado = new JTextArea(20, 48);
+        jTextAreaResultado.setEditable(false);
+        jTextAreaResultado.setLineWrap(true);
+        jTextAreaResultado.setWrapStyleWord(true);
+
+        JScrollPane scrollPane = new JScrollPane(jTextAreaResultado);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Resultado del Análisis"));
+
+        Container formulario = getContentPane();
+        JPanel contenido = new JPanel(new BorderLayout());
+        contenido.add(formulario, BorderLayout.CENTER);
+        contenido.add(scrollPane, BorderLayout.EAST);
+        setContentPane(contenido);
+        pack();
+    }
+
+    // Programa el análisis del texto actual tras la espera dada, cancelando el que estaba pendiente.
+    // Se llama desde el hilo de eventos de Swing
+    private void programarAnalisis(long esperaMs) {
+        String texto = jTextField1.getText();
+        long versionTexto = version.incrementAndGet();
+        if (analisisPendiente != null) {
+            analisisPendiente.cancel(false);
+        }
+        analisisPendiente = ejecutorAnalisis.schedule(() -> analizarEnSegundoPlano(texto, versionTexto),
+                esperaMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Analiza el texto en el hilo de análisis y publica el resultado en el panel. El trabajo se
+    // abandona entre fases en cuanto el usuario ha cambiado el texto
+    private void analizarEnSegundoPlano(String texto, long versionTexto) {
+        ResultadoLexico resultadoLexico = analizadorLexico.actualizar(texto);
+        if (version.get() != versionTexto) {
+            return;
+        }
+        ResultadoAnalisis resultado = new ResultadoAnalisis(resultadoLexico, analizador.analizarSintactico(resultadoLexico));
+        if (version.get() != versionTexto) {
+            return;
+        }
+        ResultadoSemantico resultadoSemantico = analizador.analizarSemantico(resultado, new HashMap<>());
+
+        StringBuilder contenido = new StringBuilder();
+        FormateadorResultados.escribirAnalisis(contenido, resultado);
+        contenido.append("\n");
+        FormateadorResultados.escribirSemantico(contenido, resultadoSemantico);
+        String textoResultado = contenido.toString();
+
+        SwingUtilities.invokeLater(() -> {
+            if (version.get() == versionTexto) {
+                jTextAreaResultado.setText(textoResultado);
+                jTextAreaResultado.setCaretPosition(0);
+            }
+        });
     }
 
     /**
@@ -145,15 +253,8 @@ public class FrameAnalizador extends javax.swing.JFrame {
     }// </editor-fold>//GEN-END:initComponents
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
-        // TODO add your handling code here:
-        
-            AnalizadorLenguajeNatural analizador = new AnalizadorLenguajeNatural();
-
-            // Expresión a analizar
-            String expresion = jTextField1.getText();
-
-            // Analizar y mostrar resultados
-            analizador.analizarYMostrar(expresion);
+        // Analizar de inmediato el texto actual y mostrar los resultados en el panel
+        programarAnalisis(0);
     }//GEN-LAST:event_jButton1ActionPerformed
 
     /**